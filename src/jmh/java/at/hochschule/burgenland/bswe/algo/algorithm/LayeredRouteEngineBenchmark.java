@@ -0,0 +1,81 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.simd.Kernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one LayeredRouteEngine.findRoutes query (all criteria) with the scalar and the vector kernels
+ * on a random network of the given size. Both engines are built in setup, only the search is measured.
+ * The vector variant fails in setup if jdk.incubator.vector is not available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class LayeredRouteEngineBenchmark {
+
+    @Param({"scalar", "vector"})
+    private String implementation;
+
+    @Param({"200"})
+    private int airports;
+
+    @Param({"200000"})
+    private int flights;
+
+    private LayeredRouteEngine engine;
+    private List<String> origins;
+    private List<String> destinations;
+
+    @Setup
+    public void setUp() {
+        Kernels kernels = "vector".equals(implementation) ? Kernels.vector() : Kernels.scalar();
+        if (kernels == null) {
+            throw new IllegalStateException("jdk.incubator.vector nicht verfügbar");
+        }
+
+        Random random = new Random(7);
+        FlightGraph graph = FlightGraph.create(flights);
+        for (int i = 0; i < airports; i++) {
+            graph.addAirport(new Airport(i, code(i), "City", "Test", 0, 0));
+        }
+        for (int i = 0; i < flights; i++) {
+            int from = random.nextInt(airports);
+            int to = (from + 1 + random.nextInt(airports - 1)) % airports;
+            graph.addFlight(new Flight(i, code(from), code(to), "Test", "T" + i, 30 + random.nextInt(600),
+                    1000 + random.nextInt(90000), LocalTime.of(random.nextInt(24), random.nextInt(60))));
+        }
+        engine = new LayeredRouteEngine(graph.freeze(), kernels);
+        origins = List.of(code(0));
+        destinations = List.of(code(airports - 1));
+    }
+
+    @Benchmark
+    public LayeredRouteEngine.Result findRoutes() {
+        return engine.findRoutes(origins, destinations);
+    }
+
+    private static String code(int i) {
+        return String.format("A%03d", i);
+    }
+}
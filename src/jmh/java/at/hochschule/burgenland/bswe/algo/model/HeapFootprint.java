@@ -0,0 +1,144 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.OffHeapFlightStore;
+
+import java.lang.ref.Reference;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prints the heap footprint of one flight or route representation, the source of docs/heap-footprint.md.
+ * Variants:
+ * - strings: Flight objects as originally parsed, a new String per CSV field and a parsed LocalTime
+ * - symbols: Flight objects loaded with a shared SymbolTable and shared LocalTime instances
+ * - offheap: a FlightGraph with an OffHeapFlightStore (int symbol ids, minute-of-day short, cents)
+ * - boxed: route flight ids as an ArrayList of boxed Integers
+ * - idlist: route flight ids as a FlightIdList
+ * The footprint is the difference of the used heap after a full GC before and after building the variant.
+ * Each variant runs in its own JVM, garbage of an earlier variant would distort the baseline.
+ * Usage: java -cp target/classes at.hochschule.burgenland.bswe.algo.model.HeapFootprint variant [count]
+ */
+public class HeapFootprint {
+
+    private static final int AIRPORTS = 200;
+    private static final int AIRLINES = 50;
+    private static final int FLIGHTS_PER_ROUTE = 3;
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Verwendung: HeapFootprint strings|symbols|offheap|boxed|idlist [Anzahl]");
+            System.exit(1);
+        }
+        String variant = args[0];
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = line(i);
+        }
+
+        long before = usedHeap();
+        long offHeapBytes = 0;
+        Object built;
+        switch (variant) {
+            case "strings" -> {
+                List<Flight> flights = new ArrayList<>(count);
+                for (String line : lines) {
+                    flights.add(parseOriginal(line));
+                }
+                built = flights;
+            }
+            case "symbols" -> {
+                SymbolTable symbols = new SymbolTable();
+                List<Flight> flights = new ArrayList<>(count);
+                for (String line : lines) {
+                    flights.add(Flight.fromCsv(line, symbols));
+                }
+                built = flights;
+            }
+            case "offheap" -> {
+                OffHeapFlightStore store = new OffHeapFlightStore(count);
+                FlightGraph graph = new FlightGraph(store);
+                for (int i = 0; i < AIRPORTS; i++) {
+                    graph.addAirport(new Airport(i, code(i), "City", "Test", 0, 0));
+                }
+                SymbolTable symbols = new SymbolTable();
+                for (String line : lines) {
+                    graph.addFlight(Flight.fromCsv(line, symbols));
+                }
+                offHeapBytes = store.offHeapBytes();
+                built = graph;
+            }
+            case "boxed" -> {
+                List<List<Integer>> routes = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    List<Integer> ids = new ArrayList<>();
+                    for (int j = 0; j < FLIGHTS_PER_ROUTE; j++) {
+                        ids.add(1000 + i + j);
+                    }
+                    routes.add(ids);
+                }
+                built = routes;
+            }
+            case "idlist" -> {
+                List<FlightIdList> routes = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    routes.add(FlightIdList.of(1000 + i, 1001 + i, 1002 + i));
+                }
+                built = routes;
+            }
+            default -> throw new IllegalArgumentException("Unbekannte Variante: " + variant);
+        }
+        long heapBytes = usedHeap() - before;
+        // the input lines are part of the baseline and must not be collected before the second measurement
+        Reference.reachabilityFence(lines);
+        Reference.reachabilityFence(built);
+
+        System.out.printf("%s: %,d Einträge, Heap %,d kB (%.1f Bytes/Eintrag), Off-Heap %,d kB%n",
+                variant, count, heapBytes / 1024, (double) heapBytes / count, offHeapBytes / 1024);
+    }
+
+    /**
+     * Parses a line like the original Flight.fromCsv: every field is a new String, the departure a new LocalTime.
+     */
+    private static Flight parseOriginal(String line) {
+        String[] parts = line.split(",");
+        return new Flight(
+                Integer.parseInt(parts[0].trim()),
+                parts[1].trim(),
+                parts[2].trim(),
+                parts[3].trim(),
+                parts[4].trim(),
+                Integer.parseInt(parts[5].trim()),
+                Money.parseCents(parts[6]),
+                LocalTime.parse(parts[7].trim()));
+    }
+
+    private static String line(int i) {
+        int origin = i % AIRPORTS;
+        int destination = (origin + 1 + i / AIRPORTS % (AIRPORTS - 1)) % AIRPORTS;
+        return i + "," + code(origin) + "," + code(destination) + ",Airline " + (i % AIRLINES)
+                + ",XY" + i + "," + (30 + i % 600) + "," + (100 + i % 900) + "." + (10 + i % 90)
+                + "," + String.format("%02d:%02d", i / 60 % 24, i % 60);
+    }
+
+    private static String code(int i) {
+        return String.format("A%03d", i);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // repeat until the used heap no longer shrinks, a single System.gc is only a hint
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) {
+                break;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
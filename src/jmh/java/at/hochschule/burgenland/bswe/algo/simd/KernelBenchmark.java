@@ -0,0 +1,84 @@
+package at.hochschule.burgenland.bswe.algo.simd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the vector kernels on columns of the given size:
+ * - gatherAdd as in the relaxation of LayeredRouteEngine, every tenth value unreached
+ * - selectRows as in SearchEngine.searchByRange, a price, duration and overnight departure window
+ * The vector variant fails in setup if jdk.incubator.vector is not available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class KernelBenchmark {
+
+    @Param({"scalar", "vector"})
+    private String implementation;
+
+    @Param({"100000"})
+    private int size;
+
+    private Kernels kernels;
+    private long[] values;
+    private int[] index;
+    private long[] addend;
+    private long[] out;
+    private long[] price;
+    private int[] duration;
+    private int[] minute;
+    private int[] rows;
+
+    @Setup
+    public void setUp() {
+        kernels = "vector".equals(implementation) ? Kernels.vector() : Kernels.scalar();
+        if (kernels == null) {
+            throw new IllegalStateException("jdk.incubator.vector nicht verfügbar");
+        }
+
+        Random random = new Random(42);
+        values = new long[size];
+        index = new int[size];
+        addend = new long[size];
+        out = new long[size];
+        price = new long[size];
+        duration = new int[size];
+        minute = new int[size];
+        rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i % 10 == 0 ? -1 : random.nextInt(100_000);
+            index[i] = random.nextInt(size);
+            addend[i] = random.nextInt(100_000);
+            price[i] = random.nextInt(200_000);
+            duration[i] = 30 + random.nextInt(900);
+            minute[i] = random.nextInt(24 * 60);
+        }
+    }
+
+    @Benchmark
+    public long[] gatherAdd() {
+        kernels.gatherAdd(values, index, addend, out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public int selectRows() {
+        return kernels.selectRows(price, 20_000, 150_000, duration, 120, 600, minute, 20 * 60, 6 * 60 + 30, rows);
+    }
+}
@@ -1,43 +1,142 @@
 package at.hochschule.burgenland.bswe.algo;
 
 import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.VersionedFlightGraph;
 import at.hochschule.burgenland.bswe.algo.io.CsvReader;
+import at.hochschule.burgenland.bswe.algo.io.DataReloader;
+import at.hochschule.burgenland.bswe.algo.metrics.GraphBuildEvent;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.metrics.MetricsReporter;
 import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.AirportGroup;
 import at.hochschule.burgenland.bswe.algo.model.Flight;
 import at.hochschule.burgenland.bswe.algo.model.Route;
+import at.hochschule.burgenland.bswe.algo.server.RouteServer;
 import at.hochschule.burgenland.bswe.algo.ui.Menu;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.List;
 
 public class FlightPlannerApplication {
 
+    private static final Path DATA_DIRECTORY = Path.of("src/main/resources");
+    private static final Path AIRPORTS_FILE = DATA_DIRECTORY.resolve("airports.csv");
+    private static final Path FLIGHTS_FILE = DATA_DIRECTORY.resolve("flights.csv");
+    private static final Path FLIGHT_CHANGES_FILE = DATA_DIRECTORY.resolve("flight_changes.csv");
+
     /**
      * Main workflow consisting of the following steps:
-     * 1. Load data from resources
-     * 2. Initialize flight graph
-     * 3. Start menu (with optional routes)
+     * 1. Load data from DATA_DIRECTORY if present, else from the classpath resources
+     * 2. Initialize flight graph, large timetables are stored off-heap
+     * 3. Watch the data files in DATA_DIRECTORY (if present), reload them on change
+     *    and apply FLIGHT_CHANGES_FILE as delta when it is written
+     * 4. Start menu (with optional routes and airport groups)
+     * If Metrics are enabled, they are logged every MetricsReporter.DEFAULT_INTERVAL_SECONDS.
      */
     public static void run() {
 
         System.out.println("\n=== Flugrouten-Planung System ===");
         System.out.println("Initialisierung...\n");
 
-        List<Airport> airports = CsvReader.readAirports("airports.csv");
-        List<Flight> flights = CsvReader.readFlights("flights.csv");
         List<Route> routes = CsvReader.readRoutes("routes.csv");
+        List<AirportGroup> airportGroups = CsvReader.readAirportGroups("airport_groups.csv");
+        VersionedFlightGraph network = loadNetwork();
+        if (network == null) {
+            return;
+        }
+        if (!routes.isEmpty()) {
+            System.out.println("  - " + routes.size() + " gespeicherte Routen");
+        }
+
+        DataReloader reloader = startReloader(network);
+        MetricsReporter reporter = startMetricsReporter();
+
+        Menu menu = new Menu(network, routes, airportGroups);
+        menu.start();
+
+        try {
+            reloader.close();
+        } catch (IOException e) {
+            // application is ending anyway
+        }
+        if (reporter != null) {
+            reporter.close();
+        }
+    }
+
+    /**
+     * Server workflow, steps 1 to 3 match the menu workflow:
+     * 4. Start the RouteServer on the given port and serve requests until the process is stopped
+     *
+     * @param port the port to listen on
+     */
+    public static void runServer(int port) {
+
+        System.out.println("\n=== Flugrouten-Planung Server ===");
+        System.out.println("Initialisierung...\n");
+
+        List<AirportGroup> airportGroups = CsvReader.readAirportGroups("airport_groups.csv");
+        VersionedFlightGraph network = loadNetwork();
+        if (network == null) {
+            return;
+        }
+
+        DataReloader reloader = startReloader(network);
+        MetricsReporter reporter = startMetricsReporter();
+
+        RouteServer server;
+        try {
+            server = new RouteServer(network, airportGroups, port);
+        } catch (IOException e) {
+            System.err.println("Server kann nicht gestartet werden: " + e.getMessage());
+            return;
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            try {
+                reloader.close();
+            } catch (IOException e) {
+                // application is ending anyway
+            }
+            if (reporter != null) {
+                reporter.close();
+            }
+        }));
+
+        server.start();
+        System.out.println("\nServer läuft auf http://localhost:" + server.getPort() + "/api");
+    }
+
+    /**
+     * Loads airports and flights into a new graph, from the files the reloader watches if DATA_DIRECTORY
+     * exists, so the first reload compares against the same files, else from the classpath resources.
+     * Flights which cannot be added are skipped.
+     *
+     * @return the graph wrapped for publication of reloads, null if the data could not be loaded
+     */
+    private static VersionedFlightGraph loadNetwork() {
+        boolean watched = Files.isDirectory(DATA_DIRECTORY);
+        List<Airport> airports = watched ? CsvReader.readAirports(AIRPORTS_FILE) : CsvReader.readAirports("airports.csv");
+        List<Flight> flights = watched ? CsvReader.readFlights(FLIGHTS_FILE) : CsvReader.readFlights("flights.csv");
 
         if (airports.isEmpty() || flights.isEmpty()) {
             System.err.println("Fehler beim Laden der Daten!");
             System.err.println("Flughäfen: " + airports.size() + ", Flüge: " + flights.size());
-            return;
+            return null;
         }
 
 
-        FlightGraph graph = new FlightGraph();
+        GraphBuildEvent event = new GraphBuildEvent();
+        event.begin();
+        FlightGraph graph = FlightGraph.create(flights.size());
         airports.forEach(graph::addAirport);
 
         Iterator<Flight> iterator = flights.iterator();
+        int rejected = 0;
 
         while (iterator.hasNext()) {
             Flight flight = iterator.next();
@@ -46,22 +145,44 @@ public class FlightPlannerApplication {
             } catch (IllegalArgumentException e) {
                 System.out.println("Flug " + flight.getFlightNumber() + " konnte nicht geladen werden: " + e.getMessage());
                 iterator.remove();
+                rejected++;
             }
         }
+        event.finish(airports.size(), flights.size(), rejected, graph.isOffHeap());
 
         System.out.println("Erfolgreich geladen:");
         System.out.println("  - " + airports.size() + " Flughäfen");
         System.out.println("  - " + flights.size() + " Flüge");
-        if (!routes.isEmpty()) {
-            System.out.println("  - " + routes.size() + " gespeicherte Routen");
+
+        return new VersionedFlightGraph(graph);
+    }
+
+    /**
+     * Watches the data files in DATA_DIRECTORY (if present) and publishes reloaded graphs to the network.
+     */
+    private static DataReloader startReloader(VersionedFlightGraph network) {
+        DataReloader reloader = new DataReloader(network, AIRPORTS_FILE, FLIGHTS_FILE, FLIGHT_CHANGES_FILE,
+                result -> System.out.println("\nDaten neu geladen: " + result));
+
+        if (Files.isDirectory(DATA_DIRECTORY)) {
+            try {
+                reloader.start();
+            } catch (IOException e) {
+                System.err.println("Datenverzeichnis kann nicht überwacht werden: " + e.getMessage());
+            }
         }
+        return reloader;
+    }
 
-        Menu menu;
-        if (!routes.isEmpty()) {
-            menu = new Menu(graph, routes);
-        } else {
-            menu = new Menu(graph);
+    /**
+     * Starts logging the Metrics periodically if they are enabled.
+     *
+     * @return the running reporter, null if metrics are disabled
+     */
+    private static MetricsReporter startMetricsReporter() {
+        if (!Metrics.isEnabled()) {
+            return null;
         }
-        menu.start();
+        return new MetricsReporter(MetricsReporter.DEFAULT_INTERVAL_SECONDS);
     }
 }
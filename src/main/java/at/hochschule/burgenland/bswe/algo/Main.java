@@ -1,8 +1,28 @@
 package at.hochschule.burgenland.bswe.algo;
 
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.server.RouteServer;
+
+import java.util.ArrayList;
+import java.util.List;
+
 public class Main {
 
+    /**
+     * Starts the menu, or with "--server [port]" the HTTP server.
+     * "--metrics" enables recording of Metrics, which are then logged periodically.
+     */
     public static void main(String[] args) {
-        FlightPlannerApplication.run();
+        List<String> arguments = new ArrayList<>(List.of(args));
+        if (arguments.remove("--metrics")) {
+            Metrics.setEnabled(true);
+        }
+
+        if (!arguments.isEmpty() && "--server".equals(arguments.get(0))) {
+            int port = arguments.size() > 1 ? Integer.parseInt(arguments.get(1)) : RouteServer.DEFAULT_PORT;
+            FlightPlannerApplication.runServer(port);
+        } else {
+            FlightPlannerApplication.run();
+        }
     }
 }
@@ -1,12 +1,13 @@
 package at.hochschule.burgenland.bswe.algo.algorithm;
 
 import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
-import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.metrics.RouteSearchEvent;
 import at.hochschule.burgenland.bswe.algo.model.Route;
 
-import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Calculates optimal routes between airports based on given criteria.
@@ -15,20 +16,35 @@ import java.util.*;
  * - Fastest route (DURATION)
  * - Slowest route (DURATION_MAX)
  * - Fewest stopovers (STOPOVERS)
- * Routes are represented as graph searches over the given flight graph.
- * Uses a priority queue to expand partial routes in order of selected cost.
- * Tracks visited airports with their best cost via RouteState to avoid redundancy.
+ * All criteria are calculated by hop-limited dynamic programming over (flights, last flight) states
+ * (LayeredRouteEngine), one search yields the optimal routes of all criteria.
+ * The engine is kept for the last frozen graph.
  * Works with restraints for time required between flights and maximum amount of stopovers.
+ * The graph is obtained once per query, so a query always runs on a single snapshot
+ * even if a new graph is published concurrently (see VersionedFlightGraph).
+ * If Metrics are enabled, every search records its duration and computed states per criterion.
+ * Every search is also reported as RouteSearchEvent to Java Flight Recorder.
  */
 public class Calculator {
 
-    private static final int MIN_CONNECTION_TIME = 20; // Minutes
-    private static final int MAX_STOPOVERS = 3; // Maximum 3 stopovers = 4 flights
+    static final int MIN_CONNECTION_TIME = 20; // Minutes
+    static final int MAX_STOPOVERS = 3; // Maximum 3 stopovers = 4 flights
 
-    private final FlightGraph graph;
+    private static final AtomicReference<LayeredRouteEngine> LAYERED_ENGINE = new AtomicReference<>();
+
+    private final Supplier<FlightGraph> graphs;
 
     public Calculator(FlightGraph graph) {
-        this.graph = graph;
+        this(() -> graph);
+    }
+
+    /**
+     * Constructor with a source of graph snapshots, queried once per route search.
+     *
+     * @param graphs supplier of the current graph, e.g. a VersionedFlightGraph
+     */
+    public Calculator(Supplier<FlightGraph> graphs) {
+        this.graphs = graphs;
     }
 
     /**
@@ -77,13 +93,6 @@ public class Calculator {
 
     /**
      * Generic method to find optimal route based on optimization.
-     * Uses a modified Dijkstra's algorithm:
-     * 1. Initialize PriorityQueue with Comparator based on optimization
-     * 2. While the queue is not empty expand the next best route (= route with the lowest cost)
-     * 3. Check if the destination has been reached and stopovers were not exceeded
-     * 4. Check if a better costed route to current airport exists
-     * 5. Explore outgoing flights from this airport
-     * 6. Return the best route found
      *
      * @param origin IATA of origin
      * @param destination IATA of destination
@@ -91,131 +100,202 @@ public class Calculator {
      * @return the best route calculated
      */
     private Route findOptimalRoute(String origin, String destination, RouteOptimization optimization) {
-        if (!graph.hasAirport(origin) || !graph.hasAirport(destination)) {
+        FlightGraph graph = graphs.get();
+        if (!graph.hasAirport(origin) || !graph.hasAirport(destination) || origin.equals(destination)) {
             return null;
         }
+        return findOptimalRoute(graph, Set.of(origin), Set.of(destination), optimization, null);
+    }
 
-        PriorityQueue<RouteState> queue = new PriorityQueue<>(
-            Comparator.comparingDouble(state -> state.getCost(optimization))
-        );
+    /**
+     * Finds the optimal route between any of the given origins and any of the given destinations.
+     * All origins are seeded into the first layer at once, which is equivalent to a single search
+     * from a virtual super-source connected to every origin at zero cost.
+     * Only routes consisting of at least one flight and at most MAX_STOPOVERS stopovers are accepted,
+     * routes end at the first destination reached.
+     * Unknown airports are ignored, if no known origin or destination remains null is returned.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @param optimization RouteOptimization selected for cost calculation
+     * @return the best route calculated
+     */
+    public Route findOptimalRoute(Collection<String> origins, Collection<String> destinations,
+                                  RouteOptimization optimization) {
+        return findOptimalRoute(graphs.get(), origins, destinations, optimization, null);
+    }
 
-        Map<String, Double> bestCost = new HashMap<>();
-        RouteState bestSolution = null;
+    /**
+     * Finds the optimal route like findOptimalRoute and records every step of the search in the trace.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @param optimization RouteOptimization selected for cost calculation
+     * @param trace receives the steps of this search, null to disable tracing
+     * @return the best route calculated
+     */
+    public Route findOptimalRoute(Collection<String> origins, Collection<String> destinations,
+                                  RouteOptimization optimization, SearchTrace trace) {
+        return findOptimalRoute(graphs.get(), origins, destinations, optimization, trace);
+    }
 
-        queue.add(new RouteState(origin, new ArrayList<>(), null));
+    private Route findOptimalRoute(FlightGraph graph, Collection<String> origins, Collection<String> destinations,
+                                   RouteOptimization optimization, SearchTrace trace) {
+        if (trace != null) {
+            trace.begin(origins, destinations, optimization);
+        }
 
-        while (!queue.isEmpty()) {
-            RouteState current = queue.poll();
+        Set<String> sources = knownAirports(graph, origins);
+        Set<String> targets = knownAirports(graph, destinations);
+        if (trace != null) {
+            trace.phase("setup");
+        }
+        if (sources.isEmpty() || targets.isEmpty()) {
+            return null;
+        }
 
-            if (current.currentAirport.equals(destination)) {
-                if (bestSolution == null || current.getCost(optimization) < bestSolution.getCost(optimization)) {
-                    bestSolution = current;
-                }
-                continue;
-            }
+        long start = Metrics.start();
+        RouteSearchEvent event = new RouteSearchEvent();
+        event.begin();
 
-            if (current.flightPath.size() > MAX_STOPOVERS + 1) {
-                continue;
-            }
+        LayeredRouteEngine.Result result = layeredEngine(graph).findRoutes(sources, targets, trace, optimization);
+        Route route = result.route(optimization);
 
-            String stateKey = current.currentAirport + "_" + current.flightPath.size();
-            if (bestCost.containsKey(stateKey) && bestCost.get(stateKey) <= current.getCost(optimization)) {
-                continue;
-            }
-            bestCost.put(stateKey, current.getCost(optimization));
-
-            for (Flight flight : graph.getFlightsFrom(current.currentAirport)) {
-                if (isValidConnection(current.lastFlight, flight)) {
-                    List<Flight> newPath = new ArrayList<>(current.flightPath);
-                    newPath.add(flight);
-                    queue.add(new RouteState(flight.getDestination(), newPath, flight));
-                }
-            }
+        recordSearch(optimization.name(), start, result.states());
+        event.finish(sources, List.of(targets), optimization.name(), result.states(), route != null ? 1 : 0);
+        if (trace != null) {
+            trace.phase("search");
+            trace.phase("result");
+            trace.finish(route);
         }
+        return route;
+    }
 
-        return bestSolution != null ? bestSolution.toRoute() : null;
+    /**
+     * Returns the layered engine of the graph, reusing the last one for frozen graphs.
+     * A newly published snapshot derives its engine from the last one (LayeredRouteEngine.derive),
+     * so after a delta only the connections of the changed airports are sorted again.
+     * Mutable graphs may change between queries, their engine is built for every query.
+     */
+    private static LayeredRouteEngine layeredEngine(FlightGraph graph) {
+        if (!graph.isFrozen()) {
+            return new LayeredRouteEngine(graph);
+        }
+        LayeredRouteEngine current = LAYERED_ENGINE.get();
+        if (current != null && current.belongsTo(graph)) {
+            return current;
+        }
+        LayeredRouteEngine engine = current != null ? current.derive(graph) : new LayeredRouteEngine(graph);
+        LAYERED_ENGINE.set(engine);
+        return engine;
     }
 
     /**
-     * Determines whether a connection between two flights is valid.
-     * A connection is considered valid if the layover time MIN_CONNECTION_TIME is not exceeded.
-     * Day wraparounds are handled by adding 24 hours, as flights depart daily at the same time.
+     * Finds the best route from the origins to each of several destination sets in a single search
+     * (LayeredRouteEngine.findRoutesToEach), with the same cost a separate findOptimalRoute query would return.
+     * DURATION_MAX depends on where routes end, its destination sets are searched one after another.
      *
-     * @param previous previous flight or null if this is the first flight
-     * @param next the current flight being considered
-     * @return true if valid,
-     *         false otherwise
+     * @param origins IATA codes of all acceptable origins
+     * @param destinationSets one collection of acceptable destinations per query
+     * @param optimization RouteOptimization selected for cost calculation
+     * @return the best route per destination set (same order), null entries where no route exists
      */
-    private boolean isValidConnection(Flight previous, Flight next) {
-        if (previous == null) {
-            return true;
+    public List<Route> findOptimalRoutes(Collection<String> origins, List<? extends Collection<String>> destinationSets,
+                                         RouteOptimization optimization) {
+        FlightGraph graph = graphs.get();
+        List<Route> routes = new ArrayList<>();
+        if (optimization == RouteOptimization.DURATION_MAX) {
+            for (Collection<String> destinations : destinationSets) {
+                routes.add(findOptimalRoute(graph, origins, destinations, optimization, null));
+            }
+            return routes;
         }
 
-        LocalTime arrival = previous.getDepartureTime().plusMinutes(previous.getDuration());
-        LocalTime departure = next.getDepartureTime();
-
-        if (departure.isBefore(arrival)) {
-            departure = departure.plusHours(24);
+        for (LayeredRouteEngine.Result result : findRoutesToEach(graph, origins, destinationSets,
+                optimization.name())) {
+            routes.add(result.route(optimization));
         }
-
-        return ChronoUnit.MINUTES.between(arrival, departure) >= MIN_CONNECTION_TIME;
+        return routes;
     }
 
     /**
-     * Represents the current state of a partial route during route search.
-     * Used by the route-finding algorithm to track:
-     * - current airport being considered
-     * - sequence of flights taken so far
-     * - the last flight in the current path
-     * Provides helper methods to calculate the cost based on the selected optimization.
+     * Finds the best routes of PRICE, DURATION and STOPOVERS from the origins to each of several
+     * destination sets in a single search, so queries of different criteria can share it.
+     * The search is recorded with the criterion "all".
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinationSets one collection of acceptable destinations per query
+     * @return the results per destination set (same order), without DURATION_MAX
      */
-    private static class RouteState {
-        String currentAirport;
-        List<Flight> flightPath;
-        Flight lastFlight;
-
-        RouteState(String currentAirport, List<Flight> flightPath, Flight lastFlight) {
-            this.currentAirport = currentAirport;
-            this.flightPath = flightPath;
-            this.lastFlight = lastFlight;
+    public List<LayeredRouteEngine.Result> findRoutesToEach(Collection<String> origins,
+                                                            List<? extends Collection<String>> destinationSets) {
+        return findRoutesToEach(graphs.get(), origins, destinationSets, "ALL");
+    }
+
+    private List<LayeredRouteEngine.Result> findRoutesToEach(FlightGraph graph, Collection<String> origins,
+                                                             List<? extends Collection<String>> destinationSets,
+                                                             String criterion) {
+        Set<String> sources = knownAirports(graph, origins);
+        List<Set<String>> targets = new ArrayList<>();
+        for (Collection<String> destinations : destinationSets) {
+            targets.add(knownAirports(graph, destinations));
         }
 
-        /**
-         * Calculates the total cost of this partial route based on the given optimization.
-         *
-         * @param optimization optimization selected
-         * @return the total cost according to the optimization
-         */
-        double getCost(RouteOptimization optimization) {
-            if (flightPath.isEmpty()) {
-                return 0;
-            }
+        long start = Metrics.start();
+        RouteSearchEvent event = new RouteSearchEvent();
+        event.begin();
+
+        List<LayeredRouteEngine.Result> results = layeredEngine(graph).findRoutesToEach(sources, targets);
 
-            return switch (optimization) {
-                case PRICE -> flightPath.stream().mapToDouble(Flight::getPrice).sum();
-                case DURATION -> flightPath.stream().mapToInt(Flight::getDuration).sum();
-                case DURATION_MAX -> -flightPath.stream().mapToInt(Flight::getDuration).sum();
-                case STOPOVERS -> flightPath.size();
-            };
+        int states = results.isEmpty() ? 0 : results.get(0).states();
+        int found = 0;
+        for (LayeredRouteEngine.Result result : results) {
+            found += result.route(RouteOptimization.PRICE) != null ? 1 : 0;
         }
+        recordSearch(criterion, start, states);
+        event.finish(sources, destinationSets, criterion, states, found);
+        return results;
+    }
 
-        /**
-         * Converts the current route state into a Route object.
-         *
-         * @return a Route that represents the current flight sequence or null if the path is empty
-         */
-        Route toRoute() {
-            if (flightPath.isEmpty()) {
-                return null;
+    /**
+     * Records the statistics of a finished search if metrics are enabled.
+     *
+     * @param criterion name of the optimization, or ALL for searches of several criteria
+     * @param start value of Metrics.start at the beginning of the search
+     * @param states (flights, last flight) states computed by the search
+     */
+    private static void recordSearch(String criterion, long start, int states) {
+        if (start == Metrics.NOT_STARTED) {
+            return;
+        }
+
+        String label = criterion.toLowerCase();
+        Metrics.timer("route_search_seconds", "criterion", label).stop(start);
+        Metrics.counter("route_searches_total", "criterion", label).increment();
+        Metrics.counter("route_states_expanded_total", "criterion", label).add(states);
+    }
+
+    /**
+     * Filters the given IATA codes down to the airports present in the graph.
+     *
+     * @param graph the graph of the current query
+     * @param iatas IATA codes to be filtered
+     * @return set of known IATA codes
+     */
+    private static Set<String> knownAirports(FlightGraph graph, Collection<String> iatas) {
+        Set<String> known = new HashSet<>();
+        for (String iata : iatas) {
+            if (graph.hasAirport(iata)) {
+                known.add(iata);
             }
-            return new Route(0, flightPath);
         }
+        return known;
     }
 
     /**
      * Enum defining the possible optimization criteria for route finding.
      */
-    private enum RouteOptimization {
+    public enum RouteOptimization {
         PRICE,
         DURATION,
         DURATION_MAX,
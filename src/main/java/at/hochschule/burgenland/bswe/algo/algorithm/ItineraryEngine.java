@@ -0,0 +1,312 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Plans itineraries with absolute date-times on the daily timetable over a horizon of several days.
+ * Calculator only compares times of day, so overnight layovers are not part of a route's duration.
+ * The engine instead computes the real elapsed time from the first departure to the last arrival:
+ * - findEarliestArrival: time-dependent Dijkstra over (airport, number of flights) states by arrival time,
+ *   followed by a reverse search from the earliest arrival for the latest departure still reaching it,
+ *   so the itinerary does not wait at the origin longer than necessary
+ * - expand: schedules a given route, e.g. a Calculator result, at its next possible departures
+ * Departures are computed when a state is expanded (next daily departure after the earliest connection time),
+ * the days of the horizon are never copied. Journeys arriving after the horizon are discarded.
+ * Connections require MIN_CONNECTION_TIME minutes, at most MAX_STOPOVERS + 1 flights are used.
+ * Time complexity: O((F + A) * K * log(F * K)) per query, for each of the two searches
+ * Space complexity: O(A * K + F * K) for the labels and the priority queue
+ */
+public class ItineraryEngine {
+
+    public static final int DEFAULT_HORIZON_DAYS = 7;
+
+    private final FlightGraph graph;
+    private final Timetable timetable;
+    private final int horizonMinutes;
+    // flights per destination airport, for the reverse search
+    private final int[] firstArriving;
+    private final int[] arriving;
+
+    public ItineraryEngine(FlightGraph graph) {
+        this(graph, DEFAULT_HORIZON_DAYS);
+    }
+
+    /**
+     * Constructor with the planning horizon.
+     *
+     * @param graph the graph snapshot to plan on
+     * @param horizonDays number of days from midnight of the departure day in which the journey has to arrive
+     */
+    public ItineraryEngine(FlightGraph graph, int horizonDays) {
+        if (horizonDays < 1) {
+            throw new IllegalArgumentException("Der Planungszeitraum muss mindestens einen Tag umfassen");
+        }
+        this.graph = graph;
+        this.timetable = new Timetable(graph);
+        this.horizonMinutes = horizonDays * Timetable.MINUTES_PER_DAY;
+
+        this.firstArriving = new int[timetable.airportCount + 1];
+        for (int f = 0; f < timetable.flightCount; f++) {
+            firstArriving[timetable.destination[f] + 1]++;
+        }
+        for (int a = 0; a < timetable.airportCount; a++) {
+            firstArriving[a + 1] += firstArriving[a];
+        }
+        int[] next = Arrays.copyOf(firstArriving, timetable.airportCount);
+        this.arriving = new int[timetable.flightCount];
+        for (int f = 0; f < timetable.flightCount; f++) {
+            arriving[next[timetable.destination[f]]++] = f;
+        }
+    }
+
+    /**
+     * Finds the itinerary arriving first at any destination.
+     * Among the itineraries arriving at that time, the one departing latest is returned,
+     * so elapsed() is the shortest door-to-door time for this arrival.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @param departure earliest departure at the origin
+     * @return the earliest-arrival itinerary, null if no destination is reachable within the horizon
+     */
+    public Itinerary findEarliestArrival(Collection<String> origins, Collection<String> destinations,
+                                         LocalDateTime departure) {
+        long start = Metrics.start();
+        int[] sources = timetable.indices(origins);
+        boolean[] isSource = new boolean[timetable.airportCount];
+        for (int source : sources) {
+            isSource[source] = true;
+        }
+        boolean[] isTarget = new boolean[timetable.airportCount];
+        for (int target : timetable.indices(destinations)) {
+            isTarget[target] = true;
+        }
+        LocalDateTime midnight = departure.toLocalDate().atStartOfDay();
+        int startMinute = departure.toLocalTime().toSecondOfDay() / 60;
+
+        int states = timetable.airportCount * (RaptorRouter.MAX_LEGS + 1);
+        int[] arrival = new int[states];
+        Arrays.fill(arrival, Timetable.UNREACHED);
+
+        // entries encode the arrival in the upper and the state in the lower 32 bits
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int source : sources) {
+            int state = state(source, 0);
+            arrival[state] = startMinute;
+            queue.add(entry(startMinute, state));
+        }
+
+        int found = -1;
+        while (!queue.isEmpty()) {
+            long next = queue.poll();
+            int time = (int) (next >>> 32);
+            int state = (int) next;
+            if (time > arrival[state]) {
+                continue;
+            }
+
+            int airport = state / (RaptorRouter.MAX_LEGS + 1);
+            int legs = state % (RaptorRouter.MAX_LEGS + 1);
+            if (isTarget[airport] && legs > 0) {
+                found = state;
+                break;
+            }
+            if (legs == RaptorRouter.MAX_LEGS) {
+                continue;
+            }
+
+            int ready = legs > 0 ? time + Calculator.MIN_CONNECTION_TIME : time;
+            for (int f = timetable.firstFlight[airport]; f < timetable.firstFlight[airport + 1]; f++) {
+                int departs = Timetable.nextDeparture(timetable.departureMinute[f], ready);
+                int arrives = departs + timetable.duration[f];
+                int to = timetable.destination[f];
+                if (arrives > horizonMinutes || dominated(arrival, to, legs + 1, arrives)) {
+                    continue;
+                }
+                int target = state(to, legs + 1);
+                arrival[target] = arrives;
+                queue.add(entry(arrives, target));
+            }
+        }
+
+        Itinerary itinerary = found >= 0
+                ? latestDeparture(isSource, isTarget, startMinute, arrival[found], midnight) : null;
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("route_search_seconds", "criterion", "itinerary").stop(start);
+            Metrics.counter("route_searches_total", "criterion", "itinerary").increment();
+        }
+        return itinerary;
+    }
+
+    /**
+     * Schedules the flights of a route at their next possible departures, waiting overnight if required.
+     *
+     * @param route the route to schedule, e.g. found by Calculator
+     * @param departure earliest departure of the first flight
+     * @return the itinerary with absolute times, null if the route does not arrive within the horizon
+     */
+    public Itinerary expand(Route route, LocalDateTime departure) {
+        LocalDateTime midnight = departure.toLocalDate().atStartOfDay();
+        int ready = departure.toLocalTime().toSecondOfDay() / 60;
+
+        List<Itinerary.Segment> segments = new ArrayList<>();
+        for (int id : route.getFlights()) {
+            Flight flight = graph.getFlightById(id);
+            if (flight == null) {
+                throw new IllegalArgumentException("Unbekannter Flug: " + id);
+            }
+            int departs = Timetable.nextDeparture(flight.getDepartureTime().toSecondOfDay() / 60, ready);
+            int arrives = departs + flight.getDuration();
+            if (arrives > horizonMinutes) {
+                return null;
+            }
+            segments.add(new Itinerary.Segment(flight, midnight.plusMinutes(departs), midnight.plusMinutes(arrives)));
+            ready = arrives + Calculator.MIN_CONNECTION_TIME;
+        }
+        return new Itinerary(List.copyOf(segments));
+    }
+
+    /**
+     * Checks whether the airport is already reached as early with at most the given number of flights.
+     */
+    private static boolean dominated(int[] arrival, int airport, int legs, int time) {
+        for (int k = 0; k <= legs; k++) {
+            if (arrival[state(airport, k)] <= time) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reverse search from the destinations for the latest departure at an origin, not before earliest,
+     * that arrives at a destination by the given time. States are (airport, flights to the destination)
+     * labelled with the latest departure from the airport, expanded by descending departure.
+     */
+    private Itinerary latestDeparture(boolean[] isSource, boolean[] isTarget, int earliest, int arrivalTime,
+                                      LocalDateTime midnight) {
+        int states = timetable.airportCount * (RaptorRouter.MAX_LEGS + 1);
+        int[] departure = new int[states];
+        int[] via = new int[states];
+        int[] next = new int[states];
+        Arrays.fill(departure, -1);
+
+        PriorityQueue<Long> queue = new PriorityQueue<>(Comparator.reverseOrder());
+        for (int airport = 0; airport < timetable.airportCount; airport++) {
+            if (isTarget[airport]) {
+                departure[state(airport, 0)] = arrivalTime;
+                queue.add(entry(arrivalTime, state(airport, 0)));
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int time = (int) (entry >>> 32);
+            int state = (int) entry;
+            if (time < departure[state]) {
+                continue;
+            }
+
+            int airport = state / (RaptorRouter.MAX_LEGS + 1);
+            int legs = state % (RaptorRouter.MAX_LEGS + 1);
+            if (isSource[airport] && legs > 0) {
+                return itinerary(state, departure, via, next, midnight);
+            }
+            if (legs == RaptorRouter.MAX_LEGS) {
+                continue;
+            }
+
+            // the onward flight leaves at time, the destination is reached at time
+            int latestArrival = legs > 0 ? time - Calculator.MIN_CONNECTION_TIME : time;
+            for (int i = firstArriving[airport]; i < firstArriving[airport + 1]; i++) {
+                int f = arriving[i];
+                int departs = Timetable.previousDeparture(timetable.departureMinute[f],
+                        latestArrival - timetable.duration[f]);
+                int from = timetable.origin[f];
+                if (departs < earliest || departsLater(departure, from, legs + 1, departs)) {
+                    continue;
+                }
+                int source = state(from, legs + 1);
+                departure[source] = departs;
+                via[source] = f;
+                next[source] = state;
+                queue.add(entry(departs, source));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the airport can already be left as late with at most the given number of flights.
+     */
+    private static boolean departsLater(int[] departure, int airport, int legs, int time) {
+        for (int k = 1; k <= legs; k++) {
+            if (departure[state(airport, k)] >= time) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Itinerary itinerary(int state, int[] departure, int[] via, int[] next, LocalDateTime midnight) {
+        List<Itinerary.Segment> segments = new ArrayList<>();
+        while (state % (RaptorRouter.MAX_LEGS + 1) > 0) {
+            int f = via[state];
+            int departs = departure[state];
+            segments.add(new Itinerary.Segment(timetable.flights[f],
+                    midnight.plusMinutes(departs), midnight.plusMinutes(departs + timetable.duration[f])));
+            state = next[state];
+        }
+        return new Itinerary(List.copyOf(segments));
+    }
+
+    private static int state(int airport, int legs) {
+        return airport * (RaptorRouter.MAX_LEGS + 1) + legs;
+    }
+
+    private static long entry(int time, int state) {
+        return ((long) time << 32) | state;
+    }
+
+    /**
+     * An itinerary with absolute departure and arrival date-times per flight.
+     *
+     * @param segments flights in travel order
+     */
+    public record Itinerary(List<Segment> segments) {
+
+        public LocalDateTime departure() {
+            return segments.get(0).departure();
+        }
+
+        public LocalDateTime arrival() {
+            return segments.get(segments.size() - 1).arrival();
+        }
+
+        /**
+         * Door-to-door time from the first departure to the last arrival, including overnight layovers.
+         */
+        public Duration elapsed() {
+            return Duration.between(departure(), arrival());
+        }
+
+        public Route toRoute() {
+            return new Route(0, segments.stream().map(Segment::flight).toList());
+        }
+
+        public record Segment(Flight flight, LocalDateTime departure, LocalDateTime arrival) {
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.util.List;
+
+/**
+ * A journey through the daily timetable, found by RaptorRouter or ProfileSearch.
+ * Times are absolute minutes since midnight of day 0, so a journey may span several days.
+ *
+ * @param legs flights in travel order with their departure and arrival
+ */
+public record Journey(List<Leg> legs) {
+
+    public int departure() {
+        return legs.get(0).departure();
+    }
+
+    public int arrival() {
+        return legs.get(legs.size() - 1).arrival();
+    }
+
+    /**
+     * Minutes from the first departure to the last arrival, including layovers.
+     */
+    public int travelMinutes() {
+        return arrival() - departure();
+    }
+
+    public int size() {
+        return legs.size();
+    }
+
+    public Route toRoute() {
+        return new Route(0, legs.stream().map(Leg::flight).toList());
+    }
+
+    /**
+     * A flight of a journey with its absolute departure and arrival.
+     */
+    public record Leg(Flight flight, int departure, int arrival) {
+    }
+}
@@ -0,0 +1,634 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import at.hochschule.burgenland.bswe.algo.simd.Kernels;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Hop-limited route search computing the optimal routes of all criteria (PRICE, DURATION, DURATION_MAX,
+ * STOPOVERS) at once by layered dynamic programming, similar to Bellman-Ford limited to MAX_STOPOVERS + 1 rounds.
+ * Layer k holds, per flight f, the best values of all routes with k flights ending with f:
+ * - lowest price, lowest and highest duration, each with the previous flight of that route
+ * - layer 1 contains the flights leaving an origin
+ * - layer k is computed from layer k - 1 by one sweep over the connections of every airport:
+ *   arriving flights sorted by arrival and departing flights sorted by departure (Calculator connection rule),
+ *   so the best predecessor of every departure is the running minimum/maximum of the arrivals passed so far
+ * - routes end at the first destination reached, the fewest stopovers are the first layer reaching a destination
+ * The last flight is part of the state because it decides which flights can follow, so all results are exact.
+ * Unlike a search keeping one best cost per airport, a dearer route arriving earlier is never discarded
+ * in favour of a cheaper one missing the next connection.
+ * Several destination sets can share one search (findRoutesToEach): routes then continue through destinations,
+ * which does not change the lowest price, the lowest duration or the fewest flights, as a route through a
+ * destination is never better than its part ending there.
+ * All values are kept in flat primitive arrays per layer, indexed by the position of the flight in the
+ * departures sorted per airport. Which arrivals allow a departure depends on the timetable only, so it is
+ * computed once per graph, after a delta (derive) only for the changed airports. A sweep then consists of:
+ * - the running best values of the arrivals (prefix), a scalar loop as each value depends on the previous one
+ * - the relaxation of the departures: gather the prefix entry of each departure and add its price and duration,
+ *   a branch-free loop over consecutive positions executed by Kernels (Vector API if available)
+ * Airports of a layer are independent of each other, for large graphs they are swept in parallel
+ * on the fork/join framework.
+ * A SearchTrace can follow a single search, it is then executed sequentially.
+ * The engine records no metrics itself, the caller does (Calculator records its searches).
+ * Time complexity: O(F log F) for the sorted connections, O(K * (F + A)) per query
+ * Space complexity: O(K * F)
+ */
+public class LayeredRouteEngine {
+
+    private static final int MAX_LEGS = Calculator.MAX_STOPOVERS + 1;
+    private static final int PARALLEL_THRESHOLD = 50_000;
+    private static final int AIRPORTS_PER_TASK = 64;
+
+    private final FlightGraph graph;
+    private final Timetable timetable;
+    private final Kernels kernels;
+    // per position: flight, price, duration and prefix entry of the arrivals allowing the connection
+    private final int[] departing;
+    private final long[] price;
+    private final int[] duration;
+    private final int[] boundary;
+    // positions of the arriving flights per airport, sorted by arrival
+    private final int[] firstArriving;
+    private final int[] arriving;
+    // arrival as time of day per flight, like LocalTime.plusMinutes
+    private final int[] arrivalMinute;
+
+    /**
+     * Builds the sorted connections of the given graph.
+     *
+     * @param graph the graph snapshot to search
+     */
+    public LayeredRouteEngine(FlightGraph graph) {
+        this(graph, Kernels.get());
+    }
+
+    /**
+     * Constructor with the kernels executing the relaxation, e.g. to compare the implementations.
+     */
+    LayeredRouteEngine(FlightGraph graph, Kernels kernels) {
+        this(graph, new Timetable(graph), kernels, null, null);
+    }
+
+    /**
+     * Builds the connections of a graph, copying those of the airports unchanged since the previous engine.
+     *
+     * @param previous engine of the graph the changes refer to, null to build all connections
+     * @param changes airports changed since the graph of previous, null to build all connections
+     */
+    private LayeredRouteEngine(FlightGraph graph, Timetable timetable, Kernels kernels,
+                               LayeredRouteEngine previous, FlightGraph.Changes changes) {
+        this.graph = graph;
+        this.timetable = timetable;
+        this.kernels = kernels;
+        int flights = timetable.flightCount;
+        int airports = timetable.airportCount;
+
+        // airports whose departures or arrivals are sorted anew, the others keep their previous order
+        boolean[] changed = new boolean[airports];
+        Arrays.fill(changed, previous == null);
+        if (previous != null) {
+            Arrays.fill(changed, previous.timetable.airportCount, airports, true);
+            for (int a : timetable.indices(changes.flightAirports())) {
+                changed[a] = true;
+            }
+        }
+
+        this.arrivalMinute = new int[flights];
+        for (int f = 0; f < flights; f++) {
+            arrivalMinute[f] = (timetable.departureMinute[f] + timetable.duration[f]) % Timetable.MINUTES_PER_DAY;
+        }
+
+        // departing flights per airport by departure time (the timetable is already grouped by origin)
+        this.departing = new int[flights];
+        this.price = new long[flights];
+        this.duration = new int[flights];
+        long[] keys = new long[flights];
+        for (int a = 0; a < airports; a++) {
+            int from = timetable.firstFlight[a];
+            int to = timetable.firstFlight[a + 1];
+            if (!changed[a]) {
+                // the flights of an unchanged origin keep their order, shifted with the first slot of the airport
+                int shift = from - previous.timetable.firstFlight[a];
+                for (int p = from; p < to; p++) {
+                    departing[p] = previous.departing[p - shift] + shift;
+                }
+                System.arraycopy(previous.price, from - shift, price, from, to - from);
+                System.arraycopy(previous.duration, from - shift, duration, from, to - from);
+                continue;
+            }
+            for (int f = from; f < to; f++) {
+                keys[f] = ((long) timetable.departureMinute[f] << 32) | f;
+            }
+            Arrays.sort(keys, from, to);
+            for (int p = from; p < to; p++) {
+                departing[p] = (int) keys[p];
+                price[p] = timetable.flights[departing[p]].getPriceCents();
+                duration[p] = timetable.duration[departing[p]];
+            }
+        }
+        int[] position = new int[flights];
+        for (int p = 0; p < flights; p++) {
+            position[departing[p]] = p;
+        }
+
+        // arriving flights per airport by arrival time
+        this.firstArriving = new int[airports + 1];
+        for (int f = 0; f < flights; f++) {
+            firstArriving[timetable.destination[f] + 1]++;
+        }
+        for (int a = 0; a < airports; a++) {
+            firstArriving[a + 1] += firstArriving[a];
+        }
+        int[] next = Arrays.copyOf(firstArriving, airports);
+        for (int f = 0; f < flights; f++) {
+            int a = timetable.destination[f];
+            if (changed[a]) {
+                keys[next[a]++] = ((long) arrivalMinute[f] << 32) | f;
+            }
+        }
+        this.arriving = new int[flights];
+        for (int a = 0; a < airports; a++) {
+            if (changed[a]) {
+                Arrays.sort(keys, firstArriving[a], firstArriving[a + 1]);
+                for (int i = firstArriving[a]; i < firstArriving[a + 1]; i++) {
+                    arriving[i] = (int) keys[i];
+                }
+            } else {
+                // the same flights arrive, their slots are looked up in the new timetable
+                int shift = firstArriving[a] - previous.firstArriving[a];
+                for (int i = firstArriving[a]; i < firstArriving[a + 1]; i++) {
+                    arriving[i] = timetable.remap[previous.departing[previous.arriving[i - shift]]];
+                }
+            }
+        }
+
+        // prefix entries of airport a start at firstArriving[a] + a, the first one stands for "no arrival"
+        this.boundary = new int[flights];
+        for (int a = 0; a < airports; a++) {
+            if (!changed[a]) {
+                int shift = timetable.firstFlight[a] - previous.timetable.firstFlight[a];
+                int entryShift = firstArriving[a] - previous.firstArriving[a];
+                for (int p = timetable.firstFlight[a]; p < timetable.firstFlight[a + 1]; p++) {
+                    boundary[p] = previous.boundary[p - shift] + entryShift;
+                }
+                continue;
+            }
+            int arrival = firstArriving[a];
+            for (int p = timetable.firstFlight[a]; p < timetable.firstFlight[a + 1]; p++) {
+                int latestArrival = timetable.departureMinute[departing[p]] - Calculator.MIN_CONNECTION_TIME;
+                while (arrival < firstArriving[a + 1] && arrivalMinute[arriving[arrival]] <= latestArrival) {
+                    arrival++;
+                }
+                boundary[p] = arrival + a;
+            }
+        }
+        for (int i = 0; i < flights; i++) {
+            arriving[i] = position[arriving[i]];
+        }
+    }
+
+    /**
+     * Returns an engine for the given graph. If the graph is a copy of the graph of this engine
+     * (FlightGraph.changesSince), only the connections of the changed airports are sorted again,
+     * the others are copied from this engine.
+     * Time complexity: O(A + F) array copies plus O(C log C) for the C flights of the changed airports
+     *
+     * @param graph the graph snapshot to search
+     * @return this engine if it belongs to the graph, else a new engine
+     */
+    public LayeredRouteEngine derive(FlightGraph graph) {
+        if (graph == this.graph) {
+            return this;
+        }
+        FlightGraph.Changes changes = graph.changesSince(this.graph);
+        if (changes == null) {
+            return new LayeredRouteEngine(graph, kernels);
+        }
+        return new LayeredRouteEngine(graph, new Timetable(timetable, graph, changes), kernels, this, changes);
+    }
+
+    /**
+     * Checks whether the engine was built for the given graph.
+     */
+    public boolean belongsTo(FlightGraph graph) {
+        return this.graph == graph;
+    }
+
+    /**
+     * Finds the optimal route of a single criterion, the others are computed as well.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @param optimization RouteOptimization selected
+     * @return the optimal route, null if no destination is reachable
+     */
+    public Route findOptimalRoute(Collection<String> origins, Collection<String> destinations,
+                                  Calculator.RouteOptimization optimization) {
+        return findRoutes(origins, destinations).route(optimization);
+    }
+
+    /**
+     * Finds the optimal routes of all criteria in one search.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @return the optimal route per criterion and the number of states computed
+     */
+    public Result findRoutes(Collection<String> origins, Collection<String> destinations) {
+        return findRoutes(origins, destinations, null, null);
+    }
+
+    /**
+     * Finds the optimal routes of all criteria in one search and records the states of the traced criterion.
+     *
+     * @param trace receives the states of the search, null to disable tracing
+     * @param traced criterion whose costs are recorded in the trace
+     */
+    Result findRoutes(Collection<String> origins, Collection<String> destinations,
+                      SearchTrace trace, Calculator.RouteOptimization traced) {
+        int[] targets = timetable.indices(destinations);
+        boolean[] isTarget = new boolean[timetable.airportCount];
+        for (int target : targets) {
+            isTarget[target] = true;
+        }
+
+        Layer[] layers = layers(origins, isTarget, trace, traced != null ? Criterion.of(traced) : null);
+        return result(layers, targets, true);
+    }
+
+    /**
+     * Finds the optimal routes from the origins to each of several destination sets in one search.
+     * Routes continue through destinations, so only PRICE, DURATION and STOPOVERS are computed.
+     * DURATION_MAX depends on where routes end and needs a findRoutes search per destination set.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinationSets one collection of acceptable destinations per query
+     * @return the optimal routes per destination set (same order), all results count the states of the shared search
+     */
+    public List<Result> findRoutesToEach(Collection<String> origins,
+                                         List<? extends Collection<String>> destinationSets) {
+        Layer[] layers = layers(origins, new boolean[timetable.airportCount], null, null);
+
+        List<Result> results = new ArrayList<>(destinationSets.size());
+        for (Collection<String> destinations : destinationSets) {
+            results.add(result(layers, timetable.indices(destinations), false));
+        }
+        return results;
+    }
+
+    /**
+     * Computes the layers 1..MAX_LEGS, routes are not extended beyond airports marked as stop.
+     */
+    private Layer[] layers(Collection<String> origins, boolean[] stop, SearchTrace trace, Criterion traced) {
+        Layer[] layers = new Layer[MAX_LEGS + 1];
+        layers[1] = new Layer(timetable.flightCount);
+        for (int source : timetable.indices(origins)) {
+            if (trace != null) {
+                trace.settled(timetable.airportCodes[source], 0, 0, null);
+            }
+            for (int p = timetable.firstFlight[source]; p < timetable.firstFlight[source + 1]; p++) {
+                layers[1].set(p, price[p], duration[p]);
+            }
+        }
+        if (trace != null) {
+            trace(layers[1], 1, stop, trace, traced);
+        }
+
+        // the prefix is rebuilt for every layer, airports use disjoint ranges
+        Layer prefix = new Layer(timetable.flightCount + timetable.airportCount);
+        for (int k = 2; k <= MAX_LEGS; k++) {
+            layers[k] = new Layer(timetable.flightCount);
+            SweepTask task = new SweepTask(layers[k - 1], prefix, layers[k], stop, 0, timetable.airportCount);
+            if (timetable.flightCount < PARALLEL_THRESHOLD || trace != null) {
+                task.compute();
+            } else {
+                ForkJoinPool.commonPool().invoke(task);
+            }
+            if (trace != null) {
+                trace(layers[k], k, stop, trace, traced);
+            }
+        }
+        return layers;
+    }
+
+    /**
+     * Extends the routes arriving at an airport by each departing flight.
+     * The running best values of the arrivals are collected in the prefix, every departure
+     * then adds its price and duration to the prefix entry of the arrivals allowing the connection.
+     */
+    private void sweep(int airport, Layer before, Layer prefix, Layer after) {
+        int from = timetable.firstFlight[airport];
+        int to = timetable.firstFlight[airport + 1];
+        if (from == to) {
+            return;
+        }
+
+        int entry = firstArriving[airport] + airport;
+        prefix.price[entry] = -1;
+        prefix.minDuration[entry] = -1;
+        prefix.maxDuration[entry] = -1;
+        for (int i = firstArriving[airport]; i < firstArriving[airport + 1]; i++) {
+            int f = arriving[i];
+            prefix.copy(entry, entry + 1);
+            entry++;
+            if (!before.reached(f)) {
+                continue;
+            }
+            // an arrival is either reached in all criteria or in none
+            if (prefix.price[entry] < 0 || before.price[f] < prefix.price[entry]) {
+                prefix.price[entry] = before.price[f];
+                prefix.cheapest[entry] = f;
+            }
+            if (prefix.minDuration[entry] < 0 || before.minDuration[f] < prefix.minDuration[entry]) {
+                prefix.minDuration[entry] = before.minDuration[f];
+                prefix.fastest[entry] = f;
+            }
+            if (before.maxDuration[f] > prefix.maxDuration[entry]) {
+                prefix.maxDuration[entry] = before.maxDuration[f];
+                prefix.slowest[entry] = f;
+            }
+        }
+
+        kernels.gatherAdd(prefix.price, boundary, price, after.price, from, to);
+        kernels.gatherAdd(prefix.minDuration, boundary, duration, after.minDuration, from, to);
+        kernels.gatherAdd(prefix.maxDuration, boundary, duration, after.maxDuration, from, to);
+        kernels.gather(prefix.cheapest, boundary, after.cheapest, from, to);
+        kernels.gather(prefix.fastest, boundary, after.fastest, from, to);
+        kernels.gather(prefix.slowest, boundary, after.slowest, from, to);
+    }
+
+    /**
+     * Picks the best route per criterion among the flights arriving at the targets.
+     */
+    private Result result(Layer[] layers, int[] targets, boolean withMaxDuration) {
+        int[] cheapest = {0, -1};
+        int[] fastest = {0, -1};
+        int[] slowest = {0, -1};
+        int[] fewest = {0, -1};
+        int states = 0;
+        for (int k = 1; k <= MAX_LEGS; k++) {
+            Layer layer = layers[k];
+            states += layer.count();
+            for (int target : targets) {
+                for (int i = firstArriving[target]; i < firstArriving[target + 1]; i++) {
+                    int f = arriving[i];
+                    if (!layer.reached(f)) {
+                        continue;
+                    }
+                    if (cheapest[1] < 0 || layer.price[f] < layers[cheapest[0]].price[cheapest[1]]) {
+                        cheapest = new int[]{k, f};
+                    }
+                    if (fastest[1] < 0 || layer.minDuration[f] < layers[fastest[0]].minDuration[fastest[1]]) {
+                        fastest = new int[]{k, f};
+                    }
+                    if (slowest[1] < 0 || layer.maxDuration[f] > layers[slowest[0]].maxDuration[slowest[1]]) {
+                        slowest = new int[]{k, f};
+                    }
+                    // fewest flights, the cheapest of them
+                    if (fewest[1] < 0 || fewest[0] == k && layer.price[f] < layer.price[fewest[1]]) {
+                        fewest = new int[]{k, f};
+                    }
+                }
+            }
+        }
+
+        Map<Calculator.RouteOptimization, Route> routes = new EnumMap<>(Calculator.RouteOptimization.class);
+        routes.put(Calculator.RouteOptimization.PRICE, route(layers, cheapest, Criterion.PRICE));
+        routes.put(Calculator.RouteOptimization.DURATION, route(layers, fastest, Criterion.MIN_DURATION));
+        if (withMaxDuration) {
+            routes.put(Calculator.RouteOptimization.DURATION_MAX, route(layers, slowest, Criterion.MAX_DURATION));
+        }
+        routes.put(Calculator.RouteOptimization.STOPOVERS, route(layers, fewest, Criterion.PRICE));
+        return new Result(routes, states);
+    }
+
+    /**
+     * Records the states of a layer, grouped by the airport they arrive at:
+     * - at a stop: reached
+     * - in the last layer: pruned by the stopover limit
+     * - otherwise: dominated if an earlier arrival at the airport is at least as good,
+     *   as every departure it allows is also allowed after the earlier arrival, else settled,
+     *   together with the departure missed most narrowly by the minimum connection time
+     */
+    private void trace(Layer layer, int legs, boolean[] stop, SearchTrace trace, Criterion criterion) {
+        long[] cost = layer.cost(criterion);
+        for (int a = 0; a < timetable.airportCount; a++) {
+            String airport = timetable.airportCodes[a];
+            long best = -1;
+            int departure = timetable.firstFlight[a];
+            for (int i = firstArriving[a]; i < firstArriving[a + 1]; i++) {
+                int f = arriving[i];
+                if (!layer.reached(f)) {
+                    continue;
+                }
+                Flight flight = timetable.flights[departing[f]];
+                if (stop[a]) {
+                    trace.reached(airport, legs, cost[f], flight);
+                } else if (legs == MAX_LEGS) {
+                    trace.prunedStopovers(airport, legs, cost[f], flight);
+                } else if (best >= 0 && (criterion == Criterion.MAX_DURATION ? cost[f] <= best : cost[f] >= best)) {
+                    trace.prunedDominated(airport, legs, cost[f], flight, best);
+                } else {
+                    best = cost[f];
+                    trace.settled(airport, legs, cost[f], flight);
+
+                    int arrival = arrivalMinute[departing[f]];
+                    while (departure < timetable.firstFlight[a + 1] && timetable.departureMinute[departing[departure]]
+                            - arrival < Calculator.MIN_CONNECTION_TIME) {
+                        departure++;
+                    }
+                    if (departure > timetable.firstFlight[a]) {
+                        int missed = departing[departure - 1];
+                        trace.rejectedConnection(flight, timetable.flights[missed],
+                                timetable.departureMinute[missed] - arrival);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows the predecessors of the given criterion from the last flight back to the origin.
+     */
+    private Route route(Layer[] layers, int[] last, Criterion criterion) {
+        if (last[1] < 0) {
+            return null;
+        }
+        int legs = last[0];
+        Flight[] path = new Flight[legs];
+        for (int k = legs, f = last[1]; k > 0; k--) {
+            path[k - 1] = timetable.flights[departing[f]];
+            f = layers[k].previous(criterion)[f];
+        }
+        return new Route(0, Arrays.asList(path));
+    }
+
+    private static int[] slots(long[] keys) {
+        int[] slots = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            slots[i] = (int) keys[i];
+        }
+        return slots;
+    }
+
+    private enum Criterion {
+        PRICE,
+        MIN_DURATION,
+        MAX_DURATION;
+
+        /**
+         * Returns the values deciding the optimization, STOPOVERS prefers the cheapest route.
+         */
+        static Criterion of(Calculator.RouteOptimization optimization) {
+            return switch (optimization) {
+                case PRICE, STOPOVERS -> PRICE;
+                case DURATION -> MIN_DURATION;
+                case DURATION_MAX -> MAX_DURATION;
+            };
+        }
+    }
+
+    /**
+     * Best values and predecessors of all routes with the same number of flights, indexed by the position
+     * of their last flight. Unreached entries have negative values.
+     */
+    private static class Layer {
+
+        final long[] price;
+        final int[] minDuration;
+        final int[] maxDuration;
+        final int[] cheapest;
+        final int[] fastest;
+        final int[] slowest;
+
+        Layer(int flights) {
+            this.price = new long[flights];
+            this.minDuration = new int[flights];
+            this.maxDuration = new int[flights];
+            this.cheapest = new int[flights];
+            this.fastest = new int[flights];
+            this.slowest = new int[flights];
+            Arrays.fill(price, -1);
+            Arrays.fill(minDuration, -1);
+            Arrays.fill(maxDuration, -1);
+        }
+
+        void set(int f, long priceCents, int duration) {
+            price[f] = priceCents;
+            minDuration[f] = duration;
+            maxDuration[f] = duration;
+            cheapest[f] = -1;
+            fastest[f] = -1;
+            slowest[f] = -1;
+        }
+
+        void copy(int from, int to) {
+            price[to] = price[from];
+            minDuration[to] = minDuration[from];
+            maxDuration[to] = maxDuration[from];
+            cheapest[to] = cheapest[from];
+            fastest[to] = fastest[from];
+            slowest[to] = slowest[from];
+        }
+
+        boolean reached(int f) {
+            return maxDuration[f] >= 0;
+        }
+
+        int count() {
+            int count = 0;
+            for (int duration : maxDuration) {
+                count += duration >= 0 ? 1 : 0;
+            }
+            return count;
+        }
+
+        long[] cost(Criterion criterion) {
+            if (criterion == Criterion.PRICE) {
+                return price;
+            }
+            int[] values = criterion == Criterion.MIN_DURATION ? minDuration : maxDuration;
+            long[] cost = new long[values.length];
+            for (int f = 0; f < values.length; f++) {
+                cost[f] = values[f];
+            }
+            return cost;
+        }
+
+        int[] previous(Criterion criterion) {
+            return switch (criterion) {
+                case PRICE -> cheapest;
+                case MIN_DURATION -> fastest;
+                case MAX_DURATION -> slowest;
+            };
+        }
+    }
+
+    /**
+     * Sweeps the airports [from, to) of one layer, splitting large ranges in halves.
+     */
+    private class SweepTask extends RecursiveAction {
+
+        private final Layer before;
+        private final Layer prefix;
+        private final Layer after;
+        private final boolean[] stop;
+        private final int from;
+        private final int to;
+
+        SweepTask(Layer before, Layer prefix, Layer after, boolean[] stop, int from, int to) {
+            this.before = before;
+            this.prefix = prefix;
+            this.after = after;
+            this.stop = stop;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > AIRPORTS_PER_TASK && timetable.flightCount >= PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SweepTask(before, prefix, after, stop, from, mid),
+                        new SweepTask(before, prefix, after, stop, mid, to));
+                return;
+            }
+            for (int airport = from; airport < to; airport++) {
+                // routes end at the first destination reached
+                if (!stop[airport]) {
+                    sweep(airport, before, prefix, after);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param routes optimal route per computed criterion, null values if no destination is reachable
+     * @param states number of (flights, last flight) states computed
+     */
+    public record Result(Map<Calculator.RouteOptimization, Route> routes, int states) {
+
+        /**
+         * Returns the optimal route of a criterion.
+         * Throws IllegalArgumentException if the criterion was not computed by the search.
+         *
+         * @return the route or null if no destination is reachable
+         */
+        public Route route(Calculator.RouteOptimization optimization) {
+            if (!routes.containsKey(optimization)) {
+                throw new IllegalArgumentException(optimization + " wurde in dieser Suche nicht berechnet.");
+            }
+            return routes.get(optimization);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Computes all sensible journeys of a day between two locations in a single sweep (profile Connection Scan).
+ * The result is the Pareto set of (departure, arrival): every journey departing on day 0 for which no journey
+ * departs later and arrives no later. It answers "all ways to fly VIE-JFK today" without a search per departure.
+ * Workflow:
+ * - the earliest arrival for a departure at 23:59 bounds the arrival of every wanted journey (RaptorRouter)
+ * - the daily flights are unrolled into connections up to this arrival
+ * - connections are scanned once by descending departure time
+ * - for every airport and number of remaining flights k, a profile of (departure, earliest arrival) pairs is kept,
+ *   a connection either reaches a destination or continues with the profile for k - 1 flights at its arrival
+ *   airport, MIN_CONNECTION_TIME minutes after arriving
+ * - the profile of the origins with MAX_LEGS flights is the result
+ * Connections are sorted once per graph snapshot, a ProfileSearch can be shared by concurrent queries.
+ * The search of a snapshot derived from an earlier one (derive) reuses the timetable of the unchanged airports.
+ * Time complexity: O(D * F * K * log P) per query with D unrolled days (usually 2) and P entries per profile
+ * Space complexity: O(D * F * K) in the worst case
+ */
+public class ProfileSearch {
+
+    private final FlightGraph graph;
+    private final Timetable timetable;
+    private final RaptorRouter router;
+    private final int[] byDeparture;
+
+    /**
+     * Builds the timetable of the given graph and sorts its connections.
+     *
+     * @param graph the graph snapshot to search
+     */
+    public ProfileSearch(FlightGraph graph) {
+        this(graph, new Timetable(graph));
+    }
+
+    private ProfileSearch(FlightGraph graph, Timetable timetable) {
+        this.graph = graph;
+        this.timetable = timetable;
+        this.router = new RaptorRouter(timetable);
+
+        // counting sort by minute of the day, latest first
+        int[] start = new int[Timetable.MINUTES_PER_DAY + 1];
+        for (int f = 0; f < timetable.flightCount; f++) {
+            start[Timetable.MINUTES_PER_DAY - timetable.departureMinute[f]]++;
+        }
+        for (int i = 1; i <= Timetable.MINUTES_PER_DAY; i++) {
+            start[i] += start[i - 1];
+        }
+        this.byDeparture = new int[timetable.flightCount];
+        for (int f = timetable.flightCount - 1; f >= 0; f--) {
+            byDeparture[--start[Timetable.MINUTES_PER_DAY - timetable.departureMinute[f]]] = f;
+        }
+    }
+
+    /**
+     * Returns a search for the given graph. If the graph is a copy of the graph of this search
+     * (FlightGraph.changesSince), only the flights of the changed airports are read from the graph.
+     * Time complexity: O(A + F) array copies plus O(flights of the changed airports)
+     *
+     * @param graph the graph snapshot to search
+     * @return this search if it belongs to the graph, else a new search
+     */
+    public ProfileSearch derive(FlightGraph graph) {
+        if (graph == this.graph) {
+            return this;
+        }
+        FlightGraph.Changes changes = graph.changesSince(this.graph);
+        if (changes == null) {
+            return new ProfileSearch(graph);
+        }
+        return new ProfileSearch(graph, new Timetable(timetable, graph, changes));
+    }
+
+    /**
+     * Finds all journeys departing on day 0 that are not dominated by a journey departing
+     * no earlier and arriving no later.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @return journeys ordered by departure (and thereby by arrival), empty if no destination is reachable
+     */
+    public List<Journey> search(Collection<String> origins, Collection<String> destinations) {
+        long start = Metrics.start();
+        int[] sources = timetable.indices(origins);
+        int[] targets = timetable.indices(destinations);
+        if (sources.length == 0 || targets.length == 0) {
+            return List.of();
+        }
+
+        // a journey departing on day 0 that arrives later is beaten by the last departure of the day
+        int lastArrival = router.earliestArrival(sources, targets, Timetable.MINUTES_PER_DAY - 1);
+        if (lastArrival == Timetable.UNREACHED) {
+            return List.of();
+        }
+
+        boolean[] isTarget = new boolean[timetable.airportCount];
+        for (int target : targets) {
+            isTarget[target] = true;
+        }
+        Profile[][] profiles = scan(isTarget, lastArrival);
+
+        List<int[]> entries = new ArrayList<>();
+        for (int source : sources) {
+            Profile profile = profiles[RaptorRouter.MAX_LEGS][source];
+            if (profile == null || isTarget[source]) {
+                continue;
+            }
+            for (int i = 0; i < profile.size; i++) {
+                if (profile.departure[i] < Timetable.MINUTES_PER_DAY) {
+                    entries.add(new int[]{profile.departure[i], profile.arrival[i], source, i});
+                }
+            }
+        }
+
+        // merge the profiles of several origins, latest departure first
+        entries.sort(Comparator.<int[]>comparingInt(e -> -e[0]).thenComparingInt(e -> e[1]));
+        List<Journey> journeys = new ArrayList<>();
+        int bestArrival = Timetable.UNREACHED;
+        for (int[] entry : entries) {
+            if (entry[1] < bestArrival) {
+                bestArrival = entry[1];
+                journeys.add(journey(profiles, entry[2], entry[3]));
+            }
+        }
+        journeys.sort(Comparator.comparingInt(Journey::departure));
+
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("route_search_seconds", "criterion", "profile_scan").stop(start);
+            Metrics.counter("route_searches_total", "criterion", "profile_scan").increment();
+        }
+        return journeys;
+    }
+
+    /**
+     * Scans the connections arriving until lastArrival by descending departure
+     * and builds the profiles per number of flights and airport.
+     */
+    private Profile[][] scan(boolean[] isTarget, int lastArrival) {
+        Profile[][] profiles = new Profile[RaptorRouter.MAX_LEGS + 1][timetable.airportCount];
+
+        for (int day = lastArrival / Timetable.MINUTES_PER_DAY; day >= 0; day--) {
+            for (int f : byDeparture) {
+                int departs = day * Timetable.MINUTES_PER_DAY + timetable.departureMinute[f];
+                int arrives = departs + timetable.duration[f];
+                if (arrives > lastArrival) {
+                    continue;
+                }
+                int to = timetable.destination[f];
+                int from = timetable.origin[f];
+
+                for (int k = 1; k <= RaptorRouter.MAX_LEGS; k++) {
+                    int best = isTarget[to] ? arrives : Timetable.UNREACHED;
+                    int next = -1;
+                    Profile onward = profiles[k - 1][to];
+                    if (onward != null) {
+                        int i = onward.find(arrives + Calculator.MIN_CONNECTION_TIME);
+                        if (i >= 0 && onward.arrival[i] < best) {
+                            best = onward.arrival[i];
+                            next = i;
+                        }
+                    }
+                    if (best == Timetable.UNREACHED) {
+                        continue;
+                    }
+
+                    Profile profile = profiles[k][from];
+                    if (profile == null) {
+                        profile = new Profile();
+                        profiles[k][from] = profile;
+                    }
+                    profile.add(departs, best, f, next);
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Follows the profile entries from an origin entry to the destination.
+     */
+    private Journey journey(Profile[][] profiles, int airport, int index) {
+        List<Journey.Leg> legs = new ArrayList<>();
+        int k = RaptorRouter.MAX_LEGS;
+        while (index >= 0) {
+            Profile profile = profiles[k][airport];
+            int f = profile.flight[index];
+            int departs = profile.departure[index];
+            legs.add(new Journey.Leg(timetable.flights[f], departs, departs + timetable.duration[f]));
+            airport = timetable.destination[f];
+            index = profile.next[index];
+            k--;
+        }
+        return new Journey(List.copyOf(legs));
+    }
+
+    /**
+     * Pareto profile of an airport for a number of remaining flights, filled by descending departure.
+     * Both departures and arrivals strictly decrease with the index.
+     * next is the index of the onward entry in the profile with one flight less, -1 if the flight reaches a destination.
+     */
+    private static class Profile {
+
+        int[] departure = new int[4];
+        int[] arrival = new int[4];
+        int[] flight = new int[4];
+        int[] next = new int[4];
+        int size;
+
+        void add(int departs, int arrives, int f, int onward) {
+            if (size > 0 && arrives >= arrival[size - 1]) {
+                return;
+            }
+            if (size > 0 && departure[size - 1] == departs) {
+                size--;
+            }
+            if (size == departure.length) {
+                int capacity = size * 2;
+                departure = Arrays.copyOf(departure, capacity);
+                arrival = Arrays.copyOf(arrival, capacity);
+                flight = Arrays.copyOf(flight, capacity);
+                next = Arrays.copyOf(next, capacity);
+            }
+            departure[size] = departs;
+            arrival[size] = arrives;
+            flight[size] = f;
+            next[size] = onward;
+            size++;
+        }
+
+        /**
+         * Returns the index of the earliest departure at or after the given time, -1 if there is none.
+         * It has the earliest arrival of all entries departing at or after the time.
+         */
+        int find(int time) {
+            int low = 0;
+            int high = size - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (departure[mid] >= time) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+}
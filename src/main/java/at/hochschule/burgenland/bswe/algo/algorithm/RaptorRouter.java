@@ -0,0 +1,388 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Earliest-arrival router for the daily timetable based on RAPTOR (Round-bAsed Public Transit Optimized Router).
+ * Every flight departs daily at its departure time, so a journey may wait overnight for a connection.
+ * Instead of a priority queue, the search works in rounds:
+ * - round k finds the earliest arrival at every airport using at most k flights
+ * - only airports improved in the previous round are scanned again
+ * - the number of rounds is limited to MAX_STOPOVERS + 1 flights, as in Calculator
+ * - connections require MIN_CONNECTION_TIME minutes, the first flight may depart at the requested time
+ * The result is the Pareto set over the number of flights: for each number of flights the earliest-arrival
+ * journey, if it arrives earlier than every journey with fewer flights.
+ * The profile query (rRAPTOR) computes these journeys for all departures of a day. Departure times are scanned
+ * from latest to earliest, labels of later departures are kept as upper bounds. Large profiles are split into
+ * ranges of departure times that are computed in parallel on the fork/join framework.
+ * Unlike Calculator, layovers across midnight wait for the next day's departure instead of being rejected.
+ * The timetable is copied into flat arrays (Timetable) on construction, a router belongs to one graph snapshot.
+ * Time complexity: O(K * (F + A)) per query, O(D * K * (F + A)) per profile with D departure times
+ * Space complexity: O(F + K * A)
+ */
+public class RaptorRouter {
+
+    public static final int MAX_LEGS = Calculator.MAX_STOPOVERS + 1;
+
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    private final Timetable timetable;
+
+    /**
+     * Builds the timetable of the given graph.
+     *
+     * @param graph the graph snapshot to route on
+     */
+    public RaptorRouter(FlightGraph graph) {
+        this(new Timetable(graph));
+    }
+
+    RaptorRouter(Timetable timetable) {
+        this.timetable = timetable;
+    }
+
+    /**
+     * Finds the earliest-arrival journey for each number of flights, departing at or after the given time.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @param departure earliest departure at the origin on day 0
+     * @return Pareto-optimal journeys ordered by number of flights, empty if no destination is reachable
+     */
+    public List<Journey> findJourneys(Collection<String> origins, Collection<String> destinations, LocalTime departure) {
+        long start = Metrics.start();
+        int[] sources = timetable.indices(origins);
+        int[] targets = timetable.indices(destinations);
+        if (sources.length == 0 || targets.length == 0) {
+            return List.of();
+        }
+
+        Labels labels = new Labels(targets);
+        int[] before = labels.bestPerLegs();
+        labels.run(sources, departure.toSecondOfDay() / 60);
+        List<Journey> journeys = labels.improvedJourneys(before);
+
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("route_search_seconds", "criterion", "earliest_arrival").stop(start);
+            Metrics.counter("route_searches_total", "criterion", "earliest_arrival").increment();
+        }
+        return journeys;
+    }
+
+    /**
+     * Returns the earliest arrival at any target with at most MAX_LEGS flights, UNREACHED if none is reachable.
+     */
+    int earliestArrival(int[] sources, int[] targets, int departure) {
+        Labels labels = new Labels(targets);
+        labels.run(sources, departure);
+        return labels.bestPerLegs()[MAX_LEGS];
+    }
+
+    /**
+     * Finds the journey arriving first, regardless of the number of flights.
+     *
+     * @param origin IATA of origin
+     * @param destination IATA of destination
+     * @param departure earliest departure at the origin on day 0
+     * @return the earliest-arrival journey, null if the destination is not reachable
+     */
+    public Journey findEarliestArrival(String origin, String destination, LocalTime departure) {
+        List<Journey> journeys = findJourneys(List.of(origin), List.of(destination), departure);
+        return journeys.isEmpty() ? null : journeys.get(journeys.size() - 1);
+    }
+
+    /**
+     * Computes the profile over one day: all journeys that are not dominated by a journey departing
+     * no earlier, arriving no later and using no more flights.
+     * Each departure time of a flight leaving an origin is one rRAPTOR iteration.
+     * Only journeys departing on day 0 are reported, later days repeat the same journeys.
+     *
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @return Pareto-optimal journeys ordered by departure, then by number of flights
+     */
+    public List<Journey> profile(Collection<String> origins, Collection<String> destinations) {
+        long start = Metrics.start();
+        int[] sources = timetable.indices(origins);
+        int[] targets = timetable.indices(destinations);
+        if (sources.length == 0 || targets.length == 0) {
+            return List.of();
+        }
+
+        TreeSet<Integer> times = new TreeSet<>(Comparator.reverseOrder());
+        for (int source : sources) {
+            for (int f = timetable.firstFlight[source]; f < timetable.firstFlight[source + 1]; f++) {
+                times.add(timetable.departureMinute[f]);
+            }
+        }
+        int[] departures = times.stream().mapToInt(Integer::intValue).toArray();
+
+        ProfileTask task = new ProfileTask(sources, targets, departures, 0, departures.length);
+        List<Journey> candidates = departures.length <= PARALLEL_THRESHOLD
+                ? task.compute()
+                : ForkJoinPool.commonPool().invoke(task);
+        List<Journey> journeys = paretoFilter(candidates);
+
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("route_search_seconds", "criterion", "profile").stop(start);
+            Metrics.counter("route_searches_total", "criterion", "profile").increment();
+        }
+        return journeys;
+    }
+
+    /**
+     * Removes journeys dominated by another journey of the merged ranges or of a later day.
+     * Each range only knows the labels of its own later departures, so its first iterations
+     * may report journeys that a later range beats. As the timetable repeats daily, the journeys
+     * of later days are the candidates shifted by whole days, they are compared but not returned.
+     */
+    private static List<Journey> paretoFilter(List<Journey> candidates) {
+        int lastArrival = candidates.stream().mapToInt(Journey::arrival).max().orElse(0);
+        List<Shifted> sorted = new ArrayList<>();
+        for (Journey journey : candidates) {
+            for (int shift = 0; journey.departure() + shift <= lastArrival; shift += Timetable.MINUTES_PER_DAY) {
+                sorted.add(new Shifted(journey, shift));
+            }
+        }
+        sorted.sort(Comparator.comparingInt(Shifted::departure).reversed()
+                .thenComparingInt(Shifted::size).thenComparingInt(Shifted::arrival));
+
+        int[] best = new int[MAX_LEGS + 1];
+        Arrays.fill(best, Timetable.UNREACHED);
+        List<Journey> result = new ArrayList<>();
+        for (Shifted candidate : sorted) {
+            int legs = candidate.size();
+            if (candidate.arrival() >= best[legs]) {
+                continue;
+            }
+            if (candidate.departure() < Timetable.MINUTES_PER_DAY) {
+                result.add(candidate.journey());
+            }
+            for (int k = legs; k <= MAX_LEGS; k++) {
+                best[k] = Math.min(best[k], candidate.arrival());
+            }
+        }
+        result.sort(Comparator.comparingInt(Journey::departure).thenComparingInt(Journey::size));
+        return result;
+    }
+
+    /**
+     * A candidate journey moved to a later day.
+     */
+    private record Shifted(Journey journey, int shift) {
+
+        int departure() {
+            return journey.departure() + shift;
+        }
+
+        int arrival() {
+            return journey.arrival() + shift;
+        }
+
+        int size() {
+            return journey.size();
+        }
+    }
+
+    /**
+     * Computes the profile for the departure times [from, to), splitting large ranges in halves.
+     */
+    private class ProfileTask extends RecursiveTask<List<Journey>> {
+
+        private final int[] sources;
+        private final int[] targets;
+        private final int[] departures;
+        private final int from;
+        private final int to;
+
+        ProfileTask(int[] sources, int[] targets, int[] departures, int from, int to) {
+            this.sources = sources;
+            this.targets = targets;
+            this.departures = departures;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Journey> compute() {
+            if (to - from > PARALLEL_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                ProfileTask later = new ProfileTask(sources, targets, departures, from, mid);
+                ProfileTask earlier = new ProfileTask(sources, targets, departures, mid, to);
+                later.fork();
+                List<Journey> journeys = new ArrayList<>(earlier.compute());
+                journeys.addAll(later.join());
+                return journeys;
+            }
+
+            // departures are ordered from latest to earliest, labels are kept between iterations
+            Labels labels = new Labels(targets);
+            List<Journey> journeys = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                int[] before = labels.bestPerLegs();
+                labels.run(sources, departures[i]);
+                journeys.addAll(labels.improvedJourneys(before));
+            }
+            return journeys;
+        }
+    }
+
+    /**
+     * Arrival labels per round and airport of one search.
+     * arrival[k][a] is the earliest known arrival at airport a with at most k flights,
+     * legs[k][a] the number of flights of that journey. The last flight and its departure
+     * are stored in round legs[k][a].
+     */
+    private class Labels {
+
+        private final int[] targets;
+        private final boolean[] isTarget;
+        private final int[][] arrival;
+        private final byte[][] legs;
+        private final int[][] via;
+        private final int[][] boarding;
+        private int[] marked;
+        private int markedCount;
+        private int[] nextMarked;
+        private int nextMarkedCount;
+        private final boolean[] markedFlag;
+
+        Labels(int[] targets) {
+            this.targets = targets;
+            this.isTarget = new boolean[timetable.airportCount];
+            for (int target : targets) {
+                isTarget[target] = true;
+            }
+            this.arrival = new int[MAX_LEGS + 1][timetable.airportCount];
+            this.legs = new byte[MAX_LEGS + 1][timetable.airportCount];
+            this.via = new int[MAX_LEGS + 1][timetable.airportCount];
+            this.boarding = new int[MAX_LEGS + 1][timetable.airportCount];
+            for (int[] round : arrival) {
+                Arrays.fill(round, Timetable.UNREACHED);
+            }
+            this.marked = new int[timetable.airportCount];
+            this.nextMarked = new int[timetable.airportCount];
+            this.markedFlag = new boolean[timetable.airportCount];
+        }
+
+        /**
+         * Runs all rounds for a departure at the given minute of day 0.
+         */
+        void run(int[] sources, int departure) {
+            markedCount = 0;
+            for (int source : sources) {
+                if (departure < arrival[0][source]) {
+                    improve(0, source, departure, -1, 0);
+                    marked[markedCount++] = source;
+                }
+            }
+
+            for (int k = 1; k <= MAX_LEGS && markedCount > 0; k++) {
+                int bound = bestAtTargets(k);
+                int connection = k > 1 ? Calculator.MIN_CONNECTION_TIME : 0;
+                nextMarkedCount = 0;
+
+                for (int m = 0; m < markedCount; m++) {
+                    int airport = marked[m];
+                    int ready = arrival[k - 1][airport] + connection;
+                    for (int f = timetable.firstFlight[airport]; f < timetable.firstFlight[airport + 1]; f++) {
+                        int departs = Timetable.nextDeparture(timetable.departureMinute[f], ready);
+                        int arrives = departs + timetable.duration[f];
+                        int to = timetable.destination[f];
+                        if (arrives >= bound || arrives >= arrival[k][to] || (k == MAX_LEGS && !isTarget[to])) {
+                            continue;
+                        }
+                        improve(k, to, arrives, f, departs);
+                        if (!markedFlag[to]) {
+                            markedFlag[to] = true;
+                            nextMarked[nextMarkedCount++] = to;
+                        }
+                    }
+                }
+
+                int[] swap = marked;
+                marked = nextMarked;
+                nextMarked = swap;
+                markedCount = nextMarkedCount;
+                for (int m = 0; m < markedCount; m++) {
+                    markedFlag[marked[m]] = false;
+                }
+            }
+        }
+
+        /**
+         * Stores a journey with k flights, it is also the best known journey with more flights.
+         */
+        private void improve(int k, int airport, int time, int flight, int departs) {
+            arrival[k][airport] = time;
+            legs[k][airport] = (byte) k;
+            via[k][airport] = flight;
+            boarding[k][airport] = departs;
+            for (int j = k + 1; j <= MAX_LEGS && time < arrival[j][airport]; j++) {
+                arrival[j][airport] = time;
+                legs[j][airport] = (byte) k;
+            }
+        }
+
+        private int bestAtTargets(int k) {
+            int best = Timetable.UNREACHED;
+            for (int target : targets) {
+                best = Math.min(best, arrival[k][target]);
+            }
+            return best;
+        }
+
+        int[] bestPerLegs() {
+            int[] best = new int[MAX_LEGS + 1];
+            for (int k = 1; k <= MAX_LEGS; k++) {
+                best[k] = bestAtTargets(k);
+            }
+            return best;
+        }
+
+        /**
+         * Reconstructs the journeys whose arrival improved compared to the given best arrivals per round.
+         */
+        List<Journey> improvedJourneys(int[] before) {
+            List<Journey> journeys = new ArrayList<>();
+            for (int k = 1; k <= MAX_LEGS; k++) {
+                int best = Timetable.UNREACHED;
+                int bestTarget = -1;
+                for (int target : targets) {
+                    if (arrival[k][target] < best && legs[k][target] == k) {
+                        best = arrival[k][target];
+                        bestTarget = target;
+                    }
+                }
+                if (bestTarget >= 0 && best < before[k] && best < bestAtTargets(k - 1)) {
+                    journeys.add(journey(k, bestTarget));
+                }
+            }
+            return journeys;
+        }
+
+        private Journey journey(int k, int airport) {
+            Journey.Leg[] path = new Journey.Leg[k];
+            int round = k;
+            while (round > 0) {
+                int flight = via[round][airport];
+                path[round - 1] = new Journey.Leg(timetable.flights[flight],
+                        boarding[round][airport], arrival[round][airport]);
+                airport = timetable.origin[flight];
+                round = legs[round - 1][airport];
+            }
+            return new Journey(List.of(path));
+        }
+    }
+}
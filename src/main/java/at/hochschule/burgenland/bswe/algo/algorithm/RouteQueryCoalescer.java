@@ -0,0 +1,235 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Merges concurrent route queries to save route searches under load:
+ * - De-duplication: a query identical to one still in flight (same graph, origins, destinations
+ *   and optimization) waits for the result of the running query instead of searching again
+ * - Micro-batching: queries from the same origins arriving within the batching window are answered
+ *   by a single one-to-many search (Calculator.findRoutesToEach), which yields PRICE, DURATION and
+ *   STOPOVERS at once, so queries of these criteria share a batch
+ * The first query of a batch (leader) waits for the window, then searches on its own thread
+ * for all queries collected meanwhile. No additional threads are used.
+ * DURATION_MAX queries are only de-duplicated, as the one-to-many search cannot answer them.
+ * Results have the same cost as separate Calculator queries, among routes with equal cost
+ * a different one may be returned.
+ * If Metrics are enabled, queries per criterion, cache hits (de-duplicated queries)
+ * and batched queries are counted.
+ */
+public class RouteQueryCoalescer {
+
+    public static final long DEFAULT_WINDOW_MICROS = 1000;
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<Query, CompletableFuture<Route>> inFlight;
+    private final ConcurrentHashMap<BatchKey, Batch> pending;
+    private final LongAdder queries;
+    private final LongAdder searches;
+    private final LongAdder deduplicated;
+
+    public RouteQueryCoalescer() {
+        this(DEFAULT_WINDOW_MICROS);
+    }
+
+    /**
+     * Constructor with the batching window.
+     *
+     * @param windowMicros time a batch collects queries before searching, 0 for de-duplication only
+     */
+    public RouteQueryCoalescer(long windowMicros) {
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.inFlight = new ConcurrentHashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        this.queries = new LongAdder();
+        this.searches = new LongAdder();
+        this.deduplicated = new LongAdder();
+    }
+
+    /**
+     * Finds the optimal route, sharing the search with concurrent queries where possible.
+     * Blocks until the result is available, at most for the batching window plus the search.
+     *
+     * @param graph the graph snapshot to search, queries on different snapshots are never merged
+     * @param origins IATA codes of all acceptable origins
+     * @param destinations IATA codes of all acceptable destinations
+     * @param optimization RouteOptimization selected for cost calculation
+     * @return the best route calculated, null if none exists
+     */
+    public Route findOptimalRoute(FlightGraph graph, Collection<String> origins, Collection<String> destinations,
+                                  Calculator.RouteOptimization optimization) {
+        queries.increment();
+        if (Metrics.isEnabled()) {
+            Metrics.counter("route_queries_total", "criterion", optimization.name().toLowerCase()).increment();
+        }
+        Query query = new Query(graph, Set.copyOf(origins), Set.copyOf(destinations), optimization);
+
+        CompletableFuture<Route> result = new CompletableFuture<>();
+        CompletableFuture<Route> running = inFlight.putIfAbsent(query, result);
+        if (running != null) {
+            deduplicated.increment();
+            if (Metrics.isEnabled()) {
+                Metrics.counter("route_query_cache_hits_total").increment();
+            }
+            return await(running);
+        }
+
+        try {
+            if (optimization == Calculator.RouteOptimization.DURATION_MAX || windowNanos == 0) {
+                search(graph, List.of(new Pending(query, result)));
+            } else {
+                batch(query, result);
+            }
+            return await(result);
+        } finally {
+            inFlight.remove(query, result);
+        }
+    }
+
+    /**
+     * Number of queries received.
+     */
+    public long getQueries() {
+        return queries.sum();
+    }
+
+    /**
+     * Number of route searches actually executed.
+     */
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /**
+     * Number of queries answered by the search of an identical query in flight.
+     */
+    public long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * Number of searches saved by de-duplication and batching.
+     * Queries still in flight are counted as received but not yet searched.
+     */
+    public long getSavedSearches() {
+        return getQueries() - getSearches();
+    }
+
+    /**
+     * Adds the query to the open batch of its origins or opens a new batch.
+     * The thread opening a batch waits for the window, closes the batch and searches for all its queries.
+     */
+    private void batch(Query query, CompletableFuture<Route> result) {
+        BatchKey key = new BatchKey(query.graph(), query.origins());
+        Pending entry = new Pending(query, result);
+
+        Batch batch;
+        while (true) {
+            Batch created = new Batch();
+            batch = pending.putIfAbsent(key, created);
+            if (batch == null) {
+                batch = created;
+            }
+
+            synchronized (batch) {
+                if (!batch.closed) {
+                    batch.queries.add(entry);
+                    if (batch != created) {
+                        return;
+                    }
+                    break;
+                }
+            }
+            // closed by its leader after we obtained it, the leader also removes it from pending
+            pending.remove(key, batch);
+        }
+
+        // leader: collect queries for the window
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+
+        List<Pending> batchQueries;
+        synchronized (batch) {
+            batch.closed = true;
+            batchQueries = new ArrayList<>(batch.queries);
+        }
+        pending.remove(key, batch);
+
+        search(query.graph(), batchQueries);
+    }
+
+    /**
+     * Runs a single search for the given queries, which share graph and origins, and completes their results.
+     */
+    private void search(FlightGraph graph, List<Pending> batchQueries) {
+        searches.increment();
+        if (Metrics.isEnabled()) {
+            Metrics.counter("route_query_cache_misses_total").add(batchQueries.size());
+            Metrics.counter("route_query_batched_total").add(batchQueries.size() - 1);
+        }
+        Query first = batchQueries.get(0).query();
+        try {
+            Calculator calculator = new Calculator(graph);
+            if (batchQueries.size() == 1) {
+                batchQueries.get(0).result().complete(
+                        calculator.findOptimalRoute(first.origins(), first.destinations(), first.optimization()));
+                return;
+            }
+
+            List<Set<String>> destinationSets = new ArrayList<>();
+            batchQueries.forEach(entry -> destinationSets.add(entry.query().destinations()));
+            List<LayeredRouteEngine.Result> results = calculator.findRoutesToEach(first.origins(), destinationSets);
+            for (int i = 0; i < batchQueries.size(); i++) {
+                Pending entry = batchQueries.get(i);
+                entry.result().complete(results.get(i).route(entry.query().optimization()));
+            }
+        } catch (RuntimeException e) {
+            batchQueries.forEach(entry -> entry.result().completeExceptionally(e));
+        }
+    }
+
+    private static Route await(CompletableFuture<Route> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Identifies a query, graphs are compared by identity (one key per published snapshot).
+     */
+    private record Query(FlightGraph graph, Set<String> origins, Set<String> destinations,
+                         Calculator.RouteOptimization optimization) {
+    }
+
+    private record BatchKey(FlightGraph graph, Set<String> origins) {
+    }
+
+    private record Pending(Query query, CompletableFuture<Route> result) {
+    }
+
+    private static class Batch {
+        final List<Pending> queries = new ArrayList<>();
+        boolean closed;
+    }
+}
@@ -0,0 +1,211 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.io.Json;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records what a single route search did, for explaining surprising or slow results:
+ * - settled states (airport, number of flights, cost, last flight) layer by layer (LayeredRouteEngine),
+ *   for STOPOVERS the cost is the price deciding among routes with the fewest flights
+ * - destinations reached
+ * - states pruned by the stopover limit or dominated by an earlier arrival with at least the same cost
+ * - per settled state the departure missed most narrowly by the minimum connection time
+ * - the duration of the phases setup (resolving airports), search and result
+ * A trace is passed to Calculator.findOptimalRoute explicitly and belongs to one query,
+ * searches without a trace only check for null, so tracing costs nothing when not used.
+ * At most maxEvents events are kept, further events are only counted.
+ */
+public class SearchTrace {
+
+    public static final int DEFAULT_MAX_EVENTS = 10_000;
+
+    private final int maxEvents;
+    private final List<Event> events;
+    private final Map<String, Long> phaseNanos;
+    private final int[] counts;
+    private int dropped;
+    private long phaseStart;
+    private Calculator.RouteOptimization optimization;
+    private Collection<String> origins;
+    private Collection<String> destinations;
+    private Route route;
+
+    public SearchTrace() {
+        this(DEFAULT_MAX_EVENTS);
+    }
+
+    /**
+     * Constructor with a limit for the recorded events.
+     *
+     * @param maxEvents number of events kept, later events are only counted
+     */
+    public SearchTrace(int maxEvents) {
+        this.maxEvents = maxEvents;
+        this.events = new ArrayList<>();
+        this.phaseNanos = new LinkedHashMap<>();
+        this.counts = new int[Type.values().length];
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns the number of events of a type, including dropped ones.
+     */
+    public int count(Type type) {
+        return counts[type.ordinal()];
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Returns the duration of each finished phase in nanoseconds, in the order of the phases.
+     */
+    public Map<String, Long> getPhaseNanos() {
+        return phaseNanos;
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    void begin(Collection<String> origins, Collection<String> destinations, Calculator.RouteOptimization optimization) {
+        this.origins = origins;
+        this.destinations = destinations;
+        this.optimization = optimization;
+        this.phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the current phase, the next phase starts immediately.
+     */
+    void phase(String name) {
+        long now = System.nanoTime();
+        phaseNanos.merge(name, now - phaseStart, Long::sum);
+        phaseStart = now;
+    }
+
+    void finish(Route route) {
+        this.route = route;
+    }
+
+    void settled(String airport, int legs, long cost, Flight lastFlight) {
+        add(new Event(Type.SETTLED, airport, legs, cost, flightId(lastFlight), -1, 0));
+    }
+
+    void reached(String airport, int legs, long cost, Flight lastFlight) {
+        add(new Event(Type.REACHED, airport, legs, cost, flightId(lastFlight), -1, 0));
+    }
+
+    void prunedStopovers(String airport, int legs, long cost, Flight lastFlight) {
+        add(new Event(Type.PRUNED_STOPOVERS, airport, legs, cost, flightId(lastFlight), -1, 0));
+    }
+
+    void prunedDominated(String airport, int legs, long cost, Flight lastFlight, long bestCost) {
+        add(new Event(Type.PRUNED_DOMINATED, airport, legs, cost, flightId(lastFlight), -1, bestCost));
+    }
+
+    void rejectedConnection(Flight previous, Flight next, long layoverMinutes) {
+        add(new Event(Type.REJECTED_CONNECTION, previous.getDestination(), 0, 0,
+                previous.getId(), next.getId(), layoverMinutes));
+    }
+
+    /**
+     * Writes the trace as JSON object with the counts per event type, phase durations
+     * in microseconds, the flight ids of the resulting route and the recorded events.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"optimization\":").append(Json.quote(optimization != null ? optimization.name() : null));
+        json.append(",\"origins\":").append(origins != null ? Json.array(origins, Json::quote) : "[]");
+        json.append(",\"destinations\":").append(destinations != null ? Json.array(destinations, Json::quote) : "[]");
+
+        json.append(",\"counts\":{");
+        for (Type type : Type.values()) {
+            json.append(type.ordinal() > 0 ? "," : "").append(Json.quote(type.key)).append(':').append(count(type));
+        }
+        json.append("},\"dropped\":").append(dropped);
+
+        json.append(",\"phasesMicros\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+            json.append(first ? "" : ",").append(Json.quote(phase.getKey())).append(':')
+                    .append(TimeUnit.NANOSECONDS.toMicros(phase.getValue()));
+            first = false;
+        }
+        json.append('}');
+
+        json.append(",\"route\":").append(route != null ? Json.array(route.getFlights(), String::valueOf) : "null");
+        json.append(",\"events\":").append(Json.array(events, Event::toJson));
+        return json.append('}').toString();
+    }
+
+    private void add(Event event) {
+        counts[event.type().ordinal()]++;
+        if (events.size() < maxEvents) {
+            events.add(event);
+        } else {
+            dropped++;
+        }
+    }
+
+    private static int flightId(Flight flight) {
+        return flight != null ? flight.getId() : -1;
+    }
+
+    public enum Type {
+        SETTLED("settled"),
+        REACHED("reached"),
+        PRUNED_STOPOVERS("prunedStopovers"),
+        PRUNED_DOMINATED("prunedDominated"),
+        REJECTED_CONNECTION("rejectedConnection");
+
+        private final String key;
+
+        Type(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * A single step of the search.
+     *
+     * @param airport airport of the state, for rejected connections the connecting airport
+     * @param legs number of flights of the state
+     * @param cost cost of the state according to the optimization
+     * @param flightId last flight of the state (-1 for origins), for rejected connections the arriving flight
+     * @param nextFlightId for rejected connections the departing flight, -1 otherwise
+     * @param detail best known cost for dominated states, layover minutes for rejected connections
+     */
+    public record Event(Type type, String airport, int legs, long cost, int flightId, int nextFlightId, long detail) {
+
+        String toJson() {
+            StringBuilder json = new StringBuilder("{\"type\":").append(Json.quote(type.key))
+                    .append(",\"airport\":").append(Json.quote(airport));
+            if (type == Type.REJECTED_CONNECTION) {
+                json.append(",\"flight\":").append(flightId)
+                        .append(",\"nextFlight\":").append(nextFlightId)
+                        .append(",\"layoverMinutes\":").append(detail);
+            } else {
+                json.append(",\"legs\":").append(legs)
+                        .append(",\"cost\":").append(cost)
+                        .append(",\"flight\":").append(flightId);
+                if (type == Type.PRUNED_DOMINATED) {
+                    json.append(",\"bestCost\":").append(detail);
+                }
+            }
+            return json.append('}').toString();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily timetable of a graph snapshot in flat arrays for the timetable routers (RaptorRouter, ProfileSearch).
+ * - airports are numbered 0..airportCount-1
+ * - flights are numbered by origin airport, the flights of airport a are firstFlight[a]..firstFlight[a+1]-1
+ * - departure times are minutes of the day, every flight departs daily
+ * Times of journeys are absolute minutes since midnight of day 0.
+ * The timetable of a graph derived from an earlier snapshot (FlightGraph.changesSince) can be built from
+ * the timetable of that snapshot: airports keep their numbers, the flights of unchanged origins are copied
+ * and only the changed origins are read from the graph.
+ */
+final class Timetable {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int UNREACHED = Integer.MAX_VALUE;
+
+    final Map<String, Integer> airportIndex;
+    final String[] airportCodes;
+    final int airportCount;
+    final int flightCount;
+    final int[] firstFlight;
+    final int[] departureMinute;
+    final int[] duration;
+    final int[] origin;
+    final int[] destination;
+    final Flight[] flights;
+    // slot in this timetable per slot of the previous timetable, -1 if the flight changed, null if built in full
+    final int[] remap;
+
+    Timetable(FlightGraph graph) {
+        this.airportIndex = new HashMap<>();
+        for (Airport airport : graph.getAllAirports()) {
+            airportIndex.putIfAbsent(airport.getIata(), airportIndex.size());
+        }
+        Collection<Flight> all = graph.getAllFlights();
+        for (Flight flight : all) {
+            airportIndex.putIfAbsent(flight.getOrigin(), airportIndex.size());
+            airportIndex.putIfAbsent(flight.getDestination(), airportIndex.size());
+        }
+        this.airportCount = airportIndex.size();
+        this.flightCount = all.size();
+        this.airportCodes = new String[airportCount];
+        airportIndex.forEach((iata, index) -> airportCodes[index] = iata);
+
+        this.firstFlight = new int[airportCount + 1];
+        for (Flight flight : all) {
+            firstFlight[airportIndex.get(flight.getOrigin()) + 1]++;
+        }
+        for (int i = 0; i < airportCount; i++) {
+            firstFlight[i + 1] += firstFlight[i];
+        }
+
+        int[] next = Arrays.copyOf(firstFlight, airportCount);
+        this.departureMinute = new int[flightCount];
+        this.duration = new int[flightCount];
+        this.origin = new int[flightCount];
+        this.destination = new int[flightCount];
+        this.flights = new Flight[flightCount];
+        for (Flight flight : all) {
+            int from = airportIndex.get(flight.getOrigin());
+            int slot = next[from]++;
+            departureMinute[slot] = flight.getDepartureTime().toSecondOfDay() / 60;
+            duration[slot] = flight.getDuration();
+            origin[slot] = from;
+            destination[slot] = airportIndex.get(flight.getDestination());
+            flights[slot] = flight;
+        }
+        this.remap = null;
+    }
+
+    /**
+     * Builds the timetable of a graph from the timetable of the graph it was copied from.
+     * Time complexity: O(A + F) array copies plus O(flights of the changed origins) reads from the graph
+     *
+     * @param previous timetable of the graph the changes refer to
+     * @param graph the changed graph
+     * @param changes graph.changesSince(previous graph)
+     */
+    Timetable(Timetable previous, FlightGraph graph, FlightGraph.Changes changes) {
+        this.airportIndex = new HashMap<>(previous.airportIndex);
+        changes.airports().forEach(iata -> airportIndex.putIfAbsent(iata, airportIndex.size()));
+        Map<Integer, List<Flight>> changed = new HashMap<>();
+        for (String iata : changes.flightAirports()) {
+            airportIndex.putIfAbsent(iata, airportIndex.size());
+            List<Flight> departing = graph.getFlightsFrom(iata);
+            for (Flight flight : departing) {
+                airportIndex.putIfAbsent(flight.getDestination(), airportIndex.size());
+            }
+            changed.put(airportIndex.get(iata), departing);
+        }
+        this.airportCount = airportIndex.size();
+        this.airportCodes = Arrays.copyOf(previous.airportCodes, airportCount);
+        airportIndex.forEach((iata, index) -> airportCodes[index] = iata);
+
+        this.firstFlight = new int[airportCount + 1];
+        for (int a = 0; a < airportCount; a++) {
+            List<Flight> departing = changed.get(a);
+            int count = departing != null ? departing.size()
+                    : a < previous.airportCount ? previous.firstFlight[a + 1] - previous.firstFlight[a] : 0;
+            firstFlight[a + 1] = firstFlight[a] + count;
+        }
+        this.flightCount = firstFlight[airportCount];
+
+        this.departureMinute = new int[flightCount];
+        this.duration = new int[flightCount];
+        this.origin = new int[flightCount];
+        this.destination = new int[flightCount];
+        this.flights = new Flight[flightCount];
+        this.remap = new int[previous.flightCount];
+        Arrays.fill(remap, -1);
+        for (int a = 0; a < airportCount; a++) {
+            List<Flight> departing = changed.get(a);
+            int from = firstFlight[a];
+            if (departing == null) {
+                if (a < previous.airportCount) {
+                    int oldFrom = previous.firstFlight[a];
+                    int count = firstFlight[a + 1] - from;
+                    System.arraycopy(previous.departureMinute, oldFrom, departureMinute, from, count);
+                    System.arraycopy(previous.duration, oldFrom, duration, from, count);
+                    System.arraycopy(previous.origin, oldFrom, origin, from, count);
+                    System.arraycopy(previous.destination, oldFrom, destination, from, count);
+                    System.arraycopy(previous.flights, oldFrom, flights, from, count);
+                    for (int i = 0; i < count; i++) {
+                        remap[oldFrom + i] = from + i;
+                    }
+                }
+                continue;
+            }
+
+            // unchanged flights of a changed origin keep their identity via the id
+            Map<Integer, Integer> previousSlots = new HashMap<>();
+            if (a < previous.airportCount) {
+                for (int f = previous.firstFlight[a]; f < previous.firstFlight[a + 1]; f++) {
+                    previousSlots.put(previous.flights[f].getId(), f);
+                }
+            }
+            for (int i = 0; i < departing.size(); i++) {
+                Flight flight = departing.get(i);
+                int slot = from + i;
+                departureMinute[slot] = flight.getDepartureTime().toSecondOfDay() / 60;
+                duration[slot] = flight.getDuration();
+                origin[slot] = a;
+                destination[slot] = airportIndex.get(flight.getDestination());
+                flights[slot] = flight;
+                Integer old = previousSlots.get(flight.getId());
+                if (old != null && previous.flights[old].equals(flight)) {
+                    remap[old] = slot;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the numbers of the given airports, unknown IATA codes are skipped.
+     */
+    int[] indices(Collection<String> iatas) {
+        return iatas.stream().map(airportIndex::get).filter(i -> i != null).distinct()
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the absolute minute of the next daily departure at or after the given time.
+     */
+    static int nextDeparture(int minuteOfDay, int earliest) {
+        return earliest + Math.floorMod(minuteOfDay - earliest, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the absolute minute of the last daily departure at or before the given time.
+     */
+    static int previousDeparture(int minuteOfDay, int latest) {
+        return latest - Math.floorMod(latest - minuteOfDay, MINUTES_PER_DAY);
+    }
+}
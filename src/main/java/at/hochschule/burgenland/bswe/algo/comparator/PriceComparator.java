@@ -11,6 +11,6 @@ public class PriceComparator implements Comparator<Route> {
 
     @Override
     public int compare(Route r1, Route r2) {
-        return Double.compare(r1.getTotalPrice(), r2.getTotalPrice());
+        return Long.compare(r1.getTotalPriceCents(), r2.getTotalPriceCents());
     }
 }
\ No newline at end of file
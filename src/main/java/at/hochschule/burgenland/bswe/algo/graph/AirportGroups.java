@@ -0,0 +1,73 @@
+package at.hochschule.burgenland.bswe.algo.graph;
+
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.AirportGroup;
+
+import java.util.*;
+
+/**
+ * Registry resolving location names to the set of airports serving them.
+ * Groups are derived from the city of every airport and can be extended
+ * with explicit groups (e.g. metro area codes like NYC or names like "Wien").
+ * All names are matched case-insensitively.
+ */
+public class AirportGroups {
+
+    private final Set<String> airportIatas;
+    private final Map<String, Set<String>> groups;
+
+    /**
+     * Derives one group per city from the given airports.
+     *
+     * @param airports the airports to be grouped
+     */
+    public AirportGroups(Collection<Airport> airports) {
+        this.airportIatas = new HashSet<>();
+        this.groups = new HashMap<>();
+
+        for (Airport airport : airports) {
+            airportIatas.add(airport.getIata());
+            groups.computeIfAbsent(normalize(airport.getCity()), k -> new LinkedHashSet<>())
+                .add(airport.getIata());
+        }
+    }
+
+    /**
+     * Adds an explicit group, which is registered under both its code and its name.
+     * Members unknown to the registry are ignored. Existing groups with the same
+     * code or name are extended.
+     *
+     * @param group group to be added
+     */
+    public void addGroup(AirportGroup group) {
+        for (String key : List.of(group.getCode(), group.getName())) {
+            Set<String> members = groups.computeIfAbsent(normalize(key), k -> new LinkedHashSet<>());
+            for (String iata : group.getAirports()) {
+                if (airportIatas.contains(iata)) {
+                    members.add(iata);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves a location to IATA codes.
+     * An exact IATA code takes precedence over group codes, group names and cities.
+     *
+     * @param location IATA code, group code, group name or city
+     * @return the matching IATA codes, empty if nothing matches
+     */
+    public Set<String> resolve(String location) {
+        String iata = location.trim().toUpperCase();
+        if (airportIatas.contains(iata)) {
+            return Set.of(iata);
+        }
+
+        Set<String> members = groups.get(normalize(location));
+        return members != null ? Collections.unmodifiableSet(members) : Set.of();
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,8 +2,10 @@ package at.hochschule.burgenland.bswe.algo.graph;
 
 import at.hochschule.burgenland.bswe.algo.model.Airport;
 import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.FlightChange;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Directed graph structure modeling a flight network where
@@ -12,18 +14,75 @@ import java.util.*;
  * Includes:
  * - a node registry map, mapping the IATA of airports to their respective objects
  * - an adjacency map, mapping the IATA of airports to all possible direct flights (the actual graph)
- * - a flight map, mapping the ids of flights to their respective flight objects
+ * - a flight index, mapping the ids of flights to their respective flight objects (FlightIndex)
+ * Alternatively, flights and adjacency can be kept in an OffHeapFlightStore,
+ * in that case the adjacency list and flight index stay empty.
+ * A graph can be frozen, after which it is immutable and can be shared between threads
+ * without locking. Changes are then made on a mutableCopy, see VersionedFlightGraph.
+ * A copy shares the adjacency lists, the partitions of the flight index and the off-heap slots
+ * with its original and copies each of them before its first change (copy-on-write),
+ * so the cost of a copy grows with the number of airports and of changed flights, not of all flights.
+ * A copy of a frozen graph records the airports whose flights changed (changesSince),
+ * so caches built for the original can be updated for these airports only.
  */
 public class FlightGraph {
 
+    /**
+     * Number of flights from which create uses an off-heap store.
+     */
+    public static final int OFF_HEAP_THRESHOLD = 1_000_000;
+
+    private static final AtomicLong IDS = new AtomicLong();
+
     private final Map<String, Airport> airports;
     private final Map<String, List<Flight>> adjacencyList;
-    private final Map<Integer, Flight> flightById;
+    // origins whose adjacency list is shared with a copy or the original and must be copied before a change
+    private final Set<String> sharedOrigins;
+    private final FlightIndex flightById;
+    private final OffHeapFlightStore flightStore;
+    private boolean frozen;
+    // identity of this graph and of the frozen graph it was copied from (0 = none) for changesSince
+    private final long id;
+    private final long baseId;
+    private final Set<String> changedAirports;
+    private final Set<String> changedFlightAirports;
 
     public FlightGraph() {
+        this(null);
+    }
+
+    /**
+     * Constructor storing all flights in the given off-heap store.
+     *
+     * @param flightStore store for flights and adjacency, null to keep them on the heap
+     */
+    public FlightGraph(OffHeapFlightStore flightStore) {
+        this(flightStore, new FlightIndex(), 0);
+    }
+
+    private FlightGraph(OffHeapFlightStore flightStore, FlightIndex flightById, long baseId) {
         this.airports = new HashMap<>();
         this.adjacencyList = new HashMap<>();
-        this.flightById = new HashMap<>();
+        this.sharedOrigins = new HashSet<>();
+        this.flightById = flightById;
+        this.flightStore = flightStore;
+        this.id = IDS.incrementAndGet();
+        this.baseId = baseId;
+        this.changedAirports = new HashSet<>();
+        this.changedFlightAirports = new HashSet<>();
+    }
+
+    /**
+     * Creates an empty graph suited for the expected number of flights,
+     * large timetables are stored in an OffHeapFlightStore.
+     *
+     * @param expectedFlights expected number of flights
+     * @return the new graph
+     */
+    public static FlightGraph create(int expectedFlights) {
+        return expectedFlights >= OFF_HEAP_THRESHOLD
+                ? new FlightGraph(new OffHeapFlightStore(expectedFlights))
+                : new FlightGraph();
     }
 
     /**
@@ -33,17 +92,23 @@ public class FlightGraph {
      * @param airport airport to be added
      */
     public void addAirport(Airport airport) {
+        checkMutable();
         airports.put(airport.getIata(), airport);
         adjacencyList.putIfAbsent(airport.getIata(), new ArrayList<>());
+        if (baseId != 0) {
+            changedAirports.add(airport.getIata());
+        }
     }
 
     /**
      * Adds a flight (directed edge) to the graph.
+     * A flight with the same id is replaced and removed from the adjacency list of its origin.
      * Throws IllegalArgumentException if the airport is not recognized.
      *
      * @param flight flight to be added
      */
     public void addFlight(Flight flight) {
+        checkMutable();
         if (!airports.containsKey(flight.getOrigin()) ||
             !airports.containsKey(flight.getDestination())) {
             throw new IllegalArgumentException(
@@ -51,11 +116,148 @@ public class FlightGraph {
             );
         }
 
-        adjacencyList
-            .computeIfAbsent(flight.getOrigin(), k -> new ArrayList<>())
-            .add(flight);
+        recordChange(flight);
+        if (flightStore != null) {
+            if (baseId != 0) {
+                recordChange(flightStore.findById(flight.getId()));
+            }
+            flightStore.add(flight);
+            return;
+        }
 
-        flightById.put(flight.getId(), flight);
+        writableFlightsFrom(flight.getOrigin()).add(flight);
+        Flight previous = flightById.put(flight);
+        if (previous != null) {
+            List<Flight> flights = writableFlightsFrom(previous.getOrigin());
+            flights.remove(indexOf(flights, previous));
+            recordChange(previous);
+        }
+    }
+
+    /**
+     * Replaces the flight with the same id, e.g. after a retiming or a price change.
+     * The flight keeps its position in the adjacency list if the origin is unchanged.
+     * Throws IllegalArgumentException if the id or an airport is unknown.
+     *
+     * @param flight the new values of the flight
+     * @return the replaced flight
+     */
+    public Flight updateFlight(Flight flight) {
+        checkMutable();
+        if (!airports.containsKey(flight.getOrigin()) ||
+            !airports.containsKey(flight.getDestination())) {
+            throw new IllegalArgumentException(
+                "Flug referenziert unbekannten Flughafen."
+            );
+        }
+
+        if (flightStore != null) {
+            Flight previous = flightStore.update(flight);
+            recordChange(previous);
+            recordChange(flight);
+            return previous;
+        }
+
+        Flight previous = flightById.get(flight.getId());
+        if (previous == null) {
+            throw new IllegalArgumentException("Flug-ID " + flight.getId() + " ist nicht vorhanden.");
+        }
+
+        List<Flight> flights = writableFlightsFrom(previous.getOrigin());
+        int position = indexOf(flights, previous);
+        if (previous.getOrigin().equals(flight.getOrigin())) {
+            flights.set(position, flight);
+        } else {
+            flights.remove(position);
+            writableFlightsFrom(flight.getOrigin()).add(flight);
+        }
+
+        flightById.put(flight);
+        recordChange(previous);
+        recordChange(flight);
+        return previous;
+    }
+
+    /**
+     * Removes a flight (directed edge) from the graph.
+     * Time complexity: O(number of flights from the origin)
+     *
+     * @param id id of the flight to be removed
+     * @return the removed flight or null if the id is unknown
+     */
+    public Flight removeFlight(int id) {
+        checkMutable();
+        Flight previous;
+        if (flightStore != null) {
+            previous = flightStore.remove(id);
+        } else {
+            previous = flightById.remove(id);
+            if (previous != null) {
+                List<Flight> flights = writableFlightsFrom(previous.getOrigin());
+                flights.remove(indexOf(flights, previous));
+            }
+        }
+        recordChange(previous);
+        return previous;
+    }
+
+    /**
+     * Applies a timetable delta row by row.
+     * Only the adjacency lists of the changed origins and the changed ids are touched:
+     * - on-heap: O(flights of the origin) per UPDATE and REMOVE (identity scan of the list), O(1) per ADD,
+     *   plus copying the shared list and index partition on their first change
+     * - off-heap: see OffHeapFlightStore
+     * On a mutableCopy of a published snapshot the cost therefore depends on the delta, not on the graph.
+     * Rows which cannot be applied are skipped and reported in the result:
+     * - ADD of an id which already exists
+     * - UPDATE or REMOVE of an unknown id
+     * - flights referencing unknown airports
+     *
+     * @param changes the rows of the delta in order
+     * @return counts, rejected rows and the airports whose flights changed
+     */
+    public DeltaResult applyChanges(List<FlightChange> changes) {
+        checkMutable();
+        int added = 0, updated = 0, removed = 0;
+        List<String> rejected = new ArrayList<>();
+        Set<String> affectedAirports = new HashSet<>();
+
+        for (FlightChange change : changes) {
+            try {
+                Flight previous = null;
+                switch (change.getOperation()) {
+                    case ADD -> {
+                        if (getFlightById(change.getFlightId()) != null) {
+                            throw new IllegalArgumentException("Flug-ID " + change.getFlightId() + " ist bereits vorhanden.");
+                        }
+                        addFlight(change.getFlight());
+                        added++;
+                    }
+                    case UPDATE -> {
+                        previous = updateFlight(change.getFlight());
+                        updated++;
+                    }
+                    case REMOVE -> {
+                        previous = removeFlight(change.getFlightId());
+                        if (previous == null) {
+                            throw new IllegalArgumentException("Flug-ID " + change.getFlightId() + " ist nicht vorhanden.");
+                        }
+                        removed++;
+                    }
+                }
+
+                for (Flight flight : new Flight[] {previous, change.getFlight()}) {
+                    if (flight != null) {
+                        affectedAirports.add(flight.getOrigin());
+                        affectedAirports.add(flight.getDestination());
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                rejected.add(change.getOperation() + " " + change.getFlightId() + ": " + e.getMessage());
+            }
+        }
+
+        return new DeltaResult(added, updated, removed, rejected, affectedAirports);
     }
 
     /**
@@ -64,7 +266,11 @@ public class FlightGraph {
      * @param iata iata of the airport to get flights from
      */
     public List<Flight> getFlightsFrom(String iata) {
-        return adjacencyList.getOrDefault(iata, new ArrayList<>());
+        if (flightStore != null) {
+            return flightStore.getFlightsFrom(iata);
+        }
+        List<Flight> flights = adjacencyList.getOrDefault(iata, new ArrayList<>());
+        return frozen || sharedOrigins.contains(iata) ? Collections.unmodifiableList(flights) : flights;
     }
 
     /**
@@ -76,12 +282,22 @@ public class FlightGraph {
         return airports.get(iata);
     }
 
+    /**
+     * Gets all airports.
+     */
+    public Collection<Airport> getAllAirports() {
+        return frozen ? Collections.unmodifiableCollection(airports.values()) : airports.values();
+    }
+
     /**
      * Gets a flight by ID.
      *
      * @param id id of the flight to get
      */
     public Flight getFlightById(int id) {
+        if (flightStore != null) {
+            return flightStore.findById(id);
+        }
         return flightById.get(id);
     }
 
@@ -89,9 +305,44 @@ public class FlightGraph {
      * Gets all flights.
      */
     public Collection<Flight> getAllFlights() {
+        if (flightStore != null) {
+            return flightStore.flights();
+        }
         return flightById.values();
     }
 
+    /**
+     * Returns the ids of all flights in ascending order, taken from the id index without materializing flights.
+     */
+    public int[] sortedFlightIds() {
+        if (flightStore != null) {
+            return flightStore.sortedIds();
+        }
+        return flightById.sortedIds();
+    }
+
+    /**
+     * Checks whether the flight with the given id has the same values in both graphs.
+     * Off-heap flights are compared in their slots, without materializing them.
+     *
+     * @param id id of the flight
+     * @param other the graph to compare with
+     * @return true if both graphs contain the id with equal values
+     */
+    public boolean sameFlight(int id, FlightGraph other) {
+        if (flightStore != null && other.flightStore != null) {
+            return flightStore.matches(id, other.flightStore);
+        }
+        if (flightStore != null) {
+            return flightStore.matches(id, other.flightById.get(id));
+        }
+        if (other.flightStore != null) {
+            return other.flightStore.matches(id, flightById.get(id));
+        }
+        Flight flight = flightById.get(id);
+        return flight != null && flight.equals(other.flightById.get(id));
+    }
+
     /**
      * Checks if an airport (vertex) exists in the graph.
      *
@@ -100,4 +351,130 @@ public class FlightGraph {
     public boolean hasAirport(String iata) {
         return airports.containsKey(iata);
     }
-}
\ No newline at end of file
+
+    /**
+     * Makes this graph immutable. Any further modification throws IllegalStateException.
+     * A frozen graph must be published safely, e.g. via VersionedFlightGraph,
+     * afterwards it can be read by any number of threads concurrently.
+     *
+     * @return this graph
+     */
+    public FlightGraph freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Checks whether the flights are stored off-heap.
+     */
+    public boolean isOffHeap() {
+        return flightStore != null;
+    }
+
+    /**
+     * Checks whether this graph has been frozen.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Creates a modifiable copy of this graph with the same airports and flights.
+     * Airport and flight objects are shared, the adjacency lists, the partitions of the flight index
+     * and the off-heap slots are shared until they are changed (copy-on-write), in the copy as well as
+     * in this graph if it is not frozen.
+     * Time complexity: O(number of airports + FlightIndex partitions) for an on-heap graph,
+     * see OffHeapFlightStore.copy for an off-heap graph
+     *
+     * @return the new, not frozen graph
+     */
+    public FlightGraph mutableCopy() {
+        FlightGraph copy = new FlightGraph(flightStore != null ? flightStore.copy() : null,
+                flightById.copy(), frozen ? id : 0);
+        copy.airports.putAll(airports);
+        copy.adjacencyList.putAll(adjacencyList);
+        copy.sharedOrigins.addAll(adjacencyList.keySet());
+        if (!frozen) {
+            sharedOrigins.addAll(adjacencyList.keySet());
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the airports changed since the given graph if this graph is a mutableCopy of it,
+     * made while it was frozen.
+     *
+     * @param base the graph to compare with
+     * @return the changes, null if this graph was not copied from base
+     */
+    public Changes changesSince(FlightGraph base) {
+        if (baseId == 0 || base.id != baseId) {
+            return null;
+        }
+        return new Changes(Collections.unmodifiableSet(changedAirports),
+                Collections.unmodifiableSet(changedFlightAirports));
+    }
+
+    /**
+     * Returns the adjacency list of an origin for a change, copying it first if it is shared.
+     */
+    private List<Flight> writableFlightsFrom(String origin) {
+        List<Flight> flights = adjacencyList.get(origin);
+        if (flights == null || sharedOrigins.remove(origin)) {
+            flights = flights != null ? new ArrayList<>(flights) : new ArrayList<>();
+            adjacencyList.put(origin, flights);
+        }
+        return flights;
+    }
+
+    /**
+     * Records origin and destination of a changed flight for changesSince.
+     */
+    private void recordChange(Flight flight) {
+        if (baseId != 0 && flight != null) {
+            changedFlightAirports.add(flight.getOrigin());
+            changedFlightAirports.add(flight.getDestination());
+        }
+    }
+
+    /**
+     * Finds the position of a flight object in an adjacency list by identity.
+     */
+    private static int indexOf(List<Flight> flights, Flight flight) {
+        for (int i = 0; i < flights.size(); i++) {
+            if (flights.get(i) == flight) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Flug " + flight.getId() + " fehlt in der Adjazenzliste.");
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Der Flugnetz-Snapshot ist eingefroren und kann nicht geändert werden.");
+        }
+    }
+
+    /**
+     * Outcome of applying a timetable delta.
+     *
+     * @param added number of added flights
+     * @param updated number of updated flights
+     * @param removed number of removed flights
+     * @param rejected description of every row that could not be applied
+     * @param affectedAirports origins and destinations of all changed flights, before and after the change
+     */
+    public record DeltaResult(int added, int updated, int removed, List<String> rejected,
+                              Set<String> affectedAirports) {
+    }
+
+    /**
+     * Changes of a graph since the graph it was copied from.
+     *
+     * @param airports IATA codes of added or replaced airports
+     * @param flightAirports origins and destinations of all added, updated and removed flights,
+     *                       before and after the change (as DeltaResult.affectedAirports)
+     */
+    public record Changes(Set<String> airports, Set<String> flightAirports) {
+    }
+}
@@ -0,0 +1,144 @@
+package at.hochschule.burgenland.bswe.algo.graph;
+
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Index of the flights of an on-heap FlightGraph by id.
+ * The ids are spread over PARTITIONS hash maps, which a copy shares with its original:
+ * - copy only duplicates the array of partitions
+ * - the first write to a shared partition copies that partition (copy-on-write),
+ *   so a change of one flight copies about size / PARTITIONS entries instead of the whole index
+ * Empty partitions are not allocated.
+ * Time complexity: O(PARTITIONS) per copy, O(1) expected per lookup
+ */
+final class FlightIndex {
+
+    private static final int PARTITION_BITS = 10;
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+
+    private final Map<Integer, Flight>[] partitions;
+    // partitions which are not shared with another index and may be written directly
+    private final boolean[] owned;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    FlightIndex() {
+        this.partitions = new Map[PARTITIONS];
+        this.owned = new boolean[PARTITIONS];
+    }
+
+    private FlightIndex(Map<Integer, Flight>[] partitions, int size) {
+        this.partitions = partitions;
+        this.owned = new boolean[PARTITIONS];
+        this.size = size;
+    }
+
+    /**
+     * Creates an index sharing all partitions with this one.
+     * Neither index writes to a shared partition afterwards without copying it.
+     */
+    FlightIndex copy() {
+        Arrays.fill(owned, false);
+        return new FlightIndex(partitions.clone(), size);
+    }
+
+    Flight get(int id) {
+        Map<Integer, Flight> partition = partitions[partition(id)];
+        return partition != null ? partition.get(id) : null;
+    }
+
+    Flight put(Flight flight) {
+        Flight previous = writable(partition(flight.getId())).put(flight.getId(), flight);
+        size += previous == null ? 1 : 0;
+        return previous;
+    }
+
+    Flight remove(int id) {
+        int partition = partition(id);
+        if (partitions[partition] == null || !partitions[partition].containsKey(id)) {
+            return null;
+        }
+        size--;
+        return writable(partition).remove(id);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ids of all flights in ascending order.
+     */
+    int[] sortedIds() {
+        int[] ids = new int[size];
+        int count = 0;
+        for (Map<Integer, Flight> partition : partitions) {
+            if (partition != null) {
+                for (int id : partition.keySet()) {
+                    ids[count++] = id;
+                }
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Returns a read-only view of all flights, partition by partition.
+     */
+    Collection<Flight> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Flight> iterator() {
+                return new Iterator<>() {
+                    private int partition = -1;
+                    private Iterator<Flight> current = Collections.emptyIterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!current.hasNext() && ++partition < PARTITIONS) {
+                            if (partitions[partition] != null) {
+                                current = partitions[partition].values().iterator();
+                            }
+                        }
+                        return current.hasNext();
+                    }
+
+                    @Override
+                    public Flight next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return current.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private Map<Integer, Flight> writable(int partition) {
+        if (!owned[partition]) {
+            partitions[partition] = partitions[partition] != null ? new HashMap<>(partitions[partition]) : new HashMap<>();
+            owned[partition] = true;
+        }
+        return partitions[partition];
+    }
+
+    private static int partition(int id) {
+        return (id * 0x9E3779B9) >>> (32 - PARTITION_BITS);
+    }
+}
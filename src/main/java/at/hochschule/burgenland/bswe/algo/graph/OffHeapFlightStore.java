@@ -0,0 +1,611 @@
+package at.hochschule.burgenland.bswe.algo.graph;
+
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.SymbolTable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Flight storage outside of the Java heap for very large timetables.
+ * Every flight occupies a fixed-width slot of SLOT_BYTES in direct ByteBuffers:
+ * - id, origin, destination, airline (symbol ids), duration: int
+ * - next, previous: the neighbouring slots with the same origin, forming the adjacency list
+ * - price in cents: long
+ * - departure as minute of the day: short
+ * - flight number: length byte and up to MAX_FLIGHT_NUMBER_LENGTH bytes
+ * - flags: marks slots of removed flights and of flights moved to another origin
+ * Slots are allocated in chunks of CHUNK_SLOTS, so no buffer has to be copied when growing.
+ * The id index is an open-addressing hash table in direct buffers as well, split into pages of PAGE_ENTRIES.
+ * The heap only holds the airport and airline symbols and one head/tail entry per airport,
+ * so heap usage and GC work do not grow with the number of flights.
+ * Flight objects are materialized on read and are short-lived.
+ * A copy shares the chunks and index pages with its original, either store copies a chunk or page
+ * before its first write to it (copy-on-write).
+ * Removed flights are unlinked and dropped from the index, their slots are not reclaimed,
+ * a full reload builds a new store.
+ * Reads only use absolute buffer access and may run concurrently, writes must not.
+ * Direct memory is released when the store becomes unreachable.
+ */
+public class OffHeapFlightStore {
+
+    public static final int MAX_FLIGHT_NUMBER_LENGTH = 12;
+
+    static final int SLOT_BYTES = 52;
+    private static final int CHUNK_SLOTS = 1 << 16;
+    private static final int MAX_INDEX_ENTRIES = 1 << 27;
+    private static final int PAGE_BITS = 14;
+    private static final int PAGE_ENTRIES = 1 << PAGE_BITS;
+
+    private static final int ID = 0;
+    private static final int ORIGIN = 4;
+    private static final int DESTINATION = 8;
+    private static final int AIRLINE = 12;
+    private static final int DURATION = 16;
+    private static final int NEXT = 20;
+    private static final int PRICE = 24;
+    private static final int DEPARTURE = 32;
+    private static final int FLIGHT_NUMBER_LENGTH = 34;
+    private static final int FLAGS = 35;
+    private static final int FLIGHT_NUMBER = 36;
+    private static final int PREVIOUS = 48;
+
+    private static final byte REMOVED = 1;
+
+    private final SymbolTable symbols;
+    private final List<ByteBuffer> chunks;
+    // chunks and index pages which are not shared with a copy and may be written directly
+    private boolean[] ownedChunks;
+    private int size;
+    // number of ids in the index, i.e. of flights returned by flights()
+    private int live;
+    private ByteBuffer[] indexPages;
+    private boolean[] ownedPages;
+    private int indexEntries;
+    // first and last slot (+1, 0 = none) per origin symbol id
+    private int[] heads;
+    private int[] tails;
+
+    /**
+     * Constructor with a default initial capacity.
+     */
+    public OffHeapFlightStore() {
+        this(CHUNK_SLOTS);
+    }
+
+    /**
+     * Constructor sizing the id index for the expected number of flights.
+     *
+     * @param expectedFlights expected number of flights
+     */
+    public OffHeapFlightStore(int expectedFlights) {
+        this.symbols = new SymbolTable();
+        this.chunks = new ArrayList<>();
+        this.ownedChunks = new boolean[16];
+        this.indexEntries = indexEntriesFor(Math.max(16, expectedFlights));
+        this.indexPages = allocatePages(indexEntries);
+        this.ownedPages = new boolean[indexPages.length];
+        Arrays.fill(ownedPages, true);
+        this.heads = new int[16];
+        this.tails = new int[16];
+    }
+
+    private OffHeapFlightStore(OffHeapFlightStore original) {
+        this.symbols = original.symbols.copy();
+        this.chunks = new ArrayList<>(original.chunks);
+        this.ownedChunks = new boolean[original.ownedChunks.length];
+        this.size = original.size;
+        this.live = original.live;
+        this.indexPages = original.indexPages.clone();
+        this.ownedPages = new boolean[indexPages.length];
+        this.indexEntries = original.indexEntries;
+        this.heads = original.heads.clone();
+        this.tails = original.tails.clone();
+    }
+
+    /**
+     * Appends a flight and links it into the adjacency list of its origin.
+     * If a flight with the same id is already stored, it is unlinked and the id now refers to the new flight.
+     * Throws IllegalArgumentException if the flight number is longer than MAX_FLIGHT_NUMBER_LENGTH bytes.
+     *
+     * @param flight flight to be stored
+     * @return the slot of the flight
+     */
+    public int add(Flight flight) {
+        byte[] flightNumber = encodeFlightNumber(flight);
+        if ((long) (size + 1) * 2 > indexEntries) {
+            growIndex();
+        }
+
+        int slot = size;
+        if (slot / CHUNK_SLOTS == chunks.size()) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_SLOTS * SLOT_BYTES));
+            if (chunks.size() > ownedChunks.length) {
+                ownedChunks = Arrays.copyOf(ownedChunks, ownedChunks.length * 2);
+            }
+            ownedChunks[chunks.size() - 1] = true;
+        }
+
+        write(slot, flight, flightNumber);
+        writableChunk(slot).putInt(offset(slot) + NEXT, 0);
+
+        link(symbols.intern(flight.getOrigin()), slot);
+        int previous = findSlot(flight.getId());
+        if (previous < 0) {
+            live++;
+        } else {
+            unlink(previous);
+        }
+        putIndex(flight.getId(), slot);
+        size++;
+        return slot;
+    }
+
+    /**
+     * Replaces the flight with the same id.
+     * If the origin is unchanged the slot is overwritten in place and keeps its
+     * position in the adjacency list, otherwise the flight moves to a new slot.
+     * Throws IllegalArgumentException if the id is unknown.
+     *
+     * @param flight the new values of the flight
+     * @return the replaced flight
+     */
+    public Flight update(Flight flight) {
+        int slot = findSlot(flight.getId());
+        if (slot < 0) {
+            throw new IllegalArgumentException("Flug-ID " + flight.getId() + " ist nicht vorhanden.");
+        }
+
+        byte[] flightNumber = encodeFlightNumber(flight);
+        Flight previous = get(slot);
+        if (previous.getOrigin().equals(flight.getOrigin())) {
+            write(slot, flight, flightNumber);
+        } else {
+            add(flight);
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the flight with the given id from the index and its adjacency list.
+     *
+     * @param id id of the flight
+     * @return the removed flight or null if the id is unknown
+     */
+    public Flight remove(int id) {
+        int slot = findSlot(id);
+        if (slot < 0) {
+            return null;
+        }
+
+        Flight previous = get(slot);
+        unlink(slot);
+        removeIndex(id);
+        live--;
+        return previous;
+    }
+
+    /**
+     * Creates a new store containing the same flights in the same order.
+     * The chunks and index pages are shared, each store copies them on its first write.
+     * Time complexity: O(airports + symbols + size / CHUNK_SLOTS + index pages), plus
+     * O(CHUNK_SLOTS) or O(PAGE_ENTRIES) for the first write to a shared chunk or page
+     *
+     * @return the copy
+     */
+    public OffHeapFlightStore copy() {
+        Arrays.fill(ownedChunks, false);
+        Arrays.fill(ownedPages, false);
+        return new OffHeapFlightStore(this);
+    }
+
+    /**
+     * Materializes the flight of a slot.
+     *
+     * @param slot slot of the flight
+     * @return a new Flight object
+     */
+    public Flight get(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " außerhalb des Speichers mit Größe " + size);
+        }
+
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        byte[] flightNumber = flightNumber(chunk, base);
+
+        return new Flight(
+            chunk.getInt(base + ID),
+            symbols.get(chunk.getInt(base + ORIGIN)),
+            symbols.get(chunk.getInt(base + DESTINATION)),
+            symbols.get(chunk.getInt(base + AIRLINE)),
+            new String(flightNumber, StandardCharsets.UTF_8),
+            chunk.getInt(base + DURATION),
+            chunk.getLong(base + PRICE),
+            Flight.timeOfDay(chunk.getShort(base + DEPARTURE))
+        );
+    }
+
+    /**
+     * Gets a flight by ID.
+     *
+     * @param id id of the flight
+     * @return the flight or null if the id is unknown
+     */
+    public Flight findById(int id) {
+        int slot = findSlot(id);
+        return slot >= 0 ? get(slot) : null;
+    }
+
+    /**
+     * Gets all flights departing from an airport, in insertion order.
+     *
+     * @param origin IATA code of the origin airport
+     * @return a new list of flights, empty if the airport has no flights
+     */
+    public List<Flight> getFlightsFrom(String origin) {
+        int originId = symbols.idOf(origin);
+        List<Flight> flights = new ArrayList<>();
+        if (originId < 0 || originId >= heads.length) {
+            return flights;
+        }
+
+        for (int link = heads[originId]; link != 0; link = chunk(link - 1).getInt(offset(link - 1) + NEXT)) {
+            flights.add(get(link - 1));
+        }
+        return flights;
+    }
+
+    /**
+     * Returns a read-only view of all flights, one per id, in insertion order.
+     */
+    public Collection<Flight> flights() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Flight> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Flight next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Flight flight = get(next);
+                        next = advance(next + 1);
+                        return flight;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return live;
+            }
+        };
+    }
+
+    /**
+     * Returns the ids of all stored flights in ascending order, read from the id index.
+     */
+    public int[] sortedIds() {
+        int[] ids = new int[live];
+        int count = 0;
+        for (int entry = 0; entry < indexEntries; entry++) {
+            if (indexSlot(entry) != 0) {
+                ids[count++] = indexId(entry);
+            }
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Compares the stored flight with the given id to a flight without materializing it.
+     *
+     * @return true if the id is stored with the same values
+     */
+    public boolean matches(int id, Flight flight) {
+        int slot = findSlot(id);
+        if (slot < 0 || flight == null) {
+            return false;
+        }
+
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        LocalTime departure = flight.getDepartureTime();
+        return chunk.getInt(base + DURATION) == flight.getDuration()
+                && chunk.getLong(base + PRICE) == flight.getPriceCents()
+                && chunk.getShort(base + DEPARTURE) == departure.getHour() * 60 + departure.getMinute()
+                && symbols.get(chunk.getInt(base + ORIGIN)).equals(flight.getOrigin())
+                && symbols.get(chunk.getInt(base + DESTINATION)).equals(flight.getDestination())
+                && symbols.get(chunk.getInt(base + AIRLINE)).equals(flight.getAirline())
+                && Arrays.equals(flightNumber(chunk, base), flight.getFlightNumber().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compares the slots of an id in two stores, symbols are compared by their IATA codes and names
+     * as every store numbers them on its own.
+     *
+     * @return true if the id is stored in both stores with the same values
+     */
+    public boolean matches(int id, OffHeapFlightStore other) {
+        int slot = findSlot(id);
+        int otherSlot = other.findSlot(id);
+        if (slot < 0 || otherSlot < 0) {
+            return false;
+        }
+
+        ByteBuffer chunk = chunk(slot);
+        int base = offset(slot);
+        ByteBuffer otherChunk = other.chunk(otherSlot);
+        int otherBase = offset(otherSlot);
+        return chunk.getInt(base + DURATION) == otherChunk.getInt(otherBase + DURATION)
+                && chunk.getLong(base + PRICE) == otherChunk.getLong(otherBase + PRICE)
+                && chunk.getShort(base + DEPARTURE) == otherChunk.getShort(otherBase + DEPARTURE)
+                && sameSymbol(chunk.getInt(base + ORIGIN), other, otherChunk.getInt(otherBase + ORIGIN))
+                && sameSymbol(chunk.getInt(base + DESTINATION), other, otherChunk.getInt(otherBase + DESTINATION))
+                && sameSymbol(chunk.getInt(base + AIRLINE), other, otherChunk.getInt(otherBase + AIRLINE))
+                && Arrays.equals(flightNumber(chunk, base), flightNumber(otherChunk, otherBase));
+    }
+
+    /**
+     * Returns the number of used slots, including removed flights
+     * and flights replaced by a later flight with the same id.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the direct memory reserved for slots and the id index in bytes.
+     */
+    public long offHeapBytes() {
+        return (long) chunks.size() * CHUNK_SLOTS * SLOT_BYTES + (long) indexEntries * 8;
+    }
+
+    /**
+     * Returns the chunk of a slot for a write, copying it first if it is shared with another store.
+     */
+    private ByteBuffer writableChunk(int slot) {
+        int chunk = slot / CHUNK_SLOTS;
+        if (!ownedChunks[chunk]) {
+            chunks.set(chunk, copyOf(chunks.get(chunk)));
+            ownedChunks[chunk] = true;
+        }
+        return chunks.get(chunk);
+    }
+
+    private static ByteBuffer copyOf(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocateDirect(buffer.capacity());
+        copy.put(0, buffer, 0, buffer.capacity());
+        return copy;
+    }
+
+    /**
+     * Skips slots whose id has been taken over by a later flight.
+     *
+     * @return the first current slot at or after the given one, or size
+     */
+    private int advance(int slot) {
+        while (slot < size && findSlot(chunk(slot).getInt(offset(slot) + ID)) != slot) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private boolean sameSymbol(int symbol, OffHeapFlightStore other, int otherSymbol) {
+        return symbols == other.symbols ? symbol == otherSymbol : symbols.get(symbol).equals(other.symbols.get(otherSymbol));
+    }
+
+    private static byte[] flightNumber(ByteBuffer chunk, int base) {
+        byte[] flightNumber = new byte[chunk.get(base + FLIGHT_NUMBER_LENGTH)];
+        chunk.get(base + FLIGHT_NUMBER, flightNumber);
+        return flightNumber;
+    }
+
+    private byte[] encodeFlightNumber(Flight flight) {
+        byte[] flightNumber = flight.getFlightNumber().getBytes(StandardCharsets.UTF_8);
+        if (flightNumber.length > MAX_FLIGHT_NUMBER_LENGTH) {
+            throw new IllegalArgumentException("Flugnummer zu lang: " + flight.getFlightNumber());
+        }
+        return flightNumber;
+    }
+
+    /**
+     * Writes all values of a flight into a slot, except the adjacency link.
+     */
+    private void write(int slot, Flight flight, byte[] flightNumber) {
+        LocalTime departure = flight.getDepartureTime();
+        ByteBuffer chunk = writableChunk(slot);
+        int base = offset(slot);
+
+        chunk.putInt(base + ID, flight.getId());
+        chunk.putInt(base + ORIGIN, symbols.intern(flight.getOrigin()));
+        chunk.putInt(base + DESTINATION, symbols.intern(flight.getDestination()));
+        chunk.putInt(base + AIRLINE, symbols.intern(flight.getAirline()));
+        chunk.putInt(base + DURATION, flight.getDuration());
+        chunk.putLong(base + PRICE, flight.getPriceCents());
+        chunk.putShort(base + DEPARTURE, (short) (departure.getHour() * 60 + departure.getMinute()));
+        chunk.put(base + FLIGHT_NUMBER_LENGTH, (byte) flightNumber.length);
+        chunk.put(base + FLAGS, (byte) 0);
+        chunk.put(base + FLIGHT_NUMBER, flightNumber);
+    }
+
+    private void link(int origin, int slot) {
+        if (origin >= heads.length) {
+            int capacity = Math.max(origin + 1, heads.length * 2);
+            heads = Arrays.copyOf(heads, capacity);
+            tails = Arrays.copyOf(tails, capacity);
+        }
+
+        writableChunk(slot).putInt(offset(slot) + PREVIOUS, tails[origin]);
+        if (tails[origin] == 0) {
+            heads[origin] = slot + 1;
+        } else {
+            int tail = tails[origin] - 1;
+            writableChunk(tail).putInt(offset(tail) + NEXT, slot + 1);
+        }
+        tails[origin] = slot + 1;
+    }
+
+    /**
+     * Removes a slot from the adjacency list of its origin and marks it as removed.
+     */
+    private void unlink(int slot) {
+        int origin = chunk(slot).getInt(offset(slot) + ORIGIN);
+        int next = chunk(slot).getInt(offset(slot) + NEXT);
+        int previous = chunk(slot).getInt(offset(slot) + PREVIOUS);
+
+        if (previous == 0) {
+            heads[origin] = next;
+        } else {
+            writableChunk(previous - 1).putInt(offset(previous - 1) + NEXT, next);
+        }
+        if (next == 0) {
+            tails[origin] = previous;
+        } else {
+            writableChunk(next - 1).putInt(offset(next - 1) + PREVIOUS, previous);
+        }
+        writableChunk(slot).put(offset(slot) + FLAGS, REMOVED);
+    }
+
+    /**
+     * Looks up the slot of an id in the index.
+     * Entries are (id, slot + 1) pairs, slot 0 marks an empty entry.
+     *
+     * @return the slot or -1 if the id is unknown
+     */
+    private int findSlot(int id) {
+        int mask = indexEntries - 1;
+        int entry = mix(id) & mask;
+        while (true) {
+            int slot = indexSlot(entry);
+            if (slot == 0) {
+                return -1;
+            }
+            if (indexId(entry) == id) {
+                return slot - 1;
+            }
+            entry = (entry + 1) & mask;
+        }
+    }
+
+    /**
+     * Deletes an id from the index using backward shift deletion,
+     * so lookups never have to skip tombstones.
+     */
+    private void removeIndex(int id) {
+        int mask = indexEntries - 1;
+        int hole = mix(id) & mask;
+        while (indexId(hole) != id || indexSlot(hole) == 0) {
+            hole = (hole + 1) & mask;
+        }
+
+        int entry = (hole + 1) & mask;
+        while (indexSlot(entry) != 0) {
+            int ideal = mix(indexId(entry)) & mask;
+            // the entry may fill the hole if its ideal position is not between hole and entry
+            if (((entry - ideal) & mask) >= ((entry - hole) & mask)) {
+                setIndex(hole, indexId(entry), indexSlot(entry));
+                hole = entry;
+            }
+            entry = (entry + 1) & mask;
+        }
+        setIndex(hole, 0, 0);
+    }
+
+    private void growIndex() {
+        if (indexEntries >= MAX_INDEX_ENTRIES) {
+            throw new IllegalStateException("Maximale Anzahl an Flügen erreicht: " + size);
+        }
+
+        ByteBuffer[] pages = indexPages;
+        int entries = indexEntries;
+        indexEntries = entries * 2;
+        indexPages = allocatePages(indexEntries);
+        ownedPages = new boolean[indexPages.length];
+        Arrays.fill(ownedPages, true);
+        for (int entry = 0; entry < entries; entry++) {
+            int slot = entry(pages, entry, 4);
+            if (slot != 0) {
+                putIndex(entry(pages, entry, 0), slot - 1);
+            }
+        }
+    }
+
+    private void putIndex(int id, int slot) {
+        int mask = indexEntries - 1;
+        int entry = mix(id) & mask;
+        while (indexSlot(entry) != 0 && indexId(entry) != id) {
+            entry = (entry + 1) & mask;
+        }
+        setIndex(entry, id, slot + 1);
+    }
+
+    private int indexId(int entry) {
+        return entry(indexPages, entry, 0);
+    }
+
+    private int indexSlot(int entry) {
+        return entry(indexPages, entry, 4);
+    }
+
+    /**
+     * Writes an index entry, copying its page first if it is shared with another store.
+     */
+    private void setIndex(int entry, int id, int slot) {
+        int page = entry >>> PAGE_BITS;
+        if (!ownedPages[page]) {
+            indexPages[page] = copyOf(indexPages[page]);
+            ownedPages[page] = true;
+        }
+        int base = (entry & (PAGE_ENTRIES - 1)) * 8;
+        indexPages[page].putInt(base, id);
+        indexPages[page].putInt(base + 4, slot);
+    }
+
+    private static int entry(ByteBuffer[] pages, int entry, int field) {
+        return pages[entry >>> PAGE_BITS].getInt((entry & (PAGE_ENTRIES - 1)) * 8 + field);
+    }
+
+    private static ByteBuffer[] allocatePages(int entries) {
+        int pageEntries = Math.min(entries, PAGE_ENTRIES);
+        ByteBuffer[] pages = new ByteBuffer[entries / pageEntries];
+        for (int page = 0; page < pages.length; page++) {
+            pages[page] = ByteBuffer.allocateDirect(pageEntries * 8);
+        }
+        return pages;
+    }
+
+    private static int indexEntriesFor(int flights) {
+        long entries = Long.highestOneBit(Math.max(2L, flights) * 2 - 1) * 2;
+        return (int) Math.min(entries, MAX_INDEX_ENTRIES);
+    }
+
+    private ByteBuffer chunk(int slot) {
+        return chunks.get(slot / CHUNK_SLOTS);
+    }
+
+    private static int offset(int slot) {
+        return (slot % CHUNK_SLOTS) * SLOT_BYTES;
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,92 @@
+package at.hochschule.burgenland.bswe.algo.graph;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holder of the current version of a flight network, using copy-on-write snapshots.
+ * - readers call get once per query and work on the returned frozen graph,
+ *   later publications do not affect a query in progress
+ * - writers build a new graph and publish it with a single atomic reference swap
+ * Neither readers nor writers take locks, readers never wait for writers.
+ */
+public class VersionedFlightGraph implements Supplier<FlightGraph> {
+
+    private final AtomicReference<Snapshot> current;
+
+    /**
+     * Constructor publishing the initial graph as version 1.
+     *
+     * @param initial the initial graph, which is frozen
+     */
+    public VersionedFlightGraph(FlightGraph initial) {
+        this.current = new AtomicReference<>(new Snapshot(1, initial.freeze()));
+    }
+
+    /**
+     * Returns the currently published, frozen graph.
+     */
+    @Override
+    public FlightGraph get() {
+        return current.get().graph();
+    }
+
+    /**
+     * Returns the currently published graph together with its version.
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Returns the version of the currently published graph.
+     */
+    public long getVersion() {
+        return current.get().version();
+    }
+
+    /**
+     * Freezes the given graph and publishes it as the next version.
+     *
+     * @param graph the new graph, must not be modified afterwards
+     * @return the published snapshot
+     */
+    public Snapshot publish(FlightGraph graph) {
+        FlightGraph frozen = graph.freeze();
+        return current.updateAndGet(previous -> new Snapshot(previous.version() + 1, frozen));
+    }
+
+    /**
+     * Applies a change to a copy of the current graph and publishes the result.
+     * If another writer publishes in the meantime, the change is applied again
+     * to the newer graph, so it must not have side effects besides modifying the graph.
+     * Every attempt works on a FlightGraph.mutableCopy, which shares all untouched adjacency lists,
+     * index partitions and off-heap slots with the published graph, so its cost depends on the change.
+     * The published graph reports the change relative to its predecessor through changesSince.
+     *
+     * @param change modification of the copied graph
+     * @return the published snapshot
+     */
+    public Snapshot update(Consumer<FlightGraph> change) {
+        while (true) {
+            Snapshot base = current.get();
+            FlightGraph copy = base.graph().mutableCopy();
+            change.accept(copy);
+
+            Snapshot next = new Snapshot(base.version() + 1, copy.freeze());
+            if (current.compareAndSet(base, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * A published graph and its version number.
+     *
+     * @param version increasing version number, starting at 1
+     * @param graph the frozen graph
+     */
+    public record Snapshot(long version, FlightGraph graph) {
+    }
+}
@@ -1,17 +1,29 @@
 package at.hochschule.burgenland.bswe.algo.io;
 
+import at.hochschule.burgenland.bswe.algo.metrics.CsvLoadEvent;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
 import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.AirportGroup;
 import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.FlightChange;
+import at.hochschule.burgenland.bswe.algo.model.Money;
 import at.hochschule.burgenland.bswe.algo.model.Route;
+import at.hochschule.burgenland.bswe.algo.model.SymbolTable;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Utility class for reading CSV files from resources folder.
+ * If Metrics are enabled, the load time of airport and flight files is recorded per file,
+ * every load of these files is also reported as CsvLoadEvent to Java Flight Recorder.
  */
 public class CsvReader {
 
@@ -19,6 +31,9 @@ public class CsvReader {
      * Reads airports from a given CSV file.
      */
     public static List<Airport> readAirports(String fileName) {
+        long start = Metrics.start();
+        CsvLoadEvent event = new CsvLoadEvent();
+        event.begin();
         List<Airport> airports = new ArrayList<>();
 
         try (InputStream is = CsvReader.class.getClassLoader().getResourceAsStream(fileName)) {
@@ -42,14 +57,23 @@ public class CsvReader {
         } catch (Exception e) {
             System.err.println(fileName + "Fehler beim Laden der Flughäfen: " + e.getMessage());
         }
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("csv_load_seconds", "file", fileName).stop(start);
+        }
+        event.finish(fileName, airports.size());
         return airports;
     }
 
     /**
      * Reads flights from a given CSV file.
+     * Airports, airlines and departure times are shared between all flights.
      */
     public static List<Flight> readFlights(String fileName) {
+        long start = Metrics.start();
+        CsvLoadEvent event = new CsvLoadEvent();
+        event.begin();
         List<Flight> flights = new ArrayList<>();
+        SymbolTable symbols = new SymbolTable();
 
         try (InputStream is = CsvReader.class.getClassLoader().getResourceAsStream(fileName)) {
             if (is == null) {
@@ -63,7 +87,7 @@ public class CsvReader {
 
                 while ((line = reader.readLine()) != null) {
                     try {
-                            flights.add(Flight.fromCsv(line));
+                            flights.add(Flight.fromCsv(line, symbols));
                     } catch (Exception e) {
                         System.err.println(fileName + "Fehler in Zeile: " + line);
                     }
@@ -72,9 +96,88 @@ public class CsvReader {
         } catch (Exception e) {
             System.err.println(fileName + "Fehler beim Laden der Flüge: " + e.getMessage());
         }
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("csv_load_seconds", "file", fileName).stop(start);
+        }
+        event.finish(fileName, flights.size());
         return flights;
     }
 
+    /**
+     * Reads airports from a file outside of the resources folder, e.g. for reloading.
+     */
+    public static List<Airport> readAirports(Path file) {
+        return readFile(file, Airport::fromCsv);
+    }
+
+    /**
+     * Reads flights from a file outside of the resources folder, e.g. for reloading.
+     * Airports, airlines and departure times are shared between all flights.
+     */
+    public static List<Flight> readFlights(Path file) {
+        SymbolTable symbols = new SymbolTable();
+        return readFile(file, line -> Flight.fromCsv(line, symbols));
+    }
+
+    /**
+     * Reads a timetable delta from a file outside of the resources folder.
+     * Header: operation,id,origin,destination,airline,flightNumber,duration,price,departureTime
+     */
+    public static List<FlightChange> readFlightChanges(Path file) {
+        List<FlightChange> changes = new ArrayList<>();
+        SymbolTable symbols = new SymbolTable();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    changes.add(FlightChange.fromCsv(line, symbols));
+                } catch (Exception e) {
+                    System.err.println(file.getFileName() + ": Fehler in Zeile: " + line);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println(file.getFileName() + ": Fehler beim Laden der Änderungen: " + e.getMessage());
+        }
+        return changes;
+    }
+
+    /**
+     * Reads all lines after the header of a file, lines which cannot be parsed are reported and skipped.
+     * Returns an empty list if the file cannot be read.
+     */
+    private static <T> List<T> readFile(Path file, Function<String, T> parser) {
+        long start = Metrics.start();
+        CsvLoadEvent event = new CsvLoadEvent();
+        event.begin();
+        List<T> entries = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                try {
+                    entries.add(parser.apply(line));
+                } catch (Exception e) {
+                    System.err.println(file.getFileName() + ": Fehler in Zeile: " + line);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println(file.getFileName() + ": Fehler beim Laden: " + e.getMessage());
+        }
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("csv_load_seconds", "file", file.getFileName().toString()).stop(start);
+        }
+        event.finish(file.getFileName().toString(), entries.size());
+        return entries;
+    }
+
     /**
      * Reads routes from a given CSV file.
      */
@@ -103,4 +206,33 @@ public class CsvReader {
         }
         return routes;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads airport groups from a given CSV file.
+     */
+    public static List<AirportGroup> readAirportGroups(String fileName) {
+        List<AirportGroup> groups = new ArrayList<>();
+        try (InputStream is = CsvReader.class.getClassLoader().getResourceAsStream(fileName)) {
+            if (is == null) {
+                System.out.println("Keine Flughafengruppen definiert.");
+                return groups;
+            }
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+                reader.readLine();
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        groups.add(AirportGroup.fromCsv(line));
+                    } catch (Exception e) {
+                        System.err.println(fileName + "Fehler in Zeile: " + line);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Loading airport groups is optional
+        }
+        return groups;
+    }
+}
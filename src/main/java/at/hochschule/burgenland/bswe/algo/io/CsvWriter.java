@@ -1,5 +1,6 @@
 package at.hochschule.burgenland.bswe.algo.io;
 
+import at.hochschule.burgenland.bswe.algo.model.Money;
 import at.hochschule.burgenland.bswe.algo.model.Route;
 
 import java.io.BufferedWriter;
@@ -14,13 +15,15 @@ import java.util.stream.Collectors;
  */
 public class CsvWriter {
 
+    public static final String ROUTE_HEADER = "id,flights,totalDuration,totalPrice,stopovers";
+
     /**
      * Writes a list of Route objects to a CSV file in the resources folder.
      * Each route is written as a single row with the following columns:
      * - id
      * - flights
      * - totalDuration
-     * - totalPrice
+     * - totalPrice (in euros with two decimal places)
      * - stopovers
      *
      * @param fileName name of the CSV file to write
@@ -29,20 +32,11 @@ public class CsvWriter {
     public static void writeRoutes(String fileName, List<Route> routes) {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter("src/main/resources/" + fileName))) {
 
-            writer.write("id,flights,totalDuration,totalPrice,stopovers");
+            writer.write(ROUTE_HEADER);
             writer.newLine();
 
             for (Route route : routes) {
-                String flightIds = route.getFlights().stream()
-                        .map(String::valueOf)
-                        .collect(Collectors.joining("-"));
-
-                writer.write(String.format(Locale.ROOT, "%d,%s,%d,%.2f,%d",
-                        route.getId(),
-                        flightIds,
-                        route.getTotalDuration(),
-                        route.getTotalPrice(),
-                        route.getStopovers()));
+                writer.write(formatRoute(route));
                 writer.newLine();
             }
 
@@ -50,4 +44,24 @@ public class CsvWriter {
             System.err.println("Error writing routes: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Formats a route as CSV row in the column order of ROUTE_HEADER.
+     * The flight ids are separated by "-".
+     *
+     * @param route the route to format
+     * @return the CSV row without line separator
+     */
+    public static String formatRoute(Route route) {
+        String flightIds = route.getFlights().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("-"));
+
+        return String.format(Locale.ROOT, "%d,%s,%d,%s,%d",
+                route.getId(),
+                flightIds,
+                route.getTotalDuration(),
+                Money.format(route.getTotalPriceCents()),
+                route.getStopovers());
+    }
+}
@@ -0,0 +1,328 @@
+package at.hochschule.burgenland.bswe.algo.io;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.VersionedFlightGraph;
+import at.hochschule.burgenland.bswe.algo.metrics.GraphBuildEvent;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.FlightChange;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Reloads airports and flights from CSV files while the application is running.
+ * Workflow of a reload:
+ * 1. Parse both files into a new graph, the current graph stays published meanwhile
+ * 2. Compare the new graph with the current one (added, removed and changed entries),
+ *    by merging sorted ids instead of indexing both versions
+ * 3. Publish the new graph atomically via VersionedFlightGraph
+ * Queries which already obtained the old graph finish on it, nothing is blocked.
+ * Small timetable changes can instead be written to an optional changes file
+ * (operation,id,... rows, see FlightChange), which applyChanges applies to a copy of the current graph
+ * (VersionedFlightGraph.update). The copy shares all untouched structures with the current graph,
+ * so the cost depends on the size of the delta instead of the whole timetable.
+ * With start, a background thread watches the files and reloads after they have
+ * not been modified for DEBOUNCE_MILLIS, so a file is not read while it is still being written.
+ * Building the graph is reported as GraphBuildEvent to Java Flight Recorder.
+ */
+public class DataReloader implements AutoCloseable {
+
+    public static final long DEBOUNCE_MILLIS = 500;
+
+    private final VersionedFlightGraph network;
+    private final Path airportsFile;
+    private final Path flightsFile;
+    private final Path changesFile;
+    private final Consumer<ReloadResult> listener;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Constructor with the files to load and a listener for completed reloads.
+     *
+     * @param network the holder the reloaded graphs are published to
+     * @param airportsFile airport CSV file
+     * @param flightsFile flight CSV file
+     * @param listener receives the result of every reload triggered by a file change
+     */
+    public DataReloader(VersionedFlightGraph network, Path airportsFile, Path flightsFile,
+                        Consumer<ReloadResult> listener) {
+        this(network, airportsFile, flightsFile, null, listener);
+    }
+
+    /**
+     * Constructor with an additional changes file, which is applied as delta whenever it changes.
+     *
+     * @param network the holder the reloaded graphs are published to
+     * @param airportsFile airport CSV file
+     * @param flightsFile flight CSV file
+     * @param changesFile flight change CSV file, null if deltas are not used
+     * @param listener receives the result of every reload triggered by a file change
+     */
+    public DataReloader(VersionedFlightGraph network, Path airportsFile, Path flightsFile, Path changesFile,
+                        Consumer<ReloadResult> listener) {
+        this.network = network;
+        this.airportsFile = airportsFile.toAbsolutePath();
+        this.flightsFile = flightsFile.toAbsolutePath();
+        this.changesFile = changesFile != null ? changesFile.toAbsolutePath() : null;
+        this.listener = listener;
+    }
+
+    /**
+     * Loads both files, builds a new graph and publishes it.
+     * Throws IllegalStateException if the files contain no airports or no flights,
+     * the current graph remains published in that case.
+     *
+     * @return the published version with load duration and differences
+     */
+    public ReloadResult reload() {
+        long start = System.nanoTime();
+
+        List<Airport> airports = CsvReader.readAirports(airportsFile);
+        List<Flight> flights = CsvReader.readFlights(flightsFile);
+        if (airports.isEmpty() || flights.isEmpty()) {
+            throw new IllegalStateException("Neue Daten unvollständig, Flughäfen: " + airports.size()
+                    + ", Flüge: " + flights.size());
+        }
+
+        GraphBuildEvent event = new GraphBuildEvent();
+        event.begin();
+        FlightGraph graph = FlightGraph.create(flights.size());
+        airports.forEach(graph::addAirport);
+        int rejected = 0;
+        for (Flight flight : flights) {
+            try {
+                graph.addFlight(flight);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Flug " + flight.getFlightNumber() + " konnte nicht geladen werden: " + e.getMessage());
+                rejected++;
+            }
+        }
+        event.finish(airports.size(), flights.size() - rejected, rejected, graph.isOffHeap());
+
+        FlightGraph previous = network.get();
+        int[] airportDiff = diffAirports(previous.getAllAirports(), graph.getAllAirports());
+        int[] flightDiff = diffFlights(previous, graph);
+
+        VersionedFlightGraph.Snapshot snapshot = network.publish(graph);
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        return new ReloadResult(snapshot.version(), durationMillis,
+                graph.getAllAirports().size(), graph.getAllFlights().size(),
+                airportDiff[0], airportDiff[1], airportDiff[2],
+                flightDiff[0], flightDiff[1], flightDiff[2]);
+    }
+
+    /**
+     * Applies the rows of the changes file to a copy of the current graph and publishes it.
+     * Rows which cannot be applied are reported on System.err and skipped.
+     * Throws IllegalStateException if no changes file is configured or it contains no valid rows,
+     * the current graph remains published in that case.
+     *
+     * @return the published version with the number of added, removed and updated flights
+     */
+    public ReloadResult applyChanges() {
+        long start = System.nanoTime();
+        if (changesFile == null) {
+            throw new IllegalStateException("Keine Änderungsdatei konfiguriert.");
+        }
+
+        List<FlightChange> changes = CsvReader.readFlightChanges(changesFile);
+        if (changes.isEmpty()) {
+            throw new IllegalStateException("Keine Änderungen in " + changesFile.getFileName());
+        }
+
+        AtomicReference<FlightGraph.DeltaResult> delta = new AtomicReference<>();
+        VersionedFlightGraph.Snapshot snapshot = network.update(graph -> delta.set(graph.applyChanges(changes)));
+        FlightGraph.DeltaResult result = delta.get();
+        result.rejected().forEach(row -> System.err.println("Änderung nicht übernommen: " + row));
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        FlightGraph graph = snapshot.graph();
+        return new ReloadResult(snapshot.version(), durationMillis,
+                graph.getAllAirports().size(), graph.getAllFlights().size(),
+                0, 0, 0, result.added(), result.removed(), result.updated());
+    }
+
+    /**
+     * Starts watching the directories of the files in a background thread.
+     *
+     * @throws IOException if the directories cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new HashSet<>(List.of(airportsFile.getParent(), flightsFile.getParent()));
+        if (changesFile != null) {
+            directories.add(changesFile.getParent());
+        }
+        for (Path directory : directories) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+
+        watcher = new Thread(this::watch, "data-reloader");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the files. A reload in progress is completed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+            watcher = null;
+        }
+    }
+
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                Set<Path> changed = new HashSet<>();
+                consumeEvents(service.take(), changed);
+                if (changed.isEmpty()) {
+                    continue;
+                }
+
+                // wait until the files have not changed for DEBOUNCE_MILLIS
+                WatchKey key;
+                while ((key = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    consumeEvents(key, changed);
+                }
+
+                try {
+                    if (changed.contains(airportsFile) || changed.contains(flightsFile)) {
+                        listener.accept(reload());
+                    }
+                    if (changed.contains(changesFile)) {
+                        listener.accept(applyChanges());
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("Neuladen fehlgeschlagen, bisherige Daten bleiben aktiv: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // watching stopped
+        }
+    }
+
+    /**
+     * Consumes the events of a watch key and collects the affected data files.
+     */
+    private void consumeEvents(WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path name) {
+                Path file = directory.resolve(name);
+                if (file.equals(airportsFile) || file.equals(flightsFile) || file.equals(changesFile)) {
+                    changed.add(file);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Counts the flights which were added, removed or changed by merging the sorted ids of both graphs.
+     * Flights with the same id are compared in place (FlightGraph.sameFlight), so neither a map
+     * nor Flight objects of off-heap graphs are created.
+     * Time complexity: O(F log F) for sorting the ids
+     * Space complexity: O(F) for the id arrays
+     *
+     * @return {added, removed, changed}
+     */
+    static int[] diffFlights(FlightGraph before, FlightGraph after) {
+        int[] previous = before.sortedFlightIds();
+        int[] current = after.sortedFlightIds();
+        int added = 0, removed = 0, changed = 0;
+        int i = 0, j = 0;
+        while (i < previous.length || j < current.length) {
+            if (j == current.length || i < previous.length && previous[i] < current[j]) {
+                removed++;
+                i++;
+            } else if (i == previous.length || current[j] < previous[i]) {
+                added++;
+                j++;
+            } else {
+                changed += after.sameFlight(current[j], before) ? 0 : 1;
+                i++;
+                j++;
+            }
+        }
+        return new int[] {added, removed, changed};
+    }
+
+    /**
+     * Counts the airports which were added, removed or changed by merging both versions sorted by IATA code.
+     *
+     * @return {added, removed, changed}
+     */
+    private static int[] diffAirports(Collection<Airport> before, Collection<Airport> after) {
+        List<Airport> previous = new ArrayList<>(before);
+        List<Airport> current = new ArrayList<>(after);
+        previous.sort(Comparator.comparing(Airport::getIata));
+        current.sort(Comparator.comparing(Airport::getIata));
+
+        int added = 0, removed = 0, changed = 0;
+        int i = 0, j = 0;
+        while (i < previous.size() || j < current.size()) {
+            int order = i == previous.size() ? 1 : j == current.size() ? -1
+                    : previous.get(i).getIata().compareTo(current.get(j).getIata());
+            if (order < 0) {
+                removed++;
+                i++;
+            } else if (order > 0) {
+                added++;
+                j++;
+            } else {
+                changed += previous.get(i).equals(current.get(j)) ? 0 : 1;
+                i++;
+                j++;
+            }
+        }
+        return new int[] {added, removed, changed};
+    }
+
+    /**
+     * Outcome of a reload.
+     *
+     * @param version version of the published graph
+     * @param durationMillis time for parsing, building, comparing and publishing
+     *                       (for a delta: parsing, applying and publishing)
+     * @param airports number of airports in the new graph
+     * @param flights number of flights in the new graph
+     */
+    public record ReloadResult(long version, long durationMillis, int airports, int flights,
+                               int addedAirports, int removedAirports, int changedAirports,
+                               int addedFlights, int removedFlights, int changedFlights) {
+
+        @Override
+        public String toString() {
+            return String.format("Version %d geladen in %d ms: %d Flughäfen (+%d / -%d / ~%d), %d Flüge (+%d / -%d / ~%d)",
+                    version, durationMillis, airports, addedAirports, removedAirports, changedAirports,
+                    flights, addedFlights, removedFlights, changedFlights);
+        }
+    }
+}
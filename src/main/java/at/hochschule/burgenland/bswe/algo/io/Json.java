@@ -0,0 +1,155 @@
+package at.hochschule.burgenland.bswe.algo.io;
+
+import at.hochschule.burgenland.bswe.algo.algorithm.Journey;
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Money;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Utility class for writing JSON, e.g. the responses of the RouteServer or search traces.
+ * Prices are written as decimal numbers in euros, times as "HH:mm" strings.
+ */
+public class Json {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Writes a string as JSON string literal including quotes.
+     *
+     * @param value the string to write, null is written as null
+     * @return the JSON literal
+     */
+    public static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    public static String airport(Airport airport) {
+        if (airport == null) {
+            return "null";
+        }
+        return "{\"iata\":" + quote(airport.getIata())
+                + ",\"city\":" + quote(airport.getCity())
+                + ",\"country\":" + quote(airport.getCountry())
+                + ",\"latitude\":" + airport.getLatitude()
+                + ",\"longitude\":" + airport.getLongitude() + "}";
+    }
+
+    public static String flight(Flight flight) {
+        if (flight == null) {
+            return "null";
+        }
+        return "{\"id\":" + flight.getId()
+                + ",\"flightNumber\":" + quote(flight.getFlightNumber())
+                + ",\"airline\":" + quote(flight.getAirline())
+                + ",\"origin\":" + quote(flight.getOrigin())
+                + ",\"destination\":" + quote(flight.getDestination())
+                + ",\"departureTime\":" + quote(flight.getDepartureTime().toString())
+                + ",\"duration\":" + flight.getDuration()
+                + ",\"price\":" + Money.format(flight.getPriceCents()) + "}";
+    }
+
+    /**
+     * Writes a route, the flights are resolved in the given graph if it is not null.
+     *
+     * @param route the route to write
+     * @param graph graph to look up the flights of the route, null to write only their ids
+     * @return the JSON object
+     */
+    public static String route(Route route, FlightGraph graph) {
+        if (route == null) {
+            return "null";
+        }
+
+        String flights = graph != null
+                ? array(route.getFlights(), id -> flight(graph.getFlightById(id)))
+                : array(route.getFlights(), String::valueOf);
+
+        return "{\"id\":" + route.getId()
+                + ",\"totalDuration\":" + route.getTotalDuration()
+                + ",\"totalPrice\":" + Money.format(route.getTotalPriceCents())
+                + ",\"stopovers\":" + route.getStopovers()
+                + ",\"flights\":" + flights + "}";
+    }
+
+    /**
+     * Writes a journey of the daily timetable compactly for a timeline, times are written
+     * as "HH:mm" with the day relative to the first departure day.
+     *
+     * @param journey the journey to write
+     * @return the JSON object
+     */
+    public static String journey(Journey journey) {
+        if (journey == null) {
+            return "null";
+        }
+
+        String legs = array(journey.legs(), leg -> "{\"id\":" + leg.flight().getId()
+                + ",\"flightNumber\":" + quote(leg.flight().getFlightNumber())
+                + ",\"origin\":" + quote(leg.flight().getOrigin())
+                + ",\"destination\":" + quote(leg.flight().getDestination())
+                + ",\"departure\":" + time(leg.departure())
+                + ",\"departureDay\":" + day(leg.departure()) + "}");
+
+        return "{\"departure\":" + time(journey.departure())
+                + ",\"arrival\":" + time(journey.arrival())
+                + ",\"arrivalDay\":" + day(journey.arrival())
+                + ",\"travelMinutes\":" + journey.travelMinutes()
+                + ",\"stopovers\":" + (journey.size() - 1)
+                + ",\"totalPrice\":" + Money.format(journey.toRoute().getTotalPriceCents())
+                + ",\"flights\":" + legs + "}";
+    }
+
+    /**
+     * Writes a collection as JSON array.
+     *
+     * @param values the elements
+     * @param writer converts an element into JSON
+     * @return the JSON array
+     */
+    public static <T> String array(Collection<T> values, Function<T, String> writer) {
+        StringBuilder json = new StringBuilder("[");
+        for (T value : values) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(writer.apply(value));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String time(int minutes) {
+        return quote(LocalTime.ofSecondOfDay(Math.floorMod(minutes, MINUTES_PER_DAY) * 60L).toString());
+    }
+
+    private static int day(int minutes) {
+        return Math.floorDiv(minutes, MINUTES_PER_DAY);
+    }
+}
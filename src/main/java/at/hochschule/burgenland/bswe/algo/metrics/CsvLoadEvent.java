@@ -0,0 +1,39 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for reading a CSV file.
+ */
+@Name("at.hochschule.burgenland.bswe.algo.CsvLoad")
+@Label("CSV Load")
+@Category({"Flight Planner", "Loading"})
+@Description("Reading and parsing of a CSV data file")
+public class CsvLoadEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Rows")
+    @Description("Number of entries read successfully")
+    int rows;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     *
+     * @param file name of the file
+     * @param rows number of entries read
+     */
+    public void finish(String file, int rows) {
+        end();
+        if (shouldCommit()) {
+            this.file = file;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
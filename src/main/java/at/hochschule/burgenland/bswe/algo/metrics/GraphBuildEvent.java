@@ -0,0 +1,44 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for building a FlightGraph from loaded airports and flights.
+ */
+@Name("at.hochschule.burgenland.bswe.algo.GraphBuild")
+@Label("Flight Graph Build")
+@Category({"Flight Planner", "Loading"})
+@Description("Construction of a flight graph from airports and flights")
+public class GraphBuildEvent extends Event {
+
+    @Label("Airports")
+    int airports;
+
+    @Label("Flights")
+    @Description("Number of flights added to the graph")
+    int flights;
+
+    @Label("Rejected Flights")
+    int rejected;
+
+    @Label("Off-Heap")
+    boolean offHeap;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     */
+    public void finish(int airports, int flights, int rejected, boolean offHeap) {
+        end();
+        if (shouldCommit()) {
+            this.airports = airports;
+            this.flights = flights;
+            this.rejected = rejected;
+            this.offHeap = offHeap;
+            commit();
+        }
+    }
+}
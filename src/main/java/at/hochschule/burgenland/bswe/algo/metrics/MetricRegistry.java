@@ -0,0 +1,168 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Collection of counters, histograms and timers identified by name and optional labels
+ * (key/value pairs), e.g. counter("route_searches_total", "criterion", "price").
+ * Metrics are created on first use and exported in the Prometheus text format (toPrometheus)
+ * or as a single log line (summary).
+ */
+public class MetricRegistry {
+
+    private final Map<String, Entry> entries = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the counter with the given name and labels, creating it on first use.
+     *
+     * @param name metric name, e.g. "route_queries_total"
+     * @param labels label names and values, alternating
+     * @return the counter
+     */
+    public Counter counter(String name, String... labels) {
+        return (Counter) register(name, labels, Type.COUNTER).metric();
+    }
+
+    /**
+     * Returns the histogram with the given name and labels, creating it on first use.
+     */
+    public Histogram histogram(String name, String... labels) {
+        return (Histogram) register(name, labels, Type.HISTOGRAM).metric();
+    }
+
+    /**
+     * Returns the timer with the given name and labels, creating it on first use.
+     * Timers record nanoseconds and are exported in seconds, so names should end with "_seconds".
+     */
+    public Timer timer(String name, String... labels) {
+        return (Timer) register(name, labels, Type.TIMER).metric();
+    }
+
+    /**
+     * Resets all metrics by removing them from the registry.
+     * Call sites holding a metric keep recording into the removed instance.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Exports all metrics in the Prometheus text format.
+     * Counters are exported as counter, histograms and timers as summary with p50, p99 and max.
+     *
+     * @return one sample per line
+     */
+    public String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+        String previousName = null;
+
+        for (Entry entry : entries.values()) {
+            if (!entry.name().equals(previousName)) {
+                text.append("# TYPE ").append(entry.name()).append(' ')
+                        .append(entry.type() == Type.COUNTER ? "counter" : "summary").append('\n');
+                previousName = entry.name();
+            }
+
+            if (entry.metric() instanceof Counter counter) {
+                sample(text, entry.name(), entry.labels(), null, counter.get());
+                continue;
+            }
+
+            Histogram histogram = (Histogram) entry.metric();
+            double scale = entry.type() == Type.TIMER ? 1e-9 : 1;
+            sample(text, entry.name(), entry.labels(), "quantile=\"0.5\"", histogram.percentile(50) * scale);
+            sample(text, entry.name(), entry.labels(), "quantile=\"0.99\"", histogram.percentile(99) * scale);
+            sample(text, entry.name(), entry.labels(), "quantile=\"1\"", histogram.getMax() * scale);
+            sample(text, entry.name() + "_sum", entry.labels(), null, histogram.getSum() * scale);
+            sample(text, entry.name() + "_count", entry.labels(), null, histogram.getCount());
+        }
+        return text.toString();
+    }
+
+    /**
+     * Summarizes all metrics with at least one recorded value in a single line,
+     * counters as name=value, histograms with count, p50 and p99 (timers in milliseconds).
+     */
+    public String summary() {
+        StringBuilder line = new StringBuilder();
+
+        for (Entry entry : entries.values()) {
+            String key = entry.name() + (entry.labels().isEmpty() ? "" : "{" + entry.labels() + "}");
+            if (entry.metric() instanceof Counter counter) {
+                if (counter.get() > 0) {
+                    line.append(key).append('=').append(counter.get()).append(' ');
+                }
+                continue;
+            }
+
+            Histogram histogram = (Histogram) entry.metric();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            double scale = entry.type() == Type.TIMER ? 1e-6 : 1;
+            String unit = entry.type() == Type.TIMER ? "ms" : "";
+            line.append(key).append("=[n=").append(histogram.getCount())
+                    .append(String.format(" p50=%.3f%s p99=%.3f%s", histogram.percentile(50) * scale, unit,
+                            histogram.percentile(99) * scale, unit))
+                    .append("] ");
+        }
+        return line.toString().trim();
+    }
+
+    private Entry register(String name, String[] labels, Type type) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels müssen paarweise angegeben werden: " + name);
+        }
+
+        StringBuilder labelText = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                labelText.append(',');
+            }
+            labelText.append(labels[i]).append("=\"").append(labels[i + 1].replace("\"", "\\\"")).append('"');
+        }
+
+        String key = name + '{' + labelText + '}';
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(name, labelText.toString(), type, type.create()));
+        if (entry.type() != type) {
+            throw new IllegalArgumentException("Metrik " + key + " ist bereits als " + entry.type() + " registriert");
+        }
+        return entry;
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, String extraLabel, double value) {
+        text.append(name);
+        if (!labels.isEmpty() || extraLabel != null) {
+            text.append('{').append(labels);
+            if (extraLabel != null) {
+                text.append(labels.isEmpty() ? "" : ",").append(extraLabel);
+            }
+            text.append('}');
+        }
+        text.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text.append((long) value);
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    private enum Type {
+        COUNTER,
+        HISTOGRAM,
+        TIMER;
+
+        Object create() {
+            return switch (this) {
+                case COUNTER -> new Counter();
+                case HISTOGRAM -> new Histogram();
+                case TIMER -> new Timer();
+            };
+        }
+    }
+
+    private record Entry(String name, String labels, Type type, Object metric) {
+    }
+}
@@ -0,0 +1,49 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+/**
+ * Global metrics of the application.
+ * Recording is disabled by default and enabled via the system property ENABLED_PROPERTY
+ * or setEnabled. Call sites check isEnabled or use start (a single volatile read) before recording,
+ * so disabled metrics cost practically nothing.
+ */
+public class Metrics {
+
+    public static final String ENABLED_PROPERTY = "flightplanner.metrics";
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private static final MetricRegistry registry = new MetricRegistry();
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    public static MetricRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Returns the start time for a Timer.
+     *
+     * @return System.nanoTime() if metrics are enabled, NOT_STARTED otherwise
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_STARTED;
+    }
+
+    public static Counter counter(String name, String... labels) {
+        return registry.counter(name, labels);
+    }
+
+    public static Histogram histogram(String name, String... labels) {
+        return registry.histogram(name, labels);
+    }
+
+    public static Timer timer(String name, String... labels) {
+        return registry.timer(name, labels);
+    }
+}
@@ -0,0 +1,50 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the summary of the global Metrics as a log line in a fixed interval.
+ * Nothing is logged while no metric has recorded a value.
+ */
+public class MetricsReporter implements AutoCloseable {
+
+    public static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+    private static final Logger logger = LogManager.getLogger(MetricsReporter.class);
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Starts reporting.
+     *
+     * @param intervalSeconds time between two log lines
+     */
+    public MetricsReporter(long intervalSeconds) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Logs the current summary immediately.
+     */
+    public void report() {
+        String summary = Metrics.registry().summary();
+        if (!summary.isEmpty()) {
+            logger.info(summary);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,59 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Java Flight Recorder event for a single route search of the Calculator.
+ */
+@Name("at.hochschule.burgenland.bswe.algo.RouteSearch")
+@Label("Route Search")
+@Category({"Flight Planner", "Routing"})
+@Description("Search for the optimal route between origin and destination airports")
+public class RouteSearchEvent extends Event {
+
+    @Label("Origins")
+    String origins;
+
+    @Label("Destinations")
+    @Description("Destination airports, destination sets of a one-to-many search are separated by '|'")
+    String destinations;
+
+    @Label("Criterion")
+    String criterion;
+
+    @Label("States Expanded")
+    @Description("(flights, last flight) states computed by the search")
+    int statesExpanded;
+
+    @Label("Routes Found")
+    int routesFound;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     * The airport lists are only joined if the event is committed.
+     *
+     * @param origins IATA codes of the origins
+     * @param destinationSets IATA codes of the destinations, one set per query of the search
+     */
+    public void finish(Iterable<String> origins, List<? extends Iterable<String>> destinationSets, String criterion,
+                       int statesExpanded, int routesFound) {
+        end();
+        if (shouldCommit()) {
+            StringJoiner destinations = new StringJoiner("|");
+            destinationSets.forEach(set -> destinations.add(String.join(",", set)));
+            this.origins = String.join(",", origins);
+            this.destinations = destinations.toString();
+            this.criterion = criterion;
+            this.statesExpanded = statesExpanded;
+            this.routesFound = routesFound;
+            commit();
+        }
+    }
+}
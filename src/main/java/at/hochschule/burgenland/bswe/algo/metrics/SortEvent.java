@@ -0,0 +1,39 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Comparator;
+
+/**
+ * Java Flight Recorder event for sorting routes.
+ */
+@Name("at.hochschule.burgenland.bswe.algo.Sort")
+@Label("Route Sort")
+@Category({"Flight Planner", "Sorting"})
+public class SortEvent extends Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    int size;
+
+    @Label("Comparator")
+    String comparator;
+
+    /**
+     * Ends the event and commits it if it is recorded.
+     */
+    public void finish(String algorithm, int size, Comparator<?> comparator) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.size = size;
+            this.comparator = comparator.getClass().getSimpleName();
+            commit();
+        }
+    }
+}
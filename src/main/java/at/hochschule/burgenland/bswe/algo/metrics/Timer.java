@@ -0,0 +1,23 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+/**
+ * Histogram of durations in nanoseconds, used together with Metrics.start:
+ * long start = Metrics.start();
+ * ...
+ * timer.stop(start);
+ * If metrics are disabled, start returns Metrics.NOT_STARTED and stop does nothing,
+ * so a disabled timer costs one volatile read.
+ */
+public class Timer extends Histogram {
+
+    /**
+     * Records the time passed since start.
+     *
+     * @param start value returned by Metrics.start
+     */
+    public void stop(long start) {
+        if (start != Metrics.NOT_STARTED) {
+            record(System.nanoTime() - start);
+        }
+    }
+}
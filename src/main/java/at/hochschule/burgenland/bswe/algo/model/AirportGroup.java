@@ -0,0 +1,51 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a named group of airports serving the same metro area, e.g. NYC for JFK and EWR.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AirportGroup {
+    private String code;
+    private String name;
+    private List<String> airports;
+
+    /**
+     * Constructor used for creation via CSV.
+     * The member airports are separated by "-".
+     *
+     * @param line CSV line to be parsed
+     * @return created AirportGroup object
+     */
+    public static AirportGroup fromCsv(String line) {
+        String[] parts = line.split(",");
+
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Ungültige Zeile: " + line);
+        }
+
+        List<String> iatas = Arrays.stream(parts[2].split("-"))
+            .map(String::trim)
+            .map(String::toUpperCase)
+            .toList();
+
+        return new AirportGroup(
+            parts[0].trim().toUpperCase(),
+            parts[1].trim(),
+            iatas
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s): %s", code, name, String.join(", ", airports));
+    }
+}
@@ -8,48 +8,90 @@ import java.time.LocalTime;
 
 /**
  * Represents a flight connection between two airports.
+ * The price is stored in cents.
+ * Large timetables keep their flights in an OffHeapFlightStore as compact columns
+ * (airport and airline symbol ids, minute of the day, cents), Flight objects are only
+ * materialized from there on read. Smaller graphs keep Flight objects on the heap,
+ * which share their strings and departure times when read with a SymbolTable.
+ * See docs/heap-footprint.md for the memory used by each representation.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Flight {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final LocalTime[] TIMES_OF_DAY = new LocalTime[MINUTES_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            TIMES_OF_DAY[minute] = LocalTime.of(minute / 60, minute % 60);
+        }
+    }
+
     private int id;
     private String origin;
     private String destination;
     private String airline;
     private String flightNumber;
     private int duration;
-    private double price;
+    private long priceCents;
     private LocalTime departureTime;
 
     /**
      * Constructor used for creation via CSV.
+     * Airports and airlines are not shared with other flights,
+     * loads of many flights use fromCsv(line, symbols) instead.
      *
      * @param line CSV line to be parsed
      * @return created Flight object
      */
     public static Flight fromCsv(String line) {
+        return fromCsv(line, new SymbolTable());
+    }
+
+    /**
+     * Constructor used for creation via CSV, sharing repeated strings.
+     * Airports and airlines are replaced by the instances of the symbol table
+     * and the departure time by a shared LocalTime instance, so flights read
+     * with the same symbol table do not hold duplicate objects.
+     *
+     * @param line CSV line to be parsed
+     * @param symbols symbol table shared by all flights of a load
+     * @return created Flight object
+     */
+    public static Flight fromCsv(String line, SymbolTable symbols) {
         String[] parts = line.split(",");
 
         if (parts.length != 8) {
             throw new IllegalArgumentException("Ungültige Zeile: " + line);
         }
 
+        LocalTime departure = LocalTime.parse(parts[7].trim());
+
         return new Flight(
             Integer.parseInt(parts[0].trim()),
-            parts[1].trim(),
-            parts[2].trim(),
-            parts[3].trim(),
+            symbols.canonical(parts[1].trim()),
+            symbols.canonical(parts[2].trim()),
+            symbols.canonical(parts[3].trim()),
             parts[4].trim(),
             Integer.parseInt(parts[5].trim()),
-            Double.parseDouble(parts[6].trim()),
-            LocalTime.parse(parts[7].trim())
+            Money.parseCents(parts[6]),
+            timeOfDay(departure.getHour() * 60 + departure.getMinute())
         );
     }
 
+    /**
+     * Returns the shared LocalTime instance for a minute of the day.
+     *
+     * @param minute minute of the day (0 - 1439)
+     */
+    public static LocalTime timeOfDay(int minute) {
+        return TIMES_OF_DAY[minute];
+    }
+
     @Override
     public String toString() {
-        return String.format("%s %s: %s -> %s | %d min | €%.2f | Dep: %s",
-                airline, flightNumber, origin, destination, duration, price, departureTime);
+        return String.format("%s %s: %s -> %s | %d min | €%s | Dep: %s",
+                airline, flightNumber, origin, destination, duration, Money.format(priceCents), departureTime);
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents a single row of a timetable delta:
+ * - ADD: a new flight
+ * - UPDATE: new values for an existing flight (e.g. retimed or repriced), identified by its id
+ * - REMOVE: a cancelled flight, only the id is required
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightChange {
+
+    public enum Operation {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+
+    private Operation operation;
+    private int flightId;
+    private Flight flight;
+
+    public static FlightChange add(Flight flight) {
+        return new FlightChange(Operation.ADD, flight.getId(), flight);
+    }
+
+    public static FlightChange update(Flight flight) {
+        return new FlightChange(Operation.UPDATE, flight.getId(), flight);
+    }
+
+    public static FlightChange remove(int flightId) {
+        return new FlightChange(Operation.REMOVE, flightId, null);
+    }
+
+    /**
+     * Constructor used for creation via CSV.
+     * The operation is followed by the columns of a flight row,
+     * for REMOVE only the flight id is required, e.g.
+     * - ADD,81,VIE,JFK,Austrian,OS87,560,640.00,11:05
+     * - REMOVE,81
+     *
+     * @param line CSV line to be parsed
+     * @param symbols symbol table shared by all flights of a load
+     * @return created FlightChange object
+     */
+    public static FlightChange fromCsv(String line, SymbolTable symbols) {
+        int separator = line.indexOf(',');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Ungültige Zeile: " + line);
+        }
+
+        Operation operation = Operation.valueOf(line.substring(0, separator).trim().toUpperCase());
+        String values = line.substring(separator + 1);
+
+        if (operation == Operation.REMOVE) {
+            return remove(Integer.parseInt(values.split(",")[0].trim()));
+        }
+
+        Flight flight = Flight.fromCsv(values, symbols);
+        return new FlightChange(operation, flight.getId(), flight);
+    }
+}
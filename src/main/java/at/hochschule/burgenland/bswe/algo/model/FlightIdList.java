@@ -0,0 +1,59 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of flight ids backed by a primitive int array.
+ * Used by Route instead of a list of boxed Integers, which needs an object
+ * per flight id on top of the list itself.
+ */
+public class FlightIdList extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] ids;
+
+    private FlightIdList(int[] ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Creates a list containing the given ids.
+     *
+     * @param ids flight ids, the array is copied
+     */
+    public static FlightIdList of(int... ids) {
+        return new FlightIdList(ids.clone());
+    }
+
+    /**
+     * Creates a list containing the given ids.
+     *
+     * @param ids flight ids
+     */
+    public static FlightIdList of(Collection<Integer> ids) {
+        if (ids instanceof FlightIdList flightIds) {
+            return flightIds;
+        }
+        return new FlightIdList(ids.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Returns the id at the given position without boxing.
+     *
+     * @param index position within the list
+     */
+    public int getInt(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public Integer get(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,70 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+/**
+ * Utility class for monetary amounts stored as long cents.
+ * Prices are parsed from and formatted to their decimal representation
+ * without going through double, so sums and comparisons are exact.
+ */
+public class Money {
+
+    private static final int CENTS_PER_UNIT = 100;
+
+    /**
+     * Parses a decimal amount such as "150.50", "89.9" or "1150" into cents.
+     * Digits after the second decimal place must be zero.
+     *
+     * @param value the amount to be parsed
+     * @return the amount in cents
+     */
+    public static long parseCents(String value) {
+        String text = value.trim();
+        boolean negative = text.startsWith("-");
+        if (negative || text.startsWith("+")) {
+            text = text.substring(1);
+        }
+
+        int dot = text.indexOf('.');
+        String units = dot >= 0 ? text.substring(0, dot) : text;
+        String fraction = dot >= 0 ? text.substring(dot + 1) : "";
+
+        if ((units.isEmpty() && fraction.isEmpty()) || !isDigits(units) || !isDigits(fraction)) {
+            throw new IllegalArgumentException("Ungültiger Preis: " + value);
+        }
+        for (int i = 2; i < fraction.length(); i++) {
+            if (fraction.charAt(i) != '0') {
+                throw new IllegalArgumentException("Preis mit mehr als zwei Nachkommastellen: " + value);
+            }
+        }
+
+        long cents = units.isEmpty() ? 0 : Math.multiplyExact(Long.parseLong(units), CENTS_PER_UNIT);
+        if (fraction.length() >= 1) {
+            cents += (fraction.charAt(0) - '0') * 10L;
+        }
+        if (fraction.length() >= 2) {
+            cents += fraction.charAt(1) - '0';
+        }
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Formats cents as decimal amount with two decimal places, e.g. 15050 as "150.50".
+     *
+     * @param cents the amount in cents
+     * @return the formatted amount
+     */
+    public static String format(long cents) {
+        String sign = cents < 0 ? "-" : "";
+        long absolute = Math.abs(cents);
+        long fraction = absolute % CENTS_PER_UNIT;
+        return sign + absolute / CENTS_PER_UNIT + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
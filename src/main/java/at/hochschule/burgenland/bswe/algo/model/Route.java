@@ -1,6 +1,5 @@
 package at.hochschule.burgenland.bswe.algo.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -10,15 +9,15 @@ import java.util.stream.Collectors;
 
 /**
  * Represents a complete route consisting of one or more flights.
+ * The total price is stored in cents.
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Route {
     private int id;
     private List<Integer> flights;
     private int totalDuration;
-    private double totalPrice;
+    private long totalPriceCents;
     private int stopovers;
 
     /**
@@ -34,34 +33,46 @@ public class Route {
         throw new IllegalArgumentException("Ungültige Zeile: " + line);
     }
 
-    List<Integer> flightIds = Arrays.stream(parts[1].split("-"))
-        .map(Integer::parseInt)
-        .toList();
+    FlightIdList flightIds = FlightIdList.of(Arrays.stream(parts[1].split("-"))
+        .mapToInt(id -> Integer.parseInt(id.trim()))
+        .toArray());
 
     return new Route(
         Integer.parseInt(parts[0].trim()),
         flightIds,
         Integer.parseInt(parts[2].trim()),
-        Double.parseDouble(parts[3].trim()),
+        Money.parseCents(parts[3]),
         Integer.parseInt(parts[4].trim())
         );
 }
 
+    /**
+     * Creates a route with the given values.
+     * The flight ids are stored as FlightIdList.
+     */
+    public Route(int id, List<Integer> flights, int totalDuration, long totalPriceCents, int stopovers) {
+        this.id = id;
+        this.flights = flights != null ? FlightIdList.of(flights) : null;
+        this.totalDuration = totalDuration;
+        this.totalPriceCents = totalPriceCents;
+        this.stopovers = stopovers;
+    }
+
     /**
      * Creates a route from a list of flight objects.
      */
     public Route(int id, List<Flight> flightList) {
         this.id = id;
-        this.flights = flightList.stream().map(Flight::getId).toList();
+        this.flights = FlightIdList.of(flightList.stream().mapToInt(Flight::getId).toArray());
         this.totalDuration = flightList.stream().mapToInt(Flight::getDuration).sum();
-        this.totalPrice = flightList.stream().mapToDouble(Flight::getPrice).sum();
+        this.totalPriceCents = flightList.stream().mapToLong(Flight::getPriceCents).sum();
         this.stopovers = Math.max(0, flightList.size() - 1);
     }
 
     @Override
     public String toString() {
-        return String.format("Route %d: %d flight(s) | %d min | €%.2f | %d stopover(s) | Flights: %s",
-                id, flights.size(), totalDuration, totalPrice, stopovers,
+        return String.format("Route %d: %d flight(s) | %d min | €%s | %d stopover(s) | Flights: %s",
+                id, flights.size(), totalDuration, Money.format(totalPriceCents), stopovers,
                 flights.stream().map(String::valueOf).collect(Collectors.joining("-")));
     }
 }
\ No newline at end of file
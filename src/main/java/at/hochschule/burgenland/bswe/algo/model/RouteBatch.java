@@ -0,0 +1,355 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import at.hochschule.burgenland.bswe.algo.sorting.RadixSort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Struct-of-arrays container for large numbers of routes.
+ * Instead of one Route object (with a list of boxed flight ids) per route,
+ * every attribute is stored in its own primitive array:
+ * - ids, totalDurations, totalPriceCents and stopovers, one entry per route
+ * - flightIds, the flight ids of all routes back to back in a single array
+ * - flightOffsets, where the flight ids of route i are [flightOffsets[i], flightOffsets[i + 1])
+ * Routes are addressed by their index in the batch. Sorting, filtering and top-K
+ * selection return index arrays and never move or create Route objects,
+ * only the columns needed for a comparison are read.
+ */
+public class RouteBatch {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int size;
+    private int[] ids;
+    private int[] totalDurations;
+    private long[] totalPriceCents;
+    private int[] stopovers;
+    private int[] flightOffsets;
+    private int[] flightIds;
+
+    public RouteBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with an initial capacity for routes.
+     *
+     * @param capacity expected number of routes
+     */
+    public RouteBatch(int capacity) {
+        int routeCapacity = Math.max(1, capacity);
+        this.ids = new int[routeCapacity];
+        this.totalDurations = new int[routeCapacity];
+        this.totalPriceCents = new long[routeCapacity];
+        this.stopovers = new int[routeCapacity];
+        this.flightOffsets = new int[routeCapacity + 1];
+        this.flightIds = new int[routeCapacity * 2];
+    }
+
+    /**
+     * Creates a batch containing the given routes in the same order.
+     *
+     * @param routes routes to be stored
+     * @return the created batch
+     */
+    public static RouteBatch of(List<Route> routes) {
+        RouteBatch batch = new RouteBatch(routes.size());
+        routes.forEach(batch::add);
+        return batch;
+    }
+
+    /**
+     * Appends a route to the batch.
+     *
+     * @param route route to be stored
+     * @return the index of the route within the batch
+     */
+    public int add(Route route) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            totalDurations = Arrays.copyOf(totalDurations, capacity);
+            totalPriceCents = Arrays.copyOf(totalPriceCents, capacity);
+            stopovers = Arrays.copyOf(stopovers, capacity);
+            flightOffsets = Arrays.copyOf(flightOffsets, capacity + 1);
+        }
+
+        List<Integer> flights = route.getFlights();
+        int start = flightOffsets[size];
+        if (start + flights.size() > flightIds.length) {
+            flightIds = Arrays.copyOf(flightIds, Math.max(flightIds.length * 2, start + flights.size()));
+        }
+        for (int i = 0; i < flights.size(); i++) {
+            flightIds[start + i] = flights.get(i);
+        }
+
+        ids[size] = route.getId();
+        totalDurations[size] = route.getTotalDuration();
+        totalPriceCents[size] = route.getTotalPriceCents();
+        stopovers[size] = route.getStopovers();
+        flightOffsets[size + 1] = start + flights.size();
+        return size++;
+    }
+
+    /**
+     * Returns the number of routes in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getId(int index) {
+        return ids[checkIndex(index)];
+    }
+
+    public int getTotalDuration(int index) {
+        return totalDurations[checkIndex(index)];
+    }
+
+    public long getTotalPriceCents(int index) {
+        return totalPriceCents[checkIndex(index)];
+    }
+
+    public int getStopovers(int index) {
+        return stopovers[checkIndex(index)];
+    }
+
+    /**
+     * Returns the number of flights of a route.
+     *
+     * @param index index of the route
+     */
+    public int getFlightCount(int index) {
+        checkIndex(index);
+        return flightOffsets[index + 1] - flightOffsets[index];
+    }
+
+    /**
+     * Returns the id of a single flight of a route.
+     *
+     * @param index index of the route
+     * @param position position of the flight within the route
+     */
+    public int getFlightId(int index, int position) {
+        if (position < 0 || position >= getFlightCount(index)) {
+            throw new IndexOutOfBoundsException("Flugposition " + position + " außerhalb der Route");
+        }
+        return flightIds[flightOffsets[index] + position];
+    }
+
+    /**
+     * Materializes a route as Route object.
+     *
+     * @param index index of the route
+     * @return a new Route object with the stored values
+     */
+    public Route get(int index) {
+        checkIndex(index);
+        FlightIdList flights = FlightIdList.of(Arrays.copyOfRange(flightIds, flightOffsets[index], flightOffsets[index + 1]));
+        return new Route(ids[index], flights, totalDurations[index], totalPriceCents[index], stopovers[index]);
+    }
+
+    /**
+     * Materializes the routes at the given indices in the given order.
+     *
+     * @param indices indices of the routes
+     * @return a list of new Route objects
+     */
+    public List<Route> get(int[] indices) {
+        List<Route> routes = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            routes.add(get(index));
+        }
+        return routes;
+    }
+
+    /**
+     * Returns the indices of all routes in storage order.
+     */
+    public int[] indices() {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the indices of all routes matching the predicate, in storage order.
+     * The predicate receives the route index and can read the columns via the getters.
+     *
+     * @param predicate condition on the route index
+     * @return the matching indices
+     */
+    public int[] filter(IntPredicate predicate) {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(i)) {
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Sorts all routes, see sort(int[], Comparator).
+     *
+     * @param comparator the comparator defining the sort order
+     * @return the indices of all routes in sorted order
+     */
+    public int[] sort(Comparator<Route> comparator) {
+        return sort(indices(), comparator);
+    }
+
+    /**
+     * Stable sort of route indices.
+     * The known comparators are evaluated on the primitive columns with RadixSort,
+     * any other comparator falls back to a stable sort of materialized routes.
+     *
+     * @param indices the indices to be sorted, e.g. the result of a filter
+     * @param comparator the comparator defining the sort order
+     * @return a new array with the indices in sorted order
+     */
+    public int[] sort(int[] indices, Comparator<Route> comparator) {
+        if (RadixSort.supports(comparator)) {
+            return RadixSort.sortIndices(indices, totalPriceCents, totalDurations, stopovers, comparator);
+        }
+
+        List<Route> routes = get(indices);
+        Integer[] positions = new Integer[indices.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        // Arrays.sort on objects is a stable merge sort
+        Arrays.sort(positions, (a, b) -> comparator.compare(routes.get(a), routes.get(b)));
+
+        int[] order = new int[indices.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = indices[positions[i]];
+        }
+        return order;
+    }
+
+    /**
+     * Selects the indices of the k best routes, see topK(int[], Comparator, int).
+     *
+     * @param comparator the comparator defining the order
+     * @param k maximum number of indices to return
+     * @return the k best indices in sorted order
+     */
+    public int[] topK(Comparator<Route> comparator, int k) {
+        return topK(indices(), comparator, k);
+    }
+
+    /**
+     * Selects the indices of the k best routes using a bounded max-heap of indices.
+     * Equal routes keep their order from the given index array.
+     * The known comparators are evaluated on extracted primitive keys,
+     * any other comparator falls back to sorting materialized routes.
+     * Time complexity: O(n log k) for known comparators
+     *
+     * @param indices the candidate indices
+     * @param comparator the comparator defining the order
+     * @param k maximum number of indices to return
+     * @return the k best indices in sorted order
+     */
+    public int[] topK(int[] indices, Comparator<Route> comparator, int k) {
+        if (k <= 0 || indices.length == 0) {
+            return new int[0];
+        }
+        if (!RadixSort.supports(comparator)) {
+            return Arrays.copyOf(sort(indices, comparator), Math.min(k, indices.length));
+        }
+
+        long[] primary = new long[indices.length];
+        long[] secondary = new long[indices.length];
+        RadixSort.extractKeys(indices, totalPriceCents, totalDurations, stopovers, comparator, primary, secondary);
+
+        // heap of positions within indices, the worst kept position is at the root
+        int[] heap = new int[Math.min(k, indices.length)];
+        int heapSize = 0;
+
+        for (int position = 0; position < indices.length; position++) {
+            if (heapSize < heap.length) {
+                heap[heapSize] = position;
+                siftUp(heap, heapSize++, primary, secondary);
+            } else if (compareKeys(position, heap[0], primary, secondary) < 0) {
+                heap[0] = position;
+                siftDown(heap, heapSize, primary, secondary);
+            }
+        }
+
+        for (int end = heapSize - 1; end > 0; end--) {
+            int temp = heap[0];
+            heap[0] = heap[end];
+            heap[end] = temp;
+            siftDown(heap, end, primary, secondary);
+        }
+
+        int[] result = new int[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            result[i] = indices[heap[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Compares two positions by their unsigned keys, ties are broken by position.
+     */
+    private static int compareKeys(int a, int b, long[] primary, long[] secondary) {
+        int result = Long.compareUnsigned(primary[a], primary[b]);
+        if (result != 0) return result;
+
+        result = Long.compareUnsigned(secondary[a], secondary[b]);
+        if (result != 0) return result;
+
+        return Integer.compare(a, b);
+    }
+
+    private static void siftUp(int[] heap, int i, long[] primary, long[] secondary) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (compareKeys(heap[parent], heap[i], primary, secondary) >= 0) {
+                return;
+            }
+            int temp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = temp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int heapSize, long[] primary, long[] secondary) {
+        int i = 0;
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < heapSize && compareKeys(heap[left], heap[largest], primary, secondary) > 0) {
+                largest = left;
+            }
+            if (right < heapSize && compareKeys(heap[right], heap[largest], primary, secondary) > 0) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+            int temp = heap[largest];
+            heap[largest] = heap[i];
+            heap[i] = temp;
+            i = largest;
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " außerhalb des Batches mit Größe " + size);
+        }
+        return index;
+    }
+}
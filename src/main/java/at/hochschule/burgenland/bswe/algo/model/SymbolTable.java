@@ -0,0 +1,88 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bidirectional mapping between strings and dense int ids (0, 1, 2, ...).
+ * Used to store repeated strings such as IATA codes and airline names only once:
+ * - intern returns the id of a string, assigning the next free id for new strings
+ * - get returns the single shared String instance of an id
+ */
+public class SymbolTable {
+
+    private final Map<String, Integer> ids;
+    private final List<String> symbols;
+
+    public SymbolTable() {
+        this.ids = new HashMap<>();
+        this.symbols = new ArrayList<>();
+    }
+
+    /**
+     * Creates a table with the same ids, strings registered later in one table are unknown to the other.
+     */
+    public SymbolTable copy() {
+        SymbolTable copy = new SymbolTable();
+        copy.ids.putAll(ids);
+        copy.symbols.addAll(symbols);
+        return copy;
+    }
+
+    /**
+     * Returns the id of a string, registering it if it is unknown.
+     *
+     * @param symbol the string to be interned
+     * @return the id of the string
+     */
+    public int intern(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+
+        int newId = symbols.size();
+        ids.put(symbol, newId);
+        symbols.add(symbol);
+        return newId;
+    }
+
+    /**
+     * Returns the shared instance of a string, registering it if it is unknown.
+     *
+     * @param symbol the string to be canonicalized
+     * @return the shared instance equal to the given string
+     */
+    public String canonical(String symbol) {
+        return symbols.get(intern(symbol));
+    }
+
+    /**
+     * Returns the id of a string without registering it.
+     *
+     * @param symbol the string to look up
+     * @return the id of the string or -1 if it is unknown
+     */
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Returns the string of an id.
+     *
+     * @param id id of the string
+     */
+    public String get(int id) {
+        return symbols.get(id);
+    }
+
+    /**
+     * Returns the number of registered strings.
+     */
+    public int size() {
+        return symbols.size();
+    }
+}
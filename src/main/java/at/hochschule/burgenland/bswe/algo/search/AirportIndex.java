@@ -0,0 +1,381 @@
+package at.hochschule.burgenland.bswe.algo.search;
+
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spatial index over airports supporting radius and k-nearest queries.
+ * Implemented as an implicit 3-dimensional k-d tree:
+ * - every airport is projected onto the unit sphere (x, y, z), so distances
+ *   are computed without special handling of the date line or the poles
+ * - the tree is stored in flat arrays, the median of each subrange is its root
+ * - the chord length between two points grows strictly with the great-circle
+ *   distance, which allows pruning by chord length and converting only the results
+ * Time complexity: O(n log n) build, O(log n + k) typical query
+ * Space complexity: O(n)
+ */
+public class AirportIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final int DIMENSIONS = 3;
+
+    private final Airport[] airports;
+    private final double[] coordinates;
+    private final byte[] splitAxis;
+
+    /**
+     * Builds the index over the given airports.
+     *
+     * @param airports the airports to be indexed
+     */
+    public AirportIndex(Collection<Airport> airports) {
+        this.airports = airports.toArray(new Airport[0]);
+        this.coordinates = new double[this.airports.length * DIMENSIONS];
+        this.splitAxis = new byte[this.airports.length];
+
+        for (int i = 0; i < this.airports.length; i++) {
+            project(this.airports[i].getLatitude(), this.airports[i].getLongitude(), coordinates, i * DIMENSIONS);
+        }
+        build(0, this.airports.length);
+    }
+
+    /**
+     * Finds all airports within the given radius around a point.
+     *
+     * @param latitude latitude of the point in degrees
+     * @param longitude longitude of the point in degrees
+     * @param radiusKm search radius in kilometers
+     * @return the matching airports ordered by ascending distance
+     */
+    public List<Airport> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        if (airports.length == 0 || radiusKm < 0) {
+            return new ArrayList<>();
+        }
+
+        double[] point = project(latitude, longitude, new double[DIMENSIONS], 0);
+        double chord = chordLength(radiusKm);
+
+        Candidates result = new Candidates(Integer.MAX_VALUE);
+        searchRadius(0, airports.length, point, chord * chord, result);
+        return result.toSortedList();
+    }
+
+    /**
+     * Finds the k airports closest to a point.
+     *
+     * @param latitude latitude of the point in degrees
+     * @param longitude longitude of the point in degrees
+     * @param k maximum number of airports to return
+     * @return up to k airports ordered by ascending distance
+     */
+    public List<Airport> findNearest(double latitude, double longitude, int k) {
+        if (airports.length == 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        double[] point = project(latitude, longitude, new double[DIMENSIONS], 0);
+
+        Candidates result = new Candidates(k);
+        searchNearest(0, airports.length, point, result);
+        return result.toSortedList();
+    }
+
+    /**
+     * Returns the number of indexed airports.
+     */
+    public int size() {
+        return airports.length;
+    }
+
+    /**
+     * Calculates the great-circle distance between two points using the haversine formula.
+     *
+     * @param lat1 latitude of the first point in degrees
+     * @param lon1 longitude of the first point in degrees
+     * @param lat2 latitude of the second point in degrees
+     * @param lon2 longitude of the second point in degrees
+     * @return the distance in kilometers
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Recursively arranges the subrange [from, to) as a k-d tree.
+     * The median along the axis with the largest spread becomes the root of the subrange.
+     */
+    private void build(int from, int to) {
+        if (to - from <= 1) {
+            return;
+        }
+
+        int axis = widestAxis(from, to);
+        int mid = (from + to) >>> 1;
+
+        select(from, to - 1, mid, axis);
+        splitAxis[mid] = (byte) axis;
+
+        build(from, mid);
+        build(mid + 1, to);
+    }
+
+    /**
+     * Determines the axis with the largest coordinate spread within [from, to).
+     */
+    private int widestAxis(int from, int to) {
+        int bestAxis = 0;
+        double bestSpread = -1;
+
+        for (int axis = 0; axis < DIMENSIONS; axis++) {
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                double value = coordinates[i * DIMENSIONS + axis];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > bestSpread) {
+                bestSpread = max - min;
+                bestAxis = axis;
+            }
+        }
+        return bestAxis;
+    }
+
+    /**
+     * Quickselect: partially orders [left, right] so that position k holds the
+     * element which would be there if the range was sorted along the given axis.
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            double pivot = coordinates[mid * DIMENSIONS + axis];
+            swap(mid, right);
+
+            int store = left;
+            for (int i = left; i < right; i++) {
+                if (coordinates[i * DIMENSIONS + axis] < pivot) {
+                    swap(i, store++);
+                }
+            }
+            swap(store, right);
+
+            if (store == k) {
+                return;
+            } else if (store < k) {
+                left = store + 1;
+            } else {
+                right = store - 1;
+            }
+        }
+    }
+
+    private void searchRadius(int from, int to, double[] point, double maxDistanceSq, Candidates result) {
+        if (from >= to) {
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        double distanceSq = distanceSq(mid, point);
+        if (distanceSq <= maxDistanceSq) {
+            result.offer(mid, distanceSq);
+        }
+
+        if (to - from == 1) {
+            return;
+        }
+
+        int axis = splitAxis[mid];
+        double delta = point[axis] - coordinates[mid * DIMENSIONS + axis];
+
+        if (delta <= 0 || delta * delta <= maxDistanceSq) {
+            searchRadius(from, mid, point, maxDistanceSq, result);
+        }
+        if (delta >= 0 || delta * delta <= maxDistanceSq) {
+            searchRadius(mid + 1, to, point, maxDistanceSq, result);
+        }
+    }
+
+    private void searchNearest(int from, int to, double[] point, Candidates result) {
+        if (from >= to) {
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        result.offer(mid, distanceSq(mid, point));
+
+        if (to - from == 1) {
+            return;
+        }
+
+        int axis = splitAxis[mid];
+        double delta = point[axis] - coordinates[mid * DIMENSIONS + axis];
+
+        // Descend into the side containing the point first to tighten the bound early
+        if (delta <= 0) {
+            searchNearest(from, mid, point, result);
+            if (delta * delta <= result.bound()) {
+                searchNearest(mid + 1, to, point, result);
+            }
+        } else {
+            searchNearest(mid + 1, to, point, result);
+            if (delta * delta <= result.bound()) {
+                searchNearest(from, mid, point, result);
+            }
+        }
+    }
+
+    private double distanceSq(int index, double[] point) {
+        int offset = index * DIMENSIONS;
+        double dx = coordinates[offset] - point[0];
+        double dy = coordinates[offset + 1] - point[1];
+        double dz = coordinates[offset + 2] - point[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void swap(int i, int j) {
+        if (i == j) {
+            return;
+        }
+
+        Airport tempAirport = airports[i];
+        airports[i] = airports[j];
+        airports[j] = tempAirport;
+
+        for (int axis = 0; axis < DIMENSIONS; axis++) {
+            double temp = coordinates[i * DIMENSIONS + axis];
+            coordinates[i * DIMENSIONS + axis] = coordinates[j * DIMENSIONS + axis];
+            coordinates[j * DIMENSIONS + axis] = temp;
+        }
+    }
+
+    /**
+     * Projects latitude/longitude onto the unit sphere.
+     */
+    private static double[] project(double latitude, double longitude, double[] target, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+
+        target[offset] = Math.cos(lat) * Math.cos(lon);
+        target[offset + 1] = Math.cos(lat) * Math.sin(lon);
+        target[offset + 2] = Math.sin(lat);
+        return target;
+    }
+
+    /**
+     * Converts a great-circle distance into the chord length on the unit sphere.
+     */
+    private static double chordLength(double distanceKm) {
+        double angle = Math.min(Math.PI, distanceKm / EARTH_RADIUS_KM);
+        return 2 * Math.sin(angle / 2);
+    }
+
+    /**
+     * Collects query results as pairs of tree index and squared chord distance.
+     * When bounded, it keeps the closest entries in a max-heap, so the current
+     * worst candidate can be replaced in O(log k).
+     */
+    private class Candidates {
+        private final int limit;
+        private int[] indices;
+        private double[] distances;
+        private int size;
+
+        Candidates(int limit) {
+            this.limit = limit;
+            int capacity = Math.min(limit, 16);
+            this.indices = new int[capacity];
+            this.distances = new double[capacity];
+        }
+
+        /**
+         * Returns the squared distance a new candidate has to beat.
+         */
+        double bound() {
+            return size < limit ? Double.MAX_VALUE : distances[0];
+        }
+
+        void offer(int index, double distanceSq) {
+            if (size < limit) {
+                if (size == indices.length) {
+                    int capacity = (int) Math.min(limit, indices.length * 2L);
+                    indices = Arrays.copyOf(indices, capacity);
+                    distances = Arrays.copyOf(distances, capacity);
+                }
+                indices[size] = index;
+                distances[size] = distanceSq;
+                siftUp(size++);
+            } else if (distanceSq < distances[0]) {
+                indices[0] = index;
+                distances[0] = distanceSq;
+                siftDown(0);
+            }
+        }
+
+        List<Airport> toSortedList() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+
+            List<Airport> result = new ArrayList<>(size);
+            for (int position : order) {
+                result.add(airports[indices[position]]);
+            }
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (distances[parent] >= distances[i]) {
+                    return;
+                }
+                exchange(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && distances[left] > distances[largest]) {
+                    largest = left;
+                }
+                if (right < size && distances[right] > distances[largest]) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                exchange(i, largest);
+                i = largest;
+            }
+        }
+
+        private void exchange(int i, int j) {
+            int tempIndex = indices[i];
+            indices[i] = indices[j];
+            indices[j] = tempIndex;
+
+            double tempDistance = distances[i];
+            distances[i] = distances[j];
+            distances[j] = tempDistance;
+        }
+    }
+}
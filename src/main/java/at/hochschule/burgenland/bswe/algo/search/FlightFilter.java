@@ -0,0 +1,53 @@
+package at.hochschule.burgenland.bswe.algo.search;
+
+import java.time.LocalTime;
+
+/**
+ * Inclusive ranges for a bulk flight search by price, duration and departure time.
+ * The departure window wraps around midnight if earliestDeparture is after latestDeparture,
+ * e.g. 22:00 - 02:00 selects night flights.
+ *
+ * @param minPriceCents lowest price in cents
+ * @param maxPriceCents highest price in cents
+ * @param minDuration shortest duration in minutes
+ * @param maxDuration longest duration in minutes
+ * @param earliestDeparture start of the departure window
+ * @param latestDeparture end of the departure window
+ */
+public record FlightFilter(long minPriceCents, long maxPriceCents, int minDuration, int maxDuration,
+                           LocalTime earliestDeparture, LocalTime latestDeparture) {
+
+    public FlightFilter {
+        if (minPriceCents > maxPriceCents) {
+            throw new IllegalArgumentException("Ungültiger Preisbereich: " + minPriceCents + " - " + maxPriceCents);
+        }
+        if (minDuration > maxDuration) {
+            throw new IllegalArgumentException("Ungültiger Dauerbereich: " + minDuration + " - " + maxDuration);
+        }
+        if (earliestDeparture == null || latestDeparture == null) {
+            throw new IllegalArgumentException("Das Abflugzeitfenster muss angegeben werden");
+        }
+    }
+
+    /**
+     * Creates a filter accepting every flight, to be narrowed with the with-methods.
+     */
+    public static FlightFilter any() {
+        return new FlightFilter(0, Long.MAX_VALUE, 0, Integer.MAX_VALUE, LocalTime.MIN, LocalTime.MAX);
+    }
+
+    public FlightFilter withPrice(long minPriceCents, long maxPriceCents) {
+        return new FlightFilter(minPriceCents, maxPriceCents, minDuration, maxDuration,
+                earliestDeparture, latestDeparture);
+    }
+
+    public FlightFilter withDuration(int minDuration, int maxDuration) {
+        return new FlightFilter(minPriceCents, maxPriceCents, minDuration, maxDuration,
+                earliestDeparture, latestDeparture);
+    }
+
+    public FlightFilter withDeparture(LocalTime earliestDeparture, LocalTime latestDeparture) {
+        return new FlightFilter(minPriceCents, maxPriceCents, minDuration, maxDuration,
+                earliestDeparture, latestDeparture);
+    }
+}
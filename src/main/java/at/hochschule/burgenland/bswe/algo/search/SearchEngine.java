@@ -3,17 +3,32 @@ package at.hochschule.burgenland.bswe.algo.search;
 import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
 import at.hochschule.burgenland.bswe.algo.model.Airport;
 import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.simd.Kernels;
 
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 /**
  * Search engine for flights and airports stored in a FlightGraph.
  * Provides read-only, linear search operations.
+ * Every search reads a single graph snapshot from the supplier.
+ * searchByRange scans primitive columns of price, duration and departure minute with Kernels
+ * (Vector API if available), the columns of a frozen graph are built once and reused.
+ * The columns are grouped by origin airport, for a snapshot derived from the previous one
+ * (FlightGraph.changesSince) only the groups of the changed airports are read from the graph.
  */
 public class SearchEngine {
 
-    private final FlightGraph graph;
+    private final Supplier<FlightGraph> graphs;
+    private final Kernels kernels;
+    private final AtomicReference<Columns> columns = new AtomicReference<>();
 
     /**
      * Constructor with the graph to query.
@@ -21,7 +36,24 @@ public class SearchEngine {
      * @param graph the graph containing airports and flights to be searched
      */
     public SearchEngine(FlightGraph graph) {
-        this.graph = graph;
+        this(() -> graph);
+    }
+
+    /**
+     * Constructor with a source of graph snapshots, e.g. a VersionedFlightGraph.
+     *
+     * @param graphs supplier of the current graph
+     */
+    public SearchEngine(Supplier<FlightGraph> graphs) {
+        this(graphs, Kernels.get());
+    }
+
+    /**
+     * Constructor with the kernels executing the range filter, e.g. to compare the implementations.
+     */
+    SearchEngine(Supplier<FlightGraph> graphs, Kernels kernels) {
+        this.graphs = graphs;
+        this.kernels = kernels;
     }
 
     /**
@@ -32,6 +64,7 @@ public class SearchEngine {
      * @return a SearchResult containing the airport and all outgoing flights
      */
     public SearchResult searchByOrigin(String iata) {
+        FlightGraph graph = graphs.get();
         Airport airport = graph.getAirport(iata.trim().toUpperCase());
         if (airport == null) {
             return new SearchResult(null, new ArrayList<>());
@@ -49,6 +82,7 @@ public class SearchEngine {
      * @return a SearchResult containing the airport and all incoming flights
      */
     public SearchResult searchByDestination(String iata) {
+        FlightGraph graph = graphs.get();
         Airport airport = graph.getAirport(iata.trim().toUpperCase());
         if (airport == null) {
             return new SearchResult(null, new ArrayList<>());
@@ -71,7 +105,7 @@ public class SearchEngine {
      */
     public List<Flight> searchByAirline(String airline) {
         String searchTerm = airline.trim().toLowerCase();
-        return graph.getAllFlights().stream()
+        return graphs.get().getAllFlights().stream()
                 .filter(f -> f.getAirline().toLowerCase().contains(searchTerm))
                 .toList();
     }
@@ -85,12 +119,128 @@ public class SearchEngine {
      */
     public Flight searchByFlightNumber(String flightNumber) {
         String searchTerm = flightNumber.trim().toUpperCase();
-        return graph.getAllFlights().stream()
+        return graphs.get().getAllFlights().stream()
                 .filter(f -> f.getFlightNumber().equalsIgnoreCase(searchTerm))
                 .findFirst()
                 .orElse(null);
     }
 
+    /**
+     * Searches for all flights within the price, duration and departure ranges of the filter.
+     *
+     * @param filter the inclusive ranges to match
+     * @return the matching flights grouped by origin airport, in the order of FlightGraph.getAllAirports
+     *         and FlightGraph.getFlightsFrom
+     */
+    public List<Flight> searchByRange(FlightFilter filter) {
+        Columns table = columns(graphs.get());
+        int[] rows = new int[table.flights.length];
+        int count = kernels.selectRows(
+                table.priceCents, filter.minPriceCents(), filter.maxPriceCents(),
+                table.duration, filter.minDuration(), filter.maxDuration(),
+                table.departureMinute, minuteOfDay(filter.earliestDeparture()),
+                minuteOfDay(filter.latestDeparture()), rows);
+
+        List<Flight> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            flights.add(table.flights[rows[i]]);
+        }
+        return flights;
+    }
+
+    private Columns columns(FlightGraph graph) {
+        Columns current = columns.get();
+        if (current != null && current.graph == graph) {
+            return current;
+        }
+        FlightGraph.Changes changes = current != null ? graph.changesSince(current.graph) : null;
+        Columns built = changes != null ? Columns.of(graph, current, changes) : Columns.of(graph);
+        // mutable graphs may change between two searches, only snapshots are cached
+        if (graph.isFrozen()) {
+            columns.set(built);
+        }
+        return built;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    /**
+     * Flight attributes of a graph snapshot as primitive columns, row i belongs to flights[i].
+     * The rows of origins[a] are firstRow[a]..firstRow[a+1]-1.
+     */
+    private record Columns(FlightGraph graph, String[] origins, Map<String, Integer> originIndex, int[] firstRow,
+                           Flight[] flights, long[] priceCents, int[] duration, int[] departureMinute) {
+
+        static Columns of(FlightGraph graph) {
+            List<String> origins = graph.getAllAirports().stream().map(Airport::getIata).toList();
+            return build(graph, origins, null, Set.of());
+        }
+
+        /**
+         * Builds the columns of a graph copied from the graph of previous,
+         * the rows of origins without changed flights are copied from previous.
+         */
+        static Columns of(FlightGraph graph, Columns previous, FlightGraph.Changes changes) {
+            List<String> origins = new ArrayList<>(Arrays.asList(previous.origins));
+            changes.airports().stream().filter(iata -> !previous.originIndex.containsKey(iata)).sorted()
+                    .forEach(origins::add);
+            return build(graph, origins, previous, changes.flightAirports());
+        }
+
+        /**
+         * Fills the columns origin by origin, copying the rows of the unchanged origins from previous
+         * and reading the others from the graph.
+         */
+        private static Columns build(FlightGraph graph, List<String> origins, Columns previous, Set<String> changed) {
+            Map<String, Integer> originIndex = new HashMap<>();
+            int[] firstRow = new int[origins.size() + 1];
+            List<List<Flight>> read = new ArrayList<>();
+            for (int a = 0; a < origins.size(); a++) {
+                String iata = origins.get(a);
+                originIndex.put(iata, a);
+                Integer old = previous != null && !changed.contains(iata) ? previous.originIndex.get(iata) : null;
+                if (old != null) {
+                    read.add(null);
+                    firstRow[a + 1] = firstRow[a] + previous.firstRow[old + 1] - previous.firstRow[old];
+                } else {
+                    List<Flight> departing = graph.getFlightsFrom(iata);
+                    read.add(departing);
+                    firstRow[a + 1] = firstRow[a] + departing.size();
+                }
+            }
+
+            int rows = firstRow[origins.size()];
+            Flight[] flights = new Flight[rows];
+            long[] priceCents = new long[rows];
+            int[] duration = new int[rows];
+            int[] departureMinute = new int[rows];
+            for (int a = 0; a < origins.size(); a++) {
+                List<Flight> departing = read.get(a);
+                if (departing == null) {
+                    int from = previous.firstRow[previous.originIndex.get(origins.get(a))];
+                    int count = firstRow[a + 1] - firstRow[a];
+                    System.arraycopy(previous.flights, from, flights, firstRow[a], count);
+                    System.arraycopy(previous.priceCents, from, priceCents, firstRow[a], count);
+                    System.arraycopy(previous.duration, from, duration, firstRow[a], count);
+                    System.arraycopy(previous.departureMinute, from, departureMinute, firstRow[a], count);
+                    continue;
+                }
+                for (int i = 0; i < departing.size(); i++) {
+                    Flight flight = departing.get(i);
+                    int row = firstRow[a] + i;
+                    flights[row] = flight;
+                    priceCents[row] = flight.getPriceCents();
+                    duration[row] = flight.getDuration();
+                    departureMinute[row] = minuteOfDay(flight.getDepartureTime());
+                }
+            }
+            return new Columns(graph, origins.toArray(String[]::new), originIndex, firstRow,
+                    flights, priceCents, duration, departureMinute);
+        }
+    }
+
     /**
      * Container object holding the result of an airport-related search.
      * Combines the found airport with a list of associated flights
@@ -0,0 +1,571 @@
+package at.hochschule.burgenland.bswe.algo.server;
+
+import at.hochschule.burgenland.bswe.algo.algorithm.Calculator;
+import at.hochschule.burgenland.bswe.algo.algorithm.Journey;
+import at.hochschule.burgenland.bswe.algo.algorithm.ProfileSearch;
+import at.hochschule.burgenland.bswe.algo.algorithm.RouteQueryCoalescer;
+import at.hochschule.burgenland.bswe.algo.algorithm.SearchTrace;
+import at.hochschule.burgenland.bswe.algo.comparator.CombinationComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.DurationComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.PriceComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.StopoverComparator;
+import at.hochschule.burgenland.bswe.algo.graph.AirportGroups;
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.io.Json;
+import at.hochschule.burgenland.bswe.algo.metrics.Histogram;
+import at.hochschule.burgenland.bswe.algo.metrics.MetricRegistry;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.metrics.Timer;
+import at.hochschule.burgenland.bswe.algo.model.AirportGroup;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Money;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import at.hochschule.burgenland.bswe.algo.search.FlightFilter;
+import at.hochschule.burgenland.bswe.algo.search.SearchEngine;
+import at.hochschule.burgenland.bswe.algo.sorting.MergeSort;
+import at.hochschule.burgenland.bswe.algo.sorting.QuickSort;
+import at.hochschule.burgenland.bswe.algo.sorting.RadixSort;
+import at.hochschule.burgenland.bswe.algo.sorting.TopK;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Embedded HTTP server answering route planning, search and sorting requests as JSON.
+ * Endpoints:
+ * - GET  /api/routes?from=VIE&to=NYC&criterion=price|duration|duration_max|stopovers[&trace=true]
+ *   with trace=true the response contains the route and the SearchTrace of the search
+ * - GET  /api/profile?from=VIE&to=NYC with all journeys of the day that are not beaten by a later departure
+ *   (departure, arrival and flights for a timeline view)
+ * - GET  /api/flights?origin=VIE | destination=JFK | airline=Austrian | number=OS87
+ * - GET  /api/flights?minPrice=100&maxPrice=250.50&minDuration=60&maxDuration=300&earliest=22:00&latest=02:00
+ *   with all flights within the given ranges (each bound optional, the departure window may wrap around midnight)
+ * - POST /api/sort?algorithm=merge|quick|radix&criterion=price|duration|stopovers|combination&limit=10
+ *   with route CSV rows as body
+ * - GET  /api/stats with count, mean, p50, p99 and max latency per endpoint and the searches
+ *   saved by coalescing
+ * - GET  /api/metrics with the request latencies and the application Metrics in the Prometheus text format
+ * Every request pins the graph snapshot current at its start, so requests never block each
+ * other and a reload published meanwhile only affects later requests.
+ * Concurrent route queries are merged by a RouteQueryCoalescer.
+ * Requests run on virtual threads if the runtime provides them (Java 21+),
+ * otherwise on a fixed pool of platform threads.
+ */
+public class RouteServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final long SHUTDOWN_MILLIS = 1000;
+
+    private static final List<String> RANGE_PARAMS =
+            List.of("minPrice", "maxPrice", "minDuration", "maxDuration", "earliest", "latest");
+
+    private final Supplier<FlightGraph> graphs;
+    private final List<AirportGroup> groups;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final MetricRegistry metrics;
+    private final Map<String, Timer> latencies;
+    private final AtomicReference<Lookup> lookup;
+    private final AtomicReference<Profiles> profiles;
+    private final AtomicInteger inFlight;
+    private final RouteQueryCoalescer coalescer;
+    private final SearchEngine searchEngine;
+
+    /**
+     * Constructor binding the server to the given port, requests are accepted after start.
+     *
+     * @param graphs source of graph snapshots, e.g. a VersionedFlightGraph
+     * @param groups explicit airport groups used to resolve locations
+     * @param port the port to listen on, 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public RouteServer(Supplier<FlightGraph> graphs, List<AirportGroup> groups, int port) throws IOException {
+        this.graphs = graphs;
+        this.groups = groups;
+        this.metrics = new MetricRegistry();
+        this.latencies = new LinkedHashMap<>();
+        this.lookup = new AtomicReference<>();
+        this.profiles = new AtomicReference<>();
+        this.inFlight = new AtomicInteger();
+        this.coalescer = new RouteQueryCoalescer();
+        // one engine for all requests, so the range search columns are only rebuilt after a reload
+        this.searchEngine = new SearchEngine(graphs);
+        this.executor = createExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+
+        register("/api/routes", this::handleRoutes);
+        register("/api/profile", this::handleProfile);
+        register("/api/flights", this::handleFlights);
+        register("/api/sort", this::handleSort);
+        register("/api/stats", this::handleStats);
+        register("/api/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Waits up to SHUTDOWN_MILLIS for running requests, then stops the server.
+     * The requests are awaited here instead of via HttpServer.stop(delay),
+     * which waits for the full delay on older runtimes even if nothing is running.
+     */
+    @Override
+    public void close() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_MILLIS);
+        try {
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the latency histogram of an endpoint.
+     *
+     * @param path path of the endpoint, e.g. "/api/routes"
+     * @return the histogram, null for unknown paths
+     */
+    public Histogram getLatency(String path) {
+        return latencies.get(path);
+    }
+
+    public RouteQueryCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    /**
+     * Creates a virtual thread per task executor if available,
+     * otherwise a fixed pool with four threads per processor (requests are mostly CPU bound).
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    private void register(String path, Handler handler) {
+        Timer latency = metrics.timer("http_request_seconds", "path", path);
+        latencies.put(path, latency);
+        server.createContext(path, timed(latency, handler));
+    }
+
+    /**
+     * Wraps a handler with latency recording and error handling:
+     * - IllegalArgumentException: 400 with the message
+     * - any other exception: 500
+     */
+    private HttpHandler timed(Timer latency, Handler handler) {
+        return exchange -> {
+            long start = System.nanoTime();
+            inFlight.incrementAndGet();
+            try {
+                Response response;
+                try {
+                    response = handler.handle(exchange);
+                } catch (IllegalArgumentException e) {
+                    response = Response.error(400, e.getMessage());
+                } catch (RuntimeException e) {
+                    response = Response.error(500, "Interner Fehler: " + e.getMessage());
+                }
+                send(exchange, response);
+            } finally {
+                exchange.close();
+                latency.record(System.nanoTime() - start);
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType());
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Response handleRoutes(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        Map<String, String> params = parseQuery(exchange);
+        String from = requireParam(params, "from");
+        String to = requireParam(params, "to");
+        Calculator.RouteOptimization optimization = parseOptimization(params.getOrDefault("criterion", "price"));
+
+        FlightGraph graph = graphs.get();
+        AirportGroups airportGroups = lookup(graph);
+        Set<String> origins = resolve(airportGroups, from);
+        Set<String> destinations = resolve(airportGroups, to);
+        if (origins.equals(destinations)) {
+            throw new IllegalArgumentException("Start und Ziel sind identisch");
+        }
+
+        if (Boolean.parseBoolean(params.get("trace"))) {
+            // traced queries are not coalesced, the trace has to show their own search
+            SearchTrace trace = new SearchTrace();
+            Route route = new Calculator(graph).findOptimalRoute(origins, destinations, optimization, trace);
+            return Response.ok("{\"route\":" + Json.route(route, graph) + ",\"trace\":" + trace.toJson() + "}");
+        }
+
+        Route route = coalescer.findOptimalRoute(graph, origins, destinations, optimization);
+        if (route == null) {
+            return Response.error(404, "Keine Route von " + from + " nach " + to + " gefunden");
+        }
+        return Response.ok(Json.route(route, graph));
+    }
+
+    private Response handleProfile(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        Map<String, String> params = parseQuery(exchange);
+        String from = requireParam(params, "from");
+        String to = requireParam(params, "to");
+
+        FlightGraph graph = graphs.get();
+        AirportGroups airportGroups = lookup(graph);
+        Set<String> origins = resolve(airportGroups, from);
+        Set<String> destinations = resolve(airportGroups, to);
+        if (origins.equals(destinations)) {
+            throw new IllegalArgumentException("Start und Ziel sind identisch");
+        }
+
+        List<Journey> journeys = profileSearch(graph).search(origins, destinations);
+        if (journeys.isEmpty()) {
+            return Response.error(404, "Keine Verbindung von " + from + " nach " + to + " gefunden");
+        }
+        return Response.ok("{\"from\":" + Json.quote(from) + ",\"to\":" + Json.quote(to)
+                + ",\"journeys\":" + Json.array(journeys, Json::journey) + "}");
+    }
+
+    private Response handleFlights(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        Map<String, String> params = parseQuery(exchange);
+
+        if (params.containsKey("origin")) {
+            return searchResult(searchEngine.searchByOrigin(params.get("origin")));
+        }
+        if (params.containsKey("destination")) {
+            return searchResult(searchEngine.searchByDestination(params.get("destination")));
+        }
+        if (params.containsKey("airline")) {
+            return Response.ok(Json.array(searchEngine.searchByAirline(params.get("airline")), Json::flight));
+        }
+        if (params.containsKey("number")) {
+            Flight flight = searchEngine.searchByFlightNumber(params.get("number"));
+            return flight != null
+                    ? Response.ok(Json.flight(flight))
+                    : Response.error(404, "Flug " + params.get("number") + " nicht gefunden");
+        }
+        if (RANGE_PARAMS.stream().anyMatch(params::containsKey)) {
+            return Response.ok(Json.array(searchEngine.searchByRange(parseFilter(params)), Json::flight));
+        }
+        throw new IllegalArgumentException("Parameter origin, destination, airline, number oder "
+                + String.join(", ", RANGE_PARAMS) + " erforderlich");
+    }
+
+    /**
+     * Builds the range filter of /api/flights, missing bounds are open.
+     * Prices are given in euros, durations in minutes and departure times as HH:mm.
+     */
+    private static FlightFilter parseFilter(Map<String, String> params) {
+        FlightFilter filter = FlightFilter.any();
+        long minPrice = params.containsKey("minPrice") ? parseCents(params.get("minPrice"), "minPrice") : 0;
+        long maxPrice = params.containsKey("maxPrice")
+                ? parseCents(params.get("maxPrice"), "maxPrice") : filter.maxPriceCents();
+        int minDuration = params.containsKey("minDuration") ? parseInt(params.get("minDuration"), "minDuration") : 0;
+        int maxDuration = params.containsKey("maxDuration")
+                ? parseInt(params.get("maxDuration"), "maxDuration") : filter.maxDuration();
+        LocalTime earliest = params.containsKey("earliest")
+                ? parseTime(params.get("earliest"), "earliest") : filter.earliestDeparture();
+        LocalTime latest = params.containsKey("latest")
+                ? parseTime(params.get("latest"), "latest") : filter.latestDeparture();
+        return filter.withPrice(minPrice, maxPrice)
+                .withDuration(minDuration, maxDuration)
+                .withDeparture(earliest, latest);
+    }
+
+    private static Response searchResult(SearchEngine.SearchResult result) {
+        if (result.airport() == null) {
+            return Response.error(404, "Flughafen nicht gefunden");
+        }
+        return Response.ok("{\"airport\":" + Json.airport(result.airport())
+                + ",\"flights\":" + Json.array(result.flights(), Json::flight) + "}");
+    }
+
+    /**
+     * Sorts the routes of the request body, the selection of algorithms matches the menu:
+     * with a limit smaller than the number of routes only the best routes are selected.
+     */
+    private Response handleSort(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "POST");
+        Map<String, String> params = parseQuery(exchange);
+        String algorithm = params.getOrDefault("algorithm", "merge");
+        Comparator<Route> comparator = parseComparator(params.getOrDefault("criterion", "combination"));
+
+        List<Route> routes = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    routes.add(Route.fromCsv(line));
+                }
+            }
+        }
+
+        int limit = routes.size();
+        if (params.containsKey("limit")) {
+            limit = parseInt(params.get("limit"), "limit");
+            if (limit <= 0) {
+                throw new IllegalArgumentException("limit muss größer als 0 sein");
+            }
+        }
+
+        List<Route> sorted = new ArrayList<>(routes);
+        boolean partial = limit < routes.size();
+        if (!List.of("merge", "quick", "radix").contains(algorithm)) {
+            throw new IllegalArgumentException("Unbekannter Algorithmus: " + algorithm);
+        }
+
+        // partial runs are labelled like in the menu, by the selection actually executed
+        long start = Metrics.start();
+        String executed;
+        if (partial && "quick".equals(algorithm)) {
+            sorted = TopK.quickSelect(routes, comparator, limit);
+            executed = "quick_select";
+        } else if (partial) {
+            sorted = TopK.heapSelect(routes, comparator, limit);
+            executed = "heap_select";
+        } else if ("merge".equals(algorithm)) {
+            MergeSort.sort(sorted, comparator);
+            executed = "merge";
+        } else if ("quick".equals(algorithm)) {
+            QuickSort.sort(sorted, comparator);
+            executed = "quick";
+        } else {
+            RadixSort.sort(sorted, comparator);
+            executed = "radix";
+        }
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("route_sort_seconds", "algorithm", executed).stop(start);
+        }
+
+        return Response.ok(Json.array(sorted, route -> Json.route(route, null)));
+    }
+
+    private Response handleStats(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Timer> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(Json.quote(entry.getKey()))
+                    .append(":{\"count\":").append(histogram.getCount())
+                    .append(",\"meanMicros\":").append(toMicros(histogram.getMean()))
+                    .append(",\"p50Micros\":").append(toMicros(histogram.percentile(50)))
+                    .append(",\"p99Micros\":").append(toMicros(histogram.percentile(99)))
+                    .append(",\"maxMicros\":").append(toMicros(histogram.getMax()))
+                    .append('}');
+        }
+        json.append(",\"coalescing\":{\"queries\":").append(coalescer.getQueries())
+                .append(",\"searches\":").append(coalescer.getSearches())
+                .append(",\"deduplicated\":").append(coalescer.getDeduplicated())
+                .append(",\"saved\":").append(coalescer.getSavedSearches())
+                .append('}');
+        return Response.ok(json.append('}').toString());
+    }
+
+    /**
+     * Exports the request latencies of this server and the global Metrics,
+     * the latter only contain values if metrics are enabled.
+     */
+    private Response handleMetrics(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        return Response.text(metrics.toPrometheus() + Metrics.registry().toPrometheus());
+    }
+
+    /**
+     * Returns the airport groups of the given graph, they are rebuilt only after a new graph
+     * with changed airports was published, a delta of flights keeps them.
+     */
+    private AirportGroups lookup(FlightGraph graph) {
+        Lookup current = lookup.get();
+        if (current != null && current.graph() == graph) {
+            return current.airportGroups();
+        }
+        FlightGraph.Changes changes = current != null ? graph.changesSince(current.graph()) : null;
+        if (changes != null && changes.airports().isEmpty()) {
+            lookup.set(new Lookup(graph, current.airportGroups()));
+            return current.airportGroups();
+        }
+
+        AirportGroups airportGroups = new AirportGroups(graph.getAllAirports());
+        groups.forEach(airportGroups::addGroup);
+        lookup.set(new Lookup(graph, airportGroups));
+        return airportGroups;
+    }
+
+    /**
+     * Returns the profile search of the given graph, its timetable is updated only after a new graph was published
+     * (ProfileSearch.derive).
+     */
+    private ProfileSearch profileSearch(FlightGraph graph) {
+        Profiles current = profiles.get();
+        if (current != null && current.graph() == graph) {
+            return current.search();
+        }
+
+        ProfileSearch search = current != null ? current.search().derive(graph) : new ProfileSearch(graph);
+        profiles.set(new Profiles(graph, search));
+        return search;
+    }
+
+    private static Set<String> resolve(AirportGroups airportGroups, String location) {
+        Set<String> iatas = airportGroups.resolve(location);
+        if (iatas.isEmpty()) {
+            throw new IllegalArgumentException("Unbekannter Ort: " + location);
+        }
+        return iatas;
+    }
+
+    private static Calculator.RouteOptimization parseOptimization(String criterion) {
+        return switch (criterion.toLowerCase()) {
+            case "price" -> Calculator.RouteOptimization.PRICE;
+            case "duration" -> Calculator.RouteOptimization.DURATION;
+            case "duration_max" -> Calculator.RouteOptimization.DURATION_MAX;
+            case "stopovers" -> Calculator.RouteOptimization.STOPOVERS;
+            default -> throw new IllegalArgumentException("Unbekanntes Kriterium: " + criterion);
+        };
+    }
+
+    private static Comparator<Route> parseComparator(String criterion) {
+        return switch (criterion.toLowerCase()) {
+            case "price" -> new PriceComparator();
+            case "duration" -> new DurationComparator();
+            case "stopovers" -> new StopoverComparator();
+            case "combination" -> new CombinationComparator();
+            default -> throw new IllegalArgumentException("Unbekanntes Kriterium: " + criterion);
+        };
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!method.equals(exchange.getRequestMethod())) {
+            throw new IllegalArgumentException("Methode " + exchange.getRequestMethod() + " nicht unterstützt, erwartet " + method);
+        }
+    }
+
+    private static String requireParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Parameter " + name + " fehlt");
+        }
+        return value;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " ist keine Zahl: " + value);
+        }
+    }
+
+    private static long parseCents(String value, String name) {
+        try {
+            return Money.parseCents(value);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new IllegalArgumentException("Parameter " + name + " ist kein Preis: " + value);
+        }
+    }
+
+    private static LocalTime parseTime(String value, String name) {
+        try {
+            return LocalTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Parameter " + name + " ist keine Uhrzeit: " + value);
+        }
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+
+    private record Response(int status, String contentType, String body) {
+
+        static Response ok(String body) {
+            return new Response(200, "application/json; charset=utf-8", body);
+        }
+
+        static Response text(String body) {
+            return new Response(200, "text/plain; version=0.0.4; charset=utf-8", body);
+        }
+
+        static Response error(int status, String message) {
+            return new Response(status, "application/json; charset=utf-8", "{\"error\":" + Json.quote(message) + "}");
+        }
+    }
+
+    private record Lookup(FlightGraph graph, AirportGroups airportGroups) {
+    }
+
+    private record Profiles(FlightGraph graph, ProfileSearch search) {
+    }
+}
@@ -0,0 +1,35 @@
+package at.hochschule.burgenland.bswe.algo.simd;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Loads VectorKernels only if jdk.incubator.vector is part of the boot layer.
+ * VectorKernels is referenced by name, so this class and ScalarKernels never link against the incubator module.
+ */
+final class KernelLoader {
+
+    private static final Logger logger = LogManager.getLogger(KernelLoader.class);
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    static final Kernels VECTOR = loadVector();
+    static final Kernels INSTANCE = VECTOR != null && !"false".equals(System.getProperty("algo.simd"))
+            ? VECTOR : ScalarKernels.INSTANCE;
+
+    private KernelLoader() {
+    }
+
+    private static Kernels loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            logger.debug("{} nicht verfügbar, skalare Kernels werden verwendet", VECTOR_MODULE);
+            return null;
+        }
+        try {
+            return (Kernels) Class.forName(KernelLoader.class.getPackageName() + ".VectorKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Vector-API-Kernels konnten nicht geladen werden: {}", e.toString());
+            return null;
+        }
+    }
+}
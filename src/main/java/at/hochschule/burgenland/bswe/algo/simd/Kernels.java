@@ -0,0 +1,62 @@
+package at.hochschule.burgenland.bswe.algo.simd;
+
+/**
+ * Bulk loops over primitive columns used by the route engine and the flight search.
+ * Two implementations exist:
+ * - ScalarKernels: plain loops, always available
+ * - VectorKernels: SIMD loops on the incubating Vector API (jdk.incubator.vector)
+ * get() selects VectorKernels if the module is resolved at runtime (java --add-modules jdk.incubator.vector)
+ * and not disabled by -Dalgo.simd=false, otherwise ScalarKernels. Both return identical results.
+ * Negative values mark unreached states and are never changed by the gather operations.
+ */
+public interface Kernels {
+
+    /**
+     * out[i] = values[index[i]] + addend[i] for i in [from, to), negative values are copied unchanged.
+     */
+    void gatherAdd(int[] values, int[] index, int[] addend, int[] out, int from, int to);
+
+    /**
+     * out[i] = values[index[i]] + addend[i] for i in [from, to), negative values are copied unchanged.
+     */
+    void gatherAdd(long[] values, int[] index, long[] addend, long[] out, int from, int to);
+
+    /**
+     * out[i] = values[index[i]] for i in [from, to).
+     */
+    void gather(int[] values, int[] index, int[] out, int from, int to);
+
+    /**
+     * Selects the rows whose values lie in all three inclusive ranges.
+     * The departure window wraps around midnight if fromMinute is greater than toMinute.
+     *
+     * @param rows receives the selected row indices in ascending order, at least as long as the columns
+     * @return the number of selected rows
+     */
+    int selectRows(long[] price, long minPrice, long maxPrice,
+                   int[] duration, int minDuration, int maxDuration,
+                   int[] minute, int fromMinute, int toMinute, int[] rows);
+
+    /**
+     * Name of the implementation for logs and metrics, e.g. "scalar" or "vector-512".
+     */
+    String name();
+
+    /**
+     * Returns the fastest implementation available in this JVM.
+     */
+    static Kernels get() {
+        return KernelLoader.INSTANCE;
+    }
+
+    static Kernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /**
+     * Returns the Vector API implementation, null if jdk.incubator.vector is not available.
+     */
+    static Kernels vector() {
+        return KernelLoader.VECTOR;
+    }
+}
@@ -0,0 +1,69 @@
+package at.hochschule.burgenland.bswe.algo.simd;
+
+/**
+ * Plain loop implementation of the kernels, the reference for VectorKernels and the fallback
+ * if the Vector API is not available.
+ */
+final class ScalarKernels implements Kernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public void gatherAdd(int[] values, int[] index, int[] addend, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int value = values[index[i]];
+            out[i] = value < 0 ? value : value + addend[i];
+        }
+    }
+
+    @Override
+    public void gatherAdd(long[] values, int[] index, long[] addend, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long value = values[index[i]];
+            out[i] = value < 0 ? value : value + addend[i];
+        }
+    }
+
+    @Override
+    public void gather(int[] values, int[] index, int[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = values[index[i]];
+        }
+    }
+
+    @Override
+    public int selectRows(long[] price, long minPrice, long maxPrice,
+                          int[] duration, int minDuration, int maxDuration,
+                          int[] minute, int fromMinute, int toMinute, int[] rows) {
+        return selectRows(price, minPrice, maxPrice, duration, minDuration, maxDuration,
+                minute, fromMinute, toMinute, rows, 0, 0);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * Selects the matching rows from start on, appending them at rows[count].
+     * Also used by VectorKernels for the rows after the last full vector.
+     */
+    static int selectRows(long[] price, long minPrice, long maxPrice,
+                          int[] duration, int minDuration, int maxDuration,
+                          int[] minute, int fromMinute, int toMinute, int[] rows, int start, int count) {
+        boolean wraps = fromMinute > toMinute;
+        for (int i = start; i < price.length; i++) {
+            boolean inWindow = wraps
+                    ? minute[i] >= fromMinute || minute[i] <= toMinute
+                    : minute[i] >= fromMinute && minute[i] <= toMinute;
+            if (price[i] >= minPrice && price[i] <= maxPrice
+                    && duration[i] >= minDuration && duration[i] <= maxDuration && inWindow) {
+                rows[count++] = i;
+            }
+        }
+        return count;
+    }
+}
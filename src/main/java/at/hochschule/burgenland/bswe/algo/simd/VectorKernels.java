@@ -0,0 +1,88 @@
+package at.hochschule.burgenland.bswe.algo.simd;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels on the incubating Vector API, only loaded by KernelLoader if jdk.incubator.vector is available.
+ * Long and int columns are processed with species of the same lane count, so one mask covers both:
+ * the preferred long species (e.g. 8 lanes with AVX-512) and the int species of half its bit size.
+ * Elements after the last full vector are processed by the scalar loops.
+ */
+final class VectorKernels implements Kernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+    private static final int LANES = LONGS.length();
+
+    @Override
+    public void gatherAdd(int[] values, int[] index, int[] addend, int[] out, int from, int to) {
+        int i = from;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            IntVector value = IntVector.fromArray(INTS, values, 0, index, i);
+            VectorMask<Integer> reached = value.compare(VectorOperators.GE, 0);
+            value.add(IntVector.fromArray(INTS, addend, i), reached).intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.gatherAdd(values, index, addend, out, i, to);
+    }
+
+    @Override
+    public void gatherAdd(long[] values, int[] index, long[] addend, long[] out, int from, int to) {
+        int i = from;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            LongVector value = LongVector.fromArray(LONGS, values, 0, index, i);
+            VectorMask<Long> reached = value.compare(VectorOperators.GE, 0L);
+            value.add(LongVector.fromArray(LONGS, addend, i), reached).intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.gatherAdd(values, index, addend, out, i, to);
+    }
+
+    @Override
+    public void gather(int[] values, int[] index, int[] out, int from, int to) {
+        int i = from;
+        for (int bound = to - LANES; i <= bound; i += LANES) {
+            IntVector.fromArray(INTS, values, 0, index, i).intoArray(out, i);
+        }
+        ScalarKernels.INSTANCE.gather(values, index, out, i, to);
+    }
+
+    @Override
+    public int selectRows(long[] price, long minPrice, long maxPrice,
+                          int[] duration, int minDuration, int maxDuration,
+                          int[] minute, int fromMinute, int toMinute, int[] rows) {
+        boolean wraps = fromMinute > toMinute;
+        int count = 0;
+        int i = 0;
+        for (int bound = price.length - LANES; i <= bound; i += LANES) {
+            LongVector prices = LongVector.fromArray(LONGS, price, i);
+            IntVector durations = IntVector.fromArray(INTS, duration, i);
+            IntVector minutes = IntVector.fromArray(INTS, minute, i);
+
+            VectorMask<Integer> inWindow = wraps
+                    ? minutes.compare(VectorOperators.GE, fromMinute).or(minutes.compare(VectorOperators.LE, toMinute))
+                    : minutes.compare(VectorOperators.GE, fromMinute).and(minutes.compare(VectorOperators.LE, toMinute));
+            VectorMask<Integer> selected = prices.compare(VectorOperators.GE, minPrice)
+                    .and(prices.compare(VectorOperators.LE, maxPrice))
+                    .cast(INTS)
+                    .and(durations.compare(VectorOperators.GE, minDuration))
+                    .and(durations.compare(VectorOperators.LE, maxDuration))
+                    .and(inWindow);
+
+            for (long bits = selected.toLong(); bits != 0; bits &= bits - 1) {
+                rows[count++] = i + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return ScalarKernels.selectRows(price, minPrice, maxPrice, duration, minDuration, maxDuration,
+                minute, fromMinute, toMinute, rows, i, count);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + LONGS.vectorBitSize();
+    }
+}
@@ -0,0 +1,254 @@
+package at.hochschule.burgenland.bswe.algo.sorting;
+
+import at.hochschule.burgenland.bswe.algo.io.CsvWriter;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * External sorting utility for route CSV files larger than the available memory.
+ * Workflow:
+ * 1. Read routes from the input file until the memory budget is used up
+ * 2. Sort this run in memory with MergeSort (stable) or QuickSort (unstable)
+ * 3. Spill the sorted run into a temporary file and continue with step 1
+ * 4. Merge up to fanIn runs at a time with a k-way merge until one run remains
+ * Runs are always merged in input order and equal routes are taken from the
+ * earlier run first, so the stable path preserves the relative order of the input.
+ * Time complexity: O(n log n) comparisons, O(n log_fanIn(runs)) I/O
+ * Space complexity: O(memoryBudget)
+ */
+public class ExternalMergeSort {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int ROUTE_OVERHEAD_BYTES = 96;
+    private static final int BYTES_PER_FLIGHT = 24;
+    private static final int MAX_FAN_IN = 512;
+
+    private final long memoryBudget;
+    private final int bufferSize;
+    private final Path tempDirectory;
+
+    /**
+     * Constructor using the default memory budget, buffer size and the system temp directory.
+     */
+    public ExternalMergeSort() {
+        this(DEFAULT_MEMORY_BUDGET, DEFAULT_BUFFER_SIZE, null);
+    }
+
+    /**
+     * Constructor with explicit resource limits.
+     *
+     * @param memoryBudget approximate heap bytes used for routes of a single run
+     * @param bufferSize size of every read and write buffer in chars
+     * @param tempDirectory directory for spilled runs, null for the system temp directory
+     */
+    public ExternalMergeSort(long memoryBudget, int bufferSize, Path tempDirectory) {
+        if (memoryBudget <= 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("Speicherbudget und Puffergröße müssen größer als 0 sein.");
+        }
+        this.memoryBudget = memoryBudget;
+        this.bufferSize = bufferSize;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sorts a route CSV file (as written by CsvWriter) into an output file.
+     * Lines which cannot be parsed are reported and skipped.
+     *
+     * @param input the route CSV file to be sorted
+     * @param output the file to write the sorted routes to
+     * @param comparator the comparator defining the sort order
+     * @param stable true to sort runs with MergeSort, false to use QuickSort
+     * @return the number of routes written
+     * @throws IOException if reading, spilling or writing fails
+     */
+    public long sort(Path input, Path output, Comparator<Route> comparator, boolean stable) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            long count = createRuns(input, comparator, stable, runs);
+
+            int fanIn = (int) Math.max(2, Math.min(MAX_FAN_IN, memoryBudget / bufferSize));
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(from + fanIn, runs.size()));
+                    Path run = createRunFile();
+                    merge(group, run, comparator);
+                    deleteAll(group);
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+
+            merge(runs, output, comparator);
+            return count;
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    /**
+     * Reads the input in chunks limited by the memory budget and spills every sorted chunk.
+     *
+     * @return the number of routes read
+     */
+    private long createRuns(Path input, Comparator<Route> comparator, boolean stable, List<Path> runs)
+            throws IOException {
+        long count = 0;
+
+        try (BufferedReader reader = newReader(input)) {
+            reader.readLine();
+            List<Route> chunk = new ArrayList<>();
+            long chunkBytes = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                Route route;
+                try {
+                    route = Route.fromCsv(line);
+                } catch (Exception e) {
+                    System.err.println(input.getFileName() + ": Fehler in Zeile: " + line);
+                    continue;
+                }
+
+                chunk.add(route);
+                chunkBytes += ROUTE_OVERHEAD_BYTES + (long) BYTES_PER_FLIGHT * route.getFlights().size();
+                count++;
+
+                if (chunkBytes >= memoryBudget) {
+                    runs.add(spill(chunk, comparator, stable));
+                    chunk = new ArrayList<>();
+                    chunkBytes = 0;
+                }
+            }
+
+            if (!chunk.isEmpty() || runs.isEmpty()) {
+                runs.add(spill(chunk, comparator, stable));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sorts a chunk in memory and writes it into a new temporary run file.
+     */
+    private Path spill(List<Route> chunk, Comparator<Route> comparator, boolean stable) throws IOException {
+        if (stable) {
+            MergeSort.sort(chunk, comparator);
+        } else {
+            QuickSort.sort(chunk, comparator);
+        }
+
+        Path run = createRunFile();
+        try (BufferedWriter writer = newWriter(run)) {
+            writer.write(CsvWriter.ROUTE_HEADER);
+            writer.newLine();
+            for (Route route : chunk) {
+                writer.write(CsvWriter.formatRoute(route));
+                writer.newLine();
+            }
+        }
+        return run;
+    }
+
+    /**
+     * K-way merge of sorted runs into a single file.
+     * The heap orders the heads of all runs by comparator and run index,
+     * so equal routes are emitted in run order.
+     */
+    private void merge(List<Path> runs, Path output, Comparator<Route> comparator) throws IOException {
+        PriorityQueue<RunCursor> heads = new PriorityQueue<>((a, b) -> {
+            int result = comparator.compare(a.current, b.current);
+            return result != 0 ? result : Integer.compare(a.index, b.index);
+        });
+
+        List<RunCursor> cursors = new ArrayList<>();
+        try (BufferedWriter writer = newWriter(output)) {
+            for (int i = 0; i < runs.size(); i++) {
+                RunCursor cursor = new RunCursor(i, newReader(runs.get(i)));
+                cursors.add(cursor);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+
+            writer.write(CsvWriter.ROUTE_HEADER);
+            writer.newLine();
+
+            while (!heads.isEmpty()) {
+                RunCursor cursor = heads.poll();
+                writer.write(cursor.line);
+                writer.newLine();
+
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+        } finally {
+            for (RunCursor cursor : cursors) {
+                cursor.reader.close();
+            }
+        }
+    }
+
+    private Path createRunFile() throws IOException {
+        Path run = tempDirectory != null
+                ? Files.createTempFile(tempDirectory, "routes-run-", ".csv")
+                : Files.createTempFile("routes-run-", ".csv");
+        run.toFile().deleteOnExit();
+        return run;
+    }
+
+    private BufferedReader newReader(Path path) throws IOException {
+        return new BufferedReader(Files.newBufferedReader(path, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private BufferedWriter newWriter(Path path) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Read position within a sorted run: the current line and its parsed route.
+     */
+    private static class RunCursor {
+        private final int index;
+        private final BufferedReader reader;
+        private String line;
+        private Route current;
+
+        RunCursor(int index, BufferedReader reader) throws IOException {
+            this.index = index;
+            this.reader = reader;
+            reader.readLine();
+        }
+
+        /**
+         * Moves to the next route of the run.
+         *
+         * @return true if a route was read,
+         *         false if the run is exhausted
+         */
+        boolean advance() throws IOException {
+            line = reader.readLine();
+            current = line != null ? Route.fromCsv(line) : null;
+            return current != null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package at.hochschule.burgenland.bswe.algo.sorting;
 
+import at.hochschule.burgenland.bswe.algo.metrics.SortEvent;
 import at.hochschule.burgenland.bswe.algo.model.Route;
 
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import java.util.List;
  * This implementation sorts Route objects using a provided Comparator.
  * It guarantees stable ordering, routes considered equal by the comparator
  * retain their original relative order.
+ * Every sort is reported as SortEvent to Java Flight Recorder.
  * Time complexity: O(n log n) in all cases
  * Space complexity: O(n)
  */
@@ -27,7 +29,11 @@ public class MergeSort {
         if (routes == null || routes.size() <= 1) {
             return;
         }
+
+        SortEvent event = new SortEvent();
+        event.begin();
         mergeSort(routes, 0, routes.size() - 1, comparator);
+        event.finish("merge", routes.size(), comparator);
     }
 
     /**
@@ -0,0 +1,183 @@
+package at.hochschule.burgenland.bswe.algo.sorting;
+
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable, parallel sorting utility using Merge Sort on the fork/join framework.
+ * Intended for large route lists, small inputs are sorted sequentially.
+ * Differences to MergeSort:
+ * - operates on a Route array instead of a List
+ * - a single auxiliary array is allocated once and reused by all merge steps
+ * - subranges below INSERTION_SORT_THRESHOLD are sorted with Insertion Sort
+ * - both halves of subranges above PARALLEL_THRESHOLD are sorted in parallel
+ * - merging is skipped if both halves are already in order
+ * Routes considered equal by the comparator retain their original relative order.
+ * Time complexity: O(n log n) in all cases, O(n) for presorted input
+ * Space complexity: O(n)
+ */
+public class ParallelMergeSort {
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Sorts a list of routes using parallel Merge Sort with the given comparator.
+     * The list is copied into an array, sorted and written back.
+     *
+     * @param routes the list of routes to be sorted
+     * @param comparator the comparator defining the sort order
+     */
+    public static void sort(List<Route> routes, Comparator<Route> comparator) {
+        if (routes == null || routes.size() <= 1) {
+            return;
+        }
+
+        Route[] array = routes.toArray(new Route[0]);
+        sort(array, comparator);
+
+        ListIterator<Route> iterator = routes.listIterator();
+        for (Route route : array) {
+            iterator.next();
+            iterator.set(route);
+        }
+    }
+
+    /**
+     * Sorts an array of routes using parallel Merge Sort with the given comparator.
+     * If the array contains fewer than two elements, no modification is required.
+     *
+     * @param routes the array of routes to be sorted
+     * @param comparator the comparator defining the sort order
+     */
+    public static void sort(Route[] routes, Comparator<Route> comparator) {
+        if (routes == null || routes.length <= 1) {
+            return;
+        }
+
+        Route[] aux = new Route[routes.length];
+        if (routes.length <= PARALLEL_THRESHOLD) {
+            mergeSort(routes, aux, 0, routes.length, comparator);
+        } else {
+            ForkJoinPool.commonPool().invoke(new SortTask(routes, aux, 0, routes.length, comparator));
+        }
+    }
+
+    /**
+     * Sequential Merge Sort workflow for the subrange [from, to).
+     *
+     * @param routes the array being sorted
+     * @param aux the shared auxiliary array
+     * @param from the start index (inclusive)
+     * @param to the end index (exclusive)
+     * @param comparator the comparator defining the sort order
+     */
+    private static void mergeSort(Route[] routes, Route[] aux, int from, int to, Comparator<Route> comparator) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(routes, from, to, comparator);
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        mergeSort(routes, aux, from, mid, comparator);
+        mergeSort(routes, aux, mid, to, comparator);
+        merge(routes, aux, from, mid, to, comparator);
+    }
+
+    /**
+     * Stable Insertion Sort for the subrange [from, to).
+     * Elements are only moved past strictly greater elements.
+     *
+     * @param routes the array being sorted
+     * @param from the start index (inclusive)
+     * @param to the end index (exclusive)
+     * @param comparator the comparator defining the sort order
+     */
+    private static void insertionSort(Route[] routes, int from, int to, Comparator<Route> comparator) {
+        for (int i = from + 1; i < to; i++) {
+            Route current = routes[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(routes[j], current) > 0) {
+                routes[j + 1] = routes[j];
+                j--;
+            }
+            routes[j + 1] = current;
+        }
+    }
+
+    /**
+     * Merge step of the Merge Sort.
+     * Merges the sorted subranges [from, mid) and [mid, to) using the same
+     * region of the auxiliary array, so parallel merges never overlap.
+     * Only the left half has to be copied, as the merged output can never
+     * overtake the unread part of the right half.
+     *
+     * @param routes the array containing the subranges to merge
+     * @param aux the shared auxiliary array
+     * @param from the start index of the left subrange
+     * @param mid the start index of the right subrange
+     * @param to the end index of the right subrange (exclusive)
+     * @param comparator the comparator defining the sort order
+     */
+    private static void merge(Route[] routes, Route[] aux, int from, int mid, int to, Comparator<Route> comparator) {
+        if (comparator.compare(routes[mid - 1], routes[mid]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(routes, from, aux, from, mid - from);
+
+        int i = from, j = mid, k = from;
+
+        while (i < mid && j < to) {
+            if (comparator.compare(aux[i], routes[j]) <= 0) {
+                routes[k++] = aux[i++];
+            } else {
+                routes[k++] = routes[j++];
+            }
+        }
+
+        while (i < mid) {
+            routes[k++] = aux[i++];
+        }
+    }
+
+    /**
+     * Fork/join task sorting the subrange [from, to).
+     * Splits until the subrange is small enough to be sorted sequentially.
+     */
+    private static class SortTask extends RecursiveAction {
+        private final Route[] routes;
+        private final Route[] aux;
+        private final int from;
+        private final int to;
+        private final Comparator<Route> comparator;
+
+        SortTask(Route[] routes, Route[] aux, int from, int to, Comparator<Route> comparator) {
+            this.routes = routes;
+            this.aux = aux;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                mergeSort(routes, aux, from, to, comparator);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new SortTask(routes, aux, from, mid, comparator),
+                new SortTask(routes, aux, mid, to, comparator)
+            );
+            merge(routes, aux, from, mid, to, comparator);
+        }
+    }
+}
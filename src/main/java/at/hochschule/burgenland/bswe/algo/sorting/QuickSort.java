@@ -1,22 +1,33 @@
 package at.hochschule.burgenland.bswe.algo.sorting;
 
+import at.hochschule.burgenland.bswe.algo.metrics.SortEvent;
 import at.hochschule.burgenland.bswe.algo.model.Route;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.ListIterator;
 
 /**
- * Unstable sorting algorithm using Quick Sort.
+ * Unstable sorting algorithm using Quick Sort (Introsort variant).
  * This implementation sorts Route objects using a provided Comparator.
- * Uses the last element as pivot point and is unstable.
- * Time complexity: O(n log n) average, O(n²) worst case
- * Space complexity: O(log n) for recursion stack
+ * Guards against the weaknesses of a plain Quick Sort:
+ * - median-of-three pivot selection, so presorted input is partitioned evenly
+ * - three-way partitioning, so many equal routes do not degrade the runtime
+ * - recursion only into the smaller partition, the larger one is handled in a loop
+ * - fallback to Heap Sort once the recursion depth exceeds 2 * log2(n)
+ * - Insertion Sort for small partitions
+ * Every sort is reported as SortEvent to Java Flight Recorder.
+ * Time complexity: O(n log n) average and worst case
+ * Space complexity: O(n) for the working array, O(log n) for recursion stack
  */
 public class QuickSort {
 
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
     /**
      * Sorts a list of routes using Quick Sort with the given comparator.
      * If the list contains fewer than two elements, no modification is required.
+     * The list is copied into an array, sorted and written back.
      *
      * @param routes the list of routes to be sorted
      * @param comparator the comparator defining the sort order
@@ -25,63 +36,192 @@ public class QuickSort {
         if (routes == null || routes.size() <= 1) {
             return;
         }
-        quickSort(routes, 0, routes.size() - 1, comparator);
+
+        SortEvent event = new SortEvent();
+        event.begin();
+
+        Route[] array = routes.toArray(new Route[0]);
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(array.length));
+        quickSort(array, 0, array.length - 1, depthLimit, comparator);
+
+        ListIterator<Route> iterator = routes.listIterator();
+        for (Route route : array) {
+            iterator.next();
+            iterator.set(route);
+        }
+        event.finish("quick", array.length, comparator);
     }
 
     /**
      * Main Quick Sort workflow:
-     * Recursively sorts the sublist between the given indices.
+     * Partitions the range between the given indices, recurses into the smaller
+     * partition and continues with the larger one in the same call.
      *
-     * @param routes the list being sorted
-     * @param low the lower index of the sublist
-     * @param high the upper index of the sublist
+     * @param routes the array being sorted
+     * @param low the lower index of the range
+     * @param high the upper index of the range
+     * @param depthLimit remaining partitioning steps before switching to Heap Sort
      * @param comparator the comparator defining the sort order
      */
-    private static void quickSort(List<Route> routes, int low, int high, Comparator<Route> comparator) {
-        if (low < high) {
-            int pivotIndex = partition(routes, low, high, comparator);
+    private static void quickSort(Route[] routes, int low, int high, int depthLimit, Comparator<Route> comparator) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(routes, low, high, comparator);
+                return;
+            }
 
-            quickSort(routes, low, pivotIndex - 1, comparator);
-            quickSort(routes, pivotIndex + 1, high, comparator);
+            long bounds = partition(routes, low, high, comparator);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (lessEnd - low < high - greaterStart) {
+                quickSort(routes, low, lessEnd, depthLimit, comparator);
+                low = greaterStart;
+            } else {
+                quickSort(routes, greaterStart, high, depthLimit, comparator);
+                high = lessEnd;
+            }
         }
+
+        insertionSort(routes, low, high, comparator);
     }
 
     /**
-     * Partitions the sublist around a pivot element.
-     * All elements less than or equal to the pivot are moved to the left
-     * of the pivot, and all greater elements to the right.
+     * Partitions the range around the median of its first, middle and last element.
+     * Afterwards the range consists of three parts:
+     * - [low, lessEnd] elements less than the pivot
+     * - (lessEnd, greaterStart) elements equal to the pivot
+     * - [greaterStart, high] elements greater than the pivot
      *
-     * @param routes´the list being partitioned
+     * @param routes the array being partitioned
      * @param low the lower index of the partition range
-     * @param high the upper index of the partition range (pivot)
+     * @param high the upper index of the partition range
      * @param comparator the comparator defining the sort order
-     * @return the final index position of the pivot
+     * @return lessEnd in the upper and greaterStart in the lower 32 bits
      */
-    private static int partition(List<Route> routes, int low, int high, Comparator<Route> comparator) {
-        Route pivot = routes.get(high);
-        int i = low - 1;
+    private static long partition(Route[] routes, int low, int high, Comparator<Route> comparator) {
+        Route pivot = medianOfThree(routes, low, low + (high - low) / 2, high, comparator);
 
-        for (int j = low; j < high; j++) {
-            if (comparator.compare(routes.get(j), pivot) <= 0) {
+        int lt = low;
+        int gt = high;
+        int i = low;
+
+        while (i <= gt) {
+            int result = comparator.compare(routes[i], pivot);
+            if (result < 0) {
+                swap(routes, lt++, i++);
+            } else if (result > 0) {
+                swap(routes, i, gt--);
+            } else {
                 i++;
-                swap(routes, i, j);
             }
         }
 
-        swap(routes, i + 1, high);
-        return i + 1;
+        return ((long) (lt - 1) << 32) | ((gt + 1) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the median of three elements.
+     *
+     * @param routes the array containing the elements
+     * @param a index of the first element
+     * @param b index of the second element
+     * @param c index of the third element
+     * @param comparator the comparator defining the sort order
+     * @return the median element
+     */
+    private static Route medianOfThree(Route[] routes, int a, int b, int c, Comparator<Route> comparator) {
+        Route x = routes[a], y = routes[b], z = routes[c];
+
+        if (comparator.compare(x, y) < 0) {
+            if (comparator.compare(y, z) < 0) return y;
+            return comparator.compare(x, z) < 0 ? z : x;
+        }
+        if (comparator.compare(x, z) < 0) return x;
+        return comparator.compare(y, z) < 0 ? z : y;
+    }
+
+    /**
+     * Insertion Sort for small ranges.
+     *
+     * @param routes the array being sorted
+     * @param low the lower index of the range
+     * @param high the upper index of the range
+     * @param comparator the comparator defining the sort order
+     */
+    private static void insertionSort(Route[] routes, int low, int high, Comparator<Route> comparator) {
+        for (int i = low + 1; i <= high; i++) {
+            Route current = routes[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(routes[j], current) > 0) {
+                routes[j + 1] = routes[j];
+                j--;
+            }
+            routes[j + 1] = current;
+        }
+    }
+
+    /**
+     * Heap Sort for ranges which exceeded the recursion depth limit.
+     *
+     * @param routes the array being sorted
+     * @param low the lower index of the range
+     * @param high the upper index of the range
+     * @param comparator the comparator defining the sort order
+     */
+    private static void heapSort(Route[] routes, int low, int high, Comparator<Route> comparator) {
+        int size = high - low + 1;
+
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(routes, low, i, size, comparator);
+        }
+
+        for (int end = size - 1; end > 0; end--) {
+            swap(routes, low, low + end);
+            siftDown(routes, low, 0, end, comparator);
+        }
+    }
+
+    /**
+     * Restores the max-heap property for the heap stored at offset low.
+     *
+     * @param routes the array containing the heap
+     * @param low the offset of the heap within the array
+     * @param i the heap position to sift down
+     * @param size the number of elements in the heap
+     * @param comparator the comparator defining the sort order
+     */
+    private static void siftDown(Route[] routes, int low, int i, int size, Comparator<Route> comparator) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+
+            if (left < size && comparator.compare(routes[low + left], routes[low + largest]) > 0) {
+                largest = left;
+            }
+            if (right < size && comparator.compare(routes[low + right], routes[low + largest]) > 0) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+
+            swap(routes, low + i, low + largest);
+            i = largest;
+        }
     }
 
     /**
-     * Swaps two elements in the given list with the help of a temp object.
+     * Swaps two elements in the given array with the help of a temp object.
      *
-     * @param routes the list containing the elements to swap
+     * @param routes the array containing the elements to swap
      * @param i the index of the first element
      * @param j the index of the second element
      */
-    private static void swap(List<Route> routes, int i, int j) {
-        Route temp = routes.get(i);
-        routes.set(i, routes.get(j));
-        routes.set(j, temp);
+    private static void swap(Route[] routes, int i, int j) {
+        Route temp = routes[i];
+        routes[i] = routes[j];
+        routes[j] = temp;
     }
 }
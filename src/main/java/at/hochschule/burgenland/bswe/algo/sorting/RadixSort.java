@@ -0,0 +1,280 @@
+package at.hochschule.burgenland.bswe.algo.sorting;
+
+import at.hochschule.burgenland.bswe.algo.comparator.CombinationComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.DurationComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.PriceComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.StopoverComparator;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Stable sorting utility using LSD (least significant digit) Radix Sort.
+ * Instead of calling the comparator, the sort keys of the known comparators are
+ * extracted once per route into primitive longs, which are ordered as unsigned values:
+ * - primary key: total price in cents
+ * - secondary key: total duration in the upper and stopovers in the lower 32 bits
+ * The keys are then sorted byte by byte, starting with the least significant byte
+ * of the secondary key. Byte positions in which all routes share the same value are
+ * skipped, so small value ranges (e.g. stopovers) only need one or two passes.
+ * The result is identical to MergeSort with the same comparator.
+ * Unknown comparators are delegated to MergeSort.
+ * Time complexity: O(n * k) with k <= 16 non-trivial byte positions
+ * Space complexity: O(n)
+ */
+public class RadixSort {
+
+    private static final int RADIX = 256;
+    private static final int BYTES = Long.BYTES;
+
+    /**
+     * Checks whether the sort keys of the given comparator can be extracted.
+     *
+     * @param comparator the comparator to be checked
+     * @return true if routes can be radix sorted for this comparator,
+     *         false otherwise
+     */
+    public static boolean supports(Comparator<Route> comparator) {
+        return comparator != null && (comparator.getClass() == PriceComparator.class
+                || comparator.getClass() == DurationComparator.class
+                || comparator.getClass() == StopoverComparator.class
+                || comparator.getClass() == CombinationComparator.class);
+    }
+
+    /**
+     * Sorts a list of routes using Radix Sort on the keys of the given comparator.
+     * If the list contains fewer than two elements, no modification is required.
+     *
+     * @param routes the list of routes to be sorted
+     * @param comparator the comparator defining the sort order
+     */
+    public static void sort(List<Route> routes, Comparator<Route> comparator) {
+        if (routes == null || routes.size() <= 1) {
+            return;
+        }
+        if (!supports(comparator)) {
+            MergeSort.sort(routes, comparator);
+            return;
+        }
+
+        Route[] array = routes.toArray(new Route[0]);
+        sort(array, comparator);
+
+        ListIterator<Route> iterator = routes.listIterator();
+        for (Route route : array) {
+            iterator.next();
+            iterator.set(route);
+        }
+    }
+
+    /**
+     * Sorts an array of routes using Radix Sort on the keys of the given comparator.
+     *
+     * @param routes the array of routes to be sorted
+     * @param comparator the comparator defining the sort order, must be supported
+     */
+    public static void sort(Route[] routes, Comparator<Route> comparator) {
+        if (!supports(comparator)) {
+            throw new IllegalArgumentException("Comparator wird nicht unterstützt: " + comparator);
+        }
+        if (routes == null || routes.length <= 1) {
+            return;
+        }
+
+        int n = routes.length;
+        int[] indices = new int[n];
+        long[] prices = new long[n];
+        int[] durations = new int[n];
+        int[] stopovers = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+            prices[i] = routes[i].getTotalPriceCents();
+            durations[i] = routes[i].getTotalDuration();
+            stopovers[i] = routes[i].getStopovers();
+        }
+
+        int[] order = sortIndices(indices, prices, durations, stopovers, comparator);
+
+        Route[] sorted = new Route[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = routes[order[i]];
+        }
+        System.arraycopy(sorted, 0, routes, 0, n);
+    }
+
+    /**
+     * Sorts route indices by the keys of the given comparator, read from column arrays.
+     * Used for struct-of-arrays route storage, where no Route objects exist.
+     * The relative order of equal routes in the given index array is preserved.
+     *
+     * @param indices the indices to be sorted, positions within the column arrays
+     * @param prices total price column in cents
+     * @param durations total duration column
+     * @param stopovers stopover column
+     * @param comparator the comparator defining the sort order, must be supported
+     * @return a new array containing the indices in sorted order
+     */
+    public static int[] sortIndices(int[] indices, long[] prices, int[] durations, int[] stopovers,
+                                    Comparator<Route> comparator) {
+        if (!supports(comparator)) {
+            throw new IllegalArgumentException("Comparator wird nicht unterstützt: " + comparator);
+        }
+
+        int n = indices.length;
+        long[] primary = new long[n];
+        long[] secondary = new long[n];
+        extractKeys(indices, prices, durations, stopovers, comparator, primary, secondary);
+
+        int[] order = indices.clone();
+        if (n > 1) {
+            sortByKeys(order, primary, secondary);
+        }
+        return order;
+    }
+
+    /**
+     * Extracts the primary and secondary key of every given index.
+     *
+     * @param indices positions within the column arrays
+     * @param prices total price column in cents
+     * @param durations total duration column
+     * @param stopovers stopover column
+     * @param comparator the comparator defining the sort order, must be supported
+     * @param primary target array for the primary keys, aligned with indices
+     * @param secondary target array for the secondary keys, aligned with indices
+     */
+    public static void extractKeys(int[] indices, long[] prices, int[] durations, int[] stopovers,
+                                   Comparator<Route> comparator, long[] primary, long[] secondary) {
+        boolean byPrice = comparator instanceof PriceComparator || comparator instanceof CombinationComparator;
+        boolean byDuration = comparator instanceof DurationComparator || comparator instanceof CombinationComparator;
+        boolean byStopovers = comparator instanceof StopoverComparator || comparator instanceof CombinationComparator;
+
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+            primary[i] = byPrice ? longKey(prices[index]) : 0;
+            secondary[i] = (byDuration ? intKey(durations[index]) << 32 : 0)
+                    | (byStopovers ? intKey(stopovers[index]) : 0);
+        }
+    }
+
+    /**
+     * Stable LSD Radix Sort of indices by (primary, secondary) as unsigned 128 bit key.
+     * The arrays are permuted together, the indices end up sorted in the given array.
+     *
+     * @param order the indices to be sorted
+     * @param primary the more significant key of every index
+     * @param secondary the less significant key of every index
+     */
+    static void sortByKeys(int[] order, long[] primary, long[] secondary) {
+        int n = order.length;
+        int[][] primaryCounts = histograms(primary);
+        int[][] secondaryCounts = histograms(secondary);
+
+        int[] orderBuffer = new int[n];
+        long[] primaryBuffer = new long[n];
+        long[] secondaryBuffer = new long[n];
+
+        int[] orderFrom = order, orderTo = orderBuffer;
+        long[] primaryFrom = primary, primaryTo = primaryBuffer;
+        long[] secondaryFrom = secondary, secondaryTo = secondaryBuffer;
+
+        for (int digit = 0; digit < BYTES; digit++) {
+            int[] offsets = offsets(secondaryCounts[digit], n);
+            if (offsets == null) {
+                continue;
+            }
+
+            int shift = digit * 8;
+            for (int i = 0; i < n; i++) {
+                int target = offsets[(int) (secondaryFrom[i] >>> shift) & 0xFF]++;
+                orderTo[target] = orderFrom[i];
+                primaryTo[target] = primaryFrom[i];
+                secondaryTo[target] = secondaryFrom[i];
+            }
+
+            int[] orderSwap = orderFrom; orderFrom = orderTo; orderTo = orderSwap;
+            long[] primarySwap = primaryFrom; primaryFrom = primaryTo; primaryTo = primarySwap;
+            long[] secondarySwap = secondaryFrom; secondaryFrom = secondaryTo; secondaryTo = secondarySwap;
+        }
+
+        for (int digit = 0; digit < BYTES; digit++) {
+            int[] offsets = offsets(primaryCounts[digit], n);
+            if (offsets == null) {
+                continue;
+            }
+
+            int shift = digit * 8;
+            for (int i = 0; i < n; i++) {
+                int target = offsets[(int) (primaryFrom[i] >>> shift) & 0xFF]++;
+                orderTo[target] = orderFrom[i];
+                primaryTo[target] = primaryFrom[i];
+            }
+
+            int[] orderSwap = orderFrom; orderFrom = orderTo; orderTo = orderSwap;
+            long[] primarySwap = primaryFrom; primaryFrom = primaryTo; primaryTo = primarySwap;
+        }
+
+        if (orderFrom != order) {
+            System.arraycopy(orderFrom, 0, order, 0, n);
+        }
+    }
+
+    /**
+     * Converts a long into a key whose unsigned order matches Long.compare.
+     *
+     * @param value the value to be converted
+     * @return the sortable key
+     */
+    static long longKey(long value) {
+        return value ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Converts an int into a 32 bit key whose unsigned order matches Integer.compare.
+     *
+     * @param value the value to be converted
+     * @return the sortable key in the lower 32 bits
+     */
+    static long intKey(int value) {
+        return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Counts the occurrences of every byte value at every byte position in a single pass.
+     *
+     * @param keys the keys to be counted
+     * @return one histogram per byte position
+     */
+    private static int[][] histograms(long[] keys) {
+        int[][] counts = new int[BYTES][RADIX];
+        for (long key : keys) {
+            for (int digit = 0; digit < BYTES; digit++) {
+                counts[digit][(int) (key >>> (digit * 8)) & 0xFF]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Converts a histogram into the start offset of every bucket.
+     *
+     * @param counts the histogram of a byte position
+     * @param n the number of keys
+     * @return the bucket offsets or null if all keys fall into the same bucket
+     */
+    private static int[] offsets(int[] counts, int n) {
+        int[] offsets = new int[RADIX];
+        int sum = 0;
+        for (int bucket = 0; bucket < RADIX; bucket++) {
+            if (counts[bucket] == n) {
+                return null;
+            }
+            offsets[bucket] = sum;
+            sum += counts[bucket];
+        }
+        return offsets;
+    }
+}
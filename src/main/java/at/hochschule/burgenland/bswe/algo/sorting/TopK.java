@@ -0,0 +1,249 @@
+package at.hochschule.burgenland.bswe.algo.sorting;
+
+import at.hochschule.burgenland.bswe.algo.model.Route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Partial sorting utility selecting only the k best routes according to a comparator.
+ * Offers two strategies:
+ * - Heap selection: keeps the k best routes seen so far in a bounded max-heap,
+ *   works on streams and is stable (equal routes keep their input order,
+ *   the result equals the first k routes after a MergeSort)
+ *   Time complexity: O(n log k), Space complexity: O(k)
+ * - Quickselect: partitions a copy of the input until the k best routes are in front,
+ *   then sorts only those, unstable
+ *   Time complexity: O(n + k log k) average, Space complexity: O(n)
+ */
+public class TopK {
+
+    /**
+     * Selects the k best routes of a list using a bounded heap.
+     *
+     * @param routes the routes to select from
+     * @param comparator the comparator defining the order
+     * @param k the maximum number of routes to return
+     * @return the k best routes in sorted order
+     */
+    public static List<Route> heapSelect(List<Route> routes, Comparator<Route> comparator, int k) {
+        if (routes == null) {
+            return new ArrayList<>();
+        }
+        return stream(routes.iterator(), comparator, k);
+    }
+
+    /**
+     * Selects the k best routes of a stream of routes using a bounded heap.
+     * The input is consumed once and never materialized.
+     *
+     * @param routes the routes to select from
+     * @param comparator the comparator defining the order
+     * @param k the maximum number of routes to return
+     * @return the k best routes in sorted order
+     */
+    public static List<Route> stream(Iterator<Route> routes, Comparator<Route> comparator, int k) {
+        if (routes == null || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        BoundedHeap heap = new BoundedHeap(k, comparator);
+        while (routes.hasNext()) {
+            heap.offer(routes.next());
+        }
+        return heap.toSortedList();
+    }
+
+    /**
+     * Selects the k best routes of a list using Quickselect.
+     *
+     * @param routes the routes to select from
+     * @param comparator the comparator defining the order
+     * @param k the maximum number of routes to return
+     * @return the k best routes in sorted order
+     */
+    public static List<Route> quickSelect(List<Route> routes, Comparator<Route> comparator, int k) {
+        if (routes == null || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        Route[] array = routes.toArray(new Route[0]);
+        if (k < array.length) {
+            int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(array.length));
+            if (!select(array, k, depthLimit, comparator)) {
+                return heapSelect(routes, comparator, k);
+            }
+        }
+
+        List<Route> best = new ArrayList<>(Arrays.asList(array).subList(0, Math.min(k, array.length)));
+        QuickSort.sort(best, comparator);
+        return best;
+    }
+
+    /**
+     * Partitions the array so that the k smallest routes occupy the first k positions.
+     * Uses median-of-three pivots and three-way partitioning.
+     *
+     * @param routes the array being partitioned
+     * @param k the number of routes to bring to the front
+     * @param depthLimit maximum number of partitioning steps
+     * @param comparator the comparator defining the order
+     * @return true on success, false if the depth limit was exceeded
+     */
+    private static boolean select(Route[] routes, int k, int depthLimit, Comparator<Route> comparator) {
+        int low = 0;
+        int high = routes.length - 1;
+
+        while (low < high) {
+            if (depthLimit-- == 0) {
+                return false;
+            }
+
+            int mid = low + (high - low) / 2;
+            Route pivot = median(routes[low], routes[mid], routes[high], comparator);
+
+            int lt = low, gt = high, i = low;
+            while (i <= gt) {
+                int result = comparator.compare(routes[i], pivot);
+                if (result < 0) {
+                    swap(routes, lt++, i++);
+                } else if (result > 0) {
+                    swap(routes, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            // [low, lt) < pivot, [lt, gt] == pivot, (gt, high] > pivot
+            if (k <= lt) {
+                high = lt - 1;
+            } else if (k <= gt + 1) {
+                return true;
+            } else {
+                low = gt + 1;
+            }
+        }
+        return true;
+    }
+
+    private static Route median(Route x, Route y, Route z, Comparator<Route> comparator) {
+        if (comparator.compare(x, y) < 0) {
+            if (comparator.compare(y, z) < 0) return y;
+            return comparator.compare(x, z) < 0 ? z : x;
+        }
+        if (comparator.compare(x, z) < 0) return x;
+        return comparator.compare(y, z) < 0 ? z : y;
+    }
+
+    private static void swap(Route[] routes, int i, int j) {
+        Route temp = routes[i];
+        routes[i] = routes[j];
+        routes[j] = temp;
+    }
+
+    /**
+     * Max-heap of at most k routes, the root is the worst route kept.
+     * Every route carries its arrival number, a later route is considered
+     * worse than an equal earlier one, which makes the selection stable.
+     */
+    private static class BoundedHeap {
+        private final int limit;
+        private final Comparator<Route> comparator;
+        private Route[] routes;
+        private long[] sequence;
+        private int size;
+        private long counter;
+
+        BoundedHeap(int limit, Comparator<Route> comparator) {
+            this.limit = limit;
+            this.comparator = comparator;
+            int capacity = Math.min(limit, 16);
+            this.routes = new Route[capacity];
+            this.sequence = new long[capacity];
+        }
+
+        void offer(Route route) {
+            long number = counter++;
+
+            if (size < limit) {
+                if (size == routes.length) {
+                    int capacity = (int) Math.min(limit, routes.length * 2L);
+                    routes = Arrays.copyOf(routes, capacity);
+                    sequence = Arrays.copyOf(sequence, capacity);
+                }
+                routes[size] = route;
+                sequence[size] = number;
+                siftUp(size++);
+            } else if (comparator.compare(route, routes[0]) < 0) {
+                routes[0] = route;
+                sequence[0] = number;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Empties the heap into a list ordered from best to worst.
+         */
+        List<Route> toSortedList() {
+            for (int end = size - 1; end > 0; end--) {
+                exchange(0, end);
+                siftDown(0, end);
+            }
+
+            List<Route> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(routes[i]);
+            }
+            size = 0;
+            return result;
+        }
+
+        private int compare(int i, int j) {
+            int result = comparator.compare(routes[i], routes[j]);
+            return result != 0 ? result : Long.compare(sequence[i], sequence[j]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (compare(parent, i) >= 0) {
+                    return;
+                }
+                exchange(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i, int heapSize) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < heapSize && compare(left, largest) > 0) {
+                    largest = left;
+                }
+                if (right < heapSize && compare(right, largest) > 0) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                exchange(i, largest);
+                i = largest;
+            }
+        }
+
+        private void exchange(int i, int j) {
+            Route tempRoute = routes[i];
+            routes[i] = routes[j];
+            routes[j] = tempRoute;
+
+            long tempSequence = sequence[i];
+            sequence[i] = sequence[j];
+            sequence[j] = tempSequence;
+        }
+    }
+}
@@ -2,25 +2,40 @@ package at.hochschule.burgenland.bswe.algo.ui;
 
 import at.hochschule.burgenland.bswe.algo.algorithm.Calculator;
 import at.hochschule.burgenland.bswe.algo.comparator.*;
+import at.hochschule.burgenland.bswe.algo.graph.AirportGroups;
 import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
 import at.hochschule.burgenland.bswe.algo.io.CsvWriter;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.AirportGroup;
 import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Money;
 import at.hochschule.burgenland.bswe.algo.model.Route;
+import at.hochschule.burgenland.bswe.algo.search.AirportIndex;
 import at.hochschule.burgenland.bswe.algo.search.SearchEngine;
 import at.hochschule.burgenland.bswe.algo.sorting.MergeSort;
 import at.hochschule.burgenland.bswe.algo.sorting.QuickSort;
+import at.hochschule.burgenland.bswe.algo.sorting.RadixSort;
+import at.hochschule.burgenland.bswe.algo.sorting.TopK;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Console menu for the flight routing system.
  */
 public class Menu {
 
+    private static final double NEARBY_RADIUS_KM = 150;
+
     private final Scanner scanner;
-    private final FlightGraph graph;
+    private final Supplier<FlightGraph> graphs;
     private final Calculator calculator;
     private final SearchEngine searchEngine;
+    private final List<AirportGroup> groups;
+    private FlightGraph indexedGraph;
+    private AirportIndex airportIndex;
+    private AirportGroups airportGroups;
     private final List<Route> savedRoutes;
     private int nextRouteId = 1;
 
@@ -30,25 +45,45 @@ public class Menu {
      * @param graph the constructed graph
      */
     public Menu(FlightGraph graph) {
-        this.scanner = new Scanner(System.in);
-        this.graph = graph;
-        this.calculator = new Calculator(graph);
-        this.searchEngine = new SearchEngine(graph);
-        this.savedRoutes = new ArrayList<>();
+        this(graph, List.of());
     }
 
     /**
      * Constructor with preloaded routes.
-     * Initializes nextRouteId with the next available id.
      *
      * @param graph the constructed graph
      * @param existingRoutes the preloaded routes
      */
     public Menu(FlightGraph graph, List<Route> existingRoutes) {
+        this(graph, existingRoutes, List.of());
+    }
+
+    /**
+     * Constructor with preloaded routes and explicit airport groups.
+     * Initializes nextRouteId with the next available id.
+     *
+     * @param graph the constructed graph
+     * @param existingRoutes the preloaded routes
+     * @param groups explicit airport groups in addition to the groups derived from cities
+     */
+    public Menu(FlightGraph graph, List<Route> existingRoutes, List<AirportGroup> groups) {
+        this(() -> graph, existingRoutes, groups);
+    }
+
+    /**
+     * Constructor with a source of graph snapshots, e.g. a VersionedFlightGraph which is reloaded
+     * in the background. Saved routes are kept when a new graph is published.
+     *
+     * @param graphs supplier of the current graph
+     * @param existingRoutes the preloaded routes
+     * @param groups explicit airport groups in addition to the groups derived from cities
+     */
+    public Menu(Supplier<FlightGraph> graphs, List<Route> existingRoutes, List<AirportGroup> groups) {
         this.scanner = new Scanner(System.in);
-        this.graph = graph;
-        this.calculator = new Calculator(graph);
-        this.searchEngine = new SearchEngine(graph);
+        this.graphs = graphs;
+        this.calculator = new Calculator(graphs);
+        this.searchEngine = new SearchEngine(graphs);
+        this.groups = groups;
         this.savedRoutes = new ArrayList<>(existingRoutes);
 
         this.nextRouteId = existingRoutes.stream()
@@ -107,7 +142,8 @@ public class Menu {
 
     /**
      * Handles the menu action "Routenplanung":
-     * 1. Prompt the user to enter both origin and destination for their route
+     * 1. Prompt the user to enter both origin and destination for their route,
+     * either as IATA code, city / metro area or coordinate (all matching airports are considered)
      * 2. Prompt the user to select the route using a selected metric
      * 3. Delegate calculation to Calculator class
      * 4. Evaluate and print result
@@ -115,22 +151,29 @@ public class Menu {
     private void handleRoutePlanning() {
         System.out.println("\n--- ROUTENPLANUNG ---");
 
-        System.out.print("Start (IATA-Code, z.B. VIE): ");
+        System.out.print("Start (IATA-Code, Stadt oder Koordinate, z.B. VIE, Wien oder 48.2,16.4): ");
         String origin = scanner.nextLine().trim().toUpperCase();
+        Set<String> origins = resolveLocation(origin);
 
-        if (!graph.hasAirport(origin)) {
+        if (origins.isEmpty()) {
             System.out.println("Fehler: Flughafen " + origin + " nicht gefunden!");
             return;
         }
 
-        System.out.print("Ziel (IATA-Code, z.B. JFK): ");
+        System.out.print("Ziel (IATA-Code, Stadt oder Koordinate, z.B. JFK, NYC oder 40.7,-74.0): ");
         String destination = scanner.nextLine().trim().toUpperCase();
+        Set<String> destinations = resolveLocation(destination);
 
-        if (!graph.hasAirport(destination)) {
+        if (destinations.isEmpty()) {
             System.out.println("Fehler: Flughafen " + destination + " nicht gefunden!");
             return;
         }
 
+        if (origins.equals(destinations)) {
+            System.out.println("Fehler: Start und Ziel sind identisch!");
+            return;
+        }
+
         System.out.println("\nKriterium wählen:");
         System.out.println("1. Günstigste Route");
         System.out.println("2. Langsamste Route");
@@ -139,24 +182,24 @@ public class Menu {
         System.out.print("Ihre Wahl: ");
 
         String criteriaChoice = scanner.nextLine().trim();
-        Route route = null;
-        String criteriaName = "";
+        Calculator.RouteOptimization optimization;
+        String criteriaName;
 
         switch (criteriaChoice) {
             case "1":
-                route = calculator.findCheapestRoute(origin, destination);
+                optimization = Calculator.RouteOptimization.PRICE;
                 criteriaName = "Günstigste Route";
                 break;
             case "2":
-                route = calculator.findSlowestRoute(origin, destination);
+                optimization = Calculator.RouteOptimization.DURATION_MAX;
                 criteriaName = "Langsamste Route";
                 break;
             case "3":
-                route = calculator.findFastestRoute(origin, destination);
+                optimization = Calculator.RouteOptimization.DURATION;
                 criteriaName = "Schnellste Route";
                 break;
             case "4":
-                route = calculator.findFewestStopoverRoute(origin, destination);
+                optimization = Calculator.RouteOptimization.STOPOVERS;
                 criteriaName = "Wenigste Umstiege";
                 break;
             default:
@@ -164,11 +207,13 @@ public class Menu {
                 return;
         }
 
+        Route route = calculator.findOptimalRoute(origins, destinations, optimization);
+
         if (route == null) {
             System.out.println("\nKeine Route von " + origin + " nach " + destination + " gefunden!");
         } else {
             route = new Route(nextRouteId++, route.getFlights(), route.getTotalDuration(),
-                    route.getTotalPrice(), route.getStopovers());
+                    route.getTotalPriceCents(), route.getStopovers());
             savedRoutes.add(route);
 
             System.out.println("\n" + criteriaName + " gefunden:");
@@ -177,14 +222,68 @@ public class Menu {
         }
     }
 
+    /**
+     * Resolves the user input for an origin or destination into IATA codes.
+     * Input in the form "latitude,longitude" selects all airports within NEARBY_RADIUS_KM,
+     * or the closest airport if none is that close. Any other input is resolved as
+     * IATA code, airport group or city.
+     *
+     * @param input the user input
+     * @return the matching IATA codes, empty if nothing matches
+     */
+    private Set<String> resolveLocation(String input) {
+        refreshAirportLookups();
+        String[] parts = input.split(",");
+        if (parts.length == 2) {
+            try {
+                double latitude = Double.parseDouble(parts[0].trim());
+                double longitude = Double.parseDouble(parts[1].trim());
+
+                List<Airport> nearby = airportIndex.findWithinRadius(latitude, longitude, NEARBY_RADIUS_KM);
+                if (nearby.isEmpty()) {
+                    nearby = airportIndex.findNearest(latitude, longitude, 1);
+                }
+
+                Set<String> iatas = new LinkedHashSet<>();
+                nearby.forEach(airport -> iatas.add(airport.getIata()));
+                System.out.println("Berücksichtigte Flughäfen: " + String.join(", ", iatas));
+                return iatas;
+            } catch (NumberFormatException e) {
+                return Set.of();
+            }
+        }
+
+        Set<String> iatas = airportGroups.resolve(input);
+        if (iatas.size() > 1) {
+            System.out.println("Berücksichtigte Flughäfen: " + String.join(", ", iatas));
+        }
+        return iatas;
+    }
+
+    /**
+     * Rebuilds the airport index and groups when a new graph has been published since the last lookup.
+     */
+    private void refreshAirportLookups() {
+        FlightGraph graph = graphs.get();
+        if (graph == indexedGraph) {
+            return;
+        }
+
+        airportIndex = new AirportIndex(graph.getAllAirports());
+        airportGroups = new AirportGroups(graph.getAllAirports());
+        groups.forEach(airportGroups::addGroup);
+        indexedGraph = graph;
+    }
+
     /**
      * Handles the menu action "Sortierung":
      * 1. Check for and display saved routes
      * 2. Prompt the user to select which routes to sort
      * 3. Prompt the user to select sorting algorithm
      * 4. Prompt the user to select sorting criteria
-     * 5. Delegate sorting to sorting classes
-     * 6. Print result
+     * 5. Prompt the user for the number of best routes to display
+     * 6. Delegate sorting to sorting classes, only the best routes are selected if a number was given
+     * 7. Print result
      */
     private void handleSorting() {
         System.out.println("\n--- SORTIERUNG ---");
@@ -234,6 +333,7 @@ public class Menu {
         System.out.println("\nSortieralgorithmus wählen:");
         System.out.println("1. Merge Sort (stabil)");
         System.out.println("2. Quick Sort (instabil)");
+        System.out.println("3. Radix Sort (stabil)");
         System.out.print("Ihre Wahl: ");
         String algorithmChoice = scanner.nextLine().trim();
 
@@ -251,19 +351,60 @@ public class Menu {
             return;
         }
 
+        System.out.print("\nAnzahl der besten Routen (leer = alle): ");
+        String limitInput = scanner.nextLine().trim();
+        int limit = routesToSort.size();
+        if (!limitInput.isEmpty()) {
+            try {
+                limit = Integer.parseInt(limitInput);
+            } catch (NumberFormatException e) {
+                System.out.println("Fehler: Ungültiges Format!");
+                return;
+            }
+            if (limit <= 0) {
+                System.out.println("Fehler: Anzahl muss größer als 0 sein!");
+                return;
+            }
+        }
+
         List<Route> sortedRoutes = new ArrayList<>(routesToSort);
+        boolean partial = limit < routesToSort.size();
 
-        if ("1".equals(algorithmChoice)) {
+        if (!List.of("1", "2", "3").contains(algorithmChoice)) {
+            System.out.println("Ungültige Algorithmus-Auswahl!");
+            return;
+        }
+
+        long start = Metrics.start();
+        String algorithm;
+        if (partial && "2".equals(algorithmChoice)) {
+            sortedRoutes = TopK.quickSelect(routesToSort, comparator, limit);
+            algorithm = "quick_select";
+        } else if (partial) {
+            sortedRoutes = TopK.heapSelect(routesToSort, comparator, limit);
+            algorithm = "heap_select";
+        } else if ("1".equals(algorithmChoice)) {
             MergeSort.sort(sortedRoutes, comparator);
-            System.out.println("\nSortiert mit: Stable Merge Sort");
+            algorithm = "merge";
         } else if ("2".equals(algorithmChoice)) {
             QuickSort.sort(sortedRoutes, comparator);
-            System.out.println("\nSortiert mit: Unstable Quick Sort");
+            algorithm = "quick";
         } else {
-            System.out.println("Ungültige Algorithmus-Auswahl!");
-            return;
+            RadixSort.sort(sortedRoutes, comparator);
+            algorithm = "radix";
+        }
+        if (start != Metrics.NOT_STARTED) {
+            Metrics.timer("route_sort_seconds", "algorithm", algorithm).stop(start);
         }
 
+        System.out.println(switch (algorithm) {
+            case "quick_select" -> "\nAusgewählt mit: Unstable Quickselect (Top " + limit + ")";
+            case "heap_select" -> "\nAusgewählt mit: Stable Heap Selection (Top " + limit + ")";
+            case "merge" -> "\nSortiert mit: Stable Merge Sort";
+            case "quick" -> "\nSortiert mit: Unstable Quick Sort";
+            default -> "\nSortiert mit: Stable Radix Sort";
+        });
+
         System.out.println("\nSortierte Routen:");
         sortedRoutes.forEach(System.out::println);
     }
@@ -406,7 +547,7 @@ public class Menu {
         System.out.println("  Strecke:      " + flight.getOrigin() + " -> " + flight.getDestination());
         System.out.println("  Abflug:       " + flight.getDepartureTime());
         System.out.println("  Dauer:        " + flight.getDuration() + " Minuten");
-        System.out.println("  Preis:        €" + String.format("%.2f", flight.getPrice()));
+        System.out.println("  Preis:        €" + Money.format(flight.getPriceCents()));
     }
 
     /**
@@ -433,7 +574,7 @@ public class Menu {
     private void printRouteDetails(Route route) {
         System.out.println("\nRoute Details:");
         for (int flightId : route.getFlights()) {
-            Flight flight = graph.getFlightById(flightId);
+            Flight flight = graphs.get().getFlightById(flightId);
             if (flight != null) {
                 System.out.println("  - " + flight);
             }
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,9 +25,9 @@ class CalculatorTest {
         graph.addAirport(new Airport(2, "JFK", "New York", "USA", 40.6, -73.8));
         graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
 
-        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 100, LocalTime.of(8, 0)));
-        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 400, LocalTime.of(10, 0)));
-        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 550, LocalTime.of(9, 0)));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 55000, LocalTime.of(9, 0)));
 
         calculator = new Calculator(graph);
     }
@@ -36,7 +38,7 @@ class CalculatorTest {
 
         assertNotNull(route);
         assertEquals(2, route.getFlights().size());
-        assertEquals(500.0, route.getTotalPrice());
+        assertEquals(50000, route.getTotalPriceCents());
     }
 
     @Test
@@ -81,11 +83,11 @@ class CalculatorTest {
         graph.addAirport(new Airport(4, "CDG", "Paris", "France", 49.0, 2.5));
         graph.addFlight(new Flight(
             4, "VIE", "CDG", "Austrian", "OS200",
-            300, 120, LocalTime.of(6, 0)
+            300, 12000, LocalTime.of(6, 0)
         ));
         graph.addFlight(new Flight(
             5, "CDG", "JFK", "Air France", "AF100",
-            400, 380, LocalTime.of(13, 0)
+            400, 38000, LocalTime.of(13, 0)
         ));
 
         Route route = calculator.findSlowestRoute("VIE", "JFK");
@@ -95,9 +97,42 @@ class CalculatorTest {
         assertEquals(2, route.getFlights().size());
     }
 
+    @Test
+    void testSlowestRouteKeepsShorterConnectingFlight() {
+        // the longer VIE-LHR flight arrives too late for the onward flight
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Austrian", "OS102", 600, 30000, LocalTime.of(0, 0)));
+        graph.addFlight(new Flight(5, "LHR", "JFK", "British Airways", "BA152", 480, 45000, LocalTime.of(9, 30)));
+
+        Route route = calculator.findSlowestRoute("VIE", "JFK");
+
+        assertEquals(List.of(1, 5), route.getFlights());
+        assertEquals(540, route.getTotalDuration());
+    }
+
+    @Test
+    void testSlowestRouteMatchesExhaustiveSearch() {
+        FlightGraph network = RandomNetworks.randomGraph(8, 60, 13).freeze();
+        Calculator longest = new Calculator(network);
+
+        for (int from = 0; from < 8; from++) {
+            for (int to = 0; to < 8; to++) {
+                if (from == to) {
+                    continue;
+                }
+                String origin = RandomNetworks.code(from);
+                String destination = RandomNetworks.code(to);
+                int expected = RandomNetworks.routes(network, origin, destination).stream()
+                        .mapToInt(r -> r.stream().mapToInt(Flight::getDuration).sum()).max().orElse(-1);
+                Route route = longest.findSlowestRoute(origin, destination);
+
+                assertEquals(expected, route != null ? route.getTotalDuration() : -1, origin + "->" + destination);
+            }
+        }
+    }
+
     @Test
     void testConnectionTimeConstraint() {
-        graph.addFlight(new Flight(4, "LHR", "JFK", "BA", "BA200", 360, 400, LocalTime.of(8, 15)));
+        graph.addFlight(new Flight(4, "LHR", "JFK", "BA", "BA200", 360, 40000, LocalTime.of(8, 15)));
 
         Route route = calculator.findCheapestRoute("VIE", "JFK");
 
@@ -115,16 +150,55 @@ class CalculatorTest {
         graph.addAirport(new Airport(5, "BBB", "B", "B", 1, 1));
         graph.addAirport(new Airport(6, "CCC", "C", "C", 2, 2));
 
-        graph.addFlight(new Flight(5, "VIE", "AAA", "OS", "OS200", 60, 50, LocalTime.of(7, 0)));
-        graph.addFlight(new Flight(6, "AAA", "BBB", "OS", "OS201", 60, 50, LocalTime.of(8, 0)));
-        graph.addFlight(new Flight(7, "BBB", "CCC", "OS", "OS202", 60, 50, LocalTime.of(9, 0)));
-        graph.addFlight(new Flight(8, "CCC", "JFK", "OS", "OS203", 60, 50, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(5, "VIE", "AAA", "OS", "OS200", 60, 5000, LocalTime.of(7, 0)));
+        graph.addFlight(new Flight(6, "AAA", "BBB", "OS", "OS201", 60, 5000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(7, "BBB", "CCC", "OS", "OS202", 60, 5000, LocalTime.of(9, 0)));
+        graph.addFlight(new Flight(8, "CCC", "JFK", "OS", "OS203", 60, 5000, LocalTime.of(10, 0)));
 
         Route route = calculator.findCheapestRoute("VIE", "JFK");
 
         assertNotEquals(5, route.getFlights().size());
     }
 
+    @Test
+    void testStopoverLimitAppliesToDestination() {
+        FlightGraph chain = new FlightGraph();
+        for (int i = 0; i < 6; i++) {
+            chain.addAirport(new Airport(i, RandomNetworks.code(i), "Airport " + i, "Country", i, i));
+        }
+        for (int i = 0; i < 5; i++) {
+            chain.addFlight(new Flight(i + 1, RandomNetworks.code(i), RandomNetworks.code(i + 1), "OS", "OS" + i,
+                    60, 1000, LocalTime.of(6 + 2 * i, 0)));
+        }
+        chain.addFlight(new Flight(6, RandomNetworks.code(0), RandomNetworks.code(5), "OS", "OS9", 60, 90000,
+                LocalTime.of(6, 0)));
+        Calculator chainCalculator = new Calculator(chain);
+
+        Route route = chainCalculator.findCheapestRoute("AA", "AF");
+        List<Route> routes = chainCalculator.findOptimalRoutes(Set.of("AA"), List.of(Set.of("AF")),
+                Calculator.RouteOptimization.PRICE);
+
+        assertEquals(List.of(6), route.getFlights());
+        assertEquals(List.of(6), routes.get(0).getFlights());
+    }
+
+    @Test
+    void testDearerFlightKeepsConnection() {
+        FlightGraph network = new FlightGraph();
+        for (int i = 0; i < 3; i++) {
+            network.addAirport(new Airport(i, RandomNetworks.code(i), "Airport " + i, "Country", i, i));
+        }
+        // cheaper and faster, but arrives after flight 3 departs
+        network.addFlight(new Flight(1, "AA", "AB", "OS", "OS100", 60, 5000, LocalTime.of(8, 0)));
+        network.addFlight(new Flight(2, "AA", "AB", "LH", "LH100", 90, 9000, LocalTime.of(6, 0)));
+        network.addFlight(new Flight(3, "AB", "AC", "LH", "LH200", 120, 10000, LocalTime.of(8, 0)));
+        Calculator networkCalculator = new Calculator(network);
+
+        assertEquals(List.of(2, 3), networkCalculator.findCheapestRoute("AA", "AC").getFlights());
+        assertEquals(List.of(2, 3), networkCalculator.findFastestRoute("AA", "AC").getFlights());
+        assertEquals(List.of(2, 3), networkCalculator.findFewestStopoverRoute("AA", "AC").getFlights());
+    }
+
     @Test
     void testRouteCreationFromState() {
         Route route = calculator.findFastestRoute("VIE", "JFK");
@@ -149,5 +223,45 @@ class CalculatorTest {
 
         assertNull(route);
     }
-}
 
+    @Test
+    void testMultipleOriginsAndDestinations() {
+        graph.addAirport(new Airport(4, "EWR", "New York", "USA", 40.7, -74.2));
+        graph.addAirport(new Airport(5, "BTS", "Bratislava", "Slovakia", 48.2, 17.2));
+        graph.addFlight(new Flight(4, "BTS", "EWR", "Ryanair", "FR100", 540, 30000, LocalTime.of(7, 0)));
+
+        Route route = calculator.findOptimalRoute(Set.of("VIE", "BTS"), Set.of("JFK", "EWR"),
+                Calculator.RouteOptimization.PRICE);
+
+        assertNotNull(route);
+        assertEquals(List.of(4), route.getFlights());
+        assertEquals(30000, route.getTotalPriceCents());
+    }
+
+    @Test
+    void testMultipleOriginsIgnoresUnknownAirports() {
+        Route route = calculator.findOptimalRoute(Set.of("VIE", "XXX"), Set.of("JFK"),
+                Calculator.RouteOptimization.STOPOVERS);
+
+        assertNotNull(route);
+        assertEquals(0, route.getStopovers());
+        assertNull(calculator.findOptimalRoute(Set.of("XXX"), Set.of("JFK"), Calculator.RouteOptimization.STOPOVERS));
+    }
+
+    @Test
+    void testOneToManyMatchesSingleQueries() {
+        graph.addAirport(new Airport(4, "EWR", "New York", "USA", 40.7, -74.2));
+        graph.addFlight(new Flight(4, "LHR", "EWR", "United", "UA200", 400, 35000, LocalTime.of(9, 30)));
+        List<Set<String>> destinationSets = List.of(Set.of("LHR"), Set.of("JFK"), Set.of("JFK", "EWR"), Set.of("XXX"));
+
+        for (Calculator.RouteOptimization optimization : Calculator.RouteOptimization.values()) {
+            List<Route> routes = calculator.findOptimalRoutes(Set.of("VIE"), destinationSets, optimization);
+
+            assertEquals(destinationSets.size(), routes.size());
+            for (int i = 0; i < destinationSets.size(); i++) {
+                Route expected = calculator.findOptimalRoute(Set.of("VIE"), destinationSets.get(i), optimization);
+                assertEquals(expected, routes.get(i), optimization + " " + destinationSets.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItineraryEngineTest {
+
+    private static final LocalDateTime MONDAY_7AM = LocalDateTime.of(2025, 3, 3, 7, 0);
+
+    private FlightGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
+
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 55000, LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void testEarliestArrival() {
+        ItineraryEngine.Itinerary itinerary = new ItineraryEngine(graph)
+                .findEarliestArrival(List.of("VIE"), List.of("JFK"), MONDAY_7AM);
+
+        assertNotNull(itinerary);
+        assertEquals(List.of(1, 2), itinerary.toRoute().getFlights());
+        assertEquals(LocalDateTime.of(2025, 3, 3, 8, 0), itinerary.departure());
+        assertEquals(LocalDateTime.of(2025, 3, 3, 16, 0), itinerary.arrival());
+        assertEquals(Duration.ofHours(8), itinerary.elapsed());
+    }
+
+    @Test
+    void testLatestDepartureForEarliestArrival() {
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Austrian", "OS98", 60, 10000, LocalTime.of(7, 5)));
+
+        ItineraryEngine.Itinerary itinerary = new ItineraryEngine(graph)
+                .findEarliestArrival(List.of("VIE"), List.of("JFK"), MONDAY_7AM);
+
+        // OS98 reaches BA150 as well, but OS100 arrives at the same time with less waiting
+        assertEquals(List.of(1, 2), itinerary.toRoute().getFlights());
+        assertEquals(Duration.ofHours(8), itinerary.elapsed());
+    }
+
+    @Test
+    void testOvernightLayoverIsPartOfElapsedTime() {
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Austrian", "OS104", 60, 10000, LocalTime.of(20, 0)));
+
+        ItineraryEngine engine = new ItineraryEngine(graph);
+        ItineraryEngine.Itinerary itinerary = engine.expand(
+                new Route(0, List.of(graph.getFlightById(4), graph.getFlightById(2))), MONDAY_7AM);
+
+        // 420 minutes of flying, but the connection leaves the next morning
+        assertEquals(LocalDateTime.of(2025, 3, 3, 20, 0), itinerary.departure());
+        assertEquals(LocalDateTime.of(2025, 3, 4, 16, 0), itinerary.arrival());
+        assertEquals(Duration.ofHours(20), itinerary.elapsed());
+    }
+
+    @Test
+    void testMissedConnectionWaitsForNextDay() {
+        ItineraryEngine.Itinerary itinerary = new ItineraryEngine(graph)
+                .findEarliestArrival(List.of("VIE"), List.of("JFK"), MONDAY_7AM.withHour(9).withMinute(30));
+
+        assertEquals(LocalDateTime.of(2025, 3, 4, 8, 0), itinerary.departure());
+        assertEquals(LocalDateTime.of(2025, 3, 4, 16, 0), itinerary.arrival());
+    }
+
+    @Test
+    void testHorizon() {
+        ItineraryEngine engine = new ItineraryEngine(graph, 1);
+
+        assertNull(engine.findEarliestArrival(List.of("VIE"), List.of("JFK"), MONDAY_7AM.withHour(9).withMinute(30)));
+        assertNull(engine.expand(new Route(0, List.of(graph.getFlightById(3))), MONDAY_7AM.withHour(10)));
+        assertThrows(IllegalArgumentException.class, () -> new ItineraryEngine(graph, 0));
+    }
+
+    @Test
+    void testUnreachable() {
+        assertNull(new ItineraryEngine(graph).findEarliestArrival(List.of("JFK"), List.of("VIE"), MONDAY_7AM));
+        assertNull(new ItineraryEngine(graph).findEarliestArrival(List.of("XXX"), List.of("VIE"), MONDAY_7AM));
+    }
+
+    @Test
+    void testMatchesRaptorRouter() {
+        Random random = new Random(5);
+        FlightGraph network = new FlightGraph();
+        for (int i = 0; i < 15; i++) {
+            network.addAirport(new Airport(i, "A" + (char) ('A' + i), "City", "Test", 0, 0));
+        }
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(15);
+            int to = (from + 1 + random.nextInt(14)) % 15;
+            network.addFlight(new Flight(i, "A" + (char) ('A' + from), "A" + (char) ('A' + to), "Test", "T" + i,
+                    30 + random.nextInt(600), 1000, LocalTime.of(random.nextInt(24), random.nextInt(60))));
+        }
+        ItineraryEngine engine = new ItineraryEngine(network);
+        RaptorRouter router = new RaptorRouter(network);
+
+        for (int from = 0; from < 15; from++) {
+            for (int to = 0; to < 15; to++) {
+                List<String> origins = List.of("A" + (char) ('A' + from));
+                List<String> destinations = List.of("A" + (char) ('A' + to));
+                if (from == to) {
+                    continue;
+                }
+                ItineraryEngine.Itinerary itinerary = engine.findEarliestArrival(origins, destinations, MONDAY_7AM);
+                Journey journey = router.findEarliestArrival(origins.get(0), destinations.get(0), LocalTime.of(7, 0));
+
+                assertEquals(journey == null, itinerary == null);
+                if (journey != null) {
+                    assertEquals(MONDAY_7AM.toLocalDate().atStartOfDay().plusMinutes(journey.arrival()),
+                            itinerary.arrival());
+                    // departing any later arrives later
+                    ItineraryEngine.Itinerary later = engine.findEarliestArrival(origins, destinations,
+                            itinerary.departure().plusMinutes(1));
+                    assertTrue(later == null || later.arrival().isAfter(itinerary.arrival()));
+                    assertEquals(itinerary, engine.expand(itinerary.toRoute(), itinerary.departure()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.algorithm.Calculator.RouteOptimization;
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.VersionedFlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import at.hochschule.burgenland.bswe.algo.simd.Kernels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LayeredRouteEngineTest {
+
+    private FlightGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
+
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 55000, LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void testAllCriteriaInOneSearch() {
+        LayeredRouteEngine.Result result = new LayeredRouteEngine(graph).findRoutes(List.of("VIE"), List.of("JFK"));
+
+        assertEquals(List.of(1, 2), result.route(RouteOptimization.PRICE).getFlights());
+        assertEquals(List.of(1, 2), result.route(RouteOptimization.DURATION).getFlights());
+        assertEquals(List.of(3), result.route(RouteOptimization.DURATION_MAX).getFlights());
+        assertEquals(List.of(3), result.route(RouteOptimization.STOPOVERS).getFlights());
+        assertEquals(3, result.states());
+    }
+
+    @Test
+    void testConnectionTimeAndUnreachable() {
+        graph.addFlight(new Flight(4, "LHR", "JFK", "British Airways", "BA152", 300, 1000, LocalTime.of(9, 10)));
+        LayeredRouteEngine engine = new LayeredRouteEngine(graph);
+
+        // BA152 is cheaper and faster, but leaves only 10 minutes after OS100 arrives
+        assertEquals(List.of(1, 2), engine.findOptimalRoute(List.of("VIE"), List.of("JFK"), RouteOptimization.PRICE)
+                .getFlights());
+        assertNull(engine.findOptimalRoute(List.of("JFK"), List.of("VIE"), RouteOptimization.DURATION));
+        assertNull(engine.findOptimalRoute(List.of("XXX"), List.of("VIE"), RouteOptimization.DURATION));
+    }
+
+    @Test
+    void testMatchesExhaustiveSearch() {
+        FlightGraph network = RandomNetworks.randomGraph(8, 60, 21);
+        LayeredRouteEngine engine = new LayeredRouteEngine(network);
+
+        for (int from = 0; from < 8; from++) {
+            for (int to = 0; to < 8; to++) {
+                if (from == to) {
+                    continue;
+                }
+                String origin = RandomNetworks.code(from);
+                String destination = RandomNetworks.code(to);
+                List<List<Flight>> routes = RandomNetworks.routes(network, origin, destination);
+                LayeredRouteEngine.Result result = engine.findRoutes(List.of(origin), List.of(destination));
+                String query = origin + "->" + destination;
+
+                if (routes.isEmpty()) {
+                    assertNull(result.route(RouteOptimization.PRICE), query);
+                    continue;
+                }
+                assertEquals(routes.stream().mapToLong(r -> r.stream().mapToLong(Flight::getPriceCents).sum()).min()
+                        .getAsLong(), result.route(RouteOptimization.PRICE).getTotalPriceCents(), query);
+                assertEquals(routes.stream().mapToInt(r -> r.stream().mapToInt(Flight::getDuration).sum()).min()
+                        .getAsInt(), result.route(RouteOptimization.DURATION).getTotalDuration(), query);
+                assertEquals(routes.stream().mapToInt(r -> r.stream().mapToInt(Flight::getDuration).sum()).max()
+                        .getAsInt(), result.route(RouteOptimization.DURATION_MAX).getTotalDuration(), query);
+                assertEquals(routes.stream().mapToInt(List::size).min().getAsInt() - 1,
+                        result.route(RouteOptimization.STOPOVERS).getStopovers(), query);
+            }
+        }
+    }
+
+    @Test
+    void testRoutesToEachMatchSingleSearches() {
+        FlightGraph network = RandomNetworks.randomGraph(10, 120, 5);
+        LayeredRouteEngine engine = new LayeredRouteEngine(network);
+        List<List<String>> destinationSets = List.of(List.of("AB"), List.of("AC", "AD"), List.of("AJ"), List.of("XX"));
+
+        List<LayeredRouteEngine.Result> results = engine.findRoutesToEach(List.of("AA"), destinationSets);
+
+        assertEquals(destinationSets.size(), results.size());
+        for (int i = 0; i < destinationSets.size(); i++) {
+            LayeredRouteEngine.Result single = engine.findRoutes(List.of("AA"), destinationSets.get(i));
+            LayeredRouteEngine.Result shared = results.get(i);
+            assertEquals(cost(single.route(RouteOptimization.PRICE), true), cost(shared.route(RouteOptimization.PRICE), true));
+            assertEquals(cost(single.route(RouteOptimization.DURATION), false),
+                    cost(shared.route(RouteOptimization.DURATION), false));
+            assertEquals(cost(single.route(RouteOptimization.STOPOVERS), true),
+                    cost(shared.route(RouteOptimization.STOPOVERS), true));
+            assertThrows(IllegalArgumentException.class, () -> shared.route(RouteOptimization.DURATION_MAX));
+        }
+        assertNull(results.get(3).route(RouteOptimization.PRICE));
+    }
+
+    @Test
+    void testDerivedEngineMatchesRebuild() {
+        VersionedFlightGraph network = new VersionedFlightGraph(RandomNetworks.randomGraph(10, 300, 13));
+        LayeredRouteEngine engine = new LayeredRouteEngine(network.get());
+        assertSame(engine, engine.derive(network.get()));
+        Random random = new Random(4);
+
+        for (int version = 0; version < 6; version++) {
+            int added = version;
+            network.update(graph -> {
+                if (added % 2 == 1) {
+                    graph.addAirport(new Airport(20 + added, RandomNetworks.code(10 + added), "City", "Test", 0, 0));
+                }
+                RandomNetworks.changeRandomly(graph, 30, random);
+            });
+            engine = engine.derive(network.get());
+            LayeredRouteEngine rebuilt = new LayeredRouteEngine(network.get());
+
+            for (Airport from : network.get().getAllAirports()) {
+                for (Airport to : network.get().getAllAirports()) {
+                    List<String> origins = List.of(from.getIata());
+                    List<String> destinations = List.of(to.getIata());
+                    LayeredRouteEngine.Result expected = rebuilt.findRoutes(origins, destinations);
+                    LayeredRouteEngine.Result actual = engine.findRoutes(origins, destinations);
+                    String query = from.getIata() + "->" + to.getIata();
+                    for (RouteOptimization optimization : RouteOptimization.values()) {
+                        boolean price = optimization == RouteOptimization.PRICE || optimization == RouteOptimization.STOPOVERS;
+                        assertEquals(cost(expected.route(optimization), price), cost(actual.route(optimization), price), query);
+                    }
+                    assertEquals(expected.states(), actual.states(), query);
+                }
+            }
+        }
+    }
+
+    private static long cost(Route route, boolean price) {
+        if (route == null) {
+            return -1;
+        }
+        return price ? route.getTotalPriceCents() : route.getTotalDuration();
+    }
+
+    @Test
+    void testVectorKernelsMatchScalar() {
+        assumeTrue(Kernels.vector() != null, "jdk.incubator.vector nicht verfügbar");
+        FlightGraph network = RandomNetworks.randomGraph(20, 2000, 8);
+        LayeredRouteEngine scalar = new LayeredRouteEngine(network, Kernels.scalar());
+        LayeredRouteEngine vector = new LayeredRouteEngine(network, Kernels.vector());
+
+        for (int from = 0; from < 20; from += 3) {
+            for (int to = 1; to < 20; to += 4) {
+                List<String> origins = List.of(RandomNetworks.code(from));
+                List<String> destinations = List.of(RandomNetworks.code(to));
+                assertEquals(scalar.findRoutes(origins, destinations), vector.findRoutes(origins, destinations));
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.VersionedFlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileSearchTest {
+
+    private FlightGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
+
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 55000, LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void testAllDeparturesOfTheDay() {
+        List<Journey> journeys = new ProfileSearch(graph).search(List.of("VIE"), List.of("JFK"));
+
+        assertEquals(2, journeys.size());
+        assertEquals(8 * 60, journeys.get(0).departure());
+        assertEquals(16 * 60, journeys.get(0).arrival());
+        assertEquals(List.of(1, 2), journeys.get(0).toRoute().getFlights());
+        assertEquals(9 * 60, journeys.get(1).departure());
+        assertEquals(9 * 60 + 500, journeys.get(1).arrival());
+    }
+
+    @Test
+    void testDominatedDepartureIsSkipped() {
+        // departs earlier than OS100 but arrives at the same time
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Austrian", "OS102", 60, 10000, LocalTime.of(7, 0)));
+
+        List<Journey> journeys = new ProfileSearch(graph).search(List.of("VIE"), List.of("JFK"));
+
+        assertEquals(List.of(8 * 60, 9 * 60), journeys.stream().map(Journey::departure).toList());
+    }
+
+    @Test
+    void testConnectionOnNextDay() {
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Austrian", "OS104", 60, 10000, LocalTime.of(20, 0)));
+        graph.addFlight(new Flight(5, "LHR", "JFK", "British Airways", "BA152", 360, 40000, LocalTime.of(7, 0)));
+
+        List<Journey> journeys = new ProfileSearch(graph).search(List.of("VIE"), List.of("JFK"));
+
+        Journey overnight = journeys.get(journeys.size() - 1);
+        assertEquals(20 * 60, overnight.departure());
+        assertEquals(24 * 60 + 13 * 60, overnight.arrival());
+        assertEquals(List.of(4, 5), overnight.toRoute().getFlights());
+    }
+
+    @Test
+    void testLaterDayDominates() {
+        // arrives together with the 08:00 departure of the next day
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Austrian", "OS104", 60, 10000, LocalTime.of(20, 0)));
+
+        List<Journey> journeys = new ProfileSearch(graph).search(List.of("VIE"), List.of("JFK"));
+
+        assertEquals(List.of(8 * 60, 9 * 60), journeys.stream().map(Journey::departure).toList());
+    }
+
+    @Test
+    void testMinimumConnectionTime() {
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Austrian", "OS106", 50, 10000, LocalTime.of(8, 55)));
+
+        // 09:45 arrival leaves 15 minutes for BA150, so the 08:55 flight is only useful as a longer overnight trip
+        List<Journey> journeys = new ProfileSearch(graph).search(List.of("VIE"), List.of("JFK"));
+
+        assertEquals(List.of(8 * 60, 9 * 60), journeys.stream().map(Journey::departure).toList());
+    }
+
+    @Test
+    void testUnknownAirport() {
+        assertTrue(new ProfileSearch(graph).search(List.of("XXX"), List.of("JFK")).isEmpty());
+    }
+
+    @Test
+    void testMatchesRaptorProfile() {
+        FlightGraph random = randomGraph(10, 300, 3);
+        ProfileSearch profileSearch = new ProfileSearch(random);
+        RaptorRouter router = new RaptorRouter(random);
+
+        for (int origin = 0; origin < 10; origin++) {
+            for (int destination : new int[]{(origin + 3) % 10, (origin + 7) % 10}) {
+                List<Journey> expected = dominanceFilter(router.profile(List.of(code(origin)), List.of(code(destination))));
+                List<Journey> actual = profileSearch.search(List.of(code(origin)), List.of(code(destination)));
+
+                assertEquals(times(expected), times(actual), code(origin) + "->" + code(destination));
+            }
+        }
+    }
+
+    /**
+     * Reduces a profile with the number of flights as additional criterion to departure and arrival,
+     * comparing with the journeys of the following days as well.
+     */
+    private static List<Journey> dominanceFilter(List<Journey> journeys) {
+        List<Journey> result = new ArrayList<>();
+        for (Journey journey : journeys) {
+            boolean dominated = false;
+            for (Journey other : journeys) {
+                for (int shift = 0; shift <= 7 * 24 * 60 && !dominated; shift += 24 * 60) {
+                    int departure = other.departure() + shift;
+                    int arrival = other.arrival() + shift;
+                    dominated = departure >= journey.departure() && arrival <= journey.arrival()
+                            && (departure > journey.departure() || arrival < journey.arrival());
+                }
+            }
+            if (!dominated) {
+                result.add(journey);
+            }
+        }
+        result.sort(Comparator.comparingInt(Journey::departure));
+        return result;
+    }
+
+    private static List<String> times(List<Journey> journeys) {
+        return journeys.stream().map(j -> j.departure() + "-" + j.arrival()).toList();
+    }
+
+    private static FlightGraph randomGraph(int airports, int flights, long seed) {
+        Random random = new Random(seed);
+        FlightGraph graph = new FlightGraph();
+        for (int i = 0; i < airports; i++) {
+            graph.addAirport(new Airport(i, code(i), code(i), "Test", 0, 0));
+        }
+        for (int i = 0; i < flights; i++) {
+            int from = random.nextInt(airports);
+            int to = (from + 1 + random.nextInt(airports - 1)) % airports;
+            graph.addFlight(new Flight(i, code(from), code(to), "Test", "T" + i, 30 + random.nextInt(600),
+                    1000, LocalTime.of(random.nextInt(24), random.nextInt(12) * 5)));
+        }
+        return graph;
+    }
+
+    private static String code(int i) {
+        return "A" + (char) ('A' + i / 26) + (char) ('A' + i % 26);
+    }
+
+    @Test
+    void testDerivedSearchMatchesRebuild() {
+        VersionedFlightGraph network = new VersionedFlightGraph(RandomNetworks.randomGraph(8, 200, 17));
+        ProfileSearch search = new ProfileSearch(network.get());
+        Random random = new Random(9);
+
+        for (int version = 0; version < 4; version++) {
+            int added = version;
+            network.update(graph -> {
+                if (added == 2) {
+                    graph.addAirport(new Airport(20, RandomNetworks.code(8), "City", "Test", 0, 0));
+                }
+                RandomNetworks.changeRandomly(graph, 40, random);
+            });
+            search = search.derive(network.get());
+            ProfileSearch rebuilt = new ProfileSearch(network.get());
+
+            for (Airport from : network.get().getAllAirports()) {
+                for (Airport to : network.get().getAllAirports()) {
+                    List<String> origins = List.of(from.getIata());
+                    List<String> destinations = List.of(to.getIata());
+                    assertEquals(times(rebuilt.search(origins, destinations)), times(search.search(origins, destinations)),
+                            from.getIata() + "->" + to.getIata());
+                }
+            }
+        }
+    }
+}
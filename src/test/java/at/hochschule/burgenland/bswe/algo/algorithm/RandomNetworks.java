@@ -0,0 +1,100 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.FlightChange;
+
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random flight networks and an exhaustive route enumeration to check the route engines against.
+ * The enumeration follows the Calculator rules: at most MAX_STOPOVERS + 1 flights, MIN_CONNECTION_TIME minutes
+ * between two flights on the same day (times of day, no wraparound), routes end at the destination.
+ */
+final class RandomNetworks {
+
+    private RandomNetworks() {
+    }
+
+    /**
+     * Creates a network with the airports code(0) ... code(airports - 1) and random flights between them.
+     * At most 26 airports are supported.
+     */
+    static FlightGraph randomGraph(int airports, int flights, long seed) {
+        Random random = new Random(seed);
+        FlightGraph network = new FlightGraph();
+        for (int i = 0; i < airports; i++) {
+            network.addAirport(new Airport(i, code(i), "City", "Test", 0, 0));
+        }
+        for (int i = 0; i < flights; i++) {
+            int from = random.nextInt(airports);
+            int to = (from + 1 + random.nextInt(airports - 1)) % airports;
+            network.addFlight(new Flight(i, code(from), code(to), "Test", "T" + i, 30 + random.nextInt(600),
+                    1000 + random.nextInt(90000), LocalTime.of(random.nextInt(24), random.nextInt(60))));
+        }
+        return network;
+    }
+
+    /**
+     * Applies random ADD, UPDATE and REMOVE rows between the airports of the graph,
+     * rows which cannot be applied (unknown or existing ids) are skipped by FlightGraph.applyChanges.
+     */
+    static void changeRandomly(FlightGraph network, int changes, Random random) {
+        List<String> codes = network.getAllAirports().stream().map(Airport::getIata).sorted().toList();
+        List<FlightChange> rows = new ArrayList<>();
+        for (int i = 0; i < changes; i++) {
+            int id = random.nextInt(400);
+            int from = random.nextInt(codes.size());
+            int to = (from + 1 + random.nextInt(codes.size() - 1)) % codes.size();
+            Flight flight = new Flight(id, codes.get(from), codes.get(to), "Test", "T" + id, 30 + random.nextInt(600),
+                    1000 + random.nextInt(90000), LocalTime.of(random.nextInt(24), random.nextInt(60)));
+            rows.add(switch (random.nextInt(3)) {
+                case 0 -> FlightChange.add(flight);
+                case 1 -> FlightChange.update(flight);
+                default -> FlightChange.remove(id);
+            });
+        }
+        network.applyChanges(rows);
+    }
+
+    static String code(int i) {
+        return "A" + (char) ('A' + i);
+    }
+
+    /**
+     * Enumerates all routes from the origin to the destination.
+     */
+    static List<List<Flight>> routes(FlightGraph network, String origin, String destination) {
+        List<List<Flight>> routes = new ArrayList<>();
+        enumerate(network, origin, destination, new ArrayList<>(), routes);
+        return routes;
+    }
+
+    private static void enumerate(FlightGraph network, String airport, String destination, List<Flight> path,
+                                  List<List<Flight>> routes) {
+        if (path.size() == Calculator.MAX_STOPOVERS + 1) {
+            return;
+        }
+        Flight last = path.isEmpty() ? null : path.get(path.size() - 1);
+        for (Flight flight : network.getFlightsFrom(airport)) {
+            if (last != null) {
+                LocalTime arrival = last.getDepartureTime().plusMinutes(last.getDuration());
+                if (ChronoUnit.MINUTES.between(arrival, flight.getDepartureTime()) < Calculator.MIN_CONNECTION_TIME) {
+                    continue;
+                }
+            }
+            path.add(flight);
+            if (flight.getDestination().equals(destination)) {
+                routes.add(List.copyOf(path));
+            } else {
+                enumerate(network, flight.getDestination(), destination, path, routes);
+            }
+            path.remove(path.size() - 1);
+        }
+    }
+}
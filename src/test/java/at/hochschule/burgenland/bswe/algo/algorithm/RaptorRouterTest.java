@@ -0,0 +1,187 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RaptorRouterTest {
+
+    private FlightGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
+
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 55000, LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void testJourneysPerNumberOfFlights() {
+        List<Journey> journeys = new RaptorRouter(graph)
+                .findJourneys(List.of("VIE"), List.of("JFK"), LocalTime.of(7, 0));
+
+        assertEquals(2, journeys.size());
+        assertEquals(1, journeys.get(0).size());
+        assertEquals(9 * 60 + 500, journeys.get(0).arrival());
+        assertEquals(2, journeys.get(1).size());
+        assertEquals(16 * 60, journeys.get(1).arrival());
+        assertEquals(List.of(1, 2), journeys.get(1).toRoute().getFlights());
+    }
+
+    @Test
+    void testWaitsForNextDay() {
+        Journey journey = new RaptorRouter(graph).findEarliestArrival("VIE", "JFK", LocalTime.of(9, 30));
+
+        assertNotNull(journey);
+        assertEquals(24 * 60 + 8 * 60, journey.departure());
+        assertEquals(24 * 60 + 16 * 60, journey.arrival());
+        assertEquals(8 * 60, journey.travelMinutes());
+    }
+
+    @Test
+    void testMinimumConnectionTime() {
+        graph.addFlight(new Flight(4, "LHR", "JFK", "British Airways", "BA152", 360, 40000, LocalTime.of(9, 10)));
+        graph.addFlight(new Flight(5, "LHR", "JFK", "British Airways", "BA154", 360, 40000, LocalTime.of(9, 20)));
+
+        Journey journey = new RaptorRouter(graph).findEarliestArrival("VIE", "JFK", LocalTime.of(7, 0));
+
+        assertEquals(List.of(1, 5), journey.toRoute().getFlights());
+        assertEquals(9 * 60 + 20 + 360, journey.arrival());
+    }
+
+    @Test
+    void testMaximumNumberOfFlights() {
+        String[] chain = {"AAA", "BBB", "CCC", "DDD", "EEE", "FFF"};
+        for (int i = 0; i < chain.length; i++) {
+            graph.addAirport(new Airport(10 + i, chain[i], chain[i], "Test", 0, 0));
+        }
+        for (int i = 0; i + 1 < chain.length; i++) {
+            graph.addFlight(new Flight(10 + i, chain[i], chain[i + 1], "Test", "T" + i, 30, 1000, LocalTime.of(6 + i, 0)));
+        }
+        RaptorRouter router = new RaptorRouter(graph);
+
+        assertEquals(4, router.findEarliestArrival("AAA", "EEE", LocalTime.of(5, 0)).size());
+        assertNull(router.findEarliestArrival("AAA", "FFF", LocalTime.of(5, 0)));
+    }
+
+    @Test
+    void testUnknownAirport() {
+        RaptorRouter router = new RaptorRouter(graph);
+
+        assertTrue(router.findJourneys(List.of("XXX"), List.of("JFK"), LocalTime.MIDNIGHT).isEmpty());
+        assertTrue(router.profile(List.of("VIE"), List.of("XXX")).isEmpty());
+    }
+
+    @Test
+    void testProfile() {
+        List<Journey> profile = new RaptorRouter(graph).profile(Set.of("VIE"), Set.of("JFK"));
+
+        // 08:00 via LHR arrives 16:00, 09:00 direct arrives 17:20 with a single flight
+        assertEquals(2, profile.size());
+        assertEquals(8 * 60, profile.get(0).departure());
+        assertEquals(2, profile.get(0).size());
+        assertEquals(9 * 60, profile.get(1).departure());
+        assertEquals(1, profile.get(1).size());
+    }
+
+    @Test
+    void testMatchesExhaustiveSearch() {
+        FlightGraph random = randomGraph(8, 60, 7);
+        RaptorRouter router = new RaptorRouter(random);
+
+        for (int origin = 0; origin < 8; origin++) {
+            for (int destination = 0; destination < 8; destination++) {
+                if (origin == destination) {
+                    continue;
+                }
+                for (int start : new int[]{0, 7 * 60 + 13, 23 * 60}) {
+                    List<Journey> journeys = router.findJourneys(
+                            List.of(code(origin)), List.of(code(destination)), LocalTime.ofSecondOfDay(start * 60L));
+                    for (int legs = 1; legs <= RaptorRouter.MAX_LEGS; legs++) {
+                        int maxLegs = legs;
+                        int expected = exhaustive(random, code(origin), code(destination), start, legs, true);
+                        int actual = journeys.stream().filter(j -> j.size() <= maxLegs)
+                                .mapToInt(Journey::arrival).min().orElse(Integer.MAX_VALUE);
+                        assertEquals(expected, actual, code(origin) + "->" + code(destination) + " " + legs);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParallelProfileMatchesSingleQueries() {
+        FlightGraph random = randomGraph(8, 400, 11);
+        RaptorRouter router = new RaptorRouter(random);
+
+        List<Journey> profile = router.profile(List.of(code(0)), List.of(code(5)));
+        assertFalse(profile.isEmpty());
+
+        for (Journey journey : profile) {
+            List<Journey> single = router.findJourneys(List.of(code(0)), List.of(code(5)),
+                    LocalTime.ofSecondOfDay(journey.departure() * 60L));
+            assertTrue(single.stream().anyMatch(j -> j.size() == journey.size() && j.arrival() == journey.arrival()));
+        }
+        for (int i = 1; i < profile.size(); i++) {
+            Journey earlier = profile.get(i - 1);
+            Journey later = profile.get(i);
+            assertFalse(later.arrival() <= earlier.arrival() && later.size() <= earlier.size(),
+                    "dominated journey in profile");
+        }
+    }
+
+    /**
+     * Earliest arrival with at most maxLegs flights by enumerating all paths.
+     */
+    private static int exhaustive(FlightGraph graph, String airport, String destination, int ready, int maxLegs,
+                                  boolean first) {
+        if (maxLegs == 0) {
+            return Integer.MAX_VALUE;
+        }
+        int best = Integer.MAX_VALUE;
+        int earliest = first ? ready : ready + 20;
+        for (Flight flight : graph.getFlightsFrom(airport)) {
+            int minute = flight.getDepartureTime().toSecondOfDay() / 60;
+            int arrival = earliest + Math.floorMod(minute - earliest, 24 * 60) + flight.getDuration();
+            if (flight.getDestination().equals(destination)) {
+                best = Math.min(best, arrival);
+            } else {
+                best = Math.min(best, exhaustive(graph, flight.getDestination(), destination, arrival, maxLegs - 1, false));
+            }
+        }
+        return best;
+    }
+
+    private static FlightGraph randomGraph(int airports, int flights, long seed) {
+        Random random = new Random(seed);
+        FlightGraph graph = new FlightGraph();
+        for (int i = 0; i < airports; i++) {
+            graph.addAirport(new Airport(i, code(i), code(i), "Test", 0, 0));
+        }
+        for (int i = 0; i < flights; i++) {
+            int from = random.nextInt(airports);
+            int to = (from + 1 + random.nextInt(airports - 1)) % airports;
+            graph.addFlight(new Flight(i, code(from), code(to), "Test", "T" + i, 30 + random.nextInt(600),
+                    1000, LocalTime.of(random.nextInt(24), random.nextInt(12) * 5)));
+        }
+        return graph;
+    }
+
+    private static String code(int i) {
+        return "A" + (char) ('A' + i / 26) + (char) ('A' + i % 26);
+    }
+}
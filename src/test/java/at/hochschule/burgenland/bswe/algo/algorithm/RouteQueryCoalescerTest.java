@@ -0,0 +1,134 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteQueryCoalescerTest {
+
+    private FlightGraph graph;
+    private Calculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(4, "FRA", "Frankfurt", "Germany", 50.0, 8.5));
+
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 55000, LocalTime.of(9, 0)));
+        graph.addFlight(new Flight(4, "VIE", "FRA", "Lufthansa", "LH200", 80, 12000, LocalTime.of(7, 0)));
+        graph.addFlight(new Flight(5, "FRA", "JFK", "Lufthansa", "LH400", 480, 45000, LocalTime.of(11, 0)));
+
+        calculator = new Calculator(graph);
+    }
+
+    @Test
+    void testSingleQueryMatchesCalculator() {
+        RouteQueryCoalescer coalescer = new RouteQueryCoalescer(0);
+
+        for (Calculator.RouteOptimization optimization : Calculator.RouteOptimization.values()) {
+            Route route = coalescer.findOptimalRoute(graph, Set.of("VIE"), Set.of("JFK"), optimization);
+            assertEquals(calculator.findOptimalRoute(Set.of("VIE"), Set.of("JFK"), optimization), route);
+        }
+        assertNull(coalescer.findOptimalRoute(graph, Set.of("JFK"), Set.of("VIE"), Calculator.RouteOptimization.PRICE));
+
+        assertEquals(5, coalescer.getQueries());
+        assertEquals(5, coalescer.getSearches());
+        assertEquals(0, coalescer.getSavedSearches());
+    }
+
+    @Test
+    void testConcurrentQueriesShareSearches() throws Exception {
+        // long window, so all queries arrive while their batch is open
+        RouteQueryCoalescer coalescer = new RouteQueryCoalescer(200_000);
+        List<Set<String>> destinations = List.of(Set.of("JFK"), Set.of("LHR"), Set.of("FRA"));
+        int threads = 12;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Route>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Set<String> destination = destinations.get(i % destinations.size());
+            results.add(executor.submit(() -> {
+                start.await();
+                return coalescer.findOptimalRoute(graph, Set.of("VIE"), destination, Calculator.RouteOptimization.PRICE);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < threads; i++) {
+            Route expected = calculator.findOptimalRoute(Set.of("VIE"), destinations.get(i % destinations.size()),
+                    Calculator.RouteOptimization.PRICE);
+            assertEquals(expected, results.get(i).get());
+        }
+        executor.shutdown();
+
+        assertEquals(threads, coalescer.getQueries());
+        assertEquals(1, coalescer.getSearches());
+        assertEquals(threads - destinations.size(), coalescer.getDeduplicated());
+        assertEquals(threads - 1, coalescer.getSavedSearches());
+    }
+
+    @Test
+    void testCriteriaShareBatch() throws Exception {
+        RouteQueryCoalescer coalescer = new RouteQueryCoalescer(200_000);
+        List<Calculator.RouteOptimization> optimizations = List.of(Calculator.RouteOptimization.PRICE,
+                Calculator.RouteOptimization.DURATION, Calculator.RouteOptimization.STOPOVERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(optimizations.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Route>> results = new ArrayList<>();
+        for (Calculator.RouteOptimization optimization : optimizations) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return coalescer.findOptimalRoute(graph, Set.of("VIE"), Set.of("JFK"), optimization);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < optimizations.size(); i++) {
+            assertEquals(calculator.findOptimalRoute(Set.of("VIE"), Set.of("JFK"), optimizations.get(i)),
+                    results.get(i).get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, coalescer.getSearches());
+        assertEquals(0, coalescer.getDeduplicated());
+    }
+
+    @Test
+    void testQueriesOnDifferentGraphsAreNotMerged() throws Exception {
+        RouteQueryCoalescer coalescer = new RouteQueryCoalescer(100_000);
+        FlightGraph updated = graph.mutableCopy();
+        updated.removeFlight(3);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Route> before = executor.submit(() ->
+                coalescer.findOptimalRoute(graph, Set.of("VIE"), Set.of("JFK"), Calculator.RouteOptimization.STOPOVERS));
+        Future<Route> after = executor.submit(() ->
+                coalescer.findOptimalRoute(updated, Set.of("VIE"), Set.of("JFK"), Calculator.RouteOptimization.STOPOVERS));
+
+        assertEquals(0, before.get().getStopovers());
+        assertEquals(1, after.get().getStopovers());
+        assertEquals(2, coalescer.getSearches());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,109 @@
+package at.hochschule.burgenland.bswe.algo.algorithm;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTraceTest {
+
+    private Calculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        FlightGraph graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
+
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        // cheaper, but departs before flight 1 arrives
+        graph.addFlight(new Flight(3, "LHR", "JFK", "British Airways", "BA200", 360, 30000, LocalTime.of(8, 15)));
+        // more expensive and later way to LHR, dominated by flight 1
+        graph.addFlight(new Flight(4, "VIE", "LHR", "Lufthansa", "LH300", 150, 20000, LocalTime.of(7, 0)));
+
+        calculator = new Calculator(graph);
+    }
+
+    @Test
+    void testTraceRecordsSearch() {
+        SearchTrace trace = new SearchTrace();
+
+        Route route = calculator.findOptimalRoute(Set.of("VIE"), Set.of("JFK"), Calculator.RouteOptimization.PRICE, trace);
+
+        assertEquals(calculator.findCheapestRoute("VIE", "JFK"), route);
+        assertEquals(route, trace.getRoute());
+        assertEquals(List.of(1, 2), route.getFlights());
+
+        SearchTrace.Event origin = trace.getEvents().get(0);
+        assertEquals(SearchTrace.Type.SETTLED, origin.type());
+        assertEquals("VIE", origin.airport());
+        assertEquals(-1, origin.flightId());
+
+        assertEquals(1, trace.count(SearchTrace.Type.REACHED));
+        assertEquals(1, trace.count(SearchTrace.Type.PRUNED_DOMINATED));
+        assertEquals(1, trace.count(SearchTrace.Type.REJECTED_CONNECTION));
+
+        SearchTrace.Event rejected = trace.getEvents().stream()
+                .filter(event -> event.type() == SearchTrace.Type.REJECTED_CONNECTION)
+                .findFirst().orElseThrow();
+        assertEquals(1, rejected.flightId());
+        assertEquals(3, rejected.nextFlightId());
+
+        SearchTrace.Event dominated = trace.getEvents().stream()
+                .filter(event -> event.type() == SearchTrace.Type.PRUNED_DOMINATED)
+                .findFirst().orElseThrow();
+        assertEquals(4, dominated.flightId());
+        assertEquals(20000, dominated.cost());
+        assertEquals(10000, dominated.detail());
+
+        assertEquals(List.of("setup", "search", "result"), List.copyOf(trace.getPhaseNanos().keySet()));
+    }
+
+    @Test
+    void testTraceToJson() {
+        SearchTrace trace = new SearchTrace();
+        calculator.findOptimalRoute(Set.of("VIE"), Set.of("JFK"), Calculator.RouteOptimization.PRICE, trace);
+
+        String json = trace.toJson();
+
+        assertTrue(json.startsWith("{\"optimization\":\"PRICE\",\"origins\":[\"VIE\"],\"destinations\":[\"JFK\"]"));
+        assertTrue(json.contains("\"rejectedConnection\":1"));
+        assertTrue(json.contains("\"route\":[1,2]"));
+        assertTrue(json.contains("{\"type\":\"prunedDominated\",\"airport\":\"LHR\",\"legs\":1,\"cost\":20000,\"flight\":4,\"bestCost\":10000}"));
+        assertTrue(json.contains("\"phasesMicros\":{\"setup\":"));
+    }
+
+    @Test
+    void testEventLimit() {
+        SearchTrace trace = new SearchTrace(2);
+
+        calculator.findOptimalRoute(Set.of("VIE"), Set.of("JFK"), Calculator.RouteOptimization.PRICE, trace);
+
+        int total = 0;
+        for (SearchTrace.Type type : SearchTrace.Type.values()) {
+            total += trace.count(type);
+        }
+        assertEquals(2, trace.getEvents().size());
+        assertEquals(total - 2, trace.getDropped());
+    }
+
+    @Test
+    void testTraceWithUnknownAirport() {
+        SearchTrace trace = new SearchTrace();
+
+        assertNull(calculator.findOptimalRoute(Set.of("XXX"), Set.of("JFK"), Calculator.RouteOptimization.PRICE, trace));
+        assertTrue(trace.getEvents().isEmpty());
+        assertTrue(trace.getPhaseNanos().containsKey("setup"));
+        assertTrue(trace.toJson().contains("\"route\":null"));
+    }
+}
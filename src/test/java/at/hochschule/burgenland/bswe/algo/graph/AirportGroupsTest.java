@@ -0,0 +1,51 @@
+package at.hochschule.burgenland.bswe.algo.graph;
+
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.AirportGroup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AirportGroupsTest {
+
+    private AirportGroups groups;
+
+    @BeforeEach
+    void setUp() {
+        groups = new AirportGroups(List.of(
+            new Airport(1, "VIE", "Schwechat", "Austria", 48.1, 16.6),
+            new Airport(2, "JFK", "New York", "USA", 40.6, -73.8),
+            new Airport(3, "LGA", "New York", "USA", 40.8, -73.9),
+            new Airport(4, "EWR", "Newark", "USA", 40.7, -74.2)
+        ));
+    }
+
+    @Test
+    void testResolveIata() {
+        assertEquals(Set.of("VIE"), groups.resolve("vie"));
+    }
+
+    @Test
+    void testResolveCity() {
+        assertEquals(Set.of("JFK", "LGA"), groups.resolve("NEW YORK"));
+    }
+
+    @Test
+    void testResolveExplicitGroup() {
+        groups.addGroup(new AirportGroup("NYC", "New York City", List.of("JFK", "LGA", "EWR", "XXX")));
+        groups.addGroup(new AirportGroup("VIE", "Wien", List.of("VIE")));
+
+        assertEquals(Set.of("JFK", "LGA", "EWR"), groups.resolve("nyc"));
+        assertEquals(Set.of("JFK", "LGA", "EWR"), groups.resolve("New York City"));
+        assertEquals(Set.of("VIE"), groups.resolve("Wien"));
+    }
+
+    @Test
+    void testResolveUnknown() {
+        assertTrue(groups.resolve("Atlantis").isEmpty());
+    }
+}
@@ -2,12 +2,15 @@ package at.hochschule.burgenland.bswe.algo.graph;
 
 import at.hochschule.burgenland.bswe.algo.model.Airport;
 import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.FlightChange;
+import at.hochschule.burgenland.bswe.algo.model.SymbolTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -89,7 +92,7 @@ class FlightGraphTest {
         graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
 
-        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
+        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
 
         graph.addFlight(flight);
 
@@ -105,8 +108,8 @@ class FlightGraphTest {
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
         graph.addAirport(new Airport(3, "FRA", "Frankfurt", "Germany", 50.0, 8.5));
 
-        Flight flight1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
-        Flight flight2 = new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 180, LocalTime.of(9, 30));
+        Flight flight1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
+        Flight flight2 = new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 18000, LocalTime.of(9, 30));
 
         graph.addFlight(flight1);
         graph.addFlight(flight2);
@@ -123,7 +126,7 @@ class FlightGraphTest {
         graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
 
-        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
+        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
 
         graph.addFlight(flight);
 
@@ -157,7 +160,7 @@ class FlightGraphTest {
     void testGetFlightById() {
         graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
-        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
+        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
 
         graph.addFlight(flight);
 
@@ -182,9 +185,9 @@ class FlightGraphTest {
         graph.addAirport(new Airport(3, "LHR", "London", "UK", 51.5, -0.4));
         graph.addAirport(new Airport(4, "FRA", "Frankfurt", "Germany", 50.0, 8.5));
 
-        Flight flight1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
-        Flight flight2 = new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 180, LocalTime.of(9, 30));
-        Flight flight3 = new Flight(3, "LHR", "JFK", "British Airways", "BA400", 420, 650, LocalTime.of(11, 0));
+        Flight flight1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
+        Flight flight2 = new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 18000, LocalTime.of(9, 30));
+        Flight flight3 = new Flight(3, "LHR", "JFK", "British Airways", "BA400", 420, 65000, LocalTime.of(11, 0));
 
         graph.addFlight(flight1);
         graph.addFlight(flight2);
@@ -211,7 +214,7 @@ class FlightGraphTest {
     void testAddFlightWithoutAddingAirports() {
         graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
-        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
+        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
 
         graph.addFlight(flight);
 
@@ -226,9 +229,9 @@ class FlightGraphTest {
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
         graph.addAirport(new Airport(3, "JFK", "New York", "USA", 40.6, -73.8));
 
-        Flight f1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
-        Flight f2 = new Flight(2, "LHR", "JFK", "British Airways", "BA400", 420, 650, LocalTime.of(11, 0));
-        Flight f3 = new Flight(3, "VIE", "JFK", "Austrian", "OS200", 500, 800, LocalTime.of(10, 0));
+        Flight f1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
+        Flight f2 = new Flight(2, "LHR", "JFK", "British Airways", "BA400", 420, 65000, LocalTime.of(11, 0));
+        Flight f3 = new Flight(3, "VIE", "JFK", "Austrian", "OS200", 500, 80000, LocalTime.of(10, 0));
 
         graph.addFlight(f1);
         graph.addFlight(f2);
@@ -245,9 +248,9 @@ class FlightGraphTest {
         graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
 
-        Flight morning = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
-        Flight afternoon = new Flight(2, "VIE", "LHR", "Austrian", "OS102", 120, 280, LocalTime.of(14, 0));
-        Flight evening = new Flight(3, "VIE", "LHR", "British Airways", "BA200", 120, 300, LocalTime.of(18, 0));
+        Flight morning = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
+        Flight afternoon = new Flight(2, "VIE", "LHR", "Austrian", "OS102", 120, 28000, LocalTime.of(14, 0));
+        Flight evening = new Flight(3, "VIE", "LHR", "British Airways", "BA200", 120, 30000, LocalTime.of(18, 0));
 
         graph.addFlight(morning);
         graph.addFlight(afternoon);
@@ -265,8 +268,8 @@ class FlightGraphTest {
         graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
         graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
 
-        Flight vieToLhr = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
-        Flight lhrToVie = new Flight(2, "LHR", "VIE", "British Airways", "BA200", 120, 280, LocalTime.of(14, 0));
+        Flight vieToLhr = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
+        Flight lhrToVie = new Flight(2, "LHR", "VIE", "British Airways", "BA200", 120, 28000, LocalTime.of(14, 0));
 
         graph.addFlight(vieToLhr);
         graph.addFlight(lhrToVie);
@@ -284,10 +287,10 @@ class FlightGraphTest {
         graph.addAirport(new Airport(3, "FRA", "Frankfurt", "Germany", 50.0, 8.5));
         graph.addAirport(new Airport(4, "JFK", "New York", "USA", 40.6, -73.8));
 
-        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0)));
-        graph.addFlight(new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 180, LocalTime.of(9, 0)));
-        graph.addFlight(new Flight(3, "LHR", "JFK", "British Airways", "BA300", 420, 650, LocalTime.of(11, 0)));
-        graph.addFlight(new Flight(4, "FRA", "JFK", "Lufthansa", "LH400", 450, 700, LocalTime.of(12, 0)));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 18000, LocalTime.of(9, 0)));
+        graph.addFlight(new Flight(3, "LHR", "JFK", "British Airways", "BA300", 420, 65000, LocalTime.of(11, 0)));
+        graph.addFlight(new Flight(4, "FRA", "JFK", "Lufthansa", "LH400", 450, 70000, LocalTime.of(12, 0)));
 
         assertEquals(2, graph.getFlightsFrom("VIE").size());
         assertEquals(1, graph.getFlightsFrom("LHR").size());
@@ -317,8 +320,8 @@ class FlightGraphTest {
         graph.addAirport(new Airport(3, "FRA", "Frankfurt", "Germany", 50.0, 8.5));
 
 
-        Flight f1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 250, LocalTime.of(8, 0));
-        Flight f2 = new Flight(1, "VIE", "FRA", "Lufthansa", "LH200", 90, 180, LocalTime.of(9, 0));
+        Flight f1 = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0));
+        Flight f2 = new Flight(1, "VIE", "FRA", "Lufthansa", "LH200", 90, 18000, LocalTime.of(9, 0));
 
         graph.addFlight(f1);
         graph.addFlight(f2);
@@ -337,4 +340,54 @@ class FlightGraphTest {
         assertNull(graph.getFlightById(1));
         assertTrue(graph.getAllFlights().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUpdateAndRemoveFlight() {
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(3, "FRA", "Frankfurt", "Germany", 50.0, 8.5));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 18000, LocalTime.of(9, 0)));
+
+        Flight retimed = new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 21000, LocalTime.of(7, 30));
+        Flight moved = new Flight(2, "LHR", "FRA", "Lufthansa", "LH200", 95, 18000, LocalTime.of(9, 0));
+
+        assertEquals(25000, graph.updateFlight(retimed).getPriceCents());
+        graph.updateFlight(moved);
+
+        assertEquals(List.of(retimed), graph.getFlightsFrom("VIE"));
+        assertEquals(List.of(moved), graph.getFlightsFrom("LHR"));
+        assertEquals(retimed, graph.removeFlight(1));
+        assertNull(graph.removeFlight(1));
+        assertTrue(graph.getFlightsFrom("VIE").isEmpty());
+        assertEquals(1, graph.getAllFlights().size());
+    }
+
+    @Test
+    void testApplyChanges() {
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(3, "FRA", "Frankfurt", "Germany", 50.0, 8.5));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 18000, LocalTime.of(9, 0)));
+
+        SymbolTable symbols = new SymbolTable();
+        FlightGraph.DeltaResult result = graph.applyChanges(List.of(
+            FlightChange.fromCsv("ADD,3,LHR,FRA,Lufthansa,LH901,90,120.00,14:00", symbols),
+            FlightChange.fromCsv("UPDATE,1,VIE,LHR,Austrian,OS100,120,199.90,08:00", symbols),
+            FlightChange.fromCsv("REMOVE,2", symbols),
+            FlightChange.fromCsv("ADD,1,VIE,LHR,Austrian,OS102,120,250.00,18:00", symbols),
+            FlightChange.fromCsv("REMOVE,99", symbols),
+            FlightChange.fromCsv("ADD,4,VIE,XXX,Austrian,OS104,120,250.00,18:00", symbols)
+        ));
+
+        assertEquals(1, result.added());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.removed());
+        assertEquals(3, result.rejected().size());
+        assertEquals(Set.of("VIE", "LHR", "FRA"), result.affectedAirports());
+        assertEquals(19990, graph.getFlightById(1).getPriceCents());
+        assertNull(graph.getFlightById(2));
+        assertEquals(2, graph.getAllFlights().size());
+    }
+}
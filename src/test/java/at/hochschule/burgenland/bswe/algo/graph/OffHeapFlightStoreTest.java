@@ -0,0 +1,183 @@
+package at.hochschule.burgenland.bswe.algo.graph;
+
+import at.hochschule.burgenland.bswe.algo.algorithm.Calculator;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.FlightChange;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapFlightStoreTest {
+
+    private FlightGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new FlightGraph(new OffHeapFlightStore(4));
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(3, "JFK", "New York", "USA", 40.6, -73.8));
+    }
+
+    @Test
+    void testRoundTrip() {
+        Flight flight = new Flight(7, "VIE", "LHR", "Austrian", "OS100", 120, 25050, LocalTime.of(8, 15));
+        graph.addFlight(flight);
+
+        assertEquals(flight, graph.getFlightById(7));
+        assertNull(graph.getFlightById(8));
+        assertEquals(List.of(flight), graph.getFlightsFrom("VIE"));
+        assertTrue(graph.getFlightsFrom("JFK").isEmpty());
+        assertTrue(graph.getFlightsFrom("XXX").isEmpty());
+    }
+
+    @Test
+    void testAdjacencyKeepsInsertionOrderAcrossGrowth() {
+        List<Flight> fromVienna = new ArrayList<>();
+        for (int id = 1; id <= 70_000; id++) {
+            Flight flight = new Flight(id, id % 2 == 0 ? "VIE" : "LHR", "JFK", "Austrian", "OS" + id,
+                    60 + id % 600, id * 10L, LocalTime.of(id % 24, id % 60));
+            graph.addFlight(flight);
+            if (id % 2 == 0) {
+                fromVienna.add(flight);
+            }
+        }
+
+        assertEquals(fromVienna, graph.getFlightsFrom("VIE"));
+        assertEquals(70_000, graph.getAllFlights().size());
+        assertEquals("OS65537", graph.getFlightById(65_537).getFlightNumber());
+    }
+
+    @Test
+    void testDuplicateIdReplacesFlight() {
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(1, "VIE", "JFK", "Austrian", "OS200", 500, 80000, LocalTime.of(9, 0)));
+
+        assertEquals("OS200", graph.getFlightById(1).getFlightNumber());
+        assertEquals(1, graph.getAllFlights().size());
+    }
+
+    @Test
+    void testFlightCountFollowsChanges() {
+        OffHeapFlightStore store = new OffHeapFlightStore(4);
+        store.add(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 120, 25000, LocalTime.of(8, 0)));
+        store.add(new Flight(2, "VIE", "JFK", "Austrian", "OS200", 500, 80000, LocalTime.of(9, 0)));
+        store.add(new Flight(1, "VIE", "JFK", "Austrian", "OS101", 500, 80000, LocalTime.of(9, 0)));
+        store.update(new Flight(2, "LHR", "JFK", "British Airways", "BA200", 400, 60000, LocalTime.of(10, 0)));
+        assertEquals(2, store.flights().size());
+
+        store.remove(1);
+        store.remove(1);
+        store.remove(3);
+        assertEquals(1, store.flights().size());
+        assertEquals(List.of(2), store.flights().stream().map(Flight::getId).toList());
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void testRejectsLongFlightNumber() {
+        Flight flight = new Flight(1, "VIE", "LHR", "Austrian", "OS1234567890123", 120, 25000, LocalTime.of(8, 0));
+        assertThrows(IllegalArgumentException.class, () -> graph.addFlight(flight));
+    }
+
+    @Test
+    void testCalculatorOnOffHeapGraph() {
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 55000, LocalTime.of(9, 0)));
+
+        Route route = new Calculator(graph).findCheapestRoute("VIE", "JFK");
+
+        assertEquals(List.of(1, 2), route.getFlights());
+        assertEquals(50000, route.getTotalPriceCents());
+    }
+
+    @Test
+    void testRandomChangesMatchOnHeapGraph() {
+        FlightGraph reference = new FlightGraph();
+        graph.getAllAirports().forEach(reference::addAirport);
+        String[] airports = {"VIE", "LHR", "JFK"};
+        Random random = new Random(11);
+
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(2_000);
+            Flight flight = new Flight(id, airports[random.nextInt(3)], airports[random.nextInt(3)], "Austrian",
+                    "OS" + step, 60 + random.nextInt(600), random.nextInt(100_000), LocalTime.of(random.nextInt(24), 0));
+            List<FlightChange> changes = switch (random.nextInt(3)) {
+                case 0 -> List.of(FlightChange.add(flight));
+                case 1 -> List.of(FlightChange.update(flight));
+                default -> List.of(FlightChange.remove(id));
+            };
+
+            assertEquals(reference.applyChanges(changes).rejected().size(), graph.applyChanges(changes).rejected().size());
+        }
+
+        for (String airport : airports) {
+            assertEquals(reference.getFlightsFrom(airport), graph.getFlightsFrom(airport));
+        }
+        for (int id = 0; id < 2_000; id++) {
+            assertEquals(reference.getFlightById(id), graph.getFlightById(id));
+        }
+        assertEquals(reference.getAllFlights().size(), graph.getAllFlights().size());
+        assertEquals(reference.getFlightsFrom("VIE"), graph.mutableCopy().getFlightsFrom("VIE"));
+    }
+
+    @Test
+    void testCopiesChangeIndependently() {
+        for (FlightGraph original : List.of(new FlightGraph(), new FlightGraph(new OffHeapFlightStore(4)))) {
+            String[] airports = {"VIE", "LHR", "JFK"};
+            FlightGraph originalReference = new FlightGraph();
+            FlightGraph copyReference = new FlightGraph();
+            for (FlightGraph target : List.of(original, originalReference, copyReference)) {
+                graph.getAllAirports().forEach(target::addAirport);
+            }
+            // enough flights for several chunks, index pages and FlightIndex partitions
+            for (int id = 0; id < 70_000; id++) {
+                Flight flight = new Flight(id, airports[id % 3], airports[(id + 1) % 3], "Austrian", "OS" + id,
+                        60, 10000 + id, LocalTime.of(id % 24, 0));
+                original.addFlight(flight);
+                originalReference.addFlight(flight);
+                copyReference.addFlight(flight);
+            }
+
+            FlightGraph copy = original.mutableCopy();
+            Random random = new Random(5);
+            for (int step = 0; step < 2_000; step++) {
+                int id = random.nextInt(80_000);
+                Flight flight = new Flight(id, airports[random.nextInt(3)], airports[random.nextInt(3)], "Austrian",
+                        "OS" + step, 60, random.nextInt(100_000), LocalTime.of(random.nextInt(24), 0));
+                List<FlightChange> changes = switch (random.nextInt(3)) {
+                    case 0 -> List.of(FlightChange.add(flight));
+                    case 1 -> List.of(FlightChange.update(flight));
+                    default -> List.of(FlightChange.remove(id));
+                };
+                if (random.nextBoolean()) {
+                    copy.applyChanges(changes);
+                    copyReference.applyChanges(changes);
+                } else {
+                    original.applyChanges(changes);
+                    originalReference.applyChanges(changes);
+                }
+            }
+
+            for (String airport : airports) {
+                assertEquals(originalReference.getFlightsFrom(airport), original.getFlightsFrom(airport));
+                assertEquals(copyReference.getFlightsFrom(airport), copy.getFlightsFrom(airport));
+            }
+            for (int id = 0; id < 80_000; id++) {
+                assertEquals(originalReference.getFlightById(id), original.getFlightById(id));
+                assertEquals(copyReference.getFlightById(id), copy.getFlightById(id));
+            }
+            assertEquals(originalReference.getAllFlights().size(), original.getAllFlights().size());
+            assertEquals(copyReference.getAllFlights().size(), copy.getAllFlights().size());
+        }
+    }
+}
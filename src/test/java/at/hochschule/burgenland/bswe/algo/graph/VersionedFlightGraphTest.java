@@ -0,0 +1,119 @@
+package at.hochschule.burgenland.bswe.algo.graph;
+
+import at.hochschule.burgenland.bswe.algo.algorithm.Calculator;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedFlightGraphTest {
+
+    private VersionedFlightGraph network;
+
+    @BeforeEach
+    void setUp() {
+        FlightGraph graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(3, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        network = new VersionedFlightGraph(graph);
+    }
+
+    @Test
+    void testPublishedGraphIsFrozen() {
+        FlightGraph graph = network.get();
+
+        assertTrue(graph.isFrozen());
+        assertThrows(IllegalStateException.class,
+                () -> graph.addAirport(new Airport(4, "CDG", "Paris", "France", 49.0, 2.5)));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getFlightsFrom("VIE").clear());
+    }
+
+    @Test
+    void testUpdateLeavesOldSnapshotUnchanged() {
+        VersionedFlightGraph.Snapshot before = network.snapshot();
+
+        VersionedFlightGraph.Snapshot after = network.update(graph ->
+                graph.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 30000, LocalTime.of(9, 0))));
+
+        assertEquals(before.version() + 1, after.version());
+        assertSame(after.graph(), network.get());
+        assertNull(before.graph().getFlightById(3));
+        assertEquals(1, before.graph().getFlightsFrom("VIE").size());
+        assertEquals(2, after.graph().getFlightsFrom("VIE").size());
+    }
+
+    @Test
+    void testChangesSincePreviousVersion() {
+        FlightGraph first = network.get();
+        FlightGraph second = network.update(graph -> {
+            graph.addAirport(new Airport(4, "CDG", "Paris", "France", 49.0, 2.5));
+            graph.updateFlight(new Flight(1, "VIE", "CDG", "Austrian", "OS100", 120, 10000, LocalTime.of(8, 0)));
+        }).graph();
+        FlightGraph third = network.update(graph -> graph.removeFlight(2)).graph();
+
+        assertEquals(Set.of("CDG"), second.changesSince(first).airports());
+        assertEquals(Set.of("VIE", "LHR", "CDG"), second.changesSince(first).flightAirports());
+        assertEquals(Set.of(), third.changesSince(second).airports());
+        assertEquals(Set.of("LHR", "JFK"), third.changesSince(second).flightAirports());
+        assertNull(third.changesSince(first));
+        assertNull(network.publish(new FlightGraph()).graph().changesSince(third));
+    }
+
+    @Test
+    void testQueriesRunDuringPublications() throws Exception {
+        Calculator calculator = new Calculator(network);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                readers.add(executor.submit(() -> {
+                    int queries = 0;
+                    while (running.get() || queries == 0) {
+                        Route route = calculator.findCheapestRoute("VIE", "JFK");
+                        // every published version offers either the direct or the connecting route
+                        assertNotNull(route);
+                        assertTrue(route.getTotalPriceCents() == 30000 || route.getTotalPriceCents() == 50000);
+                        queries++;
+                    }
+                    return queries;
+                }));
+            }
+
+            for (int i = 0; i < 200; i++) {
+                FlightGraph next = new FlightGraph();
+                network.get().getAllAirports().forEach(next::addAirport);
+                next.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+                next.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+                if (i % 2 == 0) {
+                    next.addFlight(new Flight(3, "VIE", "JFK", "Austrian", "OS101", 500, 30000, LocalTime.of(9, 0)));
+                }
+                network.publish(next);
+            }
+            running.set(false);
+
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get() > 0);
+            }
+            assertEquals(201, network.getVersion());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package at.hochschule.burgenland.bswe.algo.io;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.OffHeapFlightStore;
+import at.hochschule.burgenland.bswe.algo.graph.VersionedFlightGraph;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataReloaderTest {
+
+    private static final String AIRPORTS = """
+            id,iata,city,country,latitude,longitude
+            1,VIE,Schwechat,Österreich,48.11083,16.57083
+            2,LHR,London,UK,51.47000,-0.45430
+            3,JFK,New York,USA,40.63980,-73.77890
+            """;
+
+    @TempDir
+    Path directory;
+
+    private Path airportsFile;
+    private Path flightsFile;
+    private VersionedFlightGraph network;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        airportsFile = Files.writeString(directory.resolve("airports.csv"), AIRPORTS);
+        flightsFile = Files.writeString(directory.resolve("flights.csv"), """
+                id,origin,destination,airline,flightNumber,duration,price,departureTime
+                1,VIE,LHR,Austrian,OS451,135,220.00,10:00
+                2,LHR,JFK,British Airways,BA117,450,520.00,13:00
+                """);
+        network = new VersionedFlightGraph(new FlightGraph());
+    }
+
+    @Test
+    void testReloadPublishesNewVersionWithDiff() throws IOException {
+        DataReloader reloader = new DataReloader(network, airportsFile, flightsFile, result -> { });
+        reloader.reload();
+        FlightGraph first = network.get();
+
+        Files.writeString(flightsFile, """
+                id,origin,destination,airline,flightNumber,duration,price,departureTime
+                1,VIE,LHR,Austrian,OS451,135,199.00,10:00
+                3,VIE,JFK,Austrian,OS87,560,640.00,11:05
+                """);
+        DataReloader.ReloadResult result = reloader.reload();
+
+        assertEquals(3, result.version());
+        assertEquals(2, result.flights());
+        assertEquals(1, result.addedFlights());
+        assertEquals(1, result.removedFlights());
+        assertEquals(1, result.changedFlights());
+        assertEquals(0, result.addedAirports());
+        assertNotNull(first.getFlightById(2));
+        assertNull(network.get().getFlightById(2));
+    }
+
+    @Test
+    void testIncompleteDataKeepsCurrentGraph() throws IOException {
+        DataReloader reloader = new DataReloader(network, airportsFile, flightsFile, result -> { });
+        reloader.reload();
+        Files.writeString(flightsFile, "id,origin,destination,airline,flightNumber,duration,price,departureTime\n");
+
+        assertThrows(IllegalStateException.class, reloader::reload);
+        assertEquals(2, network.getVersion());
+        assertEquals(2, network.get().getAllFlights().size());
+    }
+
+    @Test
+    void testFlightDiffAcrossStores() {
+        List<FlightGraph> before = List.of(new FlightGraph(), new FlightGraph(new OffHeapFlightStore()));
+        List<FlightGraph> after = List.of(new FlightGraph(), new FlightGraph(new OffHeapFlightStore()));
+        for (FlightGraph graph : before) {
+            graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.1, 16.5));
+            graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.4, -0.4));
+            graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS451", 135, 22000, LocalTime.of(10, 0)));
+            graph.addFlight(new Flight(2, "LHR", "VIE", "Austrian", "OS452", 135, 22000, LocalTime.of(14, 0)));
+            graph.addFlight(new Flight(3, "VIE", "LHR", "Austrian", "OS453", 135, 22000, LocalTime.of(18, 0)));
+        }
+        for (FlightGraph graph : after) {
+            graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.1, 16.5));
+            graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.4, -0.4));
+            graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS451", 135, 22000, LocalTime.of(10, 0)));
+            graph.addFlight(new Flight(2, "LHR", "VIE", "Austrian", "OS452", 135, 19900, LocalTime.of(14, 0)));
+            graph.addFlight(new Flight(4, "LHR", "VIE", "British Airways", "BA700", 140, 25000, LocalTime.of(7, 0)));
+            graph.addFlight(new Flight(5, "LHR", "VIE", "British Airways", "BA702", 140, 25000, LocalTime.of(9, 0)));
+        }
+
+        for (FlightGraph previous : before) {
+            for (FlightGraph current : after) {
+                assertArrayEquals(new int[] {2, 1, 1}, DataReloader.diffFlights(previous, current));
+            }
+        }
+        assertArrayEquals(new int[] {0, 0, 0}, DataReloader.diffFlights(before.get(1), before.get(0)));
+    }
+
+    @Test
+    void testChangesFileAppliesDelta() throws Exception {
+        Path changesFile = directory.resolve("flight_changes.csv");
+        BlockingQueue<DataReloader.ReloadResult> results = new LinkedBlockingQueue<>();
+        try (DataReloader reloader = new DataReloader(network, airportsFile, flightsFile, changesFile, results::add)) {
+            reloader.reload();
+            FlightGraph before = network.get();
+            reloader.start();
+            Files.writeString(changesFile, """
+                    operation,id,origin,destination,airline,flightNumber,duration,price,departureTime
+                    UPDATE,1,VIE,LHR,Austrian,OS451,135,199.00,10:00
+                    ADD,3,VIE,JFK,Austrian,OS87,560,640.00,11:05
+                    REMOVE,99
+                    """);
+
+            DataReloader.ReloadResult result = results.poll(20, TimeUnit.SECONDS);
+            assertNotNull(result);
+            assertEquals(3, result.flights());
+            assertEquals(1, result.addedFlights());
+            assertEquals(0, result.removedFlights());
+            assertEquals(1, result.changedFlights());
+            assertEquals(19900, network.get().getFlightById(1).getPriceCents());
+            assertEquals(22000, before.getFlightById(1).getPriceCents());
+            assertEquals(Set.of("VIE", "LHR", "JFK"), network.get().changesSince(before).flightAirports());
+        }
+    }
+
+    @Test
+    void testFileChangeTriggersReload() throws Exception {
+        BlockingQueue<DataReloader.ReloadResult> results = new LinkedBlockingQueue<>();
+        try (DataReloader reloader = new DataReloader(network, airportsFile, flightsFile, results::add)) {
+            reloader.start();
+            Files.writeString(flightsFile, """
+                    id,origin,destination,airline,flightNumber,duration,price,departureTime
+                    1,VIE,LHR,Austrian,OS451,135,220.00,10:00
+                    """);
+
+            DataReloader.ReloadResult result = results.poll(20, TimeUnit.SECONDS);
+            assertNotNull(result);
+            assertEquals(1, result.flights());
+            assertSame(network.get(), network.snapshot().graph());
+            assertEquals(result.version(), network.getVersion());
+        }
+    }
+}
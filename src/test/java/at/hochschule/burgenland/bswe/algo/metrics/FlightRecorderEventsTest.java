@@ -0,0 +1,87 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import at.hochschule.burgenland.bswe.algo.algorithm.Calculator;
+import at.hochschule.burgenland.bswe.algo.comparator.PriceComparator;
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.io.CsvReader;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import at.hochschule.burgenland.bswe.algo.sorting.MergeSort;
+import at.hochschule.burgenland.bswe.algo.sorting.QuickSort;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEventsAreRecorded() throws Exception {
+        FlightGraph graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(3, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+
+        List<Route> routes = new ArrayList<>(List.of(
+                new Route(1, List.of(1, 2), 420, 50000, 1),
+                new Route(2, List.of(1), 60, 10000, 0),
+                new Route(3, List.of(2), 360, 40000, 0)));
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CsvLoadEvent.class);
+            recording.enable(RouteSearchEvent.class);
+            recording.enable(SortEvent.class);
+            recording.start();
+
+            CsvReader.readAirports("airports.csv");
+            new Calculator(graph).findOptimalRoute(Set.of("VIE"), Set.of("JFK"), Calculator.RouteOptimization.PRICE);
+            MergeSort.sort(routes, new PriceComparator());
+            QuickSort.sort(routes, new PriceComparator());
+
+            recording.stop();
+            Path file = directory.resolve("events.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        RecordedEvent load = find(events, "at.hochschule.burgenland.bswe.algo.CsvLoad");
+        assertEquals("airports.csv", load.getString("file"));
+        assertTrue(load.getInt("rows") > 0);
+
+        RecordedEvent search = find(events, "at.hochschule.burgenland.bswe.algo.RouteSearch");
+        assertEquals("VIE", search.getString("origins"));
+        assertEquals("JFK", search.getString("destinations"));
+        assertEquals("PRICE", search.getString("criterion"));
+        assertEquals(2, search.getInt("statesExpanded"));
+        assertEquals(1, search.getInt("routesFound"));
+
+        List<String> algorithms = events.stream()
+                .filter(event -> event.getEventType().getName().equals("at.hochschule.burgenland.bswe.algo.Sort"))
+                .map(event -> event.getString("algorithm") + ":" + event.getInt("size") + ":" + event.getString("comparator"))
+                .toList();
+        assertEquals(List.of("merge:3:PriceComparator", "quick:3:PriceComparator"), algorithms);
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Kein Event " + name));
+    }
+}
@@ -0,0 +1,126 @@
+package at.hochschule.burgenland.bswe.algo.metrics;
+
+import at.hochschule.burgenland.bswe.algo.algorithm.Calculator;
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.io.CsvReader;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.registry().clear();
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500_000, histogram.getSum());
+        assertEquals(500_500, histogram.getMean());
+        // buckets have a relative error of at most 1/16
+        assertEquals(500_000, histogram.percentile(50), 500_000 / 16.0);
+        assertEquals(990_000, histogram.percentile(99), 990_000 / 16.0);
+        assertEquals(1000, histogram.percentile(0), 1000 / 16.0);
+    }
+
+    @Test
+    void testRegistryReturnsSameMetricPerLabels() {
+        MetricRegistry registry = new MetricRegistry();
+
+        registry.counter("queries_total", "criterion", "price").increment();
+        registry.counter("queries_total", "criterion", "price").add(2);
+        registry.counter("queries_total", "criterion", "duration").increment();
+
+        assertEquals(3, registry.counter("queries_total", "criterion", "price").get());
+        assertEquals(1, registry.counter("queries_total", "criterion", "duration").get());
+        assertThrows(IllegalArgumentException.class, () -> registry.timer("queries_total", "criterion", "price"));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("queries_total", "criterion"));
+    }
+
+    @Test
+    void testPrometheusFormat() {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("queries_total", "criterion", "price").add(3);
+        registry.timer("search_seconds").record(2_000_000_000L);
+        registry.histogram("queue_size").record(12);
+
+        String text = registry.toPrometheus();
+
+        assertTrue(text.contains("# TYPE queries_total counter\nqueries_total{criterion=\"price\"} 3\n"));
+        assertTrue(text.contains("# TYPE search_seconds summary\n"));
+        assertTrue(text.contains("search_seconds_count 1\n"));
+        assertTrue(text.contains("search_seconds{quantile=\"1\"} 2\n"));
+        assertTrue(text.contains("queue_size{quantile=\"0.5\"} 12\n"));
+        assertEquals("queries_total{criterion=\"price\"}=3 queue_size=[n=1 p50=12.000 p99=12.000] "
+                + "search_seconds=[n=1 p50=2000.000ms p99=2000.000ms]", registry.summary());
+    }
+
+    @Test
+    void testTimerRecordsOnlyWhenEnabled() {
+        Timer timer = new Timer();
+
+        timer.stop(Metrics.start());
+        assertEquals(0, timer.getCount());
+
+        Metrics.setEnabled(true);
+        timer.stop(Metrics.start());
+        assertEquals(1, timer.getCount());
+    }
+
+    @Test
+    void testDisabledMetricsRegisterNothing(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("airports.csv");
+        Files.writeString(file, "id,iata,name,country,latitude,longitude\n");
+
+        CsvReader.readAirports(file);
+        assertFalse(Metrics.registry().toPrometheus().contains("csv_load_seconds"));
+
+        Metrics.setEnabled(true);
+        CsvReader.readAirports(file);
+        assertEquals(1, Metrics.timer("csv_load_seconds", "file", "airports.csv").getCount());
+    }
+
+    @Test
+    void testCalculatorRecordsSearches() {
+        FlightGraph graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Vienna", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(3, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS100", 60, 10000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA150", 360, 40000, LocalTime.of(10, 0)));
+        Calculator calculator = new Calculator(graph);
+
+        calculator.findCheapestRoute("VIE", "JFK");
+        assertEquals(0, Metrics.counter("route_searches_total", "criterion", "price").get());
+
+        Metrics.setEnabled(true);
+        calculator.findCheapestRoute("VIE", "JFK");
+        calculator.findCheapestRoute("VIE", "JFK");
+
+        assertEquals(2, Metrics.counter("route_searches_total", "criterion", "price").get());
+        assertEquals(4, Metrics.counter("route_states_expanded_total", "criterion", "price").get());
+        assertEquals(2, Metrics.timer("route_search_seconds", "criterion", "price").getCount());
+
+        calculator.findSlowestRoute("VIE", "JFK");
+        assertEquals(1, Metrics.counter("route_searches_total", "criterion", "duration_max").get());
+        assertFalse(Metrics.registry().toPrometheus().contains("layered"));
+    }
+}
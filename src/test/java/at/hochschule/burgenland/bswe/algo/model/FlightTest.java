@@ -0,0 +1,37 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightTest {
+
+    @Test
+    void testFromCsvSharesStrings() {
+        SymbolTable symbols = new SymbolTable();
+        Flight first = Flight.fromCsv("10,VIE,LHR,Austrian,OS100,120,250.50,08:00", symbols);
+        Flight second = Flight.fromCsv("20,LHR,VIE,Austrian,OS101,115,199.99,08:00", symbols);
+
+        assertEquals(new Flight(10, "VIE", "LHR", "Austrian", "OS100", 120, 25050, LocalTime.of(8, 0)), first);
+        assertSame(first.getOrigin(), second.getDestination());
+        assertSame(first.getAirline(), second.getAirline());
+        assertSame(first.getDepartureTime(), second.getDepartureTime());
+        assertEquals(3, symbols.size());
+    }
+
+    @Test
+    void testFromCsvWithoutSymbolTable() {
+        Flight flight = Flight.fromCsv("10,VIE,LHR,Austrian,OS100,120,250.50,08:00");
+
+        assertEquals(new Flight(10, "VIE", "LHR", "Austrian", "OS100", 120, 25050, LocalTime.of(8, 0)), flight);
+        assertSame(Flight.timeOfDay(8 * 60), flight.getDepartureTime());
+    }
+
+    @Test
+    void testFromCsvInvalidLine() {
+        assertThrows(IllegalArgumentException.class, () -> Flight.fromCsv("1,VIE,LHR", new SymbolTable()));
+        assertThrows(IllegalArgumentException.class, () -> Flight.fromCsv("1,VIE,LHR"));
+    }
+}
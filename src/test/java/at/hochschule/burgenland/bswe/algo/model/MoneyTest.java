@@ -0,0 +1,53 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import at.hochschule.burgenland.bswe.algo.comparator.CombinationComparator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void testParseCents() {
+        assertEquals(15050, Money.parseCents("150.50"));
+        assertEquals(15050, Money.parseCents(" 150.5 "));
+        assertEquals(115000, Money.parseCents("1150"));
+        assertEquals(8999, Money.parseCents("89.990"));
+        assertEquals(-1250, Money.parseCents("-12.50"));
+        assertEquals(5, Money.parseCents(".05"));
+    }
+
+    @Test
+    void testParseCentsRejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents(""));
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents("12,50"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents("1e3"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parseCents("9.999"));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("150.50", Money.format(15050));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-12.50", Money.format(-1250));
+        assertEquals("1150.00", Money.format(115000));
+    }
+
+    @Test
+    void testRouteTotalIsExact() {
+        SymbolTable symbols = new SymbolTable();
+        Route split = new Route(1, List.of(
+            Flight.fromCsv("1,VIE,FRA,OS,OS1,60,0.10,08:00", symbols),
+            Flight.fromCsv("2,FRA,LHR,LH,LH1,60,0.20,10:00", symbols)));
+        Route direct = new Route(2, List.of(
+            Flight.fromCsv("3,VIE,LHR,OS,OS2,100,0.30,09:00", symbols)));
+
+        assertEquals(30, split.getTotalPriceCents());
+        assertEquals(split.getTotalPriceCents(), direct.getTotalPriceCents());
+        // equal prices, so the shorter direct flight wins
+        assertTrue(new CombinationComparator().compare(direct, split) < 0);
+    }
+}
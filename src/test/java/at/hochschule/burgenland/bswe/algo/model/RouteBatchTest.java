@@ -0,0 +1,84 @@
+package at.hochschule.burgenland.bswe.algo.model;
+
+import at.hochschule.burgenland.bswe.algo.comparator.CombinationComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.DurationComparator;
+import at.hochschule.burgenland.bswe.algo.sorting.MergeSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteBatchTest {
+
+    private List<Route> routes;
+    private RouteBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(23);
+        routes = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            List<Integer> flights = new ArrayList<>();
+            for (int f = 0; f <= random.nextInt(4); f++) {
+                flights.add(random.nextInt(500));
+            }
+            routes.add(new Route(i, flights, random.nextInt(40) * 30, random.nextInt(50) * 1250L, flights.size() - 1));
+        }
+        batch = RouteBatch.of(routes);
+    }
+
+    @Test
+    void testStoresAllColumns() {
+        assertEquals(routes.size(), batch.size());
+        for (int i = 0; i < routes.size(); i++) {
+            assertEquals(routes.get(i), batch.get(i));
+            assertEquals(routes.get(i).getFlights().size(), batch.getFlightCount(i));
+            assertEquals(routes.get(i).getFlights().get(0), batch.getFlightId(i, 0));
+        }
+    }
+
+    @Test
+    void testSortMatchesMergeSort() {
+        List<Route> expected = new ArrayList<>(routes);
+        MergeSort.sort(expected, new CombinationComparator());
+
+        int[] order = batch.sort(new CombinationComparator());
+
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(expected.get(i).getId(), batch.getId(order[i]));
+        }
+    }
+
+    @Test
+    void testSortWithUnknownComparator() {
+        int[] order = batch.sort(Comparator.comparingInt(Route::getId).reversed());
+
+        assertEquals(999, batch.getId(order[0]));
+        assertEquals(0, batch.getId(order[order.length - 1]));
+    }
+
+    @Test
+    void testFilterAndTopK() {
+        int[] direct = batch.filter(i -> batch.getStopovers(i) == 0);
+        int[] best = batch.topK(direct, new DurationComparator(), 10);
+
+        List<Route> expected = new ArrayList<>(routes.stream().filter(r -> r.getStopovers() == 0).toList());
+        MergeSort.sort(expected, new DurationComparator());
+
+        assertEquals(10, best.length);
+        for (int i = 0; i < best.length; i++) {
+            assertEquals(expected.get(i).getId(), batch.getId(best[i]));
+        }
+    }
+
+    @Test
+    void testInvalidIndex() {
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(routes.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.getFlightId(0, 10));
+    }
+}
@@ -0,0 +1,112 @@
+package at.hochschule.burgenland.bswe.algo.search;
+
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AirportIndexTest {
+
+    private List<Airport> airports;
+    private AirportIndex index;
+
+    @BeforeEach
+    void setUp() {
+        airports = new ArrayList<>();
+        airports.add(new Airport(1, "VIE", "Schwechat", "Austria", 48.11083, 16.57083));
+        airports.add(new Airport(2, "BTS", "Bratislava", "Slovakia", 48.17020, 17.21270));
+        airports.add(new Airport(3, "JFK", "New York", "USA", 40.63980, -73.77890));
+        airports.add(new Airport(4, "EWR", "New York", "USA", 40.68950, -74.17450));
+        airports.add(new Airport(5, "LHR", "London", "UK", 51.47000, -0.45410));
+        airports.add(new Airport(6, "SUV", "Suva", "Fiji", -18.04330, 178.55900));
+        airports.add(new Airport(7, "TVU", "Taveuni", "Fiji", -16.69060, -179.87700));
+
+        index = new AirportIndex(airports);
+    }
+
+    @Test
+    void testFindWithinRadius() {
+        List<Airport> result = index.findWithinRadius(48.2, 16.4, 100);
+
+        assertEquals(2, result.size());
+        assertEquals("VIE", result.get(0).getIata());
+        assertEquals("BTS", result.get(1).getIata());
+    }
+
+    @Test
+    void testFindWithinRadiusNoMatch() {
+        List<Airport> result = index.findWithinRadius(0, 0, 100);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testFindWithinRadiusAcrossDateLine() {
+        List<Airport> result = index.findWithinRadius(-17.5, 179.9, 300);
+
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void testFindNearest() {
+        List<Airport> result = index.findNearest(40.7, -74.0, 2);
+
+        assertEquals(2, result.size());
+        assertEquals("EWR", result.get(0).getIata());
+        assertEquals("JFK", result.get(1).getIata());
+    }
+
+    @Test
+    void testFindNearestMoreThanAvailable() {
+        List<Airport> result = index.findNearest(0, 0, 100);
+
+        assertEquals(airports.size(), result.size());
+    }
+
+    @Test
+    void testEmptyIndex() {
+        AirportIndex emptyIndex = new AirportIndex(List.of());
+
+        assertTrue(emptyIndex.findNearest(0, 0, 3).isEmpty());
+        assertTrue(emptyIndex.findWithinRadius(0, 0, 1000).isEmpty());
+    }
+
+    @Test
+    void testDistanceKm() {
+        double distance = AirportIndex.distanceKm(48.11083, 16.57083, 51.47000, -0.45410);
+
+        assertEquals(1275, distance, 5);
+    }
+
+    @Test
+    void testMatchesLinearScan() {
+        Random random = new Random(42);
+        List<Airport> randomAirports = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            randomAirports.add(new Airport(i, "A" + i, "City", "Country",
+                    random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        AirportIndex randomIndex = new AirportIndex(randomAirports);
+
+        for (int query = 0; query < 50; query++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            Comparator<Airport> byDistance = Comparator.comparingDouble(
+                    a -> AirportIndex.distanceKm(lat, lon, a.getLatitude(), a.getLongitude()));
+
+            List<Airport> expectedNearest = randomAirports.stream().sorted(byDistance).limit(5).toList();
+            assertEquals(expectedNearest, randomIndex.findNearest(lat, lon, 5));
+
+            long expectedWithin = randomAirports.stream()
+                    .filter(a -> AirportIndex.distanceKm(lat, lon, a.getLatitude(), a.getLongitude()) <= 500)
+                    .count();
+            assertEquals(expectedWithin, randomIndex.findWithinRadius(lat, lon, 500).size());
+        }
+    }
+}
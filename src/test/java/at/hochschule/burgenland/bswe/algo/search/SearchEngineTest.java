@@ -1,15 +1,21 @@
 package at.hochschule.burgenland.bswe.algo.search;
 
 import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.VersionedFlightGraph;
 import at.hochschule.burgenland.bswe.algo.model.Airport;
 import at.hochschule.burgenland.bswe.algo.model.Flight;
+import at.hochschule.burgenland.bswe.algo.simd.Kernels;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class SearchEngineTest {
 
@@ -26,13 +32,13 @@ class SearchEngineTest {
         graph.addAirport(new Airport(4, "FRA", "Frankfurt Airport", "Germany", 50.0, 8.5));
         graph.addAirport(new Airport(5, "MUC", "Munich Airport", "Germany", 48.3, 11.7));
 
-        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian Airlines", "OS100", 120, 250, LocalTime.of(8, 0)));
-        graph.addFlight(new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 180, LocalTime.of(9, 30)));
-        graph.addFlight(new Flight(3, "VIE", "MUC", "Austrian Airlines", "OS300", 60, 150, LocalTime.of(10, 0)));
-        graph.addFlight(new Flight(4, "LHR", "JFK", "British Airways", "BA400", 420, 650, LocalTime.of(11, 0)));
-        graph.addFlight(new Flight(5, "FRA", "JFK", "Lufthansa", "LH500", 450, 700, LocalTime.of(12, 0)));
-        graph.addFlight(new Flight(6, "MUC", "JFK", "Lufthansa", "LH600", 480, 720, LocalTime.of(13, 0)));
-        graph.addFlight(new Flight(7, "JFK", "VIE", "Austrian Airlines", "OS700", 480, 800, LocalTime.of(18, 0)));
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian Airlines", "OS100", 120, 25000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 18000, LocalTime.of(9, 30)));
+        graph.addFlight(new Flight(3, "VIE", "MUC", "Austrian Airlines", "OS300", 60, 15000, LocalTime.of(10, 0)));
+        graph.addFlight(new Flight(4, "LHR", "JFK", "British Airways", "BA400", 420, 65000, LocalTime.of(11, 0)));
+        graph.addFlight(new Flight(5, "FRA", "JFK", "Lufthansa", "LH500", 450, 70000, LocalTime.of(12, 0)));
+        graph.addFlight(new Flight(6, "MUC", "JFK", "Lufthansa", "LH600", 480, 72000, LocalTime.of(13, 0)));
+        graph.addFlight(new Flight(7, "JFK", "VIE", "Austrian Airlines", "OS700", 480, 80000, LocalTime.of(18, 0)));
 
         searchEngine = new SearchEngine(graph);
     }
@@ -245,4 +251,81 @@ class SearchEngineTest {
         assertEquals(2, austrianFromVie);
         assertTrue(austrianFlights.size() >= austrianFromVie);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchByRange() {
+        List<Flight> flights = searchEngine.searchByRange(FlightFilter.any()
+                .withPrice(15000, 70000)
+                .withDuration(60, 450)
+                .withDeparture(LocalTime.of(9, 0), LocalTime.of(12, 0)));
+
+        assertEquals(List.of(2, 3, 4, 5), flights.stream().map(Flight::getId).sorted().toList());
+    }
+
+    @Test
+    void testSearchByRangeAcrossMidnight() {
+        graph.addFlight(new Flight(8, "VIE", "JFK", "Austrian Airlines", "OS800", 540, 90000, LocalTime.of(23, 30)));
+        graph.addFlight(new Flight(9, "JFK", "LHR", "British Airways", "BA900", 400, 50000, LocalTime.of(1, 15)));
+
+        List<Flight> flights = searchEngine.searchByRange(FlightFilter.any()
+                .withDeparture(LocalTime.of(22, 0), LocalTime.of(2, 0)));
+
+        assertEquals(List.of(8, 9), flights.stream().map(Flight::getId).sorted().toList());
+    }
+
+    @Test
+    void testSearchByRangeInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> FlightFilter.any().withPrice(500, 100));
+        assertThrows(IllegalArgumentException.class, () -> FlightFilter.any().withDeparture(null, LocalTime.NOON));
+    }
+
+    @Test
+    void testSearchByRangeKernelsAgree() {
+        Random random = new Random(5);
+        for (int i = 100; i < 1100; i++) {
+            graph.addFlight(new Flight(i, "VIE", "JFK", "Test", "T" + i, 30 + random.nextInt(900),
+                    random.nextInt(200000), LocalTime.of(random.nextInt(24), random.nextInt(60))));
+        }
+        FlightGraph snapshot = graph.freeze();
+        FlightFilter filter = FlightFilter.any()
+                .withPrice(20000, 150000)
+                .withDuration(120, 600)
+                .withDeparture(LocalTime.of(20, 0), LocalTime.of(6, 30));
+
+        List<Flight> expected = snapshot.getAllAirports().stream()
+                .flatMap(airport -> snapshot.getFlightsFrom(airport.getIata()).stream())
+                .filter(f -> f.getPriceCents() >= 20000 && f.getPriceCents() <= 150000)
+                .filter(f -> f.getDuration() >= 120 && f.getDuration() <= 600)
+                .filter(f -> !f.getDepartureTime().isBefore(LocalTime.of(20, 0))
+                        || !f.getDepartureTime().isAfter(LocalTime.of(6, 30)))
+                .toList();
+
+        assertEquals(expected, new SearchEngine(() -> snapshot, Kernels.scalar()).searchByRange(filter));
+        assumeTrue(Kernels.vector() != null, "jdk.incubator.vector nicht verfügbar");
+        assertEquals(expected, new SearchEngine(() -> snapshot, Kernels.vector()).searchByRange(filter));
+    }
+
+    @Test
+    void testSearchByRangeFollowsDeltas() {
+        VersionedFlightGraph network = new VersionedFlightGraph(graph);
+        SearchEngine engine = new SearchEngine(network);
+        FlightFilter filter = FlightFilter.any().withPrice(20000, 70000);
+        engine.searchByRange(filter);
+
+        network.update(copy -> {
+            copy.addAirport(new Airport(6, "CDG", "Paris Charles de Gaulle", "France", 49.0, 2.5));
+            copy.addFlight(new Flight(8, "CDG", "JFK", "Air France", "AF8", 480, 60000, LocalTime.of(10, 0)));
+            copy.updateFlight(new Flight(2, "VIE", "FRA", "Lufthansa", "LH200", 90, 21000, LocalTime.of(9, 30)));
+            copy.removeFlight(4);
+        });
+        FlightGraph current = network.get();
+        Set<Flight> expected = current.getAllFlights().stream()
+                .filter(f -> f.getPriceCents() >= 20000 && f.getPriceCents() <= 70000)
+                .collect(Collectors.toSet());
+
+        List<Flight> flights = engine.searchByRange(filter);
+        assertEquals(expected.size(), flights.size());
+        assertEquals(expected, Set.copyOf(flights));
+        assertEquals(Set.of(1, 2, 5, 8), flights.stream().map(Flight::getId).collect(Collectors.toSet()));
+    }
+}
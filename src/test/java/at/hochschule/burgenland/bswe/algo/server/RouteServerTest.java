@@ -0,0 +1,195 @@
+package at.hochschule.burgenland.bswe.algo.server;
+
+import at.hochschule.burgenland.bswe.algo.graph.FlightGraph;
+import at.hochschule.burgenland.bswe.algo.graph.VersionedFlightGraph;
+import at.hochschule.burgenland.bswe.algo.metrics.Histogram;
+import at.hochschule.burgenland.bswe.algo.metrics.Metrics;
+import at.hochschule.burgenland.bswe.algo.model.Airport;
+import at.hochschule.burgenland.bswe.algo.model.AirportGroup;
+import at.hochschule.burgenland.bswe.algo.model.Flight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteServerTest {
+
+    private VersionedFlightGraph network;
+    private RouteServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FlightGraph graph = new FlightGraph();
+        graph.addAirport(new Airport(1, "VIE", "Wien", "Austria", 48.2, 16.3));
+        graph.addAirport(new Airport(2, "LHR", "London", "UK", 51.5, -0.4));
+        graph.addAirport(new Airport(3, "JFK", "New York", "USA", 40.6, -73.8));
+        graph.addAirport(new Airport(4, "EWR", "Newark", "USA", 40.7, -74.2));
+
+        graph.addFlight(new Flight(1, "VIE", "LHR", "Austrian", "OS451", 135, 22000, LocalTime.of(8, 0)));
+        graph.addFlight(new Flight(2, "LHR", "JFK", "British Airways", "BA117", 450, 52000, LocalTime.of(12, 0)));
+        graph.addFlight(new Flight(3, "VIE", "EWR", "United", "UA964", 600, 60050, LocalTime.of(10, 0)));
+
+        network = new VersionedFlightGraph(graph);
+        server = new RouteServer(network, List.of(new AirportGroup("NYC", "New York City", List.of("JFK", "EWR"))), 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testRouteByPrice() throws Exception {
+        HttpResponse<String> response = get("/api/routes?from=VIE&to=NYC&criterion=price");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"totalPrice\":600.50"));
+        assertTrue(response.body().contains("\"flightNumber\":\"UA964\""));
+    }
+
+    @Test
+    void testRouteByStopoversUsesPublishedGraph() throws Exception {
+        network.update(graph -> graph.removeFlight(3));
+
+        HttpResponse<String> response = get("/api/routes?from=VIE&to=NYC&criterion=stopovers");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"stopovers\":1"));
+        assertTrue(response.body().contains("\"flightNumber\":\"BA117\""));
+    }
+
+    @Test
+    void testRouteErrors() throws Exception {
+        assertEquals(400, get("/api/routes?from=VIE").statusCode());
+        assertEquals(400, get("/api/routes?from=VIE&to=XYZ").statusCode());
+        assertEquals(400, get("/api/routes?from=VIE&to=JFK&criterion=cheap").statusCode());
+        assertEquals(404, get("/api/routes?from=JFK&to=VIE").statusCode());
+    }
+
+    @Test
+    void testRouteWithTrace() throws Exception {
+        HttpResponse<String> response = get("/api/routes?from=VIE&to=JFK&criterion=duration&trace=true");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"route\":{"));
+        assertTrue(response.body().contains("\"trace\":{\"optimization\":\"DURATION\""));
+        assertEquals(0, server.getCoalescer().getQueries());
+    }
+
+    @Test
+    void testProfile() throws Exception {
+        HttpResponse<String> response = get("/api/profile?from=VIE&to=NYC");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"from\":\"VIE\",\"to\":\"NYC\",\"journeys\":[{\"departure\":\"08:00\""));
+        assertTrue(response.body().contains("\"arrival\":\"19:30\",\"arrivalDay\":0"));
+        assertTrue(response.body().contains("\"departure\":\"10:00\",\"arrival\":\"20:00\""));
+        assertEquals(404, get("/api/profile?from=JFK&to=VIE").statusCode());
+        assertEquals(400, get("/api/profile?from=VIE&to=XYZ").statusCode());
+    }
+
+    @Test
+    void testFlightSearch() throws Exception {
+        HttpResponse<String> byOrigin = get("/api/flights?origin=vie");
+        assertEquals(200, byOrigin.statusCode());
+        assertTrue(byOrigin.body().contains("\"iata\":\"VIE\""));
+        assertTrue(byOrigin.body().contains("OS451") && byOrigin.body().contains("UA964"));
+
+        HttpResponse<String> byAirline = get("/api/flights?airline=British%20Airways");
+        assertTrue(byAirline.body().startsWith("[") && byAirline.body().contains("BA117"));
+
+        assertEquals(404, get("/api/flights?number=XX1").statusCode());
+        assertEquals(400, get("/api/flights").statusCode());
+    }
+
+    @Test
+    void testFlightRangeSearch() throws Exception {
+        HttpResponse<String> byPrice = get("/api/flights?minPrice=200&maxPrice=550");
+        assertEquals(200, byPrice.statusCode());
+        assertTrue(byPrice.body().contains("OS451") && byPrice.body().contains("BA117"));
+        assertFalse(byPrice.body().contains("UA964"));
+
+        HttpResponse<String> byDeparture = get("/api/flights?earliest=09:00&latest=11:00&minDuration=300");
+        assertTrue(byDeparture.body().contains("UA964"));
+        assertFalse(byDeparture.body().contains("OS451") || byDeparture.body().contains("BA117"));
+
+        network.update(graph -> graph.removeFlight(1));
+        assertFalse(get("/api/flights?maxPrice=550").body().contains("OS451"));
+
+        assertEquals(400, get("/api/flights?minPrice=abc").statusCode());
+        assertEquals(400, get("/api/flights?earliest=25:00").statusCode());
+        assertEquals(400, get("/api/flights?minPrice=300&maxPrice=100").statusCode());
+    }
+
+    @Test
+    void testSortWithLimit() throws Exception {
+        String routes = """
+                1,1-2,615,740.00,1
+                2,3,600,600.50,0
+                3,1,135,220.00,0
+                """;
+        HttpResponse<String> response;
+        Metrics.setEnabled(true);
+        try {
+            response = client.send(HttpRequest.newBuilder(uri("/api/sort?algorithm=radix&criterion=price&limit=2"))
+                    .POST(HttpRequest.BodyPublishers.ofString(routes)).build(), HttpResponse.BodyHandlers.ofString());
+        } finally {
+            Metrics.setEnabled(false);
+        }
+
+        assertEquals(200, response.statusCode());
+        String body = response.body();
+        assertTrue(body.indexOf("\"id\":3") < body.indexOf("\"id\":2"));
+        assertFalse(body.contains("\"id\":1,"));
+        // a partial run is recorded as the selection executed, like in the menu
+        assertEquals(1, Metrics.timer("route_sort_seconds", "algorithm", "heap_select").getCount());
+        assertEquals(0, Metrics.timer("route_sort_seconds", "algorithm", "radix").getCount());
+        Metrics.registry().clear();
+    }
+
+    @Test
+    void testConcurrentRequestsAreRecorded() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri("/api/routes?from=VIE&to=JFK")).build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode());
+        }
+
+        Histogram latency = server.getLatency("/api/routes");
+        assertEquals(200, latency.getCount());
+        assertTrue(latency.percentile(50) <= latency.percentile(99));
+        assertTrue(latency.percentile(99) <= latency.getMax());
+
+        HttpResponse<String> stats = get("/api/stats");
+        assertTrue(stats.body().contains("\"/api/routes\":{\"count\":200"));
+
+        HttpResponse<String> metrics = get("/api/metrics");
+        assertTrue(metrics.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+        assertTrue(metrics.body().contains("http_request_seconds_count{path=\"/api/routes\"} 200"));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
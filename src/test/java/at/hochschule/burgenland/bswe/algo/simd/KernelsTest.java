@@ -0,0 +1,106 @@
+package at.hochschule.burgenland.bswe.algo.simd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class KernelsTest {
+
+    @Test
+    void testScalarGatherAdd() {
+        int[] values = {-1, 10, 20};
+        int[] index = {2, 0, 1, 2};
+        int[] addend = {1, 2, 3, 4};
+        int[] out = new int[4];
+
+        Kernels.scalar().gatherAdd(values, index, addend, out, 1, 4);
+
+        assertArrayEquals(new int[]{0, -1, 13, 24}, out);
+    }
+
+    @Test
+    void testScalarSelectRowsAcrossMidnight() {
+        long[] price = {100, 200, 300, 400};
+        int[] duration = {60, 60, 60, 600};
+        int[] minute = {23 * 60, 12 * 60, 60, 30};
+        int[] rows = new int[4];
+
+        int count = Kernels.scalar().selectRows(price, 0, 1000, duration, 0, 120, minute, 22 * 60, 2 * 60, rows);
+
+        assertEquals(2, count);
+        assertArrayEquals(new int[]{0, 2}, Arrays.copyOf(rows, count));
+    }
+
+    @Test
+    void testGetPrefersVectorIfAvailable() {
+        Kernels kernels = Kernels.get();
+
+        if (Kernels.vector() == null || "false".equals(System.getProperty("algo.simd"))) {
+            assertEquals("scalar", kernels.name());
+        } else {
+            assertTrue(kernels.name().startsWith("vector"));
+        }
+    }
+
+    @Test
+    void testVectorMatchesScalar() {
+        assumeTrue(Kernels.vector() != null, "jdk.incubator.vector nicht verfügbar");
+        Kernels scalar = Kernels.scalar();
+        Kernels vector = Kernels.vector();
+        Random random = new Random(3);
+
+        // lengths around multiples of the vector length exercise the scalar tail
+        for (int size : new int[]{0, 1, 7, 8, 9, 16, 31, 100, 1000}) {
+            int[] values = new int[size + 5];
+            long[] longValues = new long[size + 5];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(10) == 0 ? -1 : random.nextInt(100000);
+                longValues[i] = random.nextInt(10) == 0 ? -1 : random.nextInt(1 << 30) * 7L;
+            }
+            int[] index = new int[size];
+            int[] addend = new int[size];
+            long[] longAddend = new long[size];
+            long[] price = new long[size];
+            int[] duration = new int[size];
+            int[] minute = new int[size];
+            for (int i = 0; i < size; i++) {
+                index[i] = random.nextInt(values.length);
+                addend[i] = random.nextInt(1000);
+                longAddend[i] = random.nextInt(1000000);
+                price[i] = random.nextInt(200000);
+                duration[i] = random.nextInt(900);
+                minute[i] = random.nextInt(24 * 60);
+            }
+            int from = Math.min(size, 2);
+
+            int[] expected = new int[size];
+            int[] actual = new int[size];
+            scalar.gatherAdd(values, index, addend, expected, from, size);
+            vector.gatherAdd(values, index, addend, actual, from, size);
+            assertArrayEquals(expected, actual);
+
+            long[] expectedLongs = new long[size];
+            long[] actualLongs = new long[size];
+            scalar.gatherAdd(longValues, index, longAddend, expectedLongs, from, size);
+            vector.gatherAdd(longValues, index, longAddend, actualLongs, from, size);
+            assertArrayEquals(expectedLongs, actualLongs);
+
+            scalar.gather(values, index, expected, 0, size);
+            vector.gather(values, index, actual, 0, size);
+            assertArrayEquals(expected, actual);
+
+            for (int[] window : new int[][]{{6 * 60, 18 * 60}, {20 * 60, 5 * 60}}) {
+                int expectedCount = scalar.selectRows(price, 30000, 150000, duration, 100, 700,
+                        minute, window[0], window[1], expected);
+                int actualCount = vector.selectRows(price, 30000, 150000, duration, 100, 700,
+                        minute, window[0], window[1], actual);
+                assertEquals(expectedCount, actualCount);
+                assertArrayEquals(Arrays.copyOf(expected, expectedCount), Arrays.copyOf(actual, actualCount));
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package at.hochschule.burgenland.bswe.algo.sorting;
+
+import at.hochschule.burgenland.bswe.algo.comparator.CombinationComparator;
+import at.hochschule.burgenland.bswe.algo.comparator.DurationComparator;
+import at.hochschule.burgenland.bswe.algo.io.CsvWriter;
+import at.hochschule.burgenland.bswe.algo.model.Route;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalMergeSortTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testStableSortMatchesMergeSort() throws IOException {
+        List<Route> routes = randomRoutes(5_000);
+        Path input = writeRoutes(routes);
+        Path output = tempDir.resolve("sorted.csv");
+
+        // Small budget and buffers force many runs and several merge passes
+        ExternalMergeSort sorter = new ExternalMergeSort(16 * 1024, 4 * 1024, tempDir);
+        long count = sorter.sort(input, output, new CombinationComparator(), true);
+
+        List<Route> expected = new ArrayList<>(routes);
+        MergeSort.sort(expected, new CombinationComparator());
+        List<Route> actual = readRoutes(output);
+
+        assertEquals(routes.size(), count);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+        }
+    }
+
+    @Test
+    void testUnstableSortIsOrdered() throws IOException {
+        Path input = writeRoutes(randomRoutes(2_000));
+        Path output = tempDir.resolve("sorted.csv");
+
+        new ExternalMergeSort(8 * 1024, 1024, tempDir).sort(input, output, new DurationComparator(), false);
+
+        List<Route> actual = readRoutes(output);
+        assertEquals(2_000, actual.size());
+        for (int i = 0; i < actual.size() - 1; i++) {
+            assertTrue(actual.get(i).getTotalDuration() <= actual.get(i + 1).getTotalDuration());
+        }
+    }
+
+    @Test
+    void testTemporaryRunsAreDeleted() throws IOException {
+        Path input = writeRoutes(randomRoutes(1_000));
+        Path output = tempDir.resolve("sorted.csv");
+
+        new ExternalMergeSort(4 * 1024, 1024, tempDir).sort(input, output, new DurationComparator(), true);
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+        Path input = writeRoutes(List.of());
+        Path output = tempDir.resolve("sorted.csv");
+
+        long count = new ExternalMergeSort().sort(input, output, new DurationComparator(), true);
+
+        assertEquals(0, count);
+        assertEquals(List.of(CsvWriter.ROUTE_HEADER), Files.readAllLines(output));
+    }
+
+    private Path writeRoutes(List<Route> routes) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(CsvWriter.ROUTE_HEADER);
+        routes.forEach(route -> lines.add(CsvWriter.formatRoute(route)));
+        return Files.write(tempDir.resolve("routes.csv"), lines);
+    }
+
+    private static List<Route> readRoutes(Path file) throws IOException {
+        return Files.readAllLines(file).stream().skip(1).map(Route::fromCsv).toList();
+    }
+
+    private static List<Route> randomRoutes(int count) {
+        Random random = new Random(17);
+        List<Route> routes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int flights = 1 + random.nextInt(4);
+            List<Integer> flightIds = new ArrayList<>();
+            for (int f = 0; f < flights; f++) {
+                flightIds.add(random.nextInt(80) + 1);
+            }
+            routes.add(new Route(i, flightIds, random.nextInt(20) * 60, random.nextInt(30) * 2550L, flights - 1));
+        }
+        return routes;
+    }
+}
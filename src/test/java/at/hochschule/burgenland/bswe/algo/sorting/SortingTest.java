@@ -12,8 +12,10 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,17 +28,17 @@ class SortingTest {
         testRoutes = new ArrayList<>();
 
         testRoutes.add(new Route(1,
-            Arrays.asList(new Flight(1, "VIE", "LHR", "OS", "OS100", 120, 300, LocalTime.of(8, 0)),
-                         new Flight(2, "LHR", "JFK", "BA", "BA150", 400, 500, LocalTime.of(11, 0)),
-                         new Flight(3, "JFK", "LAX", "AA", "AA200", 350, 400, LocalTime.of(20, 0)))));
+            Arrays.asList(new Flight(1, "VIE", "LHR", "OS", "OS100", 120, 30000, LocalTime.of(8, 0)),
+                         new Flight(2, "LHR", "JFK", "BA", "BA150", 400, 50000, LocalTime.of(11, 0)),
+                         new Flight(3, "JFK", "LAX", "AA", "AA200", 350, 40000, LocalTime.of(20, 0)))));
         testRoutes.add(new Route(2,
-            Arrays.asList(new Flight(4, "VIE", "FRA", "LH", "LH300", 90, 150, LocalTime.of(9, 0)),
-                         new Flight(5, "FRA", "LAX", "LH", "LH400", 600, 700, LocalTime.of(12, 0)))));
+            Arrays.asList(new Flight(4, "VIE", "FRA", "LH", "LH300", 90, 15000, LocalTime.of(9, 0)),
+                         new Flight(5, "FRA", "LAX", "LH", "LH400", 600, 70000, LocalTime.of(12, 0)))));
         testRoutes.add(new Route(3,
-            Arrays.asList(new Flight(6, "VIE", "ZRH", "OS", "OS500", 100, 200, LocalTime.of(7, 0)),
-                         new Flight(7, "ZRH", "JFK", "LX", "LX600", 450, 600, LocalTime.of(10, 0)))));
+            Arrays.asList(new Flight(6, "VIE", "ZRH", "OS", "OS500", 100, 20000, LocalTime.of(7, 0)),
+                         new Flight(7, "ZRH", "JFK", "LX", "LX600", 450, 60000, LocalTime.of(10, 0)))));
         testRoutes.add(new Route(4,
-            Arrays.asList(new Flight(8, "VIE", "JFK", "OS", "OS700", 500, 800, LocalTime.of(10, 0)))));
+            Arrays.asList(new Flight(8, "VIE", "JFK", "OS", "OS700", 500, 80000, LocalTime.of(10, 0)))));
     }
 
     @Test
@@ -45,9 +47,9 @@ class SortingTest {
 
         MergeSort.sort(routes, new PriceComparator());
 
-        assertTrue(routes.get(0).getTotalPrice() <= routes.get(1).getTotalPrice());
-        assertTrue(routes.get(1).getTotalPrice() <= routes.get(2).getTotalPrice());
-        assertTrue(routes.get(2).getTotalPrice() <= routes.get(3).getTotalPrice());
+        assertTrue(routes.get(0).getTotalPriceCents() <= routes.get(1).getTotalPriceCents());
+        assertTrue(routes.get(1).getTotalPriceCents() <= routes.get(2).getTotalPriceCents());
+        assertTrue(routes.get(2).getTotalPriceCents() <= routes.get(3).getTotalPriceCents());
     }
 
     @Test
@@ -56,9 +58,9 @@ class SortingTest {
 
         QuickSort.sort(routes, new PriceComparator());
 
-        assertTrue(routes.get(0).getTotalPrice() <= routes.get(1).getTotalPrice());
-        assertTrue(routes.get(1).getTotalPrice() <= routes.get(2).getTotalPrice());
-        assertTrue(routes.get(2).getTotalPrice() <= routes.get(3).getTotalPrice());
+        assertTrue(routes.get(0).getTotalPriceCents() <= routes.get(1).getTotalPriceCents());
+        assertTrue(routes.get(1).getTotalPriceCents() <= routes.get(2).getTotalPriceCents());
+        assertTrue(routes.get(2).getTotalPriceCents() <= routes.get(3).getTotalPriceCents());
     }
 
     @Test
@@ -157,8 +159,8 @@ class SortingTest {
 
     @Test
     void testMergeSortStability() {
-        Route route5 = new Route(5, Arrays.asList(new Flight(9, "VIE", "MUC", "OS", "OS800", 60, 100, LocalTime.of(8, 0))));
-        Route route6 = new Route(6, Arrays.asList(new Flight(10, "VIE", "BER", "OS", "OS900", 90, 100, LocalTime.of(9, 0))));
+        Route route5 = new Route(5, Arrays.asList(new Flight(9, "VIE", "MUC", "OS", "OS800", 60, 10000, LocalTime.of(8, 0))));
+        Route route6 = new Route(6, Arrays.asList(new Flight(10, "VIE", "BER", "OS", "OS900", 90, 10000, LocalTime.of(9, 0))));
         List<Route> routes = Arrays.asList(route5, route6);
 
         MergeSort.sort(routes, new PriceComparator());
@@ -190,15 +192,15 @@ class SortingTest {
 
         assertEquals(mergeRoutes.size(), quickRoutes.size());
         for (int i = 0; i < mergeRoutes.size(); i++) {
-            assertEquals(mergeRoutes.get(i).getTotalPrice(), quickRoutes.get(i).getTotalPrice());
+            assertEquals(mergeRoutes.get(i).getTotalPriceCents(), quickRoutes.get(i).getTotalPriceCents());
         }
     }
 
     @Test
     void testCombinedComparatorSortingOrder() {
-        Route r1 = new Route(1, List.of(), 300, 200, 1);
-        Route r2 = new Route(2, List.of(), 200, 200, 2);
-        Route r3 = new Route(3, List.of(), 300, 150, 1);
+        Route r1 = new Route(1, List.of(), 300, 20000, 1);
+        Route r2 = new Route(2, List.of(), 200, 20000, 2);
+        Route r3 = new Route(3, List.of(), 300, 15000, 1);
         List<Route> routes = new ArrayList<>(List.of(r1, r2, r3));
         Comparator<Route> comparator = new CombinationComparator();
 
@@ -211,9 +213,9 @@ class SortingTest {
 
     @Test
     void testCombinedComparatorStableSortPreservesOrder() {
-        Route r1 = new Route(1, List.of(), 300, 200, 1);
-        Route r2 = new Route(2, List.of(), 300, 200, 1);
-        Route r3 = new Route(3, List.of(), 300, 200, 1);
+        Route r1 = new Route(1, List.of(), 300, 20000, 1);
+        Route r2 = new Route(2, List.of(), 300, 20000, 1);
+        Route r3 = new Route(3, List.of(), 300, 20000, 1);
         List<Route> routes = new ArrayList<>(List.of(r1, r2, r3));
 
         MergeSort.sort(routes, new CombinationComparator());
@@ -222,4 +224,144 @@ class SortingTest {
         assertEquals(2, routes.get(1).getId());
         assertEquals(3, routes.get(2).getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testParallelMergeSortByPrice() {
+        List<Route> routes = new ArrayList<>(testRoutes);
+
+        ParallelMergeSort.sort(routes, new PriceComparator());
+
+        for (int i = 0; i < routes.size() - 1; i++) {
+            assertTrue(routes.get(i).getTotalPriceCents() <= routes.get(i + 1).getTotalPriceCents());
+        }
+    }
+
+    @Test
+    void testParallelMergeSortWithNullAndEmpty() {
+        assertDoesNotThrow(() -> ParallelMergeSort.sort((List<Route>) null, new PriceComparator()));
+        assertDoesNotThrow(() -> ParallelMergeSort.sort(new Route[0], new PriceComparator()));
+    }
+
+    @Test
+    void testParallelMergeSortLargeInputIsStable() {
+        List<Route> routes = randomRoutes(100_000, 7);
+        List<Route> expected = new ArrayList<>(routes);
+        expected.sort(new CombinationComparator());
+
+        ParallelMergeSort.sort(routes, new CombinationComparator());
+
+        for (int i = 0; i < routes.size(); i++) {
+            assertSame(expected.get(i), routes.get(i));
+        }
+    }
+
+    @Test
+    void testQuickSortAdversarialInputs() {
+        List<Route> random = randomRoutes(50_000, 11);
+        List<Route> sorted = new ArrayList<>(random);
+        sorted.sort(new DurationComparator());
+        List<Route> reversed = new ArrayList<>(sorted);
+        Collections.reverse(reversed);
+        List<Route> allEqual = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            allEqual.add(new Route(i, List.of(), 100, 10000, 1));
+        }
+
+        for (List<Route> input : List.of(random, sorted, reversed, allEqual)) {
+            List<Route> routes = new ArrayList<>(input);
+
+            assertDoesNotThrow(() -> QuickSort.sort(routes, new DurationComparator()));
+
+            assertEquals(input.size(), routes.size());
+            for (int i = 0; i < routes.size() - 1; i++) {
+                assertTrue(routes.get(i).getTotalDuration() <= routes.get(i + 1).getTotalDuration());
+            }
+        }
+    }
+
+    @Test
+    void testRadixSortMatchesMergeSort() {
+        List<Route> input = randomRoutes(20_000, 3);
+        input.add(new Route(-1, List.of(), -30, -1250, 0));
+        input.add(new Route(-2, List.of(), 0, 0, 0));
+        input.add(new Route(-3, List.of(), Integer.MAX_VALUE, Long.MAX_VALUE, 3));
+
+        List<Comparator<Route>> comparators = List.of(new PriceComparator(), new DurationComparator(),
+                new StopoverComparator(), new CombinationComparator());
+
+        for (Comparator<Route> comparator : comparators) {
+            List<Route> expected = new ArrayList<>(input);
+            List<Route> routes = new ArrayList<>(input);
+
+            MergeSort.sort(expected, comparator);
+            RadixSort.sort(routes, comparator);
+
+            for (int i = 0; i < routes.size(); i++) {
+                assertSame(expected.get(i), routes.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testRadixSortFallsBackForUnknownComparator() {
+        List<Route> routes = new ArrayList<>(testRoutes);
+        Comparator<Route> byId = Comparator.comparingInt(Route::getId).reversed();
+
+        assertFalse(RadixSort.supports(byId));
+        RadixSort.sort(routes, byId);
+
+        assertEquals(4, routes.get(0).getId());
+        assertEquals(1, routes.get(3).getId());
+    }
+
+    @Test
+    void testTopKHeapSelectMatchesMergeSortPrefix() {
+        List<Route> input = randomRoutes(10_000, 5);
+        List<Route> expected = new ArrayList<>(input);
+        MergeSort.sort(expected, new CombinationComparator());
+
+        List<Route> best = TopK.heapSelect(input, new CombinationComparator(), 25);
+
+        assertEquals(25, best.size());
+        for (int i = 0; i < best.size(); i++) {
+            assertSame(expected.get(i), best.get(i));
+        }
+    }
+
+    @Test
+    void testTopKQuickSelect() {
+        List<Route> input = randomRoutes(10_000, 9);
+        List<Route> expected = new ArrayList<>(input);
+        MergeSort.sort(expected, new PriceComparator());
+
+        List<Route> best = TopK.quickSelect(input, new PriceComparator(), 40);
+
+        assertEquals(40, best.size());
+        for (int i = 0; i < best.size(); i++) {
+            assertEquals(expected.get(i).getTotalPriceCents(), best.get(i).getTotalPriceCents());
+        }
+    }
+
+    @Test
+    void testTopKStreamAndEdgeCases() {
+        List<Route> best = TopK.stream(testRoutes.iterator(), new StopoverComparator(), 10);
+
+        assertEquals(4, best.size());
+        assertEquals(4, best.get(0).getId());
+        assertTrue(TopK.heapSelect(testRoutes, new PriceComparator(), 0).isEmpty());
+        assertTrue(TopK.quickSelect(null, new PriceComparator(), 3).isEmpty());
+        assertEquals(4, TopK.quickSelect(testRoutes, new PriceComparator(), 10).size());
+    }
+
+    /**
+     * Creates routes with few distinct values, so that many routes compare as equal.
+     */
+    private static List<Route> randomRoutes(int count, long seed) {
+        Random random = new Random(seed);
+        List<Route> routes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            routes.add(new Route(i, List.of(), random.nextInt(50) * 30, random.nextInt(100) * 1050L, random.nextInt(4)));
+        }
+        return routes;
+    }
+}